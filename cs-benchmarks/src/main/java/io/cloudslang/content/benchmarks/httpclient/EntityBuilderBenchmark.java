@@ -0,0 +1,110 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.httpclient;
+
+import io.cloudslang.content.httpclient.build.EntityBuilder;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the request entities from the operation inputs and writes them the way they are sent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityBuilderBenchmark {
+    private static final String FORM_PARAMS = "username=admin&password=p@ss w0rd&scope=read write&redirect=https://example.com/callback";
+    private static final ContentType FORM_CONTENT_TYPE = ContentType.parse("application/x-www-form-urlencoded; charset=UTF-8");
+
+    @Param({"1024", "1048576"})
+    public int fileSize;
+
+    private File file;
+    private String multipartBodies;
+    private String multipartFiles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("entityBuilderBenchmark", ".bin");
+        byte[] content = new byte[fileSize];
+        Arrays.fill(content, (byte) 'a');
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        multipartBodies = "name=benchmark&description=multipart body";
+        multipartFiles = "attachment=" + file.getAbsolutePath();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public HttpEntity formEntity() throws IOException {
+        return write(new EntityBuilder()
+                .setFormParams(FORM_PARAMS)
+                .setContentType(FORM_CONTENT_TYPE)
+                .buildEntity());
+    }
+
+    @Benchmark
+    public HttpEntity multipartEntity() throws IOException {
+        return write(new EntityBuilder()
+                .setMultipartBodies(multipartBodies)
+                .setMultipartFiles(multipartFiles)
+                .buildEntity());
+    }
+
+    @Benchmark
+    public HttpEntity fileEntity() throws IOException {
+        return write(new EntityBuilder()
+                .setFilePath(file.getAbsolutePath())
+                .setContentType(ContentType.APPLICATION_OCTET_STREAM)
+                .buildEntity());
+    }
+
+    private static HttpEntity write(HttpEntity httpEntity) throws IOException {
+        httpEntity.writeTo(NullOutputStream.NULL_OUTPUT_STREAM);
+        return httpEntity;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.components.HttpComponents;
+import io.cloudslang.content.httpclient.entities.Constants;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the http components of a request the way the Http Client operation does, and executes the whole
+ * operation against the local server. The connection pool session object is shared between the invocations,
+ * as it is between the steps of a flow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpClientServiceBenchmark {
+    private LocalHttpServer server;
+    private GlobalSessionObject connectionPoolSessionObject;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalHttpServer();
+        connectionPoolSessionObject = new GlobalSessionObject();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public HttpComponents buildHttpComponents() {
+        return new HttpClientService().buildHttpComponents(inputs("GET", null));
+    }
+
+    @Benchmark
+    public Map<String, String> executeGet() {
+        return new HttpClientService().execute(inputs("GET", null));
+    }
+
+    @Benchmark
+    public Map<String, String> executePost() {
+        return new HttpClientService().execute(inputs("POST", "{\"name\":\"value\",\"items\":[1,2,3]}"));
+    }
+
+    private HttpClientInputs inputs(String method, String body) {
+        HttpClientInputs httpClientInputs = new HttpClientInputs();
+        httpClientInputs.setUrl(server.getUrl("/resource?size=256"));
+        httpClientInputs.setMethod(method);
+        httpClientInputs.setBody(body);
+        httpClientInputs.setContentType(body != null ? "application/json" : null);
+        httpClientInputs.setQueryParams("first=1&second=two&third=a b");
+        httpClientInputs.setHeaders("Accept: text/plain\nX-Request-Id: 1234\nX-Trace: benchmark");
+        httpClientInputs.setAuthType("anonymous");
+        httpClientInputs.setTrustKeystore(Constants.DEFAULT_JAVA_KEYSTORE);
+        httpClientInputs.setTrustPassword(Constants.CHANGEIT);
+        httpClientInputs.setKeystore(Constants.DEFAULT_JAVA_KEYSTORE);
+        httpClientInputs.setKeystorePassword(Constants.CHANGEIT);
+        httpClientInputs.setCookieStoreSessionObject(new SerializableSessionObject());
+        httpClientInputs.setConnectionPoolSessionObject(connectionPoolSessionObject);
+        return httpClientInputs;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.httpclient;
+
+import io.cloudslang.content.httpclient.consume.HttpResponseConsumer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes response entities of different sizes received from the local server, into the 'returnResult'
+ * output or into a destination file. The requests are sent with a pooled client so that mostly the
+ * consumption is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpResponseConsumerBenchmark {
+    @Param({"1024", "1048576"})
+    public int responseSize;
+
+    private LocalHttpServer server;
+    private CloseableHttpClient httpClient;
+    private String url;
+    private File destinationFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalHttpServer();
+        httpClient = HttpClients.createDefault();
+        url = server.getUrl("/payload?size=" + responseSize);
+        destinationFile = File.createTempFile("httpResponseConsumerBenchmark", ".txt");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop();
+        destinationFile.delete();
+    }
+
+    @Benchmark
+    public Map<String, String> consumeToString() throws IOException {
+        return consume(new HttpResponseConsumer());
+    }
+
+    @Benchmark
+    public Map<String, String> consumeToFile() throws IOException {
+        return consume(new HttpResponseConsumer()
+                .setDestinationFile(destinationFile.getAbsolutePath()));
+    }
+
+    @Benchmark
+    public Map<String, String> consumeToBinaryFile() throws IOException {
+        return consume(new HttpResponseConsumer()
+                .setDestinationFile(destinationFile.getAbsolutePath())
+                .setBinaryDownload("true"));
+    }
+
+    private Map<String, String> consume(HttpResponseConsumer httpResponseConsumer) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        try (CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(url))) {
+            httpResponseConsumer
+                    .setHttpResponse(httpResponse)
+                    .consume(result);
+        }
+        return result;
+    }
+}
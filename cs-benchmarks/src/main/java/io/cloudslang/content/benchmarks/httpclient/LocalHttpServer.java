@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.httpclient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process http server the benchmarks send their requests to.
+ * <p>
+ * Every request body is read and discarded. The response entity is text of 'size' bytes, where 'size' is
+ * taken from the query string (for example /payload?size=1024); it is empty when there is no size.
+ */
+public class LocalHttpServer {
+    private static final byte[] CHUNK = new byte[8192];
+
+    static {
+        Arrays.fill(CHUNK, (byte) 'a');
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public LocalHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try (InputStream requestBody = exchange.getRequestBody()) {
+                    IOUtils.copy(requestBody, NullOutputStream.NULL_OUTPUT_STREAM);
+                }
+                long size = parseSize(exchange.getRequestURI().getRawQuery());
+                exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+                exchange.sendResponseHeaders(200, size == 0 ? -1 : size);
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    for (long written = 0; written < size; written += CHUNK.length) {
+                        responseBody.write(CHUNK, 0, (int) Math.min(CHUNK.length, size - written));
+                    }
+                }
+            }
+        });
+        server.start();
+    }
+
+    public String getUrl(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static long parseSize(String query) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("size=")) {
+                    return Long.parseLong(param.substring("size=".length()));
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.httpclient;
+
+import io.cloudslang.content.httpclient.build.HeadersBuilder;
+import io.cloudslang.content.httpclient.build.URIBuilder;
+import org.apache.http.Header;
+import org.apache.http.entity.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the URI and the headers of a request from the operation inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBuildersBenchmark {
+    private static final String URL = "https://www.example.com:8443/api/v1/items";
+    private static final String QUERY_PARAMS = "first=1&second=two&third=a b&fourth=x/y&fifth=%&sixth=";
+    private static final String ENCODED_QUERY_PARAMS = "first=1&second=two&third=a%20b&fourth=x%2Fy&fifth=%25&sixth=";
+    private static final String HEADERS = "Accept: application/json\n" +
+            "Accept-Language: en-US\n" +
+            "Cache-Control: no-cache\n" +
+            "X-Request-Id: 0f8fad5b-d9cb-469f-a165-70867728950e\n" +
+            "X-Correlation-Id: 7c9e6679-7425-40de-944b-e07fc1f90ae7\n" +
+            "X-Tenant: benchmark\n" +
+            "X-Api-Version: 2019-01-01\n" +
+            "User-Agent: cs-benchmarks";
+    private static final ContentType CONTENT_TYPE = ContentType.parse("application/json; charset=UTF-8");
+
+    @Benchmark
+    public URI buildURI() {
+        return new URIBuilder()
+                .setUrl(URL)
+                .buildURI();
+    }
+
+    @Benchmark
+    public URI buildURIWithQueryParams() {
+        return new URIBuilder()
+                .setUrl(URL)
+                .setQueryParams(QUERY_PARAMS)
+                .buildURI();
+    }
+
+    @Benchmark
+    public URI buildURIWithEncodedQueryParams() {
+        return new URIBuilder()
+                .setUrl(URL)
+                .setQueryParams(ENCODED_QUERY_PARAMS)
+                .setQueryParamsAreURLEncoded("true")
+                .buildURI();
+    }
+
+    @Benchmark
+    public List<Header> buildHeaders() {
+        return new HeadersBuilder()
+                .setHeaders(HEADERS)
+                .setContentType(CONTENT_TYPE)
+                .buildHeaders();
+    }
+}
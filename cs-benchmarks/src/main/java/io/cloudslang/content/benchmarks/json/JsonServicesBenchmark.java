@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.benchmarks.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import io.cloudslang.content.json.entities.AddObjectToArrayInput;
+import io.cloudslang.content.json.entities.GetArraySublistInput;
+import io.cloudslang.content.json.entities.MergeArraysInput;
+import io.cloudslang.content.json.services.AddObjectToArrayService;
+import io.cloudslang.content.json.services.GetArraySublistService;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.services.MergeArraysService;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the cs-json services on a 10 MB document, from the input strings to the returned result.
+ * The legacy benchmarks repeat the Gson and json-smart round-trips the services made before they shared one
+ * Jackson tree, so the parses and the bytes allocated per operation can be compared with -prof gc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class JsonServicesBenchmark {
+    private static final int DOCUMENT_SIZE = 10 * 1024 * 1024;
+
+    private String document;
+    private String array;
+    private String element;
+
+    @Setup
+    public void setUp() {
+        StringBuilder arrayBuilder = new StringBuilder(DOCUMENT_SIZE + 1024).append('[');
+        for (int i = 0; arrayBuilder.length() < DOCUMENT_SIZE; i++) {
+            if (i > 0) {
+                arrayBuilder.append(',');
+            }
+            arrayBuilder.append(item(i));
+        }
+        array = arrayBuilder.append(']').toString();
+        document = "{\"name\":\"benchmark\",\"empty\":\"\",\"missing\":null,\"items\":" + array + "}";
+        element = item(-1);
+    }
+
+    @Benchmark
+    public String removeEmptyElements() throws Exception {
+        return new JsonService().removeEmptyElementsJson(document);
+    }
+
+    @Benchmark
+    public String legacyRemoveEmptyElements() {
+        //validation parse with Gson, then a second parse into json-smart maps and a json-smart serialization
+        JsonPath.parse(document, Configuration.builder().jsonProvider(new GsonJsonProvider()).build());
+        Map<String, Object> jsonMap = JsonPath.read(document, "$");
+        return new JSONObject(jsonMap).toJSONString(JSONStyle.LT_COMPRESS);
+    }
+
+    @Benchmark
+    public Map<String, String> mergeArrays() throws Exception {
+        return new MergeArraysService().execute(new MergeArraysInput.Builder()
+                .array1(array)
+                .array2(array)
+                .build());
+    }
+
+    @Benchmark
+    public String legacyMergeArrays() {
+        //Gson trees, merged into a third array
+        JsonArray mergedArray = new JsonArray();
+        mergedArray.addAll(new JsonParser().parse(array).getAsJsonArray());
+        mergedArray.addAll(new JsonParser().parse(array).getAsJsonArray());
+        return mergedArray.toString();
+    }
+
+    @Benchmark
+    public Map<String, String> addObjectToArray() throws Exception {
+        return new AddObjectToArrayService().execute(new AddObjectToArrayInput.Builder()
+                .array(array)
+                .element(element)
+                .index("0")
+                .build());
+    }
+
+    @Benchmark
+    public Map<String, String> getArraySublist() throws Exception {
+        return new GetArraySublistService().execute(new GetArraySublistInput.Builder()
+                .array(array)
+                .fromIndex("0")
+                .toIndex("1000")
+                .build());
+    }
+
+    private static String item(int index) {
+        return "{\"id\":" + index +
+                ",\"name\":\"item-" + index + "\"" +
+                ",\"description\":\"\"" +
+                ",\"tags\":[\"first\",\"second\",\"\"]" +
+                ",\"attributes\":{\"enabled\":true,\"weight\":" + (index * 0.5) + ",\"owner\":null,\"labels\":[]}" +
+                ",\"links\":{}}";
+    }
+}
@@ -86,6 +86,7 @@ public class MSSQLQuery {
      *                                  Default values: 0
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      * @param resultSetType             the result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
      *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY
@@ -148,7 +149,7 @@ public class MSSQLQuery {
 
         final List<String> preInputsValidation = validateSqlQueryInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath);
+                timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath, EMPTY, EMPTY, EMPTY, EMPTY);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -0,0 +1,241 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLBulkInsertService;
+import io.cloudslang.content.database.utils.CsvRowsReader;
+import io.cloudslang.content.database.utils.JsonRowsReader;
+import io.cloudslang.content.database.utils.RowsReader;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
+import static io.cloudslang.content.constants.BooleanValues.TRUE;
+import static io.cloudslang.content.constants.OtherValues.COMMA_DELIMITER;
+import static io.cloudslang.content.constants.OutputNames.*;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROWS_PER_SECOND;
+import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
+import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlBulkInsertInputs;
+import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+public class SQLBulkInsert {
+
+    /**
+     * @param dbServerName              The hostname or ip address of the database server.
+     * @param dbType                    The type of database to connect to.
+     *                                  Valid values: Oracle, MSSQL, Sybase, Netcool, DB2, PostgreSQL and Custom.
+     *                                  Default value: Oracle
+     * @param username                  The username to use when connecting to the database.
+     * @param password                  The password to use when connecting to the database.
+     * @param instance                  The name instance (for MSSQL Server). Leave it blank for default instance.
+     * @param dbPort                    The port to connect to.
+     *                                  Default values: Oracle: 1521, MSSQL: 1433, Sybase: 5000, Netcool: 4100, DB2: 50000, PostgreSQL: 5432.
+     * @param databaseName              The name of the database.
+     * @param authenticationType        The type of authentication used to access the database (applicable only to MSSQL type).
+     *                                  Default: sql
+     *                                  Values: sql, windows
+     * @param dbClass                   The classname of the JDBC driver to use.
+     *                                  Examples: "oracle.jdbc.driver.OracleDriver", "org.postgresql.Driver"
+     * @param dbURL                     The url required to load up the driver and make your connection.
+     *                                  Examples: "jdbc:oracle:drivertype:@database", "jdbc:postgresql://host:port/database"
+     * @param command                   The parameterized statement executed for every row, with a ? for every value of the row.
+     *                                  Example: "INSERT INTO table_name (column1, column2, column3) VALUES (?, ?, ?)"
+     * @param rows                      The rows to insert, in the format given by rowsFormat. Only one of rows and rowsFile can be specified.
+     *                                  Example for csv: "1,first,\n2,\"second, with a comma\",2019-01-01"
+     *                                  Example for json: "[[1, \"first\", null], {\"column1\": 2, \"column2\": \"second\", \"column3\": \"2019-01-01\"}]"
+     * @param rowsFile                  The path of a UTF-8 file holding the rows, in the format given by rowsFormat.
+     *                                  The file is read while the rows are inserted.
+     * @param rowsFormat                The format of the rows. For csv an empty value is NULL and a quoted empty value ("") is an empty string.
+     *                                  For json the rows are an array whose elements are arrays of values or objects whose fields
+     *                                  are the columns of a command like "INSERT INTO table (columns) VALUES (?, ...)".
+     *                                  Valid values: csv, json
+     *                                  Default value: csv
+     * @param colDelimiter              The delimiter of the csv values, a single character.
+     *                                  Default value: comma (,)
+     * @param hasHeader                 Whether the first csv row holds the column names and should be skipped.
+     *                                  Valid values: true, false
+     *                                  Default value: false
+     * @param chunkSize                 The number of rows sent to the database and committed at a time. If a chunk fails
+     *                                  it is rolled back and the chunks before it stay committed.
+     *                                  Default value: 1000
+     * @param useFastPath               Whether to use the bulk load path of the driver: COPY for a plain
+     *                                  "INSERT INTO table (columns) VALUES (?, ...)" on PostgreSQL, rewritten batch inserts
+     *                                  for other statements on PostgreSQL and for MySQL. Other databases use JDBC batches.
+     *                                  Valid values: true, false
+     *                                  Default value: true
+     * @param trustAllRoots             Specifies whether to enable weak security over SSL/TSL. A certificate is trusted even if no trusted certification authority issued it.
+     *                                  Default value: false
+     *                                  Valid values: true, false
+     *                                  Note: If trustAllRoots is set to 'false', a trustStore and a trustStorePassword must be provided.
+     * @param trustStore                The pathname of the Java TrustStore file. This contains certificates from other parties that you expect to communicate with,
+     *                                  or from Certificate Authorities that you trust to identify other parties.
+     *                                  If the trustAllRoots input is set to 'true' this input is ignored.
+     * @param trustStorePassword        The password associated with the trustStore file.
+     * @param authLibraryPath           The path to the folder where sqljdbc_auth.dll is located. This path must be provided when using windows authentication.
+     *                                  Note: The sqljdbc_auth.dll can be found inside the sqljdbc driver. The driver can be downloaded from https://www.microsoft.com/en-us/download/details.aspx?id=11774.
+     *                                  The downloaded jar should be extracted and the library can be found in the 'auth' folder.
+     *                                  The path provided should be the path to the folder where the sqljdbc_auth.dll library is located, not the path to the file itself.
+     * @param timeout                   Seconds to wait for every chunk to be executed.
+     *                                  Default value: 120
+     * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
+     *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
+     *                                  Example: db.pooling.enable=true
+     * @return The number of rows inserted in "updateCount" and the insert rate in "rowsPerSecond".
+     */
+    @Action(name = "SQL Bulk Insert",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(UPDATE_COUNT),
+                    @Output(ROWS_PER_SECOND),
+                    @Output(EXCEPTION),
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = DB_SERVER_NAME, required = true) String dbServerName,
+                                       @Param(value = DB_TYPE) String dbType,
+                                       @Param(value = USERNAME) String username,
+                                       @Param(value = PASSWORD, encrypted = true) String password,
+                                       @Param(value = INSTANCE) String instance,
+                                       @Param(value = DB_PORT) String dbPort,
+                                       @Param(value = DATABASE_NAME, required = true) String databaseName,
+                                       @Param(value = AUTHENTICATION_TYPE) String authenticationType,
+                                       @Param(value = DB_CLASS) String dbClass,
+                                       @Param(value = DB_URL) String dbURL,
+                                       @Param(value = COMMAND, required = true) String command,
+                                       @Param(value = ROWS) String rows,
+                                       @Param(value = ROWS_FILE) String rowsFile,
+                                       @Param(value = ROWS_FORMAT) String rowsFormat,
+                                       @Param(value = COL_DELIMITER) String colDelimiter,
+                                       @Param(value = HAS_HEADER) String hasHeader,
+                                       @Param(value = CHUNK_SIZE) String chunkSize,
+                                       @Param(value = USE_FAST_PATH) String useFastPath,
+                                       @Param(value = TRUST_ALL_ROOTS) String trustAllRoots,
+                                       @Param(value = TRUST_STORE) String trustStore,
+                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
+                                       @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
+                                       @Param(value = TIMEOUT) String timeout,
+                                       @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties) {
+
+        dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
+        username = defaultIfEmpty(username, EMPTY);
+        password = defaultIfEmpty(password, EMPTY);
+        instance = defaultIfEmpty(instance, EMPTY);
+        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+        trustStore = defaultIfEmpty(trustStore, EMPTY);
+        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+        authLibraryPath = defaultIfEmpty(authLibraryPath, EMPTY);
+        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+        rowsFormat = defaultIfEmpty(rowsFormat, DEFAULT_ROWS_FORMAT);
+        colDelimiter = defaultIfEmpty(colDelimiter, COMMA_DELIMITER);
+        hasHeader = defaultIfEmpty(hasHeader, FALSE);
+        chunkSize = defaultIfEmpty(chunkSize, DEFAULT_CHUNK_SIZE);
+        useFastPath = defaultIfEmpty(useFastPath, TRUE);
+
+        final List<String> preInputsValidation = validateSqlBulkInsertInputs(dbServerName, dbType, username, password, instance,
+                dbPort, databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword, timeout,
+                authLibraryPath, rows, rowsFile, rowsFormat, colDelimiter, hasHeader, chunkSize, useFastPath);
+
+        if (!preInputsValidation.isEmpty()) {
+            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+        }
+        dbType = getDbType(dbType);
+
+        final SQLInputs sqlInputs = SQLInputs.builder()
+                .dbServer(dbServerName)
+                .dbType(dbType)
+                .username(username)
+                .password(password)
+                .instance(instance)
+                .dbPort(getOrDefaultDBPort(dbPort, dbType))
+                .dbName(defaultIfEmpty(databaseName, EMPTY))
+                .authenticationType(authenticationType)
+                .dbClass(getOrDefaultDBClass(dbClass, dbType))
+                .dbUrl(defaultIfEmpty(dbURL, EMPTY))
+                .sqlCommand(command)
+                .trustAllRoots(toBoolean(trustAllRoots))
+                .trustStore(trustStore)
+                .trustStorePassword(trustStorePassword)
+                .authLibraryPath(authLibraryPath)
+                .timeout(toInteger(timeout))
+                .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                .isNetcool(checkIsNetcool(dbType))
+                .build();
+
+        try (final RowsReader rowsReader = getRowsReader(rows, rowsFile, rowsFormat, colDelimiter, toBoolean(hasHeader), command)) {
+            final long start = System.nanoTime();
+            final String res = SQLBulkInsertService.executeBulkInsert(sqlInputs, rowsReader, toInteger(chunkSize), toBoolean(useFastPath));
+            final long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+
+            final Map<String, String> result = getSuccessResultsMap(res);
+            result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
+            result.put(ROWS_PER_SECOND, String.format(Locale.ENGLISH, "%.2f", sqlInputs.getIUpdateCount() * 1000.0 / elapsedMillis));
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+
+    private static RowsReader getRowsReader(final String rows, final String rowsFile, final String rowsFormat,
+                                            final String colDelimiter, final boolean hasHeader, final String command) throws IOException {
+        final Reader reader = StringUtils.isNotEmpty(rowsFile) ?
+                Files.newBufferedReader(Paths.get(rowsFile), StandardCharsets.UTF_8) : new StringReader(rows);
+        try {
+            if (JSON_FORMAT.equalsIgnoreCase(rowsFormat)) {
+                return new JsonRowsReader(reader, SQLBulkInsertService.getInsertColumns(command));
+            }
+            return new CsvRowsReader(reader, colDelimiter.charAt(0), hasHeader);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+}
@@ -88,6 +88,7 @@ public class SQLCommand {
      *                                  The path provided should be the path to the folder where the sqljdbc_auth.dll library is located, not the path to the file itself.
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             The result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
@@ -95,6 +96,11 @@ public class SQLCommand {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param parameters                A JSON array with the values bound to the '?' placeholders of the command, in order.
+     *                                  The command is executed as a prepared statement, which a pooled connection takes from its
+     *                                  statement cache when the same command is executed again.
+     *                                  The size of the cache is set with connection.statement.cachesize in databasePoolingProperties.
+     *                                  Example: [10, "active", null]
      * @return The return result of SQL command.
      */
     @Action(name = "SQL Command",
@@ -126,7 +132,8 @@ public class SQLCommand {
                                        @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = PARAMETERS) String parameters) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -142,7 +149,7 @@ public class SQLCommand {
 
         final List<String> preInputsValidation = validateSqlCommandInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, resultSetType, resultSetConcurrency, trustStore,
-                trustStorePassword, authLibraryPath);
+                trustStorePassword, authLibraryPath, parameters);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -170,6 +177,7 @@ public class SQLCommand {
                     .resultSetType(getResultSetType(resultSetType))
                     .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                     .isNetcool(checkIsNetcool(dbType))
+                    .parameters(getParameters(parameters))
                     .build();
 
             String res = SQLCommandService.executeSqlCommand(sqlInputs);
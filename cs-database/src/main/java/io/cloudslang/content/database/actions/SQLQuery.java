@@ -27,6 +27,7 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.constants.DBReturnCodes;
+import io.cloudslang.content.database.services.SQLQueryCursor;
 import io.cloudslang.content.database.services.SQLQueryService;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLSessionResource;
@@ -36,6 +37,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.cloudslang.content.constants.BooleanValues.FALSE;
 import static io.cloudslang.content.constants.BooleanValues.TRUE;
@@ -102,6 +104,7 @@ public class SQLQuery {
      *                                  Default values: 0
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             the result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
@@ -112,6 +115,25 @@ public class SQLQuery {
      * @param ignoreCase                If set to true the inputs' letters case will be ignored and converted to lowercase.
      *                                  Valid values: true, false
      *                                  Default value: true
+     * @param useCursor                 If set to true the query is not read at once, a server side cursor is kept open
+     *                                  between the invocations with the same key and every invocation reads the next row.
+     *                                  The cursor is forward only and read only, the resultSetType and resultSetConcurrency
+     *                                  inputs are ignored. While the cursor is open it holds a database connection; the
+     *                                  connection is released when the last row was read or the cursor was idle for
+     *                                  cursorIdleTimeout seconds.
+     *                                  In this mode "rowsLeft" is 1 while there are more rows and 0 after the last row.
+     *                                  Valid values: true, false
+     *                                  Default value: false
+     * @param fetchSize                 The number of rows the cursor fetches from the server at a time. Used only if useCursor is true.
+     *                                  For MySQL the rows are always streamed one by one and this input is ignored.
+     *                                  Default value: 1000
+     * @param cursorIdleTimeout         Seconds after which a cursor that was not read is closed. Used only if useCursor is true.
+     *                                  Default value: 300
+     * @param parameters                A JSON array with the values bound to the '?' placeholders of the command, in order.
+     *                                  The command is executed as a prepared statement, which a pooled connection takes from its
+     *                                  statement cache when the same command is executed again (see connection.statement.cachesize).
+     *                                  The values are part of the key of the query.
+     *                                  Example: [10, "active", null]
      * @return It contains the data of one row, separated by the "delimiter".
      */
     @Action(name = "SQL Query",
@@ -150,6 +172,10 @@ public class SQLQuery {
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
                                        @Param(value = IGNORE_CASE) String ignoreCase,
+                                       @Param(value = USE_CURSOR) String useCursor,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = CURSOR_IDLE_TIMEOUT) String cursorIdleTimeout,
+                                       @Param(value = PARAMETERS) String parameters,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
@@ -164,10 +190,13 @@ public class SQLQuery {
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
         ignoreCase = defaultIfEmpty(ignoreCase, TRUE);
+        useCursor = defaultIfEmpty(useCursor, FALSE);
+        fetchSize = defaultIfEmpty(fetchSize, DEFAULT_FETCH_SIZE);
+        cursorIdleTimeout = defaultIfEmpty(cursorIdleTimeout, DEFAULT_CURSOR_IDLE_TIMEOUT);
 
         final List<String> preInputsValidation = validateSqlQueryInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath);
+                timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath, useCursor, fetchSize, cursorIdleTimeout, parameters);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -200,6 +229,8 @@ public class SQLQuery {
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .ignoreCase(ignoreCaseBool)
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(fetchSize))
+                .parameters(getParameters(parameters))
                 .build();
 
 
@@ -210,6 +241,10 @@ public class SQLQuery {
 
             final Map<String, Object> globalMap = globalSessionObject.get();
 
+            if (toBoolean(useCursor) || globalMap.get(aKey) instanceof SQLQueryCursor) {
+                return executeWithCursor(sqlInputs, aKey, TimeUnit.SECONDS.toMillis(toInteger(cursorIdleTimeout)), globalSessionObject);
+            }
+
             if (globalMap.containsKey(aKey)) {
                 sqlInputs.setLRows(getRowsFromGlobalSessionMap(globalSessionObject, aKey));
             } else {
@@ -244,4 +279,43 @@ public class SQLQuery {
             return failureMap;
         }
     }
+
+    private Map<String, String> executeWithCursor(final SQLInputs sqlInputs, final String aKey, final long idleTimeoutMillis,
+                                                  final GlobalSessionObject<Map<String, Object>> globalSessionObject) throws Exception {
+        final Map<String, Object> globalMap = globalSessionObject.get();
+        final Object value = globalMap.get(aKey);
+        final SQLQueryCursor cursor;
+        if (value instanceof SQLQueryCursor) {
+            cursor = (SQLQueryCursor) value;
+        } else {
+            cursor = SQLQueryService.openSqlQueryCursor(sqlInputs, idleTimeoutMillis);
+            globalMap.put(aKey, cursor);
+            globalSessionObject.setResource(new SQLSessionResource(globalMap));
+        }
+
+        final String row;
+        try {
+            row = cursor.next();
+        } catch (Exception e) {
+            cursor.close();
+            globalMap.remove(aKey);
+            throw e;
+        }
+
+        final Map<String, String> result;
+        if (row != null) {
+            result = getSuccessResultsMap(row);
+            result.put(COLUMN_NAMES, cursor.getStrColumns());
+            result.put(ROWS_LEFT, cursor.hasNext() ? ONE : ZERO);
+        } else {
+            result = new HashMap<>();
+            result.put(SQL_QUERY, sqlInputs.getSqlCommand());
+            result.put(RETURN_RESULT, NO_MORE);
+            result.put(ROWS_LEFT, ZERO);
+            result.put(RETURN_CODE, DBReturnCodes.NO_MORE);
+            //the next invocation with the same key runs the query again
+            globalMap.remove(aKey);
+        }
+        return result;
+    }
 }
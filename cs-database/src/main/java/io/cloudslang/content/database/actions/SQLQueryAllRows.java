@@ -41,11 +41,13 @@ import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.*;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROW_COUNT;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryAllRowsInputs;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 
@@ -96,20 +98,28 @@ public class SQLQueryAllRows {
      *                                  Default values: 0
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             the result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
-     *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY
+     *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY,
+     *                                  TYPE_FORWARD_ONLY when outputFile is set
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param fetchSize                 The number of rows fetched from the server at a time.
+     *                                  Default value: 1000 when outputFile is set, otherwise the driver default
+     * @param outputFile                The path of a file the rows are written to, delimited by colDelimiter and rowDelimiter, while they are fetched,
+     *                                  instead of being returned in "returnResult". The file is overwritten if it exists.
+     *                                  When set, "returnResult" is the path of the file and "rowCount" the number of rows written.
      * @return Return the list of all the data returned by the query. It is delimited by colDelimiter and rowDelimiter.
      */
     @Action(name = "SQL Query All Rows",
             outputs = {
                     @Output(RETURN_CODE),
                     @Output(RETURN_RESULT),
-                    @Output(EXCEPTION)
+                    @Output(EXCEPTION),
+                    @Output(ROW_COUNT)
             },
             responses = {
                     @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
@@ -137,7 +147,9 @@ public class SQLQueryAllRows {
                                        @Param(value = TIMEOUT) String timeout,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = OUTPUT_FILE) String outputFile) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -149,12 +161,14 @@ public class SQLQueryAllRows {
         trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
         timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
 
-        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+        final boolean toFile = StringUtils.isNotEmpty(outputFile);
+        //a scrollable result set is read at once by most drivers
+        resultSetType = defaultIfEmpty(resultSetType, toFile ? TYPE_FORWARD_ONLY : TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
 
         final List<String> preInputsValidation = validateSqlQueryAllRowsInputs(dbServerName, dbType, username, password, instance,
                 dbPort, databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+                timeout, resultSetType, resultSetConcurrency, authLibraryPath, fetchSize, outputFile);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -184,9 +198,16 @@ public class SQLQueryAllRows {
                 .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(defaultIfEmpty(fetchSize, toFile ? DEFAULT_FETCH_SIZE : ZERO)))
                 .build();
 
         try {
+            if (toFile) {
+                final long rowCount = SQLQueryAllRowsService.execQueryAllRowsToFile(sqlInputs, outputFile);
+                final Map<String, String> result = getSuccessResultsMap(outputFile);
+                result.put(ROW_COUNT, String.valueOf(rowCount));
+                return result;
+            }
             final String queryResult = SQLQueryAllRowsService.execQueryAllRows(sqlInputs);
             return OutputUtilities.getSuccessResultsMap(queryResult);
         } catch (Exception e) {
@@ -0,0 +1,252 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.actions;
+
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLQueryFanOutService;
+import io.cloudslang.content.database.utils.FanOutResult;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
+import static io.cloudslang.content.constants.OtherValues.COMMA_DELIMITER;
+import static io.cloudslang.content.constants.OutputNames.*;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.COLUMN_NAMES;
+import static io.cloudslang.content.database.constants.DBOutputNames.ERRORS;
+import static io.cloudslang.content.database.constants.DBOutputNames.FAILURE_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.SUCCESS_COUNT;
+import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryFanOutInputs;
+import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+public class SQLQueryFanOut {
+
+    /**
+     * @param targets                   The databases to run the query against, as a JSON array. Every target is either the
+     *                                  hostname of a database server or an object that can set the name, dbServerName, dbType,
+     *                                  username, password, instance, DBPort, databaseName and dbURL of the target.
+     *                                  The fields a target doesn't set are taken from the inputs with the same name.
+     *                                  The rows and errors of a target are tagged by its name, which defaults to its dbServerName.
+     *                                  Example: ["db1.example.com", {"name": "reports", "dbServerName": "db2.example.com", "dbType": "PostgreSQL"}]
+     * @param dbType                    The type of database of the targets that don't set it.
+     *                                  Valid values: Oracle, MSSQL, Sybase, Netcool, DB2, PostgreSQL and Custom.
+     *                                  Default value: Oracle
+     * @param username                  The username to use when connecting to the targets that don't set it.
+     * @param password                  The password to use when connecting to the targets that don't set it.
+     * @param instance                  The name instance of MSSQL Server. Leave it blank for default instance.
+     *                                  Example: MSSQLSERVER
+     * @param dbPort                    The port to connect to, for the targets that don't set it.
+     *                                  Valid values: Oracle: 1521, MSSQL: 1433, Sybase: 5000, Netcool: 4100, DB2: 50000, PostgreSQL: 5432.
+     * @param databaseName              The name of the database to connect to, for the targets that don't set it.
+     * @param authenticationType        The type of authentication used to access the database (applicable only to MSSQL type).
+     *                                  Default: sql
+     *                                  Values: sql, windows
+     * @param dbClass                   The classname of the JDBC driver to use.
+     *                                  Examples: "oracle.jdbc.driver.OracleDriver", "org.postgresql.Driver"
+     * @param dbURL                     The url required to load up the driver and make your connection, for the targets that don't set it.
+     *                                  Examples: "jdbc:oracle:drivertype:@database", "jdbc:postgresql://host:port/database"
+     * @param command                   The SQL query to execute on every target. A query that returns several result sets,
+     *                                  such as a batch or a stored procedure, returns the rows of all of them.
+     *                                  Example: "SELECT * FROM table"
+     * @param trustAllRoots             Specifies whether to enable weak security over SSL/TSL. A certificate is trusted even if no trusted certification authority issued it.
+     *                                  Default value: false
+     *                                  Valid values: true, false
+     *                                  Note: If trustAllRoots is set to 'false', a trustStore and a trustStorePassword must be provided.
+     * @param trustStore                The pathname of the Java TrustStore file. This contains certificates from other parties that you expect to communicate with,
+     *                                  or from Certificate Authorities that you trust to identify other parties.
+     *                                  If the trustAllRoots input is set to 'true' this input is ignored.
+     * @param trustStorePassword        The password associated with the trustStore file.
+     * @param authLibraryPath           The path to the folder where sqljdbc_auth.dll is located. This path must be provided when using windows authentication.
+     * @param colDelimiter              The delimiter to use between columns in the delimited output.
+     *                                  Default value: comma (,)
+     * @param rowDelimiter              The delimiter to use between rows in the delimited output.
+     *                                  Default value: \n
+     * @param outputFormat              The format of "returnResult".
+     *                                  delimited: the rows of all the targets, delimited by colDelimiter and rowDelimiter. The first
+     *                                  column of every row is the name of its target.
+     *                                  json: an array with an object for every target, holding its status, its error or the columns
+     *                                  and rows of every result set of the query.
+     *                                  Valid values: delimited, json
+     *                                  Default value: delimited
+     * @param timeout                   Seconds to wait before timing out the SQL command execution on a target.
+     *                                  Default value: 120
+     * @param targetTimeout             Seconds a target may take, including the time needed to connect. The query of a target
+     *                                  that is over this limit is cancelled and the target fails. 0 means no limit.
+     *                                  Default value: 300
+     * @param parallelism               The maximum number of targets queried at the same time.
+     *                                  Default value: 10
+     * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
+     *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
+     *                                  Example: db.pooling.enable=true
+     * @param resultSetType             the result set type. See JDBC folder description for more details.
+     *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
+     *                                  Default value: TYPE_FORWARD_ONLY
+     * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
+     *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
+     *                                  Default value: CONCUR_READ_ONLY
+     * @return The merged result of all the targets in "returnResult", the number of targets that succeeded and failed in
+     * "successCount" and "failureCount" and a line for every target that failed in "errors". The operation succeeds
+     * when at least one target succeeds.
+     */
+    @Action(name = "SQL Query Fan Out",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(EXCEPTION),
+                    @Output(COLUMN_NAMES),
+                    @Output(SUCCESS_COUNT),
+                    @Output(FAILURE_COUNT),
+                    @Output(ERRORS)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = TARGETS, required = true) String targets,
+                                       @Param(value = DB_TYPE) String dbType,
+                                       @Param(value = USERNAME) String username,
+                                       @Param(value = PASSWORD, encrypted = true) String password,
+                                       @Param(value = INSTANCE) String instance,
+                                       @Param(value = DB_PORT) String dbPort,
+                                       @Param(value = DATABASE_NAME) String databaseName,
+                                       @Param(value = AUTHENTICATION_TYPE) String authenticationType,
+                                       @Param(value = DB_CLASS) String dbClass,
+                                       @Param(value = DB_URL) String dbURL,
+                                       @Param(value = COMMAND, required = true) String command,
+                                       @Param(value = TRUST_ALL_ROOTS) String trustAllRoots,
+                                       @Param(value = TRUST_STORE) String trustStore,
+                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
+                                       @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
+                                       @Param(value = COL_DELIMITER) String colDelimiter,
+                                       @Param(value = ROW_DELIMITER) String rowDelimiter,
+                                       @Param(value = OUTPUT_FORMAT) String outputFormat,
+                                       @Param(value = TIMEOUT) String timeout,
+                                       @Param(value = TARGET_TIMEOUT) String targetTimeout,
+                                       @Param(value = PARALLELISM) String parallelism,
+                                       @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
+                                       @Param(value = RESULT_SET_TYPE) String resultSetType,
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+
+        dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
+        username = defaultIfEmpty(username, EMPTY);
+        password = defaultIfEmpty(password, EMPTY);
+        instance = defaultIfEmpty(instance, EMPTY);
+        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+        trustStore = defaultIfEmpty(trustStore, EMPTY);
+        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+        outputFormat = defaultIfEmpty(outputFormat, DEFAULT_OUTPUT_FORMAT);
+        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+        targetTimeout = defaultIfEmpty(targetTimeout, DEFAULT_TARGET_TIMEOUT);
+        parallelism = defaultIfEmpty(parallelism, DEFAULT_PARALLELISM);
+        resultSetType = defaultIfEmpty(resultSetType, TYPE_FORWARD_ONLY);
+        resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        colDelimiter = defaultIfEmpty(colDelimiter, COMMA_DELIMITER);
+        rowDelimiter = defaultIfEmpty(rowDelimiter, NEW_LINE);
+
+        final List<String> preInputsValidation = validateSqlQueryFanOutInputs(targets, dbType, username, password, instance,
+                dbPort, databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
+                timeout, resultSetType, resultSetConcurrency, authLibraryPath, outputFormat, targetTimeout, parallelism);
+
+        if (!preInputsValidation.isEmpty()) {
+            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+        }
+
+        final Map<String, SQLInputs> targetInputs = new LinkedHashMap<>();
+        for (final Map<String, String> target : getTargets(targets)) {
+            final String targetDbType = getDbType(getTargetValue(target, DB_TYPE, dbType));
+            targetInputs.put(getTargetName(target), SQLInputs.builder()
+                    .dbServer(target.get(DB_SERVER_NAME))
+                    .dbType(targetDbType)
+                    .username(getTargetValue(target, USERNAME, username))
+                    .password(getTargetValue(target, PASSWORD, password))
+                    .instance(getTargetValue(target, INSTANCE, instance))
+                    .dbPort(getOrDefaultDBPort(getTargetValue(target, DB_PORT, dbPort), targetDbType))
+                    .dbName(getTargetValue(target, DATABASE_NAME, defaultIfEmpty(databaseName, EMPTY)))
+                    .authenticationType(authenticationType)
+                    .dbClass(getOrDefaultDBClass(dbClass, targetDbType))
+                    .dbUrl(getTargetValue(target, DB_URL, defaultIfEmpty(dbURL, EMPTY)))
+                    .sqlCommand(command)
+                    .trustAllRoots(toBoolean(trustAllRoots))
+                    .trustStore(trustStore)
+                    .trustStorePassword(trustStorePassword)
+                    .authLibraryPath(authLibraryPath)
+                    .colDelimiter(colDelimiter)
+                    .rowDelimiter(rowDelimiter)
+                    .timeout(toInteger(timeout))
+                    .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                    .resultSetType(getResultSetTypeForDbType(resultSetType, targetDbType))
+                    .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
+                    .isNetcool(checkIsNetcool(targetDbType))
+                    .build());
+        }
+
+        try {
+            final List<FanOutResult> results = new SQLQueryFanOutService(toInteger(parallelism), toInteger(targetTimeout))
+                    .execute(targetInputs);
+
+            final List<String> errors = new ArrayList<>();
+            for (final FanOutResult result : results) {
+                if (!result.isSuccess()) {
+                    errors.add(result.getTarget() + ": " + result.getError());
+                }
+            }
+            final String error = StringUtils.join(errors, NEW_LINE);
+            final Map<String, String> resultMap;
+            if (errors.size() == results.size()) {
+                resultMap = getFailureResultsMap(error);
+            } else if (JSON_FORMAT.equalsIgnoreCase(outputFormat)) {
+                resultMap = getSuccessResultsMap(SQLQueryFanOutService.toJson(results));
+            } else {
+                resultMap = getSuccessResultsMap(SQLQueryFanOutService.toDelimited(results, colDelimiter, rowDelimiter));
+            }
+            resultMap.put(COLUMN_NAMES, SQLQueryFanOutService.getDelimitedColumnNames(results, colDelimiter));
+            resultMap.put(SUCCESS_COUNT, String.valueOf(results.size() - errors.size()));
+            resultMap.put(FAILURE_COUNT, String.valueOf(errors.size()));
+            resultMap.put(ERRORS, error);
+            return resultMap;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
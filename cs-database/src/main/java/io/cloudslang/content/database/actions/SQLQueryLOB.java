@@ -25,16 +25,14 @@ import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.database.constants.DBReturnCodes;
 import io.cloudslang.content.database.services.SQLQueryLobService;
+import io.cloudslang.content.database.utils.LobStore;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLInputsUtils;
 import io.cloudslang.content.database.utils.SQLSessionResource;
 import io.cloudslang.content.utils.BooleanUtilities;
 import io.cloudslang.content.utils.OutputUtilities;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.File;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +56,7 @@ import static io.cloudslang.content.database.utils.SQLUtils.getStrColumns;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static java.lang.String.format;
+import static org.apache.commons.io.IOUtils.closeQuietly;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 
@@ -107,6 +106,7 @@ public class SQLQueryLOB {
      *                                  Default values: 0
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             the result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
@@ -114,6 +114,15 @@ public class SQLQueryLOB {
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param lobInlineSize             The size in KB up to which a CLOB or BLOB value is kept in memory until it is returned.
+     *                                  The size of a CLOB is the size of its text encoded in UTF-8.
+     *                                  The larger values are appended to a single spill file which is deleted when all
+     *                                  the rows were returned or when the session ends.
+     *                                  Valid values: 0 to 1048576, 0 spills all the values.
+     *                                  Default value: 64
+     * @param blobFormat                The text format of the BLOB values.
+     *                                  Valid values: base64, hex
+     *                                  Default value: base64
      * @return Returns the data of a row returned from query. It is delimited by <delimiter>.
      */
     @Action(name = "SQL Query LOB",
@@ -151,6 +160,8 @@ public class SQLQueryLOB {
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = LOB_INLINE_SIZE) String lobInlineSize,
+                                       @Param(value = BLOB_FORMAT) String blobFormat,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -164,10 +175,12 @@ public class SQLQueryLOB {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        lobInlineSize = defaultIfEmpty(lobInlineSize, DEFAULT_LOB_INLINE_SIZE);
+        blobFormat = defaultIfEmpty(blobFormat, DEFAULT_BLOB_FORMAT);
 
         final List<String> preInputsValidation = validateSqlQueryLOBInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+                timeout, resultSetType, resultSetConcurrency, authLibraryPath, lobInlineSize, blobFormat);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -201,6 +214,7 @@ public class SQLQueryLOB {
                 .isNetcool(checkIsNetcool(dbType))
                 .build();
 
+        LobStore newLobStore = null;
         try {
 
             final String aKey = SQLInputsUtils.getSqlKey(sqlInputs);
@@ -209,6 +223,7 @@ public class SQLQueryLOB {
             final String strKeyFiles = format(KEY_FILES, aKey);
             final String strKeyNames = format(KEY_CLOB_NAMES, aKey);
             final String strKeySkip = format(KEY_SKIP, aKey);
+            final String strKeyLobStore = format(KEY_LOB_STORE, aKey);
 
             globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
 
@@ -221,6 +236,7 @@ public class SQLQueryLOB {
                 sqlInputs.setLRows(getRowsFromGlobalSessionMap(globalSessionObject, aKey));
                 sqlInputs.setStrColumns(getStrColumns(globalSessionObject, strKeyCol));
 
+                final LobStore lobStore = (LobStore) sqlConnectionMap.get(strKeyLobStore);
                 if (sqlConnectionMap.get(strKeyFiles) != null) {
                     sqlInputs.setSkip((Long) sqlConnectionMap.get(strKeySkip));
                     sqlInputs.setLRowsFiles((List) sqlConnectionMap.get(strKeyFiles));
@@ -234,6 +250,8 @@ public class SQLQueryLOB {
                     sqlConnectionMap.put(strKeyFiles, null);
                     sqlConnectionMap.put(strKeyNames, null);
                     sqlConnectionMap.put(strKeySkip, 0L);
+                    sqlConnectionMap.put(strKeyLobStore, null);
+                    closeQuietly(lobStore);
 
                     result.put(RETURN_RESULT, NO_MORE);
                     result.put(ROWS_LEFT, ZERO);
@@ -247,10 +265,8 @@ public class SQLQueryLOB {
                     result.put(RETURN_CODE, SUCCESS);
                     sqlConnectionMap.put(aKey, sqlInputs.getLRows());
                 } else {
-                    final String colName = "CLOB column: " + ((List) sqlInputs.getLRowsNames().get(0)).get(0);
-                    final File tmpFile = new File(sqlInputs.getLRowsFiles().get(0).get(0));
-                    final String fileContent = FileUtils.readFileToString(tmpFile, StandardCharsets.UTF_8);
-                    FileUtils.deleteQuietly(tmpFile);
+                    final String colName = sqlInputs.getLRowsNames().get(0).get(0);
+                    final String fileContent = lobStore.remove(sqlInputs.getLRowsFiles().get(0).get(0));
 
                     sqlInputs.getLRowsFiles().get(0).remove(0);
                     sqlInputs.getLRowsNames().get(0).remove(0);
@@ -273,7 +289,9 @@ public class SQLQueryLOB {
                 globalSessionObject.setResource(new SQLSessionResource(sqlConnectionMap));
 
             } else { //globalSessionObject
-                boolean isLOB = SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+                final LobStore lobStore = new LobStore(toInteger(lobInlineSize) * 1024, blobFormat);
+                newLobStore = lobStore;
+                boolean isLOB = SQLQueryLobService.executeSqlQueryLob(sqlInputs, lobStore);
 
                 if (!sqlInputs.getLRows().isEmpty()) {
                     final String getFirstRow = sqlInputs.getLRows().remove(0);
@@ -289,9 +307,13 @@ public class SQLQueryLOB {
                         sqlConnectionMap.put(strKeyFiles, sqlInputs.getLRowsFiles());
                         sqlConnectionMap.put(strKeyNames, sqlInputs.getLRowsNames());
                         sqlConnectionMap.put(strKeySkip, 0L);
+                        sqlConnectionMap.put(strKeyLobStore, lobStore);
+                    } else {
+                        lobStore.close();
                     }
                     globalSessionObject.setResource(new SQLSessionResource(sqlConnectionMap));
                 } else {
+                    lobStore.close();
                     result.put(SQL_QUERY, sqlInputs.getSqlCommand());
                     result.put(RETURN_RESULT, NO_MORE);
                     result.put(ROWS_LEFT, ZERO);
@@ -301,6 +323,10 @@ public class SQLQueryLOB {
             globalSessionObject.setResource(new SQLSessionResource(sqlConnectionMap));
             return result;
         } catch (Exception e) {
+            //the values of a query that failed are not returned, a store kept in the session is closed when the session ends
+            if (newLobStore != null && !globalSessionObject.get().containsValue(newLobStore)) {
+                newLobStore.close();
+            }
             final Map<String, String> failureMap = OutputUtilities.getFailureResultsMap(e);
             failureMap.put(ROWS_LEFT, ZERO);
             return failureMap;
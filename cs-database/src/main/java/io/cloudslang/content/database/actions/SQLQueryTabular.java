@@ -41,6 +41,7 @@ import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.*;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROW_COUNT;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryTabularInputs;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
@@ -91,20 +92,30 @@ public class SQLQueryTabular {
      *                                  Default values: 0
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             the result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
-     *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY
+     *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY,
+     *                                  TYPE_FORWARD_ONLY when outputFile is set
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param fetchSize                 The number of rows fetched from the server at a time.
+     *                                  Default value: 1000 when outputFile is set, otherwise the driver default
+     * @param outputFile                The path of a file the rows are written to, as a table, while they are fetched,
+     *                                  instead of being returned in "returnResult". The file is overwritten if it exists.
+     *                                  When set, "returnResult" is the path of the file and "rowCount" the number of rows written.
+     *                                  The rows are spilled to a temporary file to compute the column widths, so the
+     *                                  memory used doesn't depend on the number of rows.
      * @return Returns the data returned from the query as a table.
      */
     @Action(name = "SQL Query Tabular",
             outputs = {
                     @Output(RETURN_CODE),
                     @Output(OutputNames.RETURN_RESULT),
-                    @Output(EXCEPTION)
+                    @Output(EXCEPTION),
+                    @Output(ROW_COUNT)
             },
             responses = {
                     @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
@@ -130,7 +141,9 @@ public class SQLQueryTabular {
                                        @Param(value = TIMEOUT) String timeout,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = OUTPUT_FILE) String outputFile) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -142,12 +155,14 @@ public class SQLQueryTabular {
         trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
         timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
 
-        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+        final boolean toFile = StringUtils.isNotEmpty(outputFile);
+        //a scrollable result set is read at once by most drivers
+        resultSetType = defaultIfEmpty(resultSetType, toFile ? TYPE_FORWARD_ONLY : TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
 
         final List<String> preInputsValidation = validateSqlQueryTabularInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+                timeout, resultSetType, resultSetConcurrency, authLibraryPath, fetchSize, outputFile);
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -174,8 +189,15 @@ public class SQLQueryTabular {
                 .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(defaultIfEmpty(fetchSize, toFile ? DEFAULT_FETCH_SIZE : ZERO)))
                 .build();
         try {
+            if (toFile) {
+                final long rowCount = SQLQueryTabularService.execSqlQueryTabularToFile(sqlInputs, outputFile);
+                final Map<String, String> result = getSuccessResultsMap(outputFile);
+                result.put(ROW_COUNT, String.valueOf(rowCount));
+                return result;
+            }
             final String queryResult = SQLQueryTabularService.execSqlQueryTabular(sqlInputs);
             return getSuccessResultsMap(queryResult);
         } catch (Exception e) {
@@ -27,9 +27,13 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.services.SQLScriptService;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLScriptReader;
 import io.cloudslang.content.utils.BooleanUtilities;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +42,7 @@ import static io.cloudslang.content.constants.OutputNames.*;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
+import static io.cloudslang.content.database.constants.DBDefaultValues.DEFAULT_BATCH_SIZE;
 import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
 import static io.cloudslang.content.database.constants.DBExceptionValues.NO_SQL_COMMAND;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
@@ -46,6 +51,7 @@ import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUN
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlScriptInputs;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
@@ -73,9 +79,15 @@ public class SQLScript {
      *                                  Examples: "oracle.jdbc.driver.OracleDriver", "org.postgresql.Driver"
      * @param dbURL                     The url required to load up the driver and make your connection.
      *                                  Examples: "jdbc:oracle:drivertype:@database", "jdbc:postgresql://host:port/database"
-     * @param delimiter                 The delimiter to use <sqlCommands>
+     * @param delimiter                 The delimiter to use <sqlCommands> and the commands of <scriptFileName>
+     *                                  Default value: ;
      * @param sqlCommands               All the SQL commands that you want to run using the <delimiter>
-     * @param scriptFileName            SQL script file name. The command in the file need to have ';' to indicate the end of the command
+     * @param scriptFileName            SQL script file name. The commands in the file need to have <delimiter> to indicate the end of the command.
+     *                                  The file is read while the commands are executed. A delimiter inside a string, a quoted identifier
+     *                                  or a comment doesn't end a command, comments are removed. For Oracle a line holding only '/' also ends
+     *                                  a command and PL/SQL blocks are ended only by such a line. For MSSQL and Sybase a line holding only
+     *                                  GO also ends a command and DECLARE, BEGIN and CREATE PROCEDURE, FUNCTION and TRIGGER batches are ended
+     *                                  only by such a line. For MySQL a DELIMITER line changes the delimiter.
      *                                  Note: this is mutual exclusive with <sqlCommands>
      * @param trustAllRoots             Specifies whether to enable weak security over SSL/TSL. A certificate is trusted even if no trusted certification authority issued it.
      *                                  Default value: false
@@ -91,6 +103,7 @@ public class SQLScript {
      *                                  The path provided should be the path to the folder where the sqljdbc_auth.dll library is located, not the path to the file itself.
      * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
      *                                  Default: db.pooling.enable=false
+     *                                  db.pooling.provider=c3p0 (valid values: c3p0, hikari)
      *                                  Example: db.pooling.enable=true
      * @param resultSetType             The result set type. See JDBC folder description for more details.
      *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
@@ -98,7 +111,11 @@ public class SQLScript {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
-     * @return Returns a success or failure message.
+     * @param batchSize                 The number of commands of <scriptFileName> sent to the database and committed at a time.
+     *                                  If a batch fails it is rolled back and the batches before it stay committed.
+     *                                  Default value: 1000
+     * @return Returns a success or failure message. For <scriptFileName> it holds the number of commands executed
+     *         and the time it took.
      */
     @Action(name = "SQL Script",
             outputs = {
@@ -132,7 +149,8 @@ public class SQLScript {
                                        @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = BATCH_SIZE) String batchSize) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -148,7 +166,7 @@ public class SQLScript {
 
         final List<String> preInputsValidation = validateSqlScriptInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, sqlCommands, scriptFileName, trustAllRoots, trustStore, trustStorePassword,
-                resultSetType, resultSetConcurrency, authLibraryPath);
+                resultSetType, resultSetConcurrency, authLibraryPath, batchSize);
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -167,7 +185,7 @@ public class SQLScript {
                 .dbClass(getOrDefaultDBClass(dbClass, dbType))
                 .dbUrl(defaultIfEmpty(dbURL, EMPTY))
                 .strDelim(delimiter)
-                .sqlCommands(getSqlCommands(sqlCommands, scriptFileName, delimiter))
+                .sqlCommands(getSqlCommands(sqlCommands, EMPTY, delimiter))
                 .trustAllRoots(toBoolean(trustAllRoots))
                 .trustStore(trustStore)
                 .trustStorePassword(trustStorePassword)
@@ -178,6 +196,19 @@ public class SQLScript {
                 .isNetcool(checkIsNetcool(dbType))
                 .build();
 
+        if (StringUtils.isNotEmpty(scriptFileName)) {
+            try (final SQLScriptReader scriptReader = new SQLScriptReader(
+                    Files.newBufferedReader(Paths.get(scriptFileName), Charset.defaultCharset()), dbType, delimiter)) {
+                final String res = SQLScriptService.executeSqlScript(scriptReader, sqlInputs,
+                        toInteger(defaultIfEmpty(batchSize, DEFAULT_BATCH_SIZE)));
+                final Map<String, String> result = getSuccessResultsMap(res);
+                result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
+                return result;
+            } catch (Exception e) {
+                return getFailureResultsMap(e);
+            }
+        }
+
         try {
             final List<String> commands = sqlInputs.getSqlCommands();
             if (!commands.isEmpty()) {
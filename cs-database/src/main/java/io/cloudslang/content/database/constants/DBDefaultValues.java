@@ -24,4 +24,14 @@ public class DBDefaultValues {
     public static final String AUTH_SQL = "Sql";
     public static final String DEFAULT_TIMEOUT = "120";
     public static final String NEW_LINE = "\n";
+    public static final String DEFAULT_FETCH_SIZE = "1000";
+    public static final String DEFAULT_CURSOR_IDLE_TIMEOUT = "300";
+    public static final String DEFAULT_CHUNK_SIZE = "1000";
+    public static final String DEFAULT_ROWS_FORMAT = "csv";
+    public static final String DEFAULT_BATCH_SIZE = "1000";
+    public static final String DEFAULT_LOB_INLINE_SIZE = "64";
+    public static final String DEFAULT_BLOB_FORMAT = "base64";
+    public static final String DEFAULT_OUTPUT_FORMAT = "delimited";
+    public static final String DEFAULT_TARGET_TIMEOUT = "300";
+    public static final String DEFAULT_PARALLELISM = "10";
 }
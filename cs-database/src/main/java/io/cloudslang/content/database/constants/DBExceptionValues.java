@@ -45,4 +45,26 @@ public class DBExceptionValues extends ExceptionValues {
     public static final String INVALID_COMMANDS_EXCLUSIVITY = "Only one of the sqlCommands and scriptFileName can be specified";
     public static final String INVALID_AUTHENTICATION_TYPE_FOR_MS_SQL = "Invalid authentication type for MS SQL : ";
     public static final String NO_SQL_COMMAND = "No SQL command to be executed.";
+    public static final String INVALID_USE_CURSOR = "useCursor must be 'true' or 'false'";
+    public static final String INVALID_FETCH_SIZE = "fetchSize has to be a positive integer!";
+    public static final String INVALID_CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout must be an integer greater than zero!";
+    public static final String INVALID_OUTPUT_FILE = "outputFile must be the path of a file in an existing directory.";
+    public static final String INVALID_ROWS_EXCLUSIVITY = "Exactly one of the rows and rowsFile inputs must be specified";
+    public static final String INVALID_ROWS_FILE = "rowsFile must be the path of an existing file.";
+    public static final String INVALID_ROWS_FORMAT = "rowsFormat must be 'csv' or 'json'";
+    public static final String INVALID_HAS_HEADER = "hasHeader must be 'true' or 'false'";
+    public static final String INVALID_CHUNK_SIZE = "chunkSize has to be a positive integer!";
+    public static final String INVALID_USE_FAST_PATH = "useFastPath must be 'true' or 'false'";
+    public static final String INVALID_CSV_DELIMITER = "colDelimiter must be a single character for the csv rows format";
+    public static final String INVALID_BATCH_SIZE = "batchSize has to be a positive integer!";
+    public static final String INVALID_PARAMETERS = "parameters must be a JSON array of strings, numbers, booleans and nulls";
+    public static final String INVALID_LOB_INLINE_SIZE = "lobInlineSize has to be an integer between 0 and 1048576!";
+    public static final String INVALID_BLOB_FORMAT = "blobFormat must be 'base64' or 'hex'";
+    public static final String INVALID_TARGETS = "targets must be a non empty JSON array of server names or of objects with the name, dbServerName, dbType, username, password, instance, DBPort, databaseName and dbURL fields";
+    public static final String INVALID_DUPLICATE_TARGET = "The target names must be unique, \"%s\" is used more than once.";
+    public static final String INVALID_OUTPUT_FORMAT = "outputFormat must be 'delimited' or 'json'";
+    public static final String INVALID_TARGET_TIMEOUT = "targetTimeout has to be an integer greater or equal to 0!";
+    public static final String INVALID_PARALLELISM = "parallelism has to be an integer greater than 0!";
+    public static final String TARGET_TIMED_OUT = "The target did not complete in %d seconds.";
+    public static final String CURSOR_CLOSED = "The cursor was closed because it was not used for more than %d seconds.";
 }
@@ -50,6 +50,24 @@ public class DBInputNames extends InputNames {
     public static final String SCRIPT_FILE_NAME = "scriptFileName";
     public static final String GLOBAL_SESSION_OBJECT = "globalSessionObject";
     public static final String SQL_COMMANDS = "sqlCommands";
+    public static final String USE_CURSOR = "useCursor";
+    public static final String FETCH_SIZE = "fetchSize";
+    public static final String CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout";
+    public static final String OUTPUT_FILE = "outputFile";
+    public static final String ROWS = "rows";
+    public static final String ROWS_FILE = "rowsFile";
+    public static final String ROWS_FORMAT = "rowsFormat";
+    public static final String HAS_HEADER = "hasHeader";
+    public static final String CHUNK_SIZE = "chunkSize";
+    public static final String USE_FAST_PATH = "useFastPath";
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String PARAMETERS = "parameters";
+    public static final String LOB_INLINE_SIZE = "lobInlineSize";
+    public static final String BLOB_FORMAT = "blobFormat";
+    public static final String TARGETS = "targets";
+    public static final String OUTPUT_FORMAT = "outputFormat";
+    public static final String TARGET_TIMEOUT = "targetTimeout";
+    public static final String PARALLELISM = "parallelism";
 
 
     public static final String MS_DELIMITER = "Delimiter";
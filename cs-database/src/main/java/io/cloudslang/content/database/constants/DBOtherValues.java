@@ -22,12 +22,22 @@ package io.cloudslang.content.database.constants;
  */
 public class DBOtherValues {
     public static final String ZERO = "0";
+    public static final String ONE = "1";
     public static final String DATABASE_NAME_CAP = "DatabaseName";
     public static final String SET_NOCOUNT_ON = "SET NOCOUNT ON";
     public static final String FORWARD_SLASH = "/";
     public static final String BACK_SLASH = "\\";
     public static final String SEMI_COLON = ";";
     public static final String DBMS_OUTPUT = "dbms_output";
+    public static final String CSV_FORMAT = "csv";
+    public static final String JSON_FORMAT = "json";
+    public static final String BASE64_FORMAT = "base64";
+    public static final String HEX_FORMAT = "hex";
+    public static final String DELIMITED_FORMAT = "delimited";
+    public static final String TARGET_NAME = "name";
+    public static final String TARGET_COLUMN = "target";
+    //the largest lobInlineSize, in KB
+    public static final int MAX_LOB_INLINE_SIZE = 1048576;
 
     public static final String CONCUR_READ_ONLY = "CONCUR_READ_ONLY";
     public static final String CONCUR_UPDATABLE = "CONCUR_UPDATABLE";
@@ -67,5 +77,6 @@ public class DBOtherValues {
     public static final String KEY_FILES = "%s - Files";
     public static final String KEY_CLOB_NAMES = "%s - CLOBNames";
     public static final String KEY_SKIP = "%s - Skip";
+    public static final String KEY_LOB_STORE = "%s - LobStore";
 
 }
@@ -48,6 +48,23 @@ public class ConnectionService {
         return obtainConnection(connectionUrls, sqlInputs);
     }
 
+    /**
+     * Set up a connection with driver specific parameters added to the connection urls.
+     *
+     * @param sqlInputs     the inputs of the connection
+     * @param urlParameters the parameters to add, as name=value pairs separated by '&amp;'
+     * @return the connection
+     * @throws SQLException
+     */
+    public Connection setUpConnection(@NotNull final SQLInputs sqlInputs, @NotNull final String urlParameters) throws SQLException {
+        dbConnectionManager = DBConnectionManager.getInstance();
+        final List<String> connectionUrls = new ArrayList<>();
+        for (final String connectionUrl : getConnectionUrls(sqlInputs)) {
+            connectionUrls.add(connectionUrl + (connectionUrl.contains("?") ? "&" : "?") + urlParameters);
+        }
+        return obtainConnection(connectionUrls, sqlInputs);
+    }
+
     public List<String> getConnectionUrls(@NotNull final SQLInputs sqlInputs) {
         final SqlDatabase currentDatabase = getDbClassForType(sqlInputs.getDbType());
         return currentDatabase.setUp(sqlInputs);
@@ -0,0 +1,202 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.RowsReader;
+import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLUtils;
+import org.jetbrains.annotations.NotNull;
+import org.postgresql.PGConnection;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.MYSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * Loads rows with a parameterized statement, committing every chunk of rows.
+ */
+public class SQLBulkInsertService {
+    //INSERT INTO table (columns) VALUES (?, ..., ?), the statements that can be turned into a PostgreSQL COPY
+    private static final Pattern SIMPLE_INSERT = Pattern.compile(
+            "^\\s*insert\\s+into\\s+([\\w.\"]+)\\s*\\(([^)]+)\\)\\s*values\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Run the parameterized statement of sqlInputs for every row.
+     * The rows are sent in batches of chunkSize rows and every batch is committed. When useFastPath is true
+     * the driver specific bulk paths are used: COPY for a simple insert on PostgreSQL, rewritten batch inserts
+     * for PostgreSQL and MySQL otherwise. The number of rows inserted is set as the update count of sqlInputs.
+     *
+     * @param sqlInputs   the inputs of the connection and the parameterized statement
+     * @param rows        the values of the parameters
+     * @param chunkSize   the number of rows sent and committed at a time
+     * @param useFastPath true to use the driver specific bulk paths
+     * @return the result message
+     * @throws Exception if a chunk fails, the chunks before it stay committed
+     */
+    public static String executeBulkInsert(@NotNull final SQLInputs sqlInputs, @NotNull final RowsReader rows,
+                                           final int chunkSize, final boolean useFastPath) throws Exception {
+        final String dbType = sqlInputs.getDbType();
+        final String copySql = useFastPath && POSTGRES_DB_TYPE.equalsIgnoreCase(dbType) ? getCopySql(sqlInputs.getSqlCommand()) : null;
+
+        final ConnectionService connectionService = new ConnectionService();
+        final String urlParameters = getUrlParameters(dbType, useFastPath);
+        try (final Connection connection = urlParameters.isEmpty() ? connectionService.setUpConnection(sqlInputs) :
+                connectionService.setUpConnection(sqlInputs, urlParameters)) {
+            connection.setReadOnly(false);
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            final long[] committed = new long[1];
+            try {
+                if (copySql != null && connection.isWrapperFor(PGConnection.class)) {
+                    copyRows(connection, copySql, rows, chunkSize, committed);
+                } else {
+                    batchRows(connection, sqlInputs, rows, chunkSize, committed);
+                }
+            } catch (Exception e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignore) {
+                }
+                throw new Exception(String.format("The bulk insert failed after %d rows were committed: %s", committed[0], e.getMessage()), e);
+            } finally {
+                SQLUtils.restoreAutoCommit(connection, autoCommit);
+            }
+            sqlInputs.setIUpdateCount((int) Math.min(committed[0], Integer.MAX_VALUE));
+            return committed[0] + " row(s) inserted";
+        }
+    }
+
+    /**
+     * @return the columns of a simple insert in the order of its placeholders or null if the statement isn't a simple insert
+     */
+    public static List<String> getInsertColumns(final String sqlCommand) {
+        final Matcher matcher = SIMPLE_INSERT.matcher(sqlCommand);
+        if (!matcher.matches()) {
+            return null;
+        }
+        final String[] columns = matcher.group(2).split(",");
+        final int placeholders = sqlCommand.length() - sqlCommand.replace("?", EMPTY).length();
+        if (columns.length != placeholders) {
+            return null;
+        }
+        final List<String> columnNames = new ArrayList<>(columns.length);
+        for (final String column : columns) {
+            columnNames.add(column.trim());
+        }
+        return columnNames;
+    }
+
+    /**
+     * @return the PostgreSQL COPY statement for a simple insert or null if the statement can't be turned into a COPY
+     */
+    static String getCopySql(final String sqlCommand) {
+        if (getInsertColumns(sqlCommand) == null) {
+            return null;
+        }
+        final Matcher matcher = SIMPLE_INSERT.matcher(sqlCommand);
+        matcher.matches();
+        return "COPY " + matcher.group(1) + " (" + matcher.group(2).trim() + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    private static String getUrlParameters(final String dbType, final boolean useFastPath) {
+        if (POSTGRES_DB_TYPE.equalsIgnoreCase(dbType)) {
+            //stringtype=unspecified lets the server convert the CSV strings to the column types
+            return useFastPath ? "reWriteBatchedInserts=true&stringtype=unspecified" : "stringtype=unspecified";
+        }
+        if (MYSQL_DB_TYPE.equalsIgnoreCase(dbType) && useFastPath) {
+            return "rewriteBatchedStatements=true";
+        }
+        return EMPTY;
+    }
+
+    private static void batchRows(final Connection connection, final SQLInputs sqlInputs, final RowsReader rows,
+                                  final int chunkSize, final long[] committed) throws Exception {
+        try (final PreparedStatement statement = connection.prepareStatement(sqlInputs.getSqlCommand())) {
+            statement.setQueryTimeout(sqlInputs.getTimeout());
+            final int[] parameterTypes = SQLUtils.getParameterTypes(statement);
+            int inChunk = 0;
+            Object[] row;
+            while ((row = rows.next()) != null) {
+                SQLUtils.setParameters(statement, Arrays.asList(row), parameterTypes);
+                statement.addBatch();
+                if (++inChunk == chunkSize) {
+                    statement.executeBatch();
+                    connection.commit();
+                    committed[0] += inChunk;
+                    inChunk = 0;
+                }
+            }
+            if (inChunk > 0) {
+                statement.executeBatch();
+                connection.commit();
+                committed[0] += inChunk;
+            }
+        }
+    }
+
+    private static void copyRows(final Connection connection, final String copySql, final RowsReader rows,
+                                 final int chunkSize, final long[] committed) throws Exception {
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        final StringBuilder chunk = new StringBuilder();
+        int inChunk = 0;
+        Object[] row;
+        while ((row = rows.next()) != null) {
+            appendCsvRow(chunk, row);
+            if (++inChunk == chunkSize) {
+                committed[0] += copyChunk(connection, pgConnection, copySql, chunk);
+                inChunk = 0;
+            }
+        }
+        if (inChunk > 0) {
+            committed[0] += copyChunk(connection, pgConnection, copySql, chunk);
+        }
+    }
+
+    private static long copyChunk(final Connection connection, final PGConnection pgConnection, final String copySql,
+                                  final StringBuilder chunk) throws Exception {
+        final long copied = pgConnection.getCopyAPI().copyIn(copySql, new StringReader(chunk.toString()));
+        connection.commit();
+        chunk.setLength(0);
+        return copied;
+    }
+
+    //an empty value without quotes is NULL for COPY, every other value is quoted
+    static void appendCsvRow(final StringBuilder chunk, final Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                chunk.append(',');
+            }
+            if (row[i] != null) {
+                chunk.append('"').append(row[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        chunk.append('\n');
+    }
+}
@@ -52,10 +52,10 @@ public class SQLCommandService {
                 oracleDbmsOutput.close();
                 return output;
             } else {
-                final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+                final Statement statement = SQLUtils.createStatement(connection, sqlInputs, sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
                 statement.setQueryTimeout(sqlInputs.getTimeout());
                 try {
-                    statement.execute(sqlInputs.getSqlCommand());
+                    SQLUtils.execute(statement, sqlInputs.getSqlCommand());
                 } catch (SQLException e) {
                     if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType)) {
                         //during a dump sybase sends back status as exceptions.
@@ -20,8 +20,13 @@ package io.cloudslang.content.database.services;
 
 import io.cloudslang.content.database.utils.Format;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
@@ -45,6 +50,9 @@ public class SQLQueryAllRowsService {
             Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
 
             statement.setQueryTimeout(sqlInputs.getTimeout());
+            if (sqlInputs.getFetchSize() > 0) {
+                statement.setFetchSize(sqlInputs.getFetchSize());
+            }
             final ResultSet resultSet = statement.executeQuery(sqlInputs.getSqlCommand());
 
             final String resultSetToDelimitedColsAndRows = Format.resultSetToDelimitedColsAndRows(resultSet, sqlInputs.isNetcool(), sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter());
@@ -54,4 +62,34 @@ public class SQLQueryAllRowsService {
             return resultSetToDelimitedColsAndRows;
         }
     }
+
+    /**
+     * Run a SQL query with given configuration and write the rows delimited by colDelimiter and rowDelimiter to a file while they are fetched
+     *
+     * @param outputFile the file the result is written to, it is overwritten if it exists and deleted if the query fails
+     * @return the number of rows written
+     * @throws Exception
+     */
+    public static long execQueryAllRowsToFile(@NotNull final SQLInputs sqlInputs, @NotNull final String outputFile) throws Exception {
+        ConnectionService connectionService = new ConnectionService();
+        try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
+            connection.setReadOnly(true);
+            final boolean autoCommit = connection.getAutoCommit();
+            try {
+                final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+                statement.setQueryTimeout(sqlInputs.getTimeout());
+                SQLUtils.setStreamingFetchSize(connection, statement, sqlInputs.getDbType(), sqlInputs.getFetchSize());
+
+                try (final ResultSet resultSet = statement.executeQuery(sqlInputs.getSqlCommand());
+                     final Writer writer = Files.newBufferedWriter(Paths.get(outputFile), StandardCharsets.UTF_8)) {
+                    return Format.resultSetToDelimitedColsAndRows(resultSet, sqlInputs.isNetcool(), sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter(), writer);
+                }
+            } finally {
+                SQLUtils.restoreAutoCommit(connection, autoCommit);
+            }
+        } catch (Exception e) {
+            SQLUtils.deleteOutputFile(outputFile);
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.CURSOR_CLOSED;
+
+/**
+ * A server side cursor kept open between the SQL Query invocations of a flow.
+ * It holds the connection, the statement and the result set of the query and reads one row ahead, so it knows
+ * if there are more rows without reading the whole result set. The connection is released as soon as the last
+ * row was read, when the cursor is closed or when it was not used for longer than its idle timeout.
+ */
+public class SQLQueryCursor {
+    //interval when the idle cursors are checked, in seconds
+    private static final long CLEANER_INTERVAL = 10;
+    private static final Set<SQLQueryCursor> OPEN_CURSORS = Collections.newSetFromMap(new ConcurrentHashMap<SQLQueryCursor, Boolean>());
+    private static ScheduledExecutorService cleaner;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet results;
+    private final String strColumns;
+    private final String strDelim;
+    private final boolean isNetcool;
+    private final long idleTimeoutMillis;
+    private final int columnCount;
+
+    private volatile long lastAccess;
+    private String nextRow;
+    private boolean closed;
+    private boolean closedWhenIdle;
+
+    /**
+     * @param connection        the connection the query was executed on, it is closed together with the cursor
+     * @param statement         the statement of the query
+     * @param results           the result set, positioned before the first row
+     * @param strColumns        the column names of the result set, separated by the delimiter
+     * @param strDelim          the delimiter of the values in a row
+     * @param isNetcool         true if the null terminated strings should be processed
+     * @param idleTimeoutMillis the time after which an unused cursor is closed, in milliseconds
+     * @throws SQLException
+     */
+    public SQLQueryCursor(@NotNull final Connection connection, @NotNull final Statement statement, @NotNull final ResultSet results,
+                          final String strColumns, final String strDelim, final boolean isNetcool, final long idleTimeoutMillis) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.results = results;
+        this.strColumns = strColumns;
+        this.strDelim = strDelim;
+        this.isNetcool = isNetcool;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.columnCount = results.getMetaData().getColumnCount();
+        this.lastAccess = System.currentTimeMillis();
+        register(this);
+        try {
+            readAhead();
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the next row or null if there are no more rows
+     * @throws SQLException if the row could not be read or the cursor was closed because it was idle
+     */
+    @Nullable
+    public synchronized String next() throws SQLException {
+        if (closedWhenIdle) {
+            throw new SQLException(String.format(CURSOR_CLOSED, TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMillis)));
+        }
+        lastAccess = System.currentTimeMillis();
+        final String row = nextRow;
+        if (row != null) {
+            try {
+                readAhead();
+            } catch (SQLException e) {
+                close();
+                throw e;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * @return true if there is at least one more row to read
+     */
+    public synchronized boolean hasNext() {
+        return nextRow != null;
+    }
+
+    public String getStrColumns() {
+        return strColumns;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * close the result set, the statement and the connection of the cursor; can be called more than once
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextRow = null;
+        OPEN_CURSORS.remove(this);
+        try {
+            results.close();
+        } catch (SQLException ignore) {
+        }
+        try {
+            statement.close();
+        } catch (SQLException ignore) {
+        }
+        try {
+            //the query only read data, nothing to keep from the transaction
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ignore) {
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignore) {
+        }
+    }
+
+    /**
+     * close the cursors that were not used for longer than their idle timeout
+     *
+     * @param now the current time in milliseconds
+     * @return the number of cursors closed
+     */
+    static int closeIdleCursors(final long now) {
+        int count = 0;
+        for (final SQLQueryCursor cursor : OPEN_CURSORS) {
+            if (cursor.closeIfIdle(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int getOpenCursorCount() {
+        return OPEN_CURSORS.size();
+    }
+
+    private synchronized boolean closeIfIdle(final long now) {
+        if (closed || now - lastAccess < idleTimeoutMillis) {
+            return false;
+        }
+        closedWhenIdle = true;
+        close();
+        return true;
+    }
+
+    private void readAhead() throws SQLException {
+        if (!results.next()) {
+            //the last row was read, the connection is not needed anymore
+            close();
+            return;
+        }
+        nextRow = SQLQueryService.getRow(results, columnCount, strDelim, isNetcool);
+    }
+
+    private static synchronized void register(final SQLQueryCursor cursor) {
+        OPEN_CURSORS.add(cursor);
+        if (cleaner == null) {
+            cleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NotNull final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "SQLQueryCursorCleaner");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            cleaner.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    closeIdleCursors(System.currentTimeMillis());
+                }
+            }, CLEANER_INTERVAL, CLEANER_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+}
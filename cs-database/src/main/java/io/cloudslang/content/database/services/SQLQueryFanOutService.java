@@ -0,0 +1,326 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.cloudslang.content.database.utils.FanOutResult;
+import io.cloudslang.content.database.utils.Format;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_PARALLELISM;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_TARGET_TIMEOUT;
+import static io.cloudslang.content.database.constants.DBExceptionValues.TARGET_TIMED_OUT;
+import static io.cloudslang.content.database.constants.DBOtherValues.TARGET_COLUMN;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+/**
+ * Runs the same query against several database targets concurrently.
+ * <p>
+ * The targets run on a bounded executor and get their connections from the DBConnectionManager, so the
+ * connections are pooled when the pooling is enabled by the databasePoolingProperties of the targets.
+ * Every target has its own time limit, which includes the time needed to connect; the statement of a target
+ * that is over its limit is cancelled. A target that fails or times out does not stop the others and the
+ * results are returned in the order of the targets.
+ */
+public class SQLQueryFanOutService {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String NULL_VALUE = "null";
+
+    private final int parallelism;
+    private final int targetTimeout;
+
+    /**
+     * @param parallelism   the maximum number of targets queried at the same time
+     * @param targetTimeout the seconds a target may run, 0 for no limit
+     */
+    public SQLQueryFanOutService(final int parallelism, final int targetTimeout) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(INVALID_PARALLELISM);
+        }
+        if (targetTimeout < 0) {
+            throw new IllegalArgumentException(INVALID_TARGET_TIMEOUT);
+        }
+        this.parallelism = parallelism;
+        this.targetTimeout = targetTimeout;
+    }
+
+    /**
+     * @param targets the inputs of every target by the target name
+     * @return the result of every target, in the order of the targets
+     */
+    @NotNull
+    public List<FanOutResult> execute(@NotNull final Map<String, SQLInputs> targets) {
+        final List<FanOutResult> results = new ArrayList<>(targets.size());
+        if (targets.isEmpty()) {
+            return results;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, targets.size()));
+        try {
+            final List<TargetQuery> queries = new ArrayList<>(targets.size());
+            final List<Future<FanOutResult>> futures = new ArrayList<>(targets.size());
+            for (final Map.Entry<String, SQLInputs> target : targets.entrySet()) {
+                final TargetQuery query = new TargetQuery(target.getKey(), target.getValue());
+                queries.add(query);
+                futures.add(executor.submit(query));
+            }
+            for (int i = 0; i < queries.size(); i++) {
+                results.add(getResult(queries.get(i), futures.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    protected ConnectionService createConnectionService() {
+        return new ConnectionService();
+    }
+
+    /**
+     * @return the rows of all the successful targets, every row starts with the name of its target
+     */
+    @NotNull
+    public static String toDelimited(@NotNull final List<FanOutResult> results, @NotNull final String colDelimiter,
+                                     @NotNull final String rowDelimiter) {
+        final StringBuilder sb = new StringBuilder();
+        for (final FanOutResult result : results) {
+            for (final List<String[]> rows : result.getRows()) {
+                for (final String[] row : rows) {
+                    if (sb.length() > 0) {
+                        sb.append(rowDelimiter);
+                    }
+                    sb.append(result.getTarget());
+                    for (final String value : row) {
+                        sb.append(colDelimiter).append(value == null ? NULL_VALUE : value);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the target column followed by the columns of the first result set of the first successful target
+     */
+    @NotNull
+    public static String getDelimitedColumnNames(@NotNull final List<FanOutResult> results, @NotNull final String colDelimiter) {
+        final StringBuilder sb = new StringBuilder(TARGET_COLUMN);
+        for (final FanOutResult result : results) {
+            if (!result.getColumnNames().isEmpty()) {
+                for (final String columnName : result.getColumnNames().get(0)) {
+                    sb.append(colDelimiter).append(columnName);
+                }
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return an array with an object for every target:
+     * {"target":"db1","status":"success","elapsedMillis":12,"resultSets":[{"columns":["ID"],"rows":[["1"]]}]}
+     * or {"target":"db2","status":"failure","elapsedMillis":3,"error":"..."}
+     */
+    @NotNull
+    public static String toJson(@NotNull final List<FanOutResult> results) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try (final JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartArray();
+            for (final FanOutResult result : results) {
+                generator.writeStartObject();
+                generator.writeStringField(TARGET_COLUMN, result.getTarget());
+                generator.writeStringField("status", result.isSuccess() ? "success" : "failure");
+                generator.writeNumberField("elapsedMillis", result.getElapsedMillis());
+                if (!result.isSuccess()) {
+                    generator.writeStringField("error", result.getError());
+                } else {
+                    generator.writeArrayFieldStart("resultSets");
+                    for (int i = 0; i < result.getRows().size(); i++) {
+                        generator.writeStartObject();
+                        generator.writeArrayFieldStart("columns");
+                        for (final String columnName : result.getColumnNames().get(i)) {
+                            generator.writeString(columnName);
+                        }
+                        generator.writeEndArray();
+                        generator.writeArrayFieldStart("rows");
+                        for (final String[] row : result.getRows().get(i)) {
+                            generator.writeStartArray();
+                            for (final String value : row) {
+                                generator.writeString(value);
+                            }
+                            generator.writeEndArray();
+                        }
+                        generator.writeEndArray();
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        return writer.toString();
+    }
+
+    private FanOutResult getResult(@NotNull final TargetQuery query, @NotNull final Future<FanOutResult> future) {
+        final long timeoutMillis = TimeUnit.SECONDS.toMillis(targetTimeout);
+        try {
+            while (true) {
+                if (timeoutMillis == 0 || future.isDone()) {
+                    return future.get();
+                }
+                //the time limit starts when the target is picked up by the executor
+                final long waitMillis = query.isStarted() ? timeoutMillis - query.getElapsedMillis() : timeoutMillis;
+                if (waitMillis <= 0) {
+                    query.cancel(future);
+                    return failedResult(query, String.format(TARGET_TIMED_OUT, targetTimeout), timeoutMillis);
+                }
+                try {
+                    return future.get(waitMillis, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    //check again how long the target has been running
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            query.cancel(future);
+            return failedResult(query, getMessage(e), query.getElapsedMillis());
+        } catch (ExecutionException e) {
+            return failedResult(query, getMessage(e.getCause() == null ? e : e.getCause()), query.getElapsedMillis());
+        }
+    }
+
+    private static FanOutResult failedResult(@NotNull final TargetQuery query, @NotNull final String error, final long elapsedMillis) {
+        final FanOutResult result = new FanOutResult(query.target);
+        result.setError(error);
+        result.setElapsedMillis(elapsedMillis);
+        return result;
+    }
+
+    private static String getMessage(@NotNull final Throwable e) {
+        return defaultIfEmpty(e.getMessage(), e.getClass().getName());
+    }
+
+    private static List<String> getColumnNames(@NotNull final ResultSetMetaData metaData) throws SQLException {
+        final List<String> columnNames = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnNames.add(metaData.getColumnLabel(i));
+        }
+        return columnNames;
+    }
+
+    private static List<String[]> getRows(@NotNull final ResultSet resultSet, final int columnCount, final boolean isNetcool) throws SQLException {
+        final List<String[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            final String[] row = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                final String value = resultSet.getString(i + 1);
+                row[i] = value != null && isNetcool ? Format.processNullTerminatedString(value) : value;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * The query of one target. It keeps its statement so that it can be cancelled when the target times out.
+     */
+    private class TargetQuery implements Callable<FanOutResult> {
+        private final String target;
+        private final SQLInputs sqlInputs;
+        private volatile boolean started;
+        private volatile long startNanos;
+        private volatile Statement statement;
+
+        private TargetQuery(@NotNull final String target, @NotNull final SQLInputs sqlInputs) {
+            this.target = target;
+            this.sqlInputs = sqlInputs;
+        }
+
+        @Override
+        public FanOutResult call() throws Exception {
+            startNanos = System.nanoTime();
+            started = true;
+            final FanOutResult result = new FanOutResult(target);
+            try (final Connection connection = createConnectionService().setUpConnection(sqlInputs)) {
+                connection.setReadOnly(true);
+                try (final Statement currentStatement = connection.createStatement(sqlInputs.getResultSetType(),
+                        sqlInputs.getResultSetConcurrency())) {
+                    statement = currentStatement;
+                    currentStatement.setQueryTimeout(sqlInputs.getTimeout());
+                    //a batch or a procedure may return several result sets and update counts
+                    boolean isResultSet = currentStatement.execute(sqlInputs.getSqlCommand());
+                    while (isResultSet || currentStatement.getUpdateCount() != -1) {
+                        if (isResultSet) {
+                            try (final ResultSet resultSet = currentStatement.getResultSet()) {
+                                final List<String> columnNames = getColumnNames(resultSet.getMetaData());
+                                result.addResultSet(columnNames, getRows(resultSet, columnNames.size(), sqlInputs.isNetcool()));
+                            }
+                        }
+                        isResultSet = currentStatement.getMoreResults();
+                    }
+                } finally {
+                    statement = null;
+                }
+            }
+            result.setElapsedMillis(getElapsedMillis());
+            return result;
+        }
+
+        private boolean isStarted() {
+            return started;
+        }
+
+        private long getElapsedMillis() {
+            return started ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) : 0;
+        }
+
+        private void cancel(@NotNull final Future<FanOutResult> future) {
+            final Statement currentStatement = statement;
+            if (currentStatement != null) {
+                try {
+                    currentStatement.cancel();
+                } catch (SQLException ignored) {
+                    //the statement may complete or be closed in the meantime
+                }
+            }
+            future.cancel(true);
+        }
+    }
+}
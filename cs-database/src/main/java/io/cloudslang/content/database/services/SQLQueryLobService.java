@@ -17,27 +17,31 @@
 
 package io.cloudslang.content.database.services;
 
+import io.cloudslang.content.database.utils.LobStore;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
-import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.File;
-import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.ArrayList;
 
-import static org.apache.commons.io.FileUtils.*;
-
 /**
  * Created by victor on 13.01.2017.
  */
 public class SQLQueryLobService {
 
-    public static boolean executeSqlQueryLob(SQLInputs sqlInputs) throws Exception {
+    /**
+     * Runs the query and keeps its rows in sqlInputs. The CLOB and BLOB values are added to the lobStore and the
+     * rows hold a placeholder instead, the references of the values are kept in the files of the row.
+     *
+     * @return true if the result has CLOB or BLOB values
+     */
+    public static boolean executeSqlQueryLob(SQLInputs sqlInputs, LobStore lobStore) throws Exception {
         if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
             throw new Exception("command input is empty.");
         }
@@ -68,20 +72,24 @@ public class SQLQueryLobService {
                     Object columnObject = results.getObject(i);
                     if (columnObject != null) {
                         String value;
-                        if (columnObject instanceof java.sql.Clob) {
+                        if (columnObject instanceof Clob || columnObject instanceof Blob) {
                             isLOB = true;
-                            final File tmpFile = File.createTempFile("CLOB_" + mtd.getColumnLabel(i), ".txt");
-
-                            copyInputStreamToFile(new ReaderInputStream(results.getCharacterStream(i), StandardCharsets.UTF_8), tmpFile);
+                            final String reference;
+                            if (columnObject instanceof Clob) {
+                                reference = lobStore.addClob(((Clob) columnObject).getCharacterStream());
+                                value = "(CLOB)...";
+                            } else {
+                                reference = lobStore.addBlob(((Blob) columnObject).getBinaryStream());
+                                value = "(BLOB)...";
+                            }
 
                             if (sqlInputs.getLRowsFiles().size() == nr) {
                                 sqlInputs.getLRowsFiles().add(nr, new ArrayList<String>());
                                 sqlInputs.getLRowsNames().add(nr, new ArrayList<String>());
                             }
-                            sqlInputs.getLRowsFiles().get(nr).add(tmpFile.getAbsolutePath());
-                            sqlInputs.getLRowsNames().get(nr).add(mtd.getColumnLabel(i));
-                            value = "(CLOB)...";
-
+                            sqlInputs.getLRowsFiles().get(nr).add(reference);
+                            sqlInputs.getLRowsNames().get(nr).add((columnObject instanceof Clob ? "CLOB" : "BLOB")
+                                    + " column: " + mtd.getColumnLabel(i));
                         } else {
                             value = results.getString(i);
                             if (sqlInputs.isNetcool())
@@ -25,6 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 /**
@@ -40,9 +41,9 @@ public class SQLQueryService {
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
             connection.setReadOnly(true);
-            Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+            Statement statement = SQLUtils.createStatement(connection, sqlInputs, sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
             statement.setQueryTimeout(sqlInputs.getTimeout());
-            final ResultSet results = statement.executeQuery(sqlInputs.getSqlCommand());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
 
             final ResultSetMetaData mtd = results.getMetaData();
 
@@ -59,19 +60,64 @@ public class SQLQueryService {
             sqlInputs.setStrColumns(strColumns.toString());
 
             while (results.next()) {
-                final StringBuilder strRowHolder = new StringBuilder();
-                for (int i = 1; i <= iNumCols; i++) {
-                    if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
-                    if (results.getString(i) != null) {
-                        String value = results.getString(i).trim();
-                        if (sqlInputs.isNetcool())
-                            value = SQLUtils.processNullTerminatedString(value);
-
-                        strRowHolder.append(value);
-                    }
+                sqlInputs.getLRows().add(getRow(results, iNumCols, sqlInputs.getStrDelim(), sqlInputs.isNetcool()));
+            }
+        }
+    }
+
+    /**
+     * Executes the query on a forward only, read only cursor that stays open after this call.
+     * The rows are fetched from the server 'fetchSize' at a time while the cursor is read.
+     *
+     * @param sqlInputs         the inputs of the query
+     * @param idleTimeoutMillis the time after which the cursor is closed if it is not used, in milliseconds
+     * @return the open cursor, the caller must close it if it doesn't read all the rows
+     * @throws Exception
+     */
+    public static SQLQueryCursor openSqlQueryCursor(@NotNull final SQLInputs sqlInputs, final long idleTimeoutMillis) throws Exception {
+        if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
+            throw new Exception("command input is empty.");
+        }
+        ConnectionService connectionService = new ConnectionService();
+        final Connection connection = connectionService.setUpConnection(sqlInputs);
+        try {
+            connection.setReadOnly(true);
+            final Statement statement = SQLUtils.createStatement(connection, sqlInputs, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setQueryTimeout(sqlInputs.getTimeout());
+            SQLUtils.setStreamingFetchSize(connection, statement, sqlInputs.getDbType(), sqlInputs.getFetchSize());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
+
+            final ResultSetMetaData mtd = results.getMetaData();
+            final StringBuilder strColumns = new StringBuilder();
+            for (int i = 1; i <= mtd.getColumnCount(); i++) {
+                if (i > 1) {
+                    strColumns.append(sqlInputs.getStrDelim());
                 }
-                sqlInputs.getLRows().add(strRowHolder.toString());
+                strColumns.append(mtd.getColumnLabel(i));
+            }
+            return new SQLQueryCursor(connection, statement, results, strColumns.toString(), sqlInputs.getStrDelim(),
+                    sqlInputs.isNetcool(), idleTimeoutMillis);
+        } catch (Exception e) {
+            try {
+                connection.close();
+            } catch (SQLException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    static String getRow(final ResultSet results, final int iNumCols, final String strDelim, final boolean isNetcool) throws SQLException {
+        final StringBuilder strRowHolder = new StringBuilder();
+        for (int i = 1; i <= iNumCols; i++) {
+            if (i > 1) strRowHolder.append(strDelim);
+            if (results.getString(i) != null) {
+                String value = results.getString(i).trim();
+                if (isNetcool)
+                    value = SQLUtils.processNullTerminatedString(value);
+
+                strRowHolder.append(value);
             }
         }
+        return strRowHolder.toString();
     }
 }
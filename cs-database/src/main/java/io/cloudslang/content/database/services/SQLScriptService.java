@@ -19,12 +19,16 @@ package io.cloudslang.content.database.services;
 
 
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLScriptReader;
 import io.cloudslang.content.database.utils.SQLUtils;
+import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.cloudslang.content.database.constants.DBOtherValues.SYBASE_DB_TYPE;
 
@@ -83,4 +87,93 @@ public class SQLScriptService {
         }
         return "Command completed successfully";
     }
+
+    /**
+     * Execute the statements of a script while they are read.
+     * The statements are sent in batches of batchSize statements and every batch is committed,
+     * so only one batch is kept in memory. The update count of all the statements is set in sqlInputs.
+     *
+     * @param scriptReader the statements of the script
+     * @param sqlInputs    the inputs of the connection
+     * @param batchSize    the number of statements sent and committed at a time
+     * @return the number of statements executed and the time it took
+     * @throws Exception if a batch fails, the batches before it stay committed
+     */
+    public static String executeSqlScript(@NotNull final SQLScriptReader scriptReader, @NotNull final SQLInputs sqlInputs,
+                                        final int batchSize) throws Exception {
+        String sql = scriptReader.next();
+        if (sql == null) {
+            throw new Exception("No SQL command to be executed.");
+        }
+        final long start = System.nanoTime();
+        final String firstCommand = sql.trim().toLowerCase();
+        final ConnectionService connectionService = new ConnectionService();
+        try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
+
+            try {
+                connection.setReadOnly(false);
+            } catch (Exception e) {
+            } // not all drivers support this
+
+            final long[] executed = new long[2];
+            try (final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency())) {
+                statement.setQueryTimeout(sqlInputs.getTimeout());
+                final boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                final List<String> batch = new ArrayList<>(Math.min(batchSize, 1000));
+                try {
+                    while (sql != null) {
+                        batch.add(sql);
+                        if (batch.size() == batchSize) {
+                            executeBatch(connection, statement, batch, executed);
+                        }
+                        sql = scriptReader.next();
+                    }
+                    if (!batch.isEmpty()) {
+                        executeBatch(connection, statement, batch, executed);
+                    }
+                } catch (Exception e) {
+                    //during a dump sybase sends back status as exceptions.
+                    if (e instanceof SQLException && SYBASE_DB_TYPE.equalsIgnoreCase(sqlInputs.getDbType()) && executed[0] == 0) {
+                        if (firstCommand.startsWith("dump")) {
+                            return SQLUtils.processDumpException((SQLException) e);
+                        } else if (firstCommand.startsWith("load")) {
+                            return SQLUtils.processLoadException((SQLException) e);
+                        }
+                    }
+                    try {
+                        connection.rollback();
+                    } catch (SQLException ignore) {
+                    }
+                    throw new Exception(String.format("The script failed after %d statements were committed: %s", executed[0], e.getMessage()), e);
+                } finally {
+                    SQLUtils.restoreAutoCommit(connection, autoCommit);
+                }
+            }
+            sqlInputs.setIUpdateCount((int) Math.min(executed[1], Integer.MAX_VALUE));
+            return String.format("Command completed successfully. %d statement(s) executed in %d ms", executed[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    //executed holds the number of statements committed and the update count
+    private static void executeBatch(final Connection connection, final Statement statement, final List<String> batch,
+                                     final long[] executed) throws SQLException {
+        if (batch.size() > 1) {
+            for (final String sql : batch) {
+                statement.addBatch(sql);
+            }
+            for (final int updateCount : statement.executeBatch()) {
+                if (updateCount > 0) {
+                    executed[1] += updateCount;
+                }
+            }
+        } else {
+            statement.execute(batch.get(0));
+            executed[1] += Math.max(statement.getUpdateCount(), 0);
+        }
+        connection.commit();
+        executed[0] += batch.size();
+        batch.clear();
+    }
 }
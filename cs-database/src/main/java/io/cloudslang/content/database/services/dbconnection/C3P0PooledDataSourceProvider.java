@@ -20,6 +20,8 @@ package io.cloudslang.content.database.services.dbconnection;
 import com.mchange.v2.c3p0.DataSources;
 import com.mchange.v2.c3p0.PooledDataSource;
 import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
@@ -68,6 +70,12 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
     //trying to getConneciton on its own if the connection fails. set this to
     //be true to clean the pool, so it won't keep trying
     private final static String C3P0_BREAK_AFTERACQUIREFAILURE_NAME = "breakAfterAcquireFailure";
+    //deal with the prepared statement cache, it is kept per connection
+    //set default 50
+    private final static String C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME = "maxStatementsPerConnection";
+    //the cached statements are closed by a separate thread, closing a statement
+    //while its connection is in use can hang some drivers
+    private final static String C3P0_STATEMENT_CACHE_DEFERRED_CLOSE_THREADS_NAME = "statementCacheNumDeferredCloseThreads";
 
     /**
      * constructor
@@ -126,7 +134,7 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
      * @param aDbType a supported db type.
      * @return a HashMap of c3p0 db pooling properties.
      */
-    private Map<String, String> getPoolingProperties(DBType aDbType) {
+    Map<String, String> getPoolingProperties(DBType aDbType) {
         Map<String, String> retMap = new HashMap<>();
 
         //general properties
@@ -193,33 +201,17 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
                 CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE);
         retMap.put(C3P0_BREAK_AFTERACQUIREFAILURE_NAME, breakAfterFailure);
 
+        //prepared statement cache
+        String statementCacheSize = this.getPropStringValue(CONNECTION_STATEMENT_CACHESIZE_NAME,
+                CONNECTION_STATEMENT_CACHESIZE_DEFAULT_VALUE);
+        retMap.put(C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME, statementCacheSize);
+        if (NumberUtils.toInt(StringUtils.trim(statementCacheSize)) > 0) {
+            retMap.put(C3P0_STATEMENT_CACHE_DEFERRED_CLOSE_THREADS_NAME, "1");
+        }
+
         //db specific properties
         //connection life time
-        String conLifeTimeName;
-
-        switch (aDbType) {
-            case ORACLE:
-                conLifeTimeName = ORACLE_CONNECTION_LIFETIME_NAME;
-                break;
-            case MSSQL:
-                conLifeTimeName = MSSQL_CONNECTION_LIFETIME_NAME;
-                break;
-            case MYSQL:
-                conLifeTimeName = MYSQL_CONNECTION_LIFETIME_NAME;
-                break;
-            case SYBASE:
-                conLifeTimeName = SYBASE_CONNECTION_LIFETIME_NAME;
-                break;
-            case DB2:
-                conLifeTimeName = DB2_CONNECTION_LIFETIME_NAME;
-                break;
-            case NETCOOL:
-                conLifeTimeName = NETCOOL_CONNECTION_LIFETIME_NAME;
-                break;
-            default:
-                conLifeTimeName = CUSTOM_CONNECTION_LIFETIME_NAME;
-                break;
-        }
+        String conLifeTimeName = getConnectionLifetimeName(aDbType);
 
         String connectionLifetime =
                 this.getPropStringValue(conLifeTimeName, CONNECTION_LIFETIME_DEFAULT_VALUE);
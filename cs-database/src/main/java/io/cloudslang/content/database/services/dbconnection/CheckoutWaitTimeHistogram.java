@@ -0,0 +1,125 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of the time callers waited to check out a connection from a pool.
+ * The buckets have fixed upper bounds in milliseconds, the last bucket counts everything above the last bound.
+ */
+public class CheckoutWaitTimeHistogram {
+    //upper bounds of the buckets in milliseconds
+    private static final long[] BUCKET_BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param aWaitNanos the time spent waiting for the connection, in nanoseconds
+     * @param aFailed    true if the checkout failed
+     */
+    public void record(long aWaitNanos, boolean aFailed) {
+        final long waitMillis = TimeUnit.NANOSECONDS.toMillis(aWaitNanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && waitMillis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        bucketCounts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        if (aFailed) {
+            failedCount.incrementAndGet();
+        }
+        totalNanos.addAndGet(aWaitNanos);
+        long max = maxNanos.get();
+        while (aWaitNanos > max && !maxNanos.compareAndSet(max, aWaitNanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * @return the number of checkouts recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the number of checkouts that failed
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the longest wait in milliseconds
+     */
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * @return the average wait in milliseconds
+     */
+    public double getAverageMillis() {
+        final long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) totalNanos.get() / currentCount / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the upper bounds of the buckets in milliseconds
+     */
+    public long[] getBucketBounds() {
+        return BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * @return the count of every bucket, the last one holds the waits longer than the last bound
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @return the histogram in one line, for example count=3, failed=0, avg=1.25ms, max=3ms, le1ms=1, le5ms=2, ..., gt10000ms=0
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder()
+                .append("count=").append(getCount())
+                .append(", failed=").append(getFailedCount())
+                .append(", avg=").append(String.format(Locale.ENGLISH, "%.2f", getAverageMillis())).append("ms")
+                .append(", max=").append(getMaxMillis()).append("ms");
+        final long[] counts = getBucketCounts();
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            sb.append(", le").append(BUCKET_BOUNDS[i]).append("ms=").append(counts[i]);
+        }
+        sb.append(", gt").append(BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1]).append("ms=").append(counts[BUCKET_BOUNDS.length]);
+        return sb.toString();
+    }
+}
@@ -18,14 +18,19 @@
 package io.cloudslang.content.database.services.dbconnection;
 
 import com.mchange.v2.c3p0.PooledDataSource;
-import io.cloudslang.content.database.services.dbconnection.PooledDataSourceCleaner.STATE_CLEANER;
-import io.cloudslang.content.database.utils.TripleDES;
+import com.zaxxer.hikari.HikariDataSource;
 
 import javax.sql.DataSource;
+import java.security.GeneralSecurityException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.*;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
 import static io.cloudslang.content.database.utils.Constants.AUTH_WINDOWS;
@@ -48,6 +53,11 @@ public class DBConnectionManager {
     //default is false, meaning if the databasePooling.properties is not
     //there or the property is not there, then we don't want to have pooling
     private static final String DB_POOL_ENABLE_DEFAULT_VALUE = "false";
+    //property that will decide which pooled datasource provider is used,
+    //c3p0 (default) or hikari
+    private static final String DB_POOL_PROVIDER_NAME = "db.pooling.provider";
+    private static final String DB_POOL_PROVIDER_C3P0 = "c3p0";
+    private static final String DB_POOL_PROVIDER_HIKARI = "hikari";
     //max number of connections for db server, this will control all the pooled
     //datasources for same db server.
     private final static String MAX_TOTAL_POOL_SIZE_DEFAULT_VALUE = "100";
@@ -76,23 +86,27 @@ public class DBConnectionManager {
             "custom.connection.total.maxpoolsize";
     //singleton instance, make it protected so it can be mocked
     protected static volatile DBConnectionManager instance = null;
-    //table to hole the providers, for now it only has c3p0 provider
-    protected Hashtable<String, PooledDataSourceProvider> providerTable = null;
+    //table to hole the providers, key = provider name
+    protected volatile Map<String, PooledDataSourceProvider> providerTable = null;
     //dbms pool table, key = dbType + "." + dbUrl
-    //the reason that keep the dbType is we might use this dbType to find what
-    //datasource provider later if we have different kinds of datasource provider
-    //right now we only have one provider c3p0. Other provider might be implemented
-    //if it is necessary.
-    //the dbms pool table will have Hashtable dsTable which contians DataSources
-    //the key for the dsTable is dbUrl + "." + username + "." + encryptedpassword
-    //hashtable is synchronized already
-    protected Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = null;
-    //properties that contain configurable connection pooling params
-    protected Properties dbPoolingProperties = null;
-    /**
-     * if the pooling is enabled or not, default is false
-     */
-    protected boolean isPoolingEnabled = false;
+    //the provider that opens new datasources is chosen by db.pooling.provider,
+    //the existing datasources are always handled by the provider that opened them
+    //the dbms pool table will have the map dsTable which contians DataSources
+    //the key for the dsTable is dbUrl + "." + username + "." + the hash of the password
+    //lookups don't take any lock, a new datasource is created while holding the
+    //lock of its dsTable so only the callers of the same dbms wait for each other
+    protected volatile ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = null;
+    //checkout wait time histogram of each dbms pool, same key as dbmsPoolTable
+    protected final ConcurrentMap<String, CheckoutWaitTimeHistogram> checkoutWaitTimes = new ConcurrentHashMap<>();
+    //memoized hashes of the passwords in the dsTable keys
+    protected final PasswordHasher passwordHasher = new PasswordHasher();
+    //properties of the first pool, they configure the cleaner, every pool is
+    //configured by the properties it was created with
+    protected volatile Properties dbPoolingProperties = null;
+    /**
+     * if the pooling was enabled by any call or not, default is false
+     */
+    protected volatile boolean isPoolingEnabled = false;
     //datasource cleaner to clean the datasource with 0 connections.
     private PooledDataSourceCleaner datasourceCleaner = null;
     //the thread that will run the cleaner runnable
@@ -128,25 +142,11 @@ public class DBConnectionManager {
         return instance;
     }
 
-    private void customizeDBConnectionManager(Properties dbPoolingProperties) {
-        customizeDbPoolingProperties(dbPoolingProperties);
-        if (isPoolingEnabled) {
-            createPoolTable();
-            createCleaner();
-        }
-    }
-
-    private void customizeDbPoolingProperties(Properties dbPoolingProperties) {
-        if (dbPoolingProperties != null && dbPoolingProperties.size() > 0) {
-            this.dbPoolingProperties = dbPoolingProperties;
-            this.isPoolingEnabled = this.getPropBooleanValue(DB_POOL_ENABLE_NAME, DB_POOL_ENABLE_DEFAULT_VALUE);
-        }
-    }
-
-    private void createPoolTable() {
+    private synchronized ConcurrentMap<String, ConcurrentMap<String, DataSource>> createPoolTable() {
         if (dbmsPoolTable == null) {
-            dbmsPoolTable = new Hashtable<>();
+            dbmsPoolTable = new ConcurrentHashMap<>();
         }
+        return dbmsPoolTable;
     }
 
     /**
@@ -168,7 +168,7 @@ public class DBConnectionManager {
      * @return a Connection to db
      * @throws SQLException
      */
-    public synchronized Connection getConnection(DBType aDbType, String aAuthType, String aDbUrl, String aUsername, String aPassword, Properties properties)
+    public Connection getConnection(DBType aDbType, String aAuthType, String aDbUrl, String aUsername, String aPassword, Properties properties)
             throws SQLException {
         if (isEmpty(aDbUrl)) {
             throw new SQLException("Failed to check out connection dbUrl is empty");
@@ -184,9 +184,9 @@ public class DBConnectionManager {
             }
         }
 
-        customizeDBConnectionManager(properties);
-
-        if (!this.isPoolingEnabled) {
+        //the properties of each call are only read, nothing shared is written
+        //and no lock is taken to check out from an existing pool
+        if (!getPropBooleanValue(properties, DB_POOL_ENABLE_NAME, DB_POOL_ENABLE_DEFAULT_VALUE)) {
             //just call driver manager to create connection
             return this.getPlainConnection(aDbUrl, aUsername, aPassword);
         } else {
@@ -195,16 +195,11 @@ public class DBConnectionManager {
                 throw new SQLException("Failed to check out connection db type is null");
             }
 
-            //if the runnable has been shutdown when dbmspoolsize is 0
-            //then need to resumbit to the thread and start it again
-            if (datasourceCleaner.getState() == STATE_CLEANER.SHUTDOWN) {
-                //submit it to the thread to run
-                cleanerThread = new Thread(datasourceCleaner);
-                cleanerThread.setPriority(Thread.MIN_PRIORITY);
-                cleanerThread.start();
+            if (!this.isPoolingEnabled) {
+                this.isPoolingEnabled = true;
             }
             //will use pooled datasource provider
-            return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword);
+            return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword, properties);
         }
 
     }
@@ -213,25 +208,30 @@ public class DBConnectionManager {
      * clean any empty datasource and pool in the dbmsPool table.
      */
     public void cleanDataSources() {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> poolTable = dbmsPoolTable;
+        if (poolTable == null) {
+            return;
+        }
+
+        //concurrent maps, items can be removed while iterating
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> poolEntry : poolTable.entrySet()) {
+            String dbPoolKey = poolEntry.getKey();
+            ConcurrentMap<String, DataSource> dsTable = poolEntry.getValue();
+
+            //no datasource can be created for this dbms while its table is cleaned
+            synchronized (dsTable) {
+                for (Map.Entry<String, DataSource> dsEntry : dsTable.entrySet()) {
+                    DataSource ds = dsEntry.getValue();
+                    if (ds == null) {
+                        continue;
+                    }
+                    PooledDataSourceProvider provider = this.getProvider(dbPoolKey, ds);
 
-        Hashtable<String, List<String>> removedDsKeyTable = null;
-
-        //gather all the empty ds's key, can't remove item while iterate
-        Enumeration<String> allPoolKeys = dbmsPoolTable.keys();
-        while (allPoolKeys.hasMoreElements()) {
-            String dbPoolKey = allPoolKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbPoolKey);
-            Enumeration<String> allDsKeys = dsTable.keys();
-            while (allDsKeys.hasMoreElements()) {
-                String dsKey = allDsKeys.nextElement();
-                DataSource ds = dsTable.get(dsKey);
-
-                //c3p0 impl
-                if (ds != null && ds instanceof PooledDataSource) {
-                    PooledDataSource pDs = (PooledDataSource) ds;
                     int conCount;
                     try {
-                        conCount = pDs.getNumConnectionsAllUsers();
+                        //c3p0 impl
+                        conCount = (ds instanceof PooledDataSource) ?
+                                ((PooledDataSource) ds).getNumConnectionsAllUsers() : provider.getAllConnectionNumber(ds);
                     } catch (SQLException e) {
 //                  todo      logger.error
 //                                ("Failed to get total number of connections for datasource. dbmsPoolKey = "
@@ -239,58 +239,20 @@ public class DBConnectionManager {
                         continue;
                     }
                     //no connections
-                    if (conCount == 0) {
-                        List<String> removedList = null;
-                        if (removedDsKeyTable == null) {
-                            removedDsKeyTable = new Hashtable<>();
-                        } else {
-                            removedList = removedDsKeyTable.get(dbPoolKey);
-                        }
-
-                        if (removedList == null) {
-                            removedList = new ArrayList<>();
-                            removedList.add(dsKey);
-                            removedDsKeyTable.put(dbPoolKey, removedList);
-                        } else {
-                            removedList.add(dsKey);
-                        }
-                    }
-                }
-            }
-        }
-
-        //have empty ds
-        if (removedDsKeyTable != null && !removedDsKeyTable.isEmpty()) {
-            Enumeration<String> removedPoolKeys = removedDsKeyTable.keys();
-            while (removedPoolKeys.hasMoreElements()) {
-                String removedPoolKey = removedPoolKeys.nextElement();
-                PooledDataSourceProvider provider = this.getProvider(removedPoolKey);
-                List<String> removedDsList = removedDsKeyTable.get(removedPoolKey);
-                Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(removedPoolKey);
-                for (String dsKey : removedDsList) {
-                    DataSource removedDs = dsTable.remove(dsKey);
-                    try {
-                        provider.closePooledDataSource(removedDs);
-                    } catch (SQLException e) {
-                        //can't show the dsKey since it has encrypted password there
+                    if (conCount == 0 && dsTable.remove(dsEntry.getKey(), ds)) {
+                        try {
+                            provider.closePooledDataSource(ds);
+                        } catch (SQLException e) {
+                            //can't show the dsKey since it has encrypted password there
 //                  todo      logger.error("Failed to close datadsource in dmbs poolKey = "
-//                                + removedPoolKey, e);
-                        continue;
+//                                + dbPoolKey, e);
+                        }
                     }
-
-                    //tracing
-//                todo    if (logger.isDebugEnabled()) {
-//                        logger.debug("Removed one datasource in dbms poolKey = "
-//                                + removedPoolKey);
-//                    }
                 }
                 //don't have any ds for the pool key
                 if (dsTable.isEmpty()) {
-                    dbmsPoolTable.remove(removedPoolKey);
-                    //tracing
-//              todo      if (logger.isDebugEnabled()) {
-//                        logger.debug("Removed dbms poolKey = " + removedPoolKey);
-//                    }
+                    poolTable.remove(dbPoolKey, dsTable);
+                    checkoutWaitTimes.remove(dbPoolKey);
                 }
             }
         }
@@ -302,23 +264,26 @@ public class DBConnectionManager {
     public synchronized void shutdownDbmsPools() {
         //force shutdown
         //runnable
-        datasourceCleaner.shutdown();
-        datasourceCleaner = null;
+        if (datasourceCleaner != null) {
+            datasourceCleaner.shutdown();
+            datasourceCleaner = null;
+        }
         //shell for the runnable
-        cleanerThread.interrupt();//stop the thread
-        cleanerThread = null;
+        if (cleanerThread != null) {
+            cleanerThread.interrupt();//stop the thread
+            cleanerThread = null;
+        }
 
+        checkoutWaitTimes.clear();
         if (dbmsPoolTable == null) {
             return;
         }
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsKey = allDbmsKeys.nextElement();
-            PooledDataSourceProvider provider = this.getProvider(dbmsKey);
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> poolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsKey = poolEntry.getKey();
+            Map<String, DataSource> dsTable = poolEntry.getValue();
             for (DataSource ds : dsTable.values()) {
                 try {
-                    provider.closePooledDataSource(ds);
+                    this.getProvider(dbmsKey, ds).closePooledDataSource(ds);
                 } catch (SQLException e) {
 //          todo          logger.error("Failed to close datasource in dbms poolKey = "
 //                            + dbmsKey);
@@ -339,12 +304,18 @@ public class DBConnectionManager {
      * @return boolean value of that property
      */
     protected boolean getPropBooleanValue(String aPropName, String aDefaultValue) {
-        boolean retValue;
-
-        String temp = dbPoolingProperties.getProperty(aPropName, aDefaultValue);
-        retValue = Boolean.valueOf(temp);
+        return getPropBooleanValue(dbPoolingProperties, aPropName, aDefaultValue);
+    }
 
-        return retValue;
+    /**
+     * @param aProperties   the pooling properties of a call, null or empty for the default values
+     * @param aPropName     a property name
+     * @param aDefaultValue a default value for that property, if the property is not there.
+     * @return boolean value of that property
+     */
+    private static boolean getPropBooleanValue(Properties aProperties, String aPropName, String aDefaultValue) {
+        String temp = (aProperties == null) ? aDefaultValue : aProperties.getProperty(aPropName, aDefaultValue);
+        return Boolean.valueOf(temp);
     }
 
     /**
@@ -356,19 +327,31 @@ public class DBConnectionManager {
      * @return int value of that property
      */
     protected int getPropIntValue(String aPropName, String aDefaultValue) {
-        int retValue;
-
-        String temp = dbPoolingProperties.getProperty(aPropName, aDefaultValue);
-        retValue = Integer.valueOf(temp);
+        return getPropIntValue(dbPoolingProperties, aPropName, aDefaultValue);
+    }
 
-        return retValue;
+    /**
+     * @param aProperties   the pooling properties of a call, null or empty for the default values
+     * @param aPropName     a property name
+     * @param aDefaultValue a default value for that property, if the property is not there.
+     * @return int value of that property
+     */
+    private static int getPropIntValue(Properties aProperties, String aPropName, String aDefaultValue) {
+        String temp = (aProperties == null) ? aDefaultValue : aProperties.getProperty(aPropName, aDefaultValue);
+        return Integer.valueOf(temp);
     }
 
     /**
-     * create and start a pool cleaner if pooling is enabled.
+     * start the pool cleaner when a pool is created, unless it is running already.
+     * the cleaner stops by itself once all the pools are empty, the next pool starts it again.
+     *
+     * @param aProperties the pooling properties of the new pool
      */
-    private void createCleaner() {
-        if (cleanerThread == null) {
+    private synchronized void startCleaner(Properties aProperties) {
+        if (dbPoolingProperties == null) {
+            dbPoolingProperties = aProperties;
+        }
+        if (cleanerThread == null || !cleanerThread.isAlive()) {
             int interval = getPropIntValue
                     (DB_DATASOURCE_CLEAN_INTERNAL_NAME,
                             DB_DATASOURCE_CLEAN_INTERNAL_DEFAULT_VALUE);
@@ -379,23 +362,48 @@ public class DBConnectionManager {
             //submit it to the thread to run
             this.cleanerThread = new Thread(datasourceCleaner);
             this.cleanerThread.setDaemon(true);
+            this.cleanerThread.setPriority(Thread.MIN_PRIORITY);
             this.cleanerThread.start();
         }
     }
 
     /**
      * @param aDbmsPoolKey a key to find the datasource table
-     * @return a PooledDataSourceProvider
+     * @return the PooledDataSourceProvider that opens the new datasources
      */
     private PooledDataSourceProvider getProvider(String aDbmsPoolKey) {
-        PooledDataSourceProvider retProvider;
-        //now we only has one provider, later should use that key to find
-        //what type of db and find provider since first part of that key is dbType
-        String providerName = C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME;
+        //the provider doesn't depend on the dbms for now, later the first part
+        //of that key can be used since it is dbType
+        return providerTable.get(getProviderName(dbPoolingProperties));
+    }
 
-        retProvider = providerTable.get(providerName);
+    /**
+     * @param aDbmsPoolKey a key to find the datasource table
+     * @param aDataSource  a pooled datasource from that table
+     * @return the PooledDataSourceProvider that opened the datasource, even if
+     * db.pooling.provider was changed since then
+     */
+    private PooledDataSourceProvider getProvider(String aDbmsPoolKey, DataSource aDataSource) {
+        PooledDataSourceProvider retProvider = null;
+        if (aDataSource instanceof HikariDataSource) {
+            retProvider = providerTable.get(HikariPooledDataSourceProvider.HIKARI_DATASOURCE_PROVIDER_NAME);
+        } else if (aDataSource instanceof PooledDataSource) {
+            retProvider = providerTable.get(C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME);
+        }
+        return retProvider != null ? retProvider : this.getProvider(aDbmsPoolKey);
+    }
 
-        return retProvider;
+    /**
+     * @param aProperties the pooling properties of a pool
+     * @return the name of the provider selected by db.pooling.provider in databasePooling.properties
+     */
+    private static String getProviderName(Properties aProperties) {
+        String providerValue = (aProperties == null) ? DB_POOL_PROVIDER_C3P0 :
+                aProperties.getProperty(DB_POOL_PROVIDER_NAME, DB_POOL_PROVIDER_C3P0);
+        if (DB_POOL_PROVIDER_HIKARI.equalsIgnoreCase(providerValue.trim())) {
+            return HikariPooledDataSourceProvider.HIKARI_DATASOURCE_PROVIDER_NAME;
+        }
+        return C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME;
     }
 
     /**
@@ -419,60 +427,120 @@ public class DBConnectionManager {
      * @throws SQLException
      */
     protected Connection getPooledConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
-        Connection retCon;
+        return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword, dbPoolingProperties);
+    }
 
-        //key to hashtable of datasources for that dbms
+    /**
+     * @param aDbType     one of the supported db type, for example ORACLE, NETCOOL
+     * @param aDbUrl      connection url
+     * @param aUsername   username to connect to db
+     * @param aPassword   password to connect to db
+     * @param aProperties the pooling properties, a new pool is created for other properties
+     * @return a db Connection which is pooled
+     * @throws SQLException
+     */
+    protected Connection getPooledConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                             Properties aProperties) throws SQLException {
+        //key to the table of datasources for that dbms
         String dbmsKey = aDbType + "." + aDbUrl;
 
+        String dsTableKey = aDbUrl + "." + aUsername + "." + getPasswordHash(aDbUrl, aUsername, aPassword)
+                + getPropertiesKey(aProperties);
 
-        if (dbmsPoolTable.containsKey(dbmsKey)) {
-
-            //each pool has pooled datasources, pool is based on dbUrl
-            //so we can control the total size of connection to dbms
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
-
-            String encryptedPass;
-            try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException
-                        ("Failed to encrypt password for key = " + dbmsKey, e);
-            }
+        DataSource ds = getOrCreateDataSource(aDbType, aDbUrl, aUsername, aPassword, aProperties, dbmsKey, dsTableKey);
 
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
+        //the checkout itself doesn't hold any lock, a slow database only blocks its own callers
+        long checkoutStart = System.nanoTime();
+        boolean failed = true;
+        try {
+            Connection retCon = (ds instanceof PooledDataSource) ?
+                    getPooledConnection((PooledDataSource) ds, aUsername, aPassword) : ds.getConnection();
+            failed = false;
+            return retCon;
+        } finally {
+            getOrCreateCheckoutWaitTimeHistogram(dbmsKey).record(System.nanoTime() - checkoutStart, failed);
+        }
+    }
 
-            DataSource ds;
-            if (dsTable.containsKey(dsTableKey)) {
+    /**
+     * @return the hash of the password used in the dsTable key, memoized for the same credentials
+     * @throws SQLException
+     */
+    protected String getPasswordHash(String aDbUrl, String aUsername, String aPassword) throws SQLException {
+        try {
+            return passwordHasher.hash(aDbUrl, aUsername, aPassword);
+        } catch (GeneralSecurityException e) {
+            throw new SQLException("Failed to hash password for key = " + aDbUrl, e);
+        }
+    }
 
-                ds = dsTable.get(dsTableKey);
-                retCon = ds.getConnection();
-            } else {
+    /**
+     * @param aProperties the pooling properties
+     * @return the part of the dsTable key that tells the pooling properties apart, empty for the default ones
+     */
+    private static String getPropertiesKey(Properties aProperties) {
+        if (aProperties == null || aProperties.isEmpty()) {
+            return "";
+        }
+        //sorted, so the same properties give the same key whatever their order
+        return "." + new TreeMap<>(aProperties).toString();
+    }
 
-                //need to check if it is ok to create another ds
-                ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, dsTable);
-                retCon = ds.getConnection();
+    /**
+     * each pool has pooled datasources, pool is based on dbUrl
+     * so we can control the total size of connection to dbms
+     *
+     * @return the datasource for the dsTableKey, created if it is not in the pool yet
+     * @throws SQLException
+     */
+    private DataSource getOrCreateDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                             Properties aProperties, String aDbmsKey, String aDsTableKey) throws SQLException {
+        while (true) {
+            ConcurrentMap<String, ConcurrentMap<String, DataSource>> poolTable = dbmsPoolTable;
+            if (poolTable == null) {
+                poolTable = createPoolTable();
+            }
+            ConcurrentMap<String, DataSource> dsTable = poolTable.get(aDbmsKey);
+            if (dsTable == null) {
+                //don't have dbmsKey, will create one for that dbtype.dburl
+                ConcurrentMap<String, DataSource> newDsTable = new ConcurrentHashMap<>();
+                dsTable = poolTable.putIfAbsent(aDbmsKey, newDsTable);
+                if (dsTable == null) {
+                    dsTable = newDsTable;
+                }
+            }
 
-                dsTable.put(dsTableKey, ds);
+            DataSource ds = dsTable.get(aDsTableKey);
+            if (ds != null) {
+                return ds;
             }
-        } else//don't have dbmsKey, will create one for that dbtype.dburl
-        {
-
-            //just create, don't need to check, since we don't have this dbmsKey
-            PooledDataSource ds = (PooledDataSource) this.createDataSource(aDbType, aDbUrl, aUsername, aPassword);
-            retCon = getPooledConnection(ds, aUsername, aPassword);
-
-            Hashtable<String, DataSource> dsTable = new Hashtable<>();
-            String encryptedPass;
-            try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException("Failed to encrypt password for key = " + dbmsKey, e);
+            synchronized (dsTable) {
+                //the cleaner removed the empty table meanwhile, start over
+                if (poolTable.get(aDbmsKey) != dsTable) {
+                    continue;
+                }
+                ds = dsTable.get(aDsTableKey);
+                if (ds == null) {
+                    //need to check if it is ok to create another ds
+                    ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, dsTable, aProperties);
+                    dsTable.put(aDsTableKey, ds);
+                    startCleaner(aProperties);
+                }
+                return ds;
             }
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
-            dsTable.put(dsTableKey, ds);
-            dbmsPoolTable.put(dbmsKey, dsTable);
         }
-        return retCon;
+    }
+
+    private CheckoutWaitTimeHistogram getOrCreateCheckoutWaitTimeHistogram(String aDbmsKey) {
+        CheckoutWaitTimeHistogram histogram = checkoutWaitTimes.get(aDbmsKey);
+        if (histogram == null) {
+            CheckoutWaitTimeHistogram newHistogram = new CheckoutWaitTimeHistogram();
+            histogram = checkoutWaitTimes.putIfAbsent(aDbmsKey, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
     }
 
     private Connection getPooledConnection(PooledDataSource ds, String aUsername, String aPassword) throws SQLException {
@@ -509,6 +577,7 @@ public class DBConnectionManager {
      * @param aUsername username to connect to db
      * @param aPassword password to connect to db
      * @param aDsTable  is used to check if total max pool size for that dbms exceed
+     * @param aProperties the pooling properties of the datasource
      * @return a pooled datasource
      * @throws SQLException
      */
@@ -516,7 +585,8 @@ public class DBConnectionManager {
                                           String aDbUrl,
                                           String aUsername,
                                           String aPassword,
-                                          Hashtable<String, DataSource> aDsTable)
+                                          Map<String, DataSource> aDsTable,
+                                          Properties aProperties)
             throws SQLException {
         DataSource retDatasource;
 
@@ -546,10 +616,10 @@ public class DBConnectionManager {
                 break;
         }
 
-        int totalMaxPoolSize = this.getPropIntValue(totalMaxPoolSizeName,
+        int totalMaxPoolSize = getPropIntValue(aProperties, totalMaxPoolSizeName,
                 MAX_TOTAL_POOL_SIZE_DEFAULT_VALUE);
         int perUserMaxPoolSize =
-                this.getPropIntValue(PooledDataSourceProvider.MAX_POOL_SIZE_NAME,
+                getPropIntValue(aProperties, PooledDataSourceProvider.MAX_POOL_SIZE_NAME,
                         PooledDataSourceProvider.MAX_POOL_SIZE_DEFAULT_VALUE);
 
         int numDs = aDsTable.size();
@@ -563,7 +633,7 @@ public class DBConnectionManager {
                             " Actual total max pool size = " + actualTotal);
         }
 
-        retDatasource = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword);
+        retDatasource = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, aProperties);
 
         return retDatasource;
     }
@@ -573,43 +643,39 @@ public class DBConnectionManager {
      * @param aDbUrl    connection url
      * @param aUsername username to connect to db
      * @param aPassword password to connect to db
+     * @param aProperties the pooling properties of the datasource
      * @return a pooled datasource
      * @throws SQLException
      */
-    private DataSource createDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
-        DataSource retDatasource;
-        PooledDataSourceProvider provider;
-
-        if (providerTable == null) {
+    private DataSource createDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                        Properties aProperties) throws SQLException {
+        String providerName = getProviderName(aProperties);
+        PooledDataSourceProvider provider = this.createProvider(providerName, aProperties);
 
-            switch (aDbType) {
-                //only has one at the moment
-                default:
-                    provider = new C3P0PooledDataSourceProvider(dbPoolingProperties);
-            }
-            String name = provider.getProviderName();
-            providerTable = new Hashtable<>();
-            providerTable.put(name, provider);
-
-
-        }
-
-        String providerName;
-        switch (aDbType) {
-            default:
-                providerName = C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME;
-        }
-
-        provider = providerTable.get(providerName);
-
-
-        retDatasource = provider.openPooledDataSource(aDbType,
+        return provider.openPooledDataSource(aDbType,
                 aDbUrl,
                 aUsername,
                 aPassword);
+    }
 
-
-        return retDatasource;
+    /**
+     * @return a provider that opens the datasources with the given properties, the first provider
+     * of each name is kept to close and count the datasources it opened
+     */
+    private synchronized PooledDataSourceProvider createProvider(String aProviderName, Properties aProperties) {
+        if (providerTable == null) {
+            providerTable = new ConcurrentHashMap<>();
+        }
+        PooledDataSourceProvider provider;
+        if (HikariPooledDataSourceProvider.HIKARI_DATASOURCE_PROVIDER_NAME.equals(aProviderName)) {
+            provider = new HikariPooledDataSourceProvider(aProperties);
+        } else {
+            provider = new C3P0PooledDataSourceProvider(aProperties);
+        }
+        if (!providerTable.containsKey(aProviderName)) {
+            providerTable.put(aProviderName, provider);
+        }
+        return provider;
     }
 
     /**
@@ -619,6 +685,22 @@ public class DBConnectionManager {
         return dbmsPoolTable.size();
     }
 
+    /**
+     * @param aDbType type of db
+     * @param aDbUrl  a connection url string
+     * @return the checkout wait time histogram of the dbms pool, null if no connection was checked out from it
+     */
+    public CheckoutWaitTimeHistogram getCheckoutWaitTimeHistogram(DBType aDbType, String aDbUrl) {
+        return checkoutWaitTimes.get(aDbType + "." + aDbUrl);
+    }
+
+    /**
+     * @return the checkout wait time histograms of all the dbms pools, the key is dbType + "." + dbUrl
+     */
+    public Map<String, CheckoutWaitTimeHistogram> getCheckoutWaitTimeHistograms() {
+        return Collections.unmodifiableMap(checkoutWaitTimes);
+    }
+
     //The followings are only for testing purpose
 
     /**
@@ -631,12 +713,11 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-        PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
 
         if (dsTable != null) {
             for (DataSource ds : dsTable.values()) {
-                retTotal = retTotal + provider.getAllConnectionNumber(ds);
+                retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getAllConnectionNumber(ds);
             }
         }
 
@@ -654,12 +735,11 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-        PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
 
         if (dsTable != null) {
             for (DataSource ds : dsTable.values()) {
-                retTotal = retTotal + provider.getCheckedOutConnectionNumber(ds);
+                retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getCheckedOutConnectionNumber(ds);
             }
         }
 
@@ -676,12 +756,11 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-        PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
 
         if (dsTable != null) {
             for (DataSource ds : dsTable.values()) {
-                retTotal = retTotal + provider.getCheckedInConnectionNumber(ds);
+                retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getCheckedInConnectionNumber(ds);
             }
         }
 
@@ -695,15 +774,13 @@ public class DBConnectionManager {
     public int getTotalConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> poolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = poolEntry.getKey();
+            Map<String, DataSource> dsTable = poolEntry.getValue();
 
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
-                    retTotal = retTotal + provider.getAllConnectionNumber(ds);
+                    retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getAllConnectionNumber(ds);
                 }
             }
         }
@@ -717,15 +794,13 @@ public class DBConnectionManager {
     public int getTotalCheckedOutConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> poolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = poolEntry.getKey();
+            Map<String, DataSource> dsTable = poolEntry.getValue();
 
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
-                    retTotal = retTotal + provider.getCheckedOutConnectionNumber(ds);
+                    retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getCheckedOutConnectionNumber(ds);
                 }
             }
         }
@@ -739,14 +814,12 @@ public class DBConnectionManager {
     public int getTotalCheckedInConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> poolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = poolEntry.getKey();
+            Map<String, DataSource> dsTable = poolEntry.getValue();
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
-                    retTotal = retTotal + provider.getCheckedInConnectionNumber(ds);
+                    retTotal = retTotal + this.getProvider(dbmsPoolKey, ds).getCheckedInConnectionNumber(ds);
                 }
             }
         }
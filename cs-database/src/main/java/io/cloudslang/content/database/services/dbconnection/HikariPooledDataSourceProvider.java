@@ -0,0 +1,196 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pooled datasource provider backed by HikariCP.
+ * It is selected with db.pooling.provider=hikari in databasePooling.properties and reads the same
+ * connection.* and [dbtype].connection.lifetime properties as the c3p0 provider.
+ */
+public class HikariPooledDataSourceProvider extends PooledDataSourceProvider {
+    //name of this provider
+    public final static String HIKARI_DATASOURCE_PROVIDER_NAME = "HikariPooledDataSourceProvider";
+    //if true the pools register their HikariConfigMXBean and HikariPoolMXBean,
+    //named com.zaxxer.hikari:type=Pool (poolName), so the pool metrics can be exported through JMX
+    public static String HIKARI_REGISTER_MBEANS_NAME = "hikari.register_mbeans";
+    public static String HIKARI_REGISTER_MBEANS_DEFAULT_VALUE = "true";
+    //prefix of the pool names, a pool name must be unique for the mbeans
+    private final static String POOL_NAME_PREFIX = "cs-database-";
+    private final static AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    /**
+     * constructor
+     *
+     * @param aDBPoolingProperties the Properties from databasePooling.properties
+     */
+    public HikariPooledDataSourceProvider(Properties aDBPoolingProperties) {
+        super(aDBPoolingProperties);
+    }
+
+    /**
+     * return the name of this provider
+     */
+    public String getProviderName() {
+        return HIKARI_DATASOURCE_PROVIDER_NAME;
+    }
+
+    /**
+     * close the pooled data source
+     *
+     * @param aPooledDataSource a pooled datasource
+     * @throws SQLException
+     */
+    public void closePooledDataSource(DataSource aPooledDataSource) throws SQLException {
+        if (aPooledDataSource == null) {
+            return;
+        }
+        ((HikariDataSource) aPooledDataSource).close();
+    }
+
+    /**
+     * open a HikariCP pooled datasource, no connection is opened until the first checkout
+     *
+     * @param aDbType   a supported database type.
+     * @param aDbUrl    a connection url
+     * @param aUsername a username for the database
+     * @param aPassword a password for the database connection
+     * @return a DataSource  a pooled data source
+     * @throws SQLException
+     */
+    public DataSource openPooledDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
+        try {
+            return new HikariDataSource(getPoolingConfig(aDbType, aDbUrl, aUsername, aPassword));
+        } catch (RuntimeException e) {
+            throw new SQLException("Failed to open the pooled datasource: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * set up the HikariCP configuration based on the properties values in
+     * databasePooling.properties.
+     * HikariCP has no equivalent for connection.retrycount, connection.retrydelay,
+     * connection.break_afteracquirefailure, connection.validate_oncheckin and connection.idle_validateperiod:
+     * it keeps trying to acquire connections until connection.checkout.timeout expires and it validates
+     * every connection that was not used in the last 500 miliseconds before handing it out.
+     *
+     * @param aDbType a supported db type.
+     * @return the HikariCP configuration of the pool
+     */
+    HikariConfig getPoolingConfig(DBType aDbType, String aDbUrl, String aUsername, String aPassword) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME_PREFIX + aDbType.toString().toLowerCase() + "-" + POOL_COUNTER.incrementAndGet());
+        config.setJdbcUrl(aDbUrl);
+        config.setUsername(aUsername);
+        config.setPassword(aPassword);
+        //the pool starts empty and doesn't connect to the database while the datasource is created
+        config.setInitializationFailTimeout(-1);
+
+        //max pool size
+        config.setMaximumPoolSize(getPropIntValue(MAX_POOL_SIZE_NAME, MAX_POOL_SIZE_DEFAULT_VALUE));
+        //min pool size, the idle connections above it are closed after the max idle time
+        config.setMinimumIdle(getPropIntValue(MIN_POOL_SIZE_NAME, MIN_POOL_SIZE_DEFAULT_VALUE));
+        //max idle time, seconds
+        config.setIdleTimeout(TimeUnit.SECONDS.toMillis(getPropIntValue(CONNECTION_MAX_IDLETIME_NAME,
+                CONNECTION_MAX_IDLETIME_DEFAULT_VALUE)));
+        //connection timeout, this is already in miliseconds; 0 means wait forever as in c3p0
+        config.setConnectionTimeout(getPropIntValue(CONNECTION_CHECKOUT_TIMEOUT_NAME,
+                CONNECTION_CHECKOUT_TIMEOUT_DEFAULT_VALUE));
+        //db specific connection life time, seconds
+        config.setMaxLifetime(TimeUnit.SECONDS.toMillis(getPropIntValue(getConnectionLifetimeName(aDbType),
+                CONNECTION_LIFETIME_DEFAULT_VALUE)));
+        //metrics export
+        config.setRegisterMbeans(Boolean.valueOf(getPropStringValue(HIKARI_REGISTER_MBEANS_NAME,
+                HIKARI_REGISTER_MBEANS_DEFAULT_VALUE)));
+        //prepared statement cache, HikariCP leaves it to the driver
+        setStatementCache(config, aDbType, getPropIntValue(CONNECTION_STATEMENT_CACHESIZE_NAME,
+                CONNECTION_STATEMENT_CACHESIZE_DEFAULT_VALUE));
+
+        return config;
+    }
+
+    /**
+     * enable the statement cache of the drivers that have one: MySQL, PostgreSQL and Oracle.
+     * The MySQL statements are also prepared on the server.
+     *
+     * @param aCacheSize the number of statements cached by every connection, 0 to disable the cache
+     */
+    private static void setStatementCache(HikariConfig config, DBType aDbType, int aCacheSize) {
+        if (aCacheSize <= 0) {
+            return;
+        }
+        switch (aDbType) {
+            case MYSQL:
+                config.addDataSourceProperty("cachePrepStmts", "true");
+                config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(aCacheSize));
+                config.addDataSourceProperty("useServerPrepStmts", "true");
+                break;
+            case POSTGRESQL:
+                config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(aCacheSize));
+                break;
+            case ORACLE:
+                config.addDataSourceProperty("oracle.jdbc.implicitStatementCacheSize", String.valueOf(aCacheSize));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private int getPropIntValue(String aPropName, String aDefaultValue) {
+        return Integer.parseInt(getPropStringValue(aPropName, aDefaultValue).trim());
+    }
+
+    //The followings are only for testing purpose
+    public int getAllConnectionNumber(DataSource aPooledDataSource) throws SQLException {
+        HikariPoolMXBean pool = getPool(aPooledDataSource);
+        return pool == null ? 0 : pool.getTotalConnections();
+    }
+
+    public int getCheckedInConnectionNumber(DataSource aPooledDataSource) throws SQLException {
+        HikariPoolMXBean pool = getPool(aPooledDataSource);
+        return pool == null ? 0 : pool.getIdleConnections();
+    }
+
+    public int getCheckedOutConnectionNumber(DataSource aPooledDataSource) throws SQLException {
+        HikariPoolMXBean pool = getPool(aPooledDataSource);
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    /**
+     * @return the number of threads waiting for a connection of the pooled datasource
+     */
+    public int getThreadsAwaitingConnection(DataSource aPooledDataSource) throws SQLException {
+        HikariPoolMXBean pool = getPool(aPooledDataSource);
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    //null when the pool of the datasource was not started
+    private static HikariPoolMXBean getPool(DataSource aPooledDataSource) {
+        return ((HikariDataSource) aPooledDataSource).getHikariPoolMXBean();
+    }
+}//end of HikariPooledDataSourceProvider
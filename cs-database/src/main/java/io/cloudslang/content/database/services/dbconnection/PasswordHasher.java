@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import org.apache.commons.codec.binary.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hashes the passwords that are part of the keys of the pooled datasources.
+ * The hash is a HMAC-SHA256 with a key generated for this process, so it can't be reversed or compared with
+ * the hashes of another process. The hashes are memoized under a SHA-256 digest of the process key, url,
+ * username and password, so no plaintext password is kept, and the least recently used one is dropped
+ * when there are more credentials than the memo holds.
+ */
+public class PasswordHasher {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    public static final int DEFAULT_MAX_HASHES = 1000;
+
+    private final SecretKeySpec secretKey;
+    private final LinkedHashMap<String, String> hashes;
+
+    public PasswordHasher() {
+        this(DEFAULT_MAX_HASHES);
+    }
+
+    public PasswordHasher(final int maxHashes) {
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        secretKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        hashes = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxHashes;
+            }
+        };
+    }
+
+    /**
+     * @param aDbUrl    the connection url
+     * @param aUsername the username
+     * @param aPassword the password
+     * @return the base64 HMAC-SHA256 of the password, the same one for the same credentials
+     * @throws GeneralSecurityException if the HMAC-SHA256 is not available
+     */
+    public String hash(String aDbUrl, String aUsername, String aPassword) throws GeneralSecurityException {
+        final String credentials = digest(aDbUrl, aUsername, aPassword);
+        String hash;
+        synchronized (hashes) {
+            hash = hashes.get(credentials);
+        }
+        if (hash == null) {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            hash = Base64.encodeBase64String(mac.doFinal(String.valueOf(aPassword).getBytes(StandardCharsets.UTF_8)));
+            synchronized (hashes) {
+                hashes.put(credentials, hash);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return the number of memoized hashes
+     */
+    public int size() {
+        synchronized (hashes) {
+            return hashes.size();
+        }
+    }
+
+    private String digest(String... values) throws GeneralSecurityException {
+        final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        digest.update(secretKey.getEncoded());
+        for (String value : values) {
+            //the length prefix keeps null, empty and concatenated values apart
+            if (value == null) {
+                digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+            } else {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+        }
+        return Base64.encodeBase64String(digest.digest());
+    }
+}
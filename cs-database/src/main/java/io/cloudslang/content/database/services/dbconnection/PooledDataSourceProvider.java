@@ -92,6 +92,11 @@ public abstract class PooledDataSourceProvider {
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_NAME =
             "connection.break_afteracquirefailure";
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE = "true";
+    //The number of prepared statements each pooled connection keeps open to reuse them
+    //without parsing and planning them again. Zero disables the statement cache.
+    public static String CONNECTION_STATEMENT_CACHESIZE_NAME =
+            "connection.statement.cachesize";
+    public static String CONNECTION_STATEMENT_CACHESIZE_DEFAULT_VALUE = "50";
     //properties in databasePooling.properties which are specific for
     //dbtype
     //oracle
@@ -116,7 +121,8 @@ public abstract class PooledDataSourceProvider {
     public static String CUSTOM_CONNECTION_LIFETIME_NAME =
             "custom.connection.lifetime";
     //properties that contain configurable connection pooling params
-    protected static Properties dbPoolingProperties = null;
+    //of the datasources opened by this provider
+    protected final Properties dbPoolingProperties;
 
     /**
      * constructor
@@ -125,9 +131,7 @@ public abstract class PooledDataSourceProvider {
      */
     public PooledDataSourceProvider(Properties aDBPoolingProperties) {
         //load configurable properties from databasePooling.properties
-        if (dbPoolingProperties == null) {
-            dbPoolingProperties = aDBPoolingProperties;
-        }
+        dbPoolingProperties = (aDBPoolingProperties == null) ? new Properties() : aDBPoolingProperties;
     }
 
     /**
@@ -173,6 +177,29 @@ public abstract class PooledDataSourceProvider {
                 aDefaultValue);
     }
 
+    /**
+     * @param aDbType a supported db type.
+     * @return the name of the db specific connection life time property
+     */
+    protected static String getConnectionLifetimeName(DBType aDbType) {
+        switch (aDbType) {
+            case ORACLE:
+                return ORACLE_CONNECTION_LIFETIME_NAME;
+            case MSSQL:
+                return MSSQL_CONNECTION_LIFETIME_NAME;
+            case MYSQL:
+                return MYSQL_CONNECTION_LIFETIME_NAME;
+            case SYBASE:
+                return SYBASE_CONNECTION_LIFETIME_NAME;
+            case DB2:
+                return DB2_CONNECTION_LIFETIME_NAME;
+            case NETCOOL:
+                return NETCOOL_CONNECTION_LIFETIME_NAME;
+            default:
+                return CUSTOM_CONNECTION_LIFETIME_NAME;
+        }
+    }
+
     //the followings are only for testing purpose
     public abstract int getAllConnectionNumber(DataSource aPooledDataSource)
             throws SQLException;
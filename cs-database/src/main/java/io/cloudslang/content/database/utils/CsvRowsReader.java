@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV rows as described by RFC 4180. A value can be enclosed in double quotes to hold the delimiter,
+ * line breaks or double quotes, which are escaped by doubling them. An empty value that is not quoted is
+ * read as NULL, "" is read as an empty string. Empty lines are skipped.
+ */
+public class CsvRowsReader extends RowsReader {
+    private static final char QUOTE = '"';
+
+    private final PushbackReader reader;
+    private final char delimiter;
+    private long rowNumber;
+
+    /**
+     * @param reader    the CSV text
+     * @param delimiter the delimiter of the values
+     * @param hasHeader if true the first row holds the column names and is skipped
+     * @throws IOException
+     */
+    public CsvRowsReader(@NotNull final Reader reader, final char delimiter, final boolean hasHeader) throws IOException {
+        this.reader = new PushbackReader(reader, 1);
+        this.delimiter = delimiter;
+        if (hasHeader) {
+            next();
+        }
+    }
+
+    @Override
+    public Object[] next() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        rowNumber++;
+
+        final List<Object> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted value in row " + rowNumber + ".");
+                }
+                if (c == QUOTE) {
+                    final int next = reader.read();
+                    if (next != QUOTE) {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                value.append((char) c);
+            } else if (c == QUOTE && !quoted && value.length() == 0) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(toValue(value, quoted));
+                value.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    final int next = reader.read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                values.add(toValue(value, quoted));
+                return values.toArray();
+            } else {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String toValue(final StringBuilder value, final boolean quoted) {
+        return value.length() == 0 && !quoted ? null : value.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a query run against one target of SQL Query Fan Out.
+ * A query that returns several result sets keeps the column names and the rows of every one of them,
+ * in the order they were returned. The values of the rows are null for the SQL NULL values.
+ */
+public class FanOutResult {
+    private final String target;
+    private final List<List<String>> columnNames = new ArrayList<>();
+    private final List<List<String[]>> rows = new ArrayList<>();
+    private String error;
+    private long elapsedMillis;
+
+    public FanOutResult(@NotNull final String target) {
+        this.target = target;
+    }
+
+    public void addResultSet(@NotNull final List<String> resultSetColumnNames, @NotNull final List<String[]> resultSetRows) {
+        columnNames.add(resultSetColumnNames);
+        rows.add(resultSetRows);
+    }
+
+    @NotNull
+    public String getTarget() {
+        return target;
+    }
+
+    @NotNull
+    public List<List<String>> getColumnNames() {
+        return columnNames;
+    }
+
+    @NotNull
+    public List<List<String[]>> getRows() {
+        return rows;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(@NotNull final String error) {
+        this.error = error;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(final long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
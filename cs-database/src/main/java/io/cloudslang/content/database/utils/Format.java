@@ -17,6 +17,15 @@
 
 package io.cloudslang.content.database.utils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -48,6 +57,81 @@ public class Format {
         return resultSetToTable(result, Calendar.getInstance(), checkNullTermination);
     }
 
+    /**
+     * Writes the result set as a table, in the same format as {@link #resultSetToTable(ResultSet, boolean)}.
+     * The column widths are only known after the last row, so the rows are first spilled to a temporary file
+     * and then written padded from it; the memory used doesn't depend on the number of rows.
+     *
+     * @param result               populated result set
+     * @param checkNullTermination perform the null termination check on the strings (eg. netcool)
+     * @param writer               the writer the table is written to
+     * @return the number of rows written
+     * @throws SQLException
+     * @throws IOException
+     */
+    public static long resultSetToTable(ResultSet result, boolean checkNullTermination, Writer writer) throws SQLException, IOException {
+        final ResultSetMetaData md = result.getMetaData();
+        final int nCols = md.getColumnCount();
+        final String[] headers = new String[nCols];
+        final int[] headerSz = new int[nCols];
+        for (int colheader = 0; colheader < nCols; colheader++) {
+            headers[colheader] = md.getColumnLabel(colheader + 1);
+            headerSz[colheader] = headers[colheader].length();
+        }
+
+        final Path spillFile = Files.createTempFile("sqlquerytabular", ".spill");
+        try {
+            long rowCount = 0;
+            try (final DataOutputStream spill = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)))) {
+                while (result.next()) {
+                    for (int colN = 0; colN < nCols; colN++) {
+                        final String colVal = getColumn(result, colN + 1, checkNullTermination);
+                        headerSz[colN] = colVal.length() > headerSz[colN] ? colVal.length() : headerSz[colN];
+                        //writeUTF is limited to 64k
+                        final byte[] bytes = colVal.getBytes(StandardCharsets.UTF_8);
+                        spill.writeInt(bytes.length);
+                        spill.write(bytes);
+                    }
+                    rowCount++;
+                }
+            }
+
+            for (int colheader = 0; colheader < nCols; colheader++) {
+                writePadded(writer, headers[colheader], headerSz[colheader]);
+            }
+            writer.write(NEW_LINE);
+            for (int colheader = 0; colheader < nCols; colheader++) {
+                writeRepeated(writer, '-', headerSz[colheader]);
+                writeRepeated(writer, ' ', colPadding);
+            }
+            writer.write(NEW_LINE);
+            try (final DataInputStream spill = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+                for (long row = 0; row < rowCount; row++) {
+                    for (int col = 0; col < nCols; col++) {
+                        final byte[] bytes = new byte[spill.readInt()];
+                        spill.readFully(bytes);
+                        writePadded(writer, new String(bytes, StandardCharsets.UTF_8), headerSz[col]);
+                    }
+                    writer.write(NEW_LINE);
+                }
+            }
+            return rowCount;
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private static void writePadded(Writer writer, String value, int width) throws IOException {
+        writer.write(value);
+        writeRepeated(writer, ' ', width - value.length() + colPadding);
+    }
+
+    private static void writeRepeated(Writer writer, char c, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writer.write(c);
+        }
+    }
+
     /**
      * Returns column number col from the current result set and returns as string
      *
@@ -191,9 +275,40 @@ public class Format {
         //If a multi-char delimiter is used, removing the last character is not enough
         int length = rowDelimiter.length();
         if ((delimitedResult.length() - length) >= 0) {
-            return delimitedResult.substring(0, delimitedResult.length() - length);
+            //shorten the builder instead of copying it with substring
+            delimitedResult.setLength(delimitedResult.length() - length);
+            return delimitedResult.toString();
         }
         return EMPTY;
     }
 
+    /**
+     * Writes the rows of the result set to the writer as they are fetched, delimited by colDelimiter and rowDelimiter.
+     * The output is the same as the one of {@link #resultSetToDelimitedColsAndRows(ResultSet, boolean, String, String)}.
+     *
+     * @param resultSet populated result set
+     * @param writer    the writer the rows are written to
+     * @return the number of rows written
+     * @throws SQLException
+     * @throws IOException
+     */
+    public static long resultSetToDelimitedColsAndRows(ResultSet resultSet, boolean checkNullTermination, String colDelimiter,
+                                                       String rowDelimiter, Writer writer) throws SQLException, IOException {
+        final int nCols = resultSet.getMetaData().getColumnCount();
+        long rowCount = 0;
+        while (resultSet.next()) {
+            if (rowCount != 0) {
+                writer.write(rowDelimiter);
+            }
+            for (int colN = 0; colN < nCols; colN++) {
+                if (colN != 0) {
+                    writer.write(colDelimiter);
+                }
+                writer.write(getColumn(resultSet, colN + 1, checkNullTermination));
+            }
+            rowCount++;
+        }
+        return rowCount;
+    }
+
 }
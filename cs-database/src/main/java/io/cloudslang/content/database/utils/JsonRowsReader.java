@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the rows of a JSON array without parsing the whole document. Every element of the array is a row,
+ * either an array of values or an object whose fields are the columns of the row. The values of an object are
+ * taken in the order of the columns, so an object row must have a field for every column and no other field.
+ * Strings, numbers, booleans and null are supported as values.
+ */
+public class JsonRowsReader extends RowsReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    //the normalized column names, null if the rows can only be arrays
+    private final List<String> columns;
+    private long rowNumber;
+
+    /**
+     * @param reader the JSON text, whose rows are arrays
+     * @throws IOException if the text doesn't start with an array
+     */
+    public JsonRowsReader(@NotNull final Reader reader) throws IOException {
+        this(reader, null);
+    }
+
+    /**
+     * @param reader  the JSON text
+     * @param columns the names of the columns the values are bound to, in order. The object rows are only supported
+     *                when the columns are known
+     * @throws IOException if the text doesn't start with an array
+     */
+    public JsonRowsReader(@NotNull final Reader reader, final List<String> columns) throws IOException {
+        if (columns == null) {
+            this.columns = null;
+        } else {
+            this.columns = new ArrayList<>(columns.size());
+            for (final String column : columns) {
+                this.columns.add(normalizeName(column));
+            }
+        }
+        parser = JSON_FACTORY.createParser(reader);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("The JSON rows must be an array.");
+        }
+    }
+
+    @Override
+    public Object[] next() throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        rowNumber++;
+        if (token == JsonToken.START_ARRAY) {
+            return readArrayRow();
+        }
+        if (token == JsonToken.START_OBJECT) {
+            return readObjectRow();
+        }
+        throw new IOException("Row " + rowNumber + " must be an array or an object.");
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private Object[] readArrayRow() throws IOException {
+        final List<Object> values = new ArrayList<>();
+        JsonToken valueToken = nextValue();
+        while (valueToken != JsonToken.END_ARRAY) {
+            values.add(getValue(valueToken));
+            valueToken = nextValue();
+        }
+        return values.toArray();
+    }
+
+    private Object[] readObjectRow() throws IOException {
+        if (columns == null) {
+            throw new IOException("Row " + rowNumber + " is an object, object rows are only supported for a command like " +
+                    "\"INSERT INTO table (columns) VALUES (?, ...)\" whose columns they are matched with.");
+        }
+        final Object[] values = new Object[columns.size()];
+        final boolean[] found = new boolean[columns.size()];
+        JsonToken valueToken = nextValue();
+        while (valueToken != JsonToken.END_OBJECT) {
+            final String field = parser.getCurrentName();
+            final int index = columns.indexOf(normalizeName(field));
+            if (index < 0) {
+                throw new IOException("Row " + rowNumber + " has the field '" + field + "' that is not a column of the command.");
+            }
+            if (found[index]) {
+                throw new IOException("Row " + rowNumber + " has the field '" + field + "' more than once.");
+            }
+            values[index] = getValue(valueToken);
+            found[index] = true;
+            valueToken = nextValue();
+        }
+        for (int i = 0; i < found.length; i++) {
+            if (!found[i]) {
+                throw new IOException("Row " + rowNumber + " has no field for the column '" + columns.get(i) + "'.");
+            }
+        }
+        return values;
+    }
+
+    private JsonToken nextValue() throws IOException {
+        final JsonToken valueToken = parser.nextValue();
+        if (valueToken == null) {
+            throw new IOException("Unexpected end of the JSON rows in row " + rowNumber + ".");
+        }
+        return valueToken;
+    }
+
+    //the column names are matched without their quotes and case
+    private static String normalizeName(final String name) {
+        String normalized = name.trim();
+        if (normalized.length() > 1 && "\"`[".indexOf(normalized.charAt(0)) >= 0) {
+            normalized = normalized.substring(1, normalized.length() - 1);
+        }
+        return normalized.toLowerCase(Locale.ENGLISH);
+    }
+
+    private Object getValue(final JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDecimalValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IOException("Row " + rowNumber + " holds a nested value, only strings, numbers, booleans and null are supported.");
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Base64OutputStream;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.HEX_FORMAT;
+
+/**
+ * Holds the CLOB and BLOB values read by SQL Query LOB until they are returned.
+ * The values up to the inline size stay in memory, the larger ones are appended to a single spill file and
+ * are read back from their offset. The size of a CLOB is the size of its UTF-8 encoding, the encoding it is spilled
+ * with, and the size of a BLOB is its number of bytes. The BLOB values are kept as base64 or hex text.
+ * The spill file is deleted when the store is closed.
+ */
+public class LobStore implements Closeable {
+    private static final String INLINE_PREFIX = "i:";
+    private static final String SPILL_PREFIX = "s:";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int inlineSize;
+    private final String blobFormat;
+    private final List<String> inlineValues = new ArrayList<>();
+    private File spillFile;
+    private CountingOutputStream spillOutput;
+
+    /**
+     * @param inlineSize the maximum size in bytes of a CLOB or BLOB value kept in memory
+     * @param blobFormat the text format of the BLOB values, base64 or hex
+     */
+    public LobStore(final int inlineSize, @NotNull final String blobFormat) {
+        this.inlineSize = inlineSize;
+        this.blobFormat = blobFormat;
+    }
+
+    /**
+     * @param reader the characters of the CLOB, it is read to the end
+     * @return the reference of the value
+     * @throws IOException
+     */
+    @NotNull
+    public String addClob(@NotNull final Reader reader) throws IOException {
+        final char[] buffer = new char[Math.min(inlineSize, BUFFER_SIZE) + 1];
+        final StringBuilder value = new StringBuilder();
+        long size = 0;
+        int read;
+        while (size <= inlineSize && (read = reader.read(buffer)) != -1) {
+            value.append(buffer, 0, read);
+            size += getUtf8Size(buffer, read);
+        }
+        if (size <= inlineSize) {
+            return addInline(value.toString());
+        }
+        final long offset = getSpillOutput().getByteCount();
+        final Writer writer = new OutputStreamWriter(new CloseShieldOutputStream(spillOutput), StandardCharsets.UTF_8);
+        writer.append(value);
+        IOUtils.copy(reader, writer);
+        writer.close();
+        return getSpillReference(offset);
+    }
+
+    /**
+     * @param inputStream the bytes of the BLOB, it is read to the end
+     * @return the reference of the value
+     * @throws IOException
+     */
+    @NotNull
+    public String addBlob(@NotNull final InputStream inputStream) throws IOException {
+        final byte[] buffer = new byte[Math.min(inlineSize, BUFFER_SIZE) + 1];
+        final ByteArrayOutputStream head = new ByteArrayOutputStream(buffer.length);
+        int read;
+        while (head.size() <= inlineSize && (read = inputStream.read(buffer)) != -1) {
+            head.write(buffer, 0, read);
+        }
+        if (head.size() <= inlineSize) {
+            final byte[] value = head.toByteArray();
+            return addInline(HEX_FORMAT.equalsIgnoreCase(blobFormat) ? Hex.encodeHexString(value) : Base64.encodeBase64String(value));
+        }
+        final long offset = getSpillOutput().getByteCount();
+        final OutputStream shieldedOutput = new CloseShieldOutputStream(spillOutput);
+        if (HEX_FORMAT.equalsIgnoreCase(blobFormat)) {
+            writeHex(head.toByteArray(), head.size(), shieldedOutput);
+            while ((read = inputStream.read(buffer)) != -1) {
+                writeHex(buffer, read, shieldedOutput);
+            }
+        } else {
+            //no line breaks
+            final OutputStream base64Output = new Base64OutputStream(shieldedOutput, true, 0, null);
+            head.writeTo(base64Output);
+            IOUtils.copy(inputStream, base64Output);
+            base64Output.close();
+        }
+        return getSpillReference(offset);
+    }
+
+    /**
+     * Returns a value and drops it from the memory. The spilled values stay in the spill file until the store is closed.
+     *
+     * @param reference the reference returned when the value was added
+     * @return the value
+     * @throws IOException
+     */
+    @NotNull
+    public String remove(@NotNull final String reference) throws IOException {
+        if (reference.startsWith(INLINE_PREFIX)) {
+            final int index = Integer.parseInt(reference.substring(INLINE_PREFIX.length()));
+            return inlineValues.set(index, null);
+        }
+        final String[] position = reference.substring(SPILL_PREFIX.length()).split(":");
+        final byte[] value = new byte[Integer.parseInt(position[1])];
+        spillOutput.flush();
+        try (final RandomAccessFile file = new RandomAccessFile(spillFile, "r")) {
+            file.seek(Long.parseLong(position[0]));
+            file.readFully(value);
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the spill file, null if no value was spilled yet
+     */
+    public File getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Drops the values and deletes the spill file.
+     */
+    @Override
+    public void close() {
+        inlineValues.clear();
+        IOUtils.closeQuietly(spillOutput);
+        FileUtils.deleteQuietly(spillFile);
+        spillOutput = null;
+        spillFile = null;
+    }
+
+    private String addInline(final String value) {
+        inlineValues.add(value);
+        return INLINE_PREFIX + (inlineValues.size() - 1);
+    }
+
+    private String getSpillReference(final long offset) {
+        return SPILL_PREFIX + offset + ":" + (spillOutput.getByteCount() - offset);
+    }
+
+    private CountingOutputStream getSpillOutput() throws IOException {
+        if (spillOutput == null) {
+            spillFile = File.createTempFile("LOB_", ".spill");
+            spillOutput = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile, true)));
+        }
+        return spillOutput;
+    }
+
+    //a surrogate pair is encoded on 4 bytes, 2 for each of its chars
+    private static long getUtf8Size(final char[] chars, final int length) {
+        long size = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                size++;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                size += 2;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    private static void writeHex(final byte[] bytes, final int length, final OutputStream outputStream) throws IOException {
+        final byte[] value = new byte[length];
+        System.arraycopy(bytes, 0, value, 0, length);
+        outputStream.write(Hex.encodeHexString(value).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the rows of a bulk load one at a time, so the rows don't have to fit in memory.
+ */
+public abstract class RowsReader implements Closeable {
+
+    /**
+     * @return the values of the next row, a null value stands for SQL NULL; null if there are no more rows
+     * @throws IOException if the rows can't be read or are not well formed
+     */
+    public abstract Object[] next() throws IOException;
+}
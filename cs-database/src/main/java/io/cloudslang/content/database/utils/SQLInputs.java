@@ -61,9 +61,11 @@ public class SQLInputs {
     private Integer resultSetType;
     private Integer resultSetConcurrency;
     private List<String> sqlCommands = new ArrayList<>();
+    private int fetchSize;
+    private List<Object> parameters = new ArrayList<>();
 
-    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "authLibraryPath", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands"})
-    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String authLibraryPath, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands) {
+    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "authLibraryPath", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands", "fetchSize", "parameters"})
+    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String authLibraryPath, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands, int fetchSize, List<Object> parameters) {
         this.sqlCommand = sqlCommand;
         this.dbServer = dbServer;
         this.dbName = dbName;
@@ -96,6 +98,8 @@ public class SQLInputs {
         this.resultSetType = resultSetType;
         this.resultSetConcurrency = resultSetConcurrency;
         this.sqlCommands = sqlCommands == null ? new ArrayList<String>() : sqlCommands;
+        this.fetchSize = fetchSize;
+        this.parameters = parameters == null ? new ArrayList<Object>() : parameters;
     }
 
     public static SQLInputsBuilder builder() {
@@ -354,6 +358,18 @@ public class SQLInputs {
         return this.sqlCommands;
     }
 
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public List<Object> getParameters() {
+        return this.parameters;
+    }
+
     public boolean equals(Object o) {
         if (o == this) return true;
         if (!(o instanceof SQLInputs)) return false;
@@ -455,6 +471,11 @@ public class SQLInputs {
         final Object other$sqlCommands = other.getSqlCommands();
         if (this$sqlCommands == null ? other$sqlCommands != null : !this$sqlCommands.equals(other$sqlCommands))
             return false;
+        if (this.getFetchSize() != other.getFetchSize()) return false;
+        final Object this$parameters = this.getParameters();
+        final Object other$parameters = other.getParameters();
+        if (this$parameters == null ? other$parameters != null : !this$parameters.equals(other$parameters))
+            return false;
         return true;
     }
 
@@ -518,6 +539,9 @@ public class SQLInputs {
         result = result * PRIME + ($resultSetConcurrency == null ? 43 : $resultSetConcurrency.hashCode());
         final Object $sqlCommands = this.getSqlCommands();
         result = result * PRIME + ($sqlCommands == null ? 43 : $sqlCommands.hashCode());
+        result = result * PRIME + this.getFetchSize();
+        final Object $parameters = this.getParameters();
+        result = result * PRIME + ($parameters == null ? 43 : $parameters.hashCode());
         return result;
     }
 
@@ -526,7 +550,7 @@ public class SQLInputs {
     }
 
     public String toString() {
-        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", authLibraryPath=" + this.getAuthLibraryPath() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ")";
+        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", authLibraryPath=" + this.getAuthLibraryPath() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ", fetchSize=" + this.getFetchSize() + ", parameters=" + this.getParameters() + ")";
     }
 
     public static class SQLInputsBuilder {
@@ -562,6 +586,8 @@ public class SQLInputs {
         private Integer resultSetType;
         private Integer resultSetConcurrency;
         private List<String> sqlCommands;
+        private int fetchSize;
+        private List<Object> parameters;
 
         SQLInputsBuilder() {
         }
@@ -697,12 +723,22 @@ public class SQLInputs {
             return this;
         }
 
+        public SQLInputs.SQLInputsBuilder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder parameters(List<Object> parameters) {
+            this.parameters = parameters;
+            return this;
+        }
+
         public SQLInputs build() {
-            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, authLibraryPath, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands);
+            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, authLibraryPath, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands, fetchSize, parameters);
         }
 
         public String toString() {
-            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", authLibraryPath=" + this.authLibraryPath + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ")";
+            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", authLibraryPath=" + this.authLibraryPath + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ", fetchSize=" + this.fetchSize + ", parameters=" + this.parameters + ")";
         }
     }
 }
@@ -18,6 +18,9 @@
 package io.cloudslang.content.database.utils;
 
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.cloudslang.content.database.services.databases.*;
 import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
 import io.cloudslang.content.utils.CollectionUtilities;
@@ -30,6 +33,16 @@ import java.sql.ResultSet;
 import java.util.*;
 
 import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_PARAMETERS;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_TARGETS;
+import static io.cloudslang.content.database.constants.DBInputNames.DATABASE_NAME;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_PORT;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_SERVER_NAME;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_TYPE;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_URL;
+import static io.cloudslang.content.database.constants.DBInputNames.INSTANCE;
+import static io.cloudslang.content.database.constants.DBInputNames.PASSWORD;
+import static io.cloudslang.content.database.constants.DBInputNames.USERNAME;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.isValidDbType;
 import static org.apache.commons.lang3.StringUtils.*;
@@ -45,6 +58,9 @@ public class SQLInputsUtils {
     static final Map<String, String> DB_ClASSES = createDBClassValues();
     private static final Map<String, Class<? extends SqlDatabase>> dbTypesClass = getTypesOfDatabase();
     private static final Map<String, DBType> dbTypesToEnum = getTypesEnum();
+    private static final List<String> TARGET_FIELDS = Arrays.asList(TARGET_NAME, DB_SERVER_NAME, DB_TYPE, USERNAME,
+            PASSWORD, INSTANCE, DB_PORT, DATABASE_NAME, DB_URL);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     public static boolean checkIsNetcool(@NotNull final String dbType) {
         return dbType.equalsIgnoreCase(NETCOOL_DB_TYPE);
@@ -99,6 +115,83 @@ public class SQLInputsUtils {
         return Collections.emptyList();
     }
 
+    /**
+     * @param parameters a JSON array of strings, numbers, booleans and nulls
+     * @return the values of the array, an empty list if parameters is blank
+     * @throws IllegalArgumentException if parameters is not such an array
+     */
+    @NotNull
+    public static List<Object> getParameters(final String parameters) {
+        if (isBlank(parameters)) {
+            return new ArrayList<>();
+        }
+        try (final JsonRowsReader reader = new JsonRowsReader(new StringReader("[" + parameters + "]"))) {
+            final Object[] values = reader.next();
+            if (!parameters.trim().startsWith("[") || values == null || reader.next() != null) {
+                throw new IllegalArgumentException(INVALID_PARAMETERS);
+            }
+            return new ArrayList<>(Arrays.asList(values));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(INVALID_PARAMETERS, e);
+        }
+    }
+
+    /**
+     * @param targets a JSON array of connection targets, every target is either the name of a database server or an
+     *                object with any of the name, dbServerName, dbType, username, password, instance, DBPort,
+     *                databaseName and dbURL fields
+     * @return a map of the fields of every target, a server name is returned under dbServerName
+     * @throws IllegalArgumentException if targets is not such a non empty array
+     */
+    @NotNull
+    public static List<Map<String, String>> getTargets(final String targets) {
+        final List<Map<String, String>> targetList = new ArrayList<>();
+        try (final JsonParser parser = JSON_FACTORY.createParser(defaultString(targets))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException(INVALID_TARGETS);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                final Map<String, String> target = new HashMap<>();
+                if (token == JsonToken.VALUE_STRING) {
+                    target.put(DB_SERVER_NAME, parser.getText());
+                } else if (token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final String field = parser.getCurrentName();
+                        if (!TARGET_FIELDS.contains(field) || !parser.nextToken().isScalarValue()) {
+                            throw new IllegalArgumentException(INVALID_TARGETS);
+                        }
+                        target.put(field, parser.getValueAsString());
+                    }
+                } else {
+                    throw new IllegalArgumentException(INVALID_TARGETS);
+                }
+                targetList.add(target);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(INVALID_TARGETS, e);
+        }
+        if (targetList.isEmpty()) {
+            throw new IllegalArgumentException(INVALID_TARGETS);
+        }
+        return targetList;
+    }
+
+    /**
+     * @return the name of the target, its server name or its url if it has no name
+     */
+    @NotNull
+    public static String getTargetName(@NotNull final Map<String, String> target) {
+        return defaultIfEmpty(target.get(TARGET_NAME), defaultIfEmpty(target.get(DB_SERVER_NAME), defaultString(target.get(DB_URL))));
+    }
+
+    /**
+     * @return the value of the field of the target, the default value if the target doesn't set it
+     */
+    public static String getTargetValue(@NotNull final Map<String, String> target, @NotNull final String field, final String defaultValue) {
+        return defaultIfEmpty(target.get(field), defaultValue);
+    }
+
     @NotNull
     public static List<String> getDbUrls(final String dbUrl) {
         final List<String> dbUrls = new ArrayList<>();
@@ -170,14 +263,16 @@ public class SQLInputsUtils {
 
     @NotNull
     public static String getSqlKey(@NotNull final SQLInputs sqlInputs) {
+        //the same query with other parameters has other rows
+        final String parameters = sqlInputs.getParameters().isEmpty() ? EMPTY : sqlInputs.getParameters().toString();
         if (sqlInputs.isIgnoreCase()) {
             return SQLUtils.computeSessionId(sqlInputs.getDbServer().toLowerCase() + sqlInputs.getDbType().toLowerCase() +
                     sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey());
+                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey() + parameters);
         }
         return SQLUtils.computeSessionId(sqlInputs.getDbServer() + sqlInputs.getDbType() +
                 sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey());
+                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey() + parameters);
     }
 
 
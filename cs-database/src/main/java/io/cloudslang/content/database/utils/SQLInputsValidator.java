@@ -25,10 +25,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
 import static io.cloudslang.content.database.constants.DBExceptionValues.*;
+import static io.cloudslang.content.database.constants.DBInputNames.DATABASE_NAME;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_PORT;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_SERVER_NAME;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_TYPE;
+import static io.cloudslang.content.database.constants.DBInputNames.INSTANCE;
+import static io.cloudslang.content.database.constants.DBInputNames.PASSWORD;
+import static io.cloudslang.content.database.constants.DBInputNames.USERNAME;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.utils.Constants.AUTH_WINDOWS;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
@@ -48,61 +58,144 @@ public class SQLInputsValidator {
     public static List<String> validateSqlCommandInputs(String dbServerName, String dbType, String username, String password, String instance, String dbPort,
                                                         String database, String authenticationType, String command, String trustAllRoots,
                                                         String resultSetType, String resultSetConcurrency, String trustStore,
-                                                        String trustStorePassword, String authLibraryPath) {
+                                                        String trustStorePassword, String authLibraryPath, String parameters) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
+        validateParameters(parameters, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryInputs(String dbServerName, String dbType, String username, String password,
                                                       String instance, String dbPort, String database, String authenticationType, String command,
                                                       String trustAllRoots, String trustStore, String trustStorePassword,
-                                                      String timeout, String resultSetType, String resultSetConcurrency, String ignoreCase, String authLibraryPath) {
+                                                      String timeout, String resultSetType, String resultSetConcurrency, String ignoreCase, String authLibraryPath,
+                                                      String useCursor, String fetchSize, String cursorIdleTimeout, String parameters) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort,
                 database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateIgnoreCase(ignoreCase, validationList);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateCursor(useCursor, fetchSize, cursorIdleTimeout, validationList);
+        validateParameters(parameters, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryAllRowsInputs(String dbServerName, String dbType, String username, String password,
                                                              String instance, String dbPort, String database, String authenticationType, String command,
                                                              String trustAllRoots, String trustStore, String trustStorePassword,
-                                                             String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath) {
+                                                             String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath,
+                                                             String fetchSize, String outputFile) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateFetchSize(fetchSize, validationList);
+        validateOutputFile(outputFile, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryLOBInputs(String dbServerName, String dbType, String username, String password,
                                                          String instance, String dbPort, String database, String authenticationType, String command,
                                                          String trustAllRoots, String trustStore, String trustStorePassword,
-                                                         String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath) {
+                                                         String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath,
+                                                         String lobInlineSize, String blobFormat) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort,
                 database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        if (!isValidInt(lobInlineSize) || NumberUtilities.toInteger(lobInlineSize) < 0
+                || NumberUtilities.toInteger(lobInlineSize) > MAX_LOB_INLINE_SIZE) {
+            validationList.add(INVALID_LOB_INLINE_SIZE);
+        }
+        if (!BASE64_FORMAT.equalsIgnoreCase(blobFormat) && !HEX_FORMAT.equalsIgnoreCase(blobFormat)) {
+            validationList.add(INVALID_BLOB_FORMAT);
+        }
         return validationList;
     }
 
     public static List<String> validateSqlQueryTabularInputs(String dbServerName, String dbType, String username, String password,
                                                              String instance, String dbPort, String database, String authenticationType, String command,
                                                              String trustAllRoots, String trustStore, String trustStorePassword,
-                                                             String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath) {
+                                                             String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath,
+                                                             String fetchSize, String outputFile) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateFetchSize(fetchSize, validationList);
+        validateOutputFile(outputFile, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlScriptInputs(String dbServerName, String dbType, String username, String password,
                                                        String instance, String dbPort, String database, String authenticationType, String sqlCommands, String scriptFileName,
                                                        String trustAllRoots, String trustStore, String trustStorePassword,
-                                                       String resultSetType, String resultSetConcurrency, String authLibraryPath) {
+                                                       String resultSetType, String resultSetConcurrency, String authLibraryPath,
+                                                       String batchSize) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
         validateMExclusivityCommands(sqlCommands, scriptFileName, validationList);
+        if (isNoneEmpty(batchSize) && (!isValidInt(batchSize) || NumberUtilities.toInteger(batchSize) <= 0)) {
+            validationList.add(INVALID_BATCH_SIZE);
+        }
+        return validationList;
+    }
+
+    public static List<String> validateSqlBulkInsertInputs(String dbServerName, String dbType, String username, String password,
+                                                           String instance, String dbPort, String database, String authenticationType, String command,
+                                                           String trustAllRoots, String trustStore, String trustStorePassword, String timeout,
+                                                           String authLibraryPath, String rows, String rowsFile, String rowsFormat,
+                                                           String colDelimiter, String hasHeader, String chunkSize, String useFastPath) {
+        final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, trustAllRoots, trustStore, trustStorePassword, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, authLibraryPath);
+        validateNoneEmpty(command, INVALID_COMMAND, validationList);
+        validateTimeout(timeout, validationList);
+        validateRows(rows, rowsFile, validationList);
+        validateRowsFormat(rowsFormat, colDelimiter, validationList);
+        if (!BooleanUtilities.isValid(hasHeader)) {
+            validationList.add(INVALID_HAS_HEADER);
+        }
+        if (!isValidInt(chunkSize) || NumberUtilities.toInteger(chunkSize) <= 0) {
+            validationList.add(INVALID_CHUNK_SIZE);
+        }
+        if (!BooleanUtilities.isValid(useFastPath)) {
+            validationList.add(INVALID_USE_FAST_PATH);
+        }
+        return validationList;
+    }
+
+    public static List<String> validateSqlQueryFanOutInputs(String targets, String dbType, String username, String password,
+                                                            String instance, String dbPort, String database, String authenticationType, String command,
+                                                            String trustAllRoots, String trustStore, String trustStorePassword,
+                                                            String timeout, String resultSetType, String resultSetConcurrency, String authLibraryPath,
+                                                            String outputFormat, String targetTimeout, String parallelism) {
+        final List<String> validationList = new ArrayList<>();
+        try {
+            final Set<String> targetNames = new HashSet<>();
+            for (final Map<String, String> target : getTargets(targets)) {
+                final String targetName = getTargetName(target);
+                if (!targetNames.add(targetName)) {
+                    validationList.add(String.format(INVALID_DUPLICATE_TARGET, targetName));
+                }
+                final List<String> targetValidationList = validateCommonSqlInputs(target.get(DB_SERVER_NAME),
+                        getTargetValue(target, DB_TYPE, dbType), getTargetValue(target, USERNAME, username),
+                        getTargetValue(target, PASSWORD, password), getTargetValue(target, INSTANCE, instance),
+                        getTargetValue(target, DB_PORT, dbPort), getTargetValue(target, DATABASE_NAME, database),
+                        authenticationType, trustAllRoots, trustStore, trustStorePassword, resultSetType, resultSetConcurrency, authLibraryPath);
+                for (final String message : targetValidationList) {
+                    validationList.add(targetName + ": " + message);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            validationList.add(INVALID_TARGETS);
+        }
+        validateNoneEmpty(command, INVALID_COMMAND, validationList);
+        validateTimeout(timeout, validationList);
+        if (!isValidInt(targetTimeout) || NumberUtilities.toInteger(targetTimeout) < 0) {
+            validationList.add(INVALID_TARGET_TIMEOUT);
+        }
+        if (!isValidInt(parallelism) || NumberUtilities.toInteger(parallelism) <= 0) {
+            validationList.add(INVALID_PARALLELISM);
+        }
+        if (!DELIMITED_FORMAT.equalsIgnoreCase(outputFormat) && !JSON_FORMAT.equalsIgnoreCase(outputFormat)) {
+            validationList.add(INVALID_OUTPUT_FORMAT);
+        }
         return validationList;
     }
 
@@ -170,6 +263,59 @@ public class SQLInputsValidator {
         }
     }
 
+    private static void validateCursor(final String useCursor, final String fetchSize, final String cursorIdleTimeout, final List<String> validationList) {
+        if (isNoneEmpty(useCursor) && !BooleanUtilities.isValid(useCursor)) {
+            validationList.add(INVALID_USE_CURSOR);
+        }
+        validateFetchSize(fetchSize, validationList);
+        if (isNoneEmpty(cursorIdleTimeout) && (!isValidInt(cursorIdleTimeout) || NumberUtilities.toInteger(cursorIdleTimeout) <= 0)) {
+            validationList.add(INVALID_CURSOR_IDLE_TIMEOUT);
+        }
+    }
+
+    private static void validateFetchSize(final String fetchSize, final List<String> validationList) {
+        if (isNoneEmpty(fetchSize) && (!isValidInt(fetchSize) || NumberUtilities.toInteger(fetchSize) <= 0)) {
+            validationList.add(INVALID_FETCH_SIZE);
+        }
+    }
+
+    private static void validateOutputFile(final String outputFile, final List<String> validationList) {
+        if (isEmpty(outputFile)) {
+            return;
+        }
+        final File file = new File(outputFile);
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (file.isDirectory() || directory == null || !directory.isDirectory()) {
+            validationList.add(INVALID_OUTPUT_FILE);
+        }
+    }
+
+    private static void validateParameters(final String parameters, final List<String> validationList) {
+        try {
+            getParameters(parameters);
+        } catch (IllegalArgumentException e) {
+            validationList.add(INVALID_PARAMETERS);
+        }
+    }
+
+    private static void validateRows(final String rows, final String rowsFile, final List<String> validationList) {
+        if (isEmpty(rows) == isEmpty(rowsFile)) {
+            validationList.add(INVALID_ROWS_EXCLUSIVITY);
+        } else if (isNoneEmpty(rowsFile) && !new File(rowsFile).isFile()) {
+            validationList.add(INVALID_ROWS_FILE);
+        }
+    }
+
+    private static void validateRowsFormat(final String rowsFormat, final String colDelimiter, final List<String> validationList) {
+        if (CSV_FORMAT.equalsIgnoreCase(rowsFormat)) {
+            if (colDelimiter == null || colDelimiter.length() != 1) {
+                validationList.add(INVALID_CSV_DELIMITER);
+            }
+        } else if (!JSON_FORMAT.equalsIgnoreCase(rowsFormat)) {
+            validationList.add(INVALID_ROWS_FORMAT);
+        }
+    }
+
     private static void validateInstance(final String instance, final String dbType, final List<String> validationList) {
         if (isNoneEmpty(instance) && !MSSQL_DB_TYPE.equalsIgnoreCase(dbType)) {
             validationList.add(INVALID_INSTANCE);
@@ -0,0 +1,276 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.MYSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.SYBASE_DB_TYPE;
+
+/**
+ * Splits a SQL script into statements while it is read, so only the statement being read is kept in memory.
+ * The delimiter ends a statement unless it is inside a string, a quoted identifier or a comment. Comments are
+ * removed, except for Oracle hints and MySQL conditional comments. Depending on the database type:
+ * - Oracle: a line holding only '/' ends a statement, PL/SQL blocks (DECLARE, BEGIN, CREATE PROCEDURE, FUNCTION,
+ * TRIGGER, PACKAGE and TYPE) are ended only by such a line or by the end of the script
+ * - MSSQL, Sybase: a line holding only GO ends a statement, [identifiers] are quoted, DECLARE, BEGIN and
+ * CREATE PROCEDURE, FUNCTION and TRIGGER batches are ended only by GO or by the end of the script
+ * - MySQL: `identifiers` are quoted, '\' escapes characters in '...' and "..." strings, '#' starts a comment and
+ * a DELIMITER line changes the delimiter
+ * - PostgreSQL: $tag$ dollar quoted strings, '\' escapes characters in E'...' strings
+ */
+public class SQLScriptReader implements Closeable {
+    private static final Pattern ORACLE_BLOCK = Pattern.compile(
+            "^(declare|begin|(create(\\s+or\\s+replace)?(\\s+(editionable|noneditionable))?)\\s+(procedure|function|trigger|package|type))\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRANSACT_SQL_BLOCK = Pattern.compile(
+            "^(declare|begin(?!\\s+(tran|transaction|distributed)\\b)|((create|alter)(\\s+or\\s+alter)?)\\s+(procedure|proc|function|trigger))\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern GO_LINE = Pattern.compile("^\\s*go(\\s+\\d+)?\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SLASH_LINE = Pattern.compile("^\\s*/\\s*$");
+    private static final Pattern DELIMITER_LINE = Pattern.compile("^\\s*delimiter\\s+(\\S+)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DOLLAR_TAG = Pattern.compile("\\$([A-Za-z_][A-Za-z_0-9]*)?\\$");
+
+    private enum State {
+        NORMAL, SINGLE_QUOTE, DOUBLE_QUOTE, BACKTICK, BRACKET, DOLLAR_QUOTE, BLOCK_COMMENT, KEPT_BLOCK_COMMENT
+    }
+
+    private final BufferedReader reader;
+    private final boolean isOracle;
+    private final boolean isTransactSql;
+    private final boolean isMySql;
+    private final boolean isPostgres;
+    private final Deque<String> statements = new ArrayDeque<>();
+    private final StringBuilder statement = new StringBuilder();
+    private String delimiter;
+    private State state = State.NORMAL;
+    private String dollarTag;
+    //whether '\' escapes the next character of the current string
+    private boolean backslashEscapes;
+    //whether the current statement is a block, known from its first delimiter
+    private Boolean block;
+    private boolean endOfScript;
+
+    /**
+     * @param reader    the script
+     * @param dbType    the database type, the syntax specific to it is recognized
+     * @param delimiter the delimiter of the statements
+     */
+    public SQLScriptReader(@NotNull final Reader reader, final String dbType, @NotNull final String delimiter) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.delimiter = delimiter;
+        this.isOracle = ORACLE_DB_TYPE.equalsIgnoreCase(dbType);
+        this.isTransactSql = MSSQL_DB_TYPE.equalsIgnoreCase(dbType) || SYBASE_DB_TYPE.equalsIgnoreCase(dbType);
+        this.isMySql = MYSQL_DB_TYPE.equalsIgnoreCase(dbType);
+        this.isPostgres = POSTGRES_DB_TYPE.equalsIgnoreCase(dbType);
+    }
+
+    /**
+     * @return the next statement, without its delimiter, or null at the end of the script
+     * @throws IOException
+     */
+    public String next() throws IOException {
+        while (statements.isEmpty() && !endOfScript) {
+            final String line = reader.readLine();
+            if (line == null) {
+                endOfScript = true;
+                addStatement();
+            } else {
+                readLine(line);
+            }
+        }
+        return statements.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readLine(final String line) {
+        if (state == State.NORMAL && isEndOfBatchLine(line)) {
+            addStatement();
+            return;
+        }
+        if (state == State.NORMAL && isMySql) {
+            final Matcher matcher = DELIMITER_LINE.matcher(line);
+            if (matcher.matches()) {
+                addStatement();
+                delimiter = matcher.group(1);
+                return;
+            }
+        }
+
+        int i = 0;
+        while (i < line.length()) {
+            final char c = line.charAt(i);
+            switch (state) {
+                case NORMAL:
+                    i = readNormal(line, i);
+                    continue;
+                case SINGLE_QUOTE:
+                case DOUBLE_QUOTE:
+                    if (c == '\\' && backslashEscapes && i + 1 < line.length()) {
+                        statement.append(c).append(line.charAt(i + 1));
+                        i += 2;
+                        continue;
+                    }
+                    i = readQuoted(line, i, state == State.SINGLE_QUOTE ? '\'' : '"');
+                    continue;
+                case BACKTICK:
+                    i = readQuoted(line, i, '`');
+                    continue;
+                case BRACKET:
+                    i = readQuoted(line, i, ']');
+                    continue;
+                case DOLLAR_QUOTE:
+                    if (line.startsWith(dollarTag, i)) {
+                        statement.append(dollarTag);
+                        i += dollarTag.length();
+                        state = State.NORMAL;
+                    } else {
+                        statement.append(c);
+                        i++;
+                    }
+                    continue;
+                default:
+                    //block comments
+                    if (line.startsWith("*/", i)) {
+                        if (state == State.KEPT_BLOCK_COMMENT) {
+                            statement.append("*/");
+                        } else {
+                            statement.append(' ');
+                        }
+                        state = State.NORMAL;
+                        i += 2;
+                    } else {
+                        if (state == State.KEPT_BLOCK_COMMENT) {
+                            statement.append(c);
+                        }
+                        i++;
+                    }
+            }
+        }
+        if (state != State.BLOCK_COMMENT) {
+            statement.append('\n');
+        }
+    }
+
+    private int readNormal(final String line, final int i) {
+        final char c = line.charAt(i);
+        if (line.startsWith(delimiter, i)) {
+            if (isBlock()) {
+                statement.append(delimiter);
+            } else {
+                addStatement();
+            }
+            return i + delimiter.length();
+        }
+        if (line.startsWith("--", i) || c == '#' && isMySql) {
+            return line.length();
+        }
+        if (line.startsWith("/*", i)) {
+            if (line.startsWith("/*+", i) || line.startsWith("/*!", i)) {
+                state = State.KEPT_BLOCK_COMMENT;
+                statement.append("/*");
+            } else {
+                state = State.BLOCK_COMMENT;
+            }
+            return i + 2;
+        }
+        if (c == '$' && isPostgres && (i == 0 || !Character.isLetterOrDigit(line.charAt(i - 1)) && line.charAt(i - 1) != '_')) {
+            final Matcher matcher = DOLLAR_TAG.matcher(line).region(i, line.length());
+            if (matcher.lookingAt()) {
+                dollarTag = matcher.group();
+                state = State.DOLLAR_QUOTE;
+                statement.append(dollarTag);
+                return matcher.end();
+            }
+        }
+        if (c == '\'') {
+            state = State.SINGLE_QUOTE;
+            backslashEscapes = isMySql || isPostgres && isEscapeStringPrefix(line, i);
+        } else if (c == '"') {
+            state = State.DOUBLE_QUOTE;
+            backslashEscapes = isMySql;
+        } else if (c == '`' && isMySql) {
+            state = State.BACKTICK;
+        } else if (c == '[' && isTransactSql) {
+            state = State.BRACKET;
+        }
+        statement.append(c);
+        return i + 1;
+    }
+
+    //a doubled closing quote is an escaped quote
+    private int readQuoted(final String line, final int i, final char quote) {
+        final char c = line.charAt(i);
+        statement.append(c);
+        if (c != quote) {
+            return i + 1;
+        }
+        if (i + 1 < line.length() && line.charAt(i + 1) == quote) {
+            statement.append(quote);
+            return i + 2;
+        }
+        state = State.NORMAL;
+        return i + 1;
+    }
+
+    //the E of a PostgreSQL E'...' string, not the end of an identifier
+    private static boolean isEscapeStringPrefix(final String line, final int quote) {
+        if (quote == 0 || Character.toUpperCase(line.charAt(quote - 1)) != 'E') {
+            return false;
+        }
+        return quote == 1 || !Character.isLetterOrDigit(line.charAt(quote - 2)) && line.charAt(quote - 2) != '_';
+    }
+
+    private boolean isEndOfBatchLine(final String line) {
+        return isOracle && SLASH_LINE.matcher(line).matches() || isTransactSql && GO_LINE.matcher(line).matches();
+    }
+
+    private boolean isBlock() {
+        if (block == null) {
+            block = (isOracle || isTransactSql) &&
+                    (isOracle ? ORACLE_BLOCK : TRANSACT_SQL_BLOCK).matcher(statement.toString().trim()).find();
+        }
+        return block;
+    }
+
+    private void addStatement() {
+        final String current = statement.toString().trim();
+        if (!current.isEmpty()) {
+            statements.add(current);
+        }
+        statement.setLength(0);
+        state = State.NORMAL;
+        block = null;
+    }
+}
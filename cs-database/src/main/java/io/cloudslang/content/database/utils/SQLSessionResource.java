@@ -18,6 +18,7 @@
 package io.cloudslang.content.database.utils;
 
 import com.hp.oo.sdk.content.plugin.SessionResource;
+import io.cloudslang.content.database.services.SQLQueryCursor;
 
 import java.util.Map;
 
@@ -39,6 +40,17 @@ public class SQLSessionResource extends SessionResource<Map<String, Object>> {
 
     @Override
     public void release() {
+        //the cursors left open by SQL Query hold a connection each
+        //and the LOB values left by SQL Query LOB may hold a spill file
+        if (sqlConnectionMap != null) {
+            for (final Object value : sqlConnectionMap.values()) {
+                if (value instanceof SQLQueryCursor) {
+                    ((SQLQueryCursor) value).close();
+                } else if (value instanceof LobStore) {
+                    ((LobStore) value).close();
+                }
+            }
+        }
         sqlConnectionMap = null;
     }
 }
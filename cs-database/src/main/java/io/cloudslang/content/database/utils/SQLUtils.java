@@ -24,12 +24,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static io.cloudslang.content.database.constants.DBOtherValues.MYSQL_DB_TYPE;
 import static io.cloudslang.content.database.constants.DBOtherValues.SEMI_COLON;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -47,6 +57,171 @@ public class SQLUtils {
         }
     }
 
+    /**
+     * Sets the statement up to fetch the rows from the server fetchSize at a time instead of reading the whole
+     * result set when the query is executed. The statement should be forward only and read only.
+     *
+     * @param connection the connection of the statement, it is taken out of the auto commit mode
+     * @param statement  the statement of the query
+     * @param dbType     the database type
+     * @param fetchSize  the number of rows fetched at a time, 0 for the driver default
+     * @throws SQLException
+     */
+    public static void setStreamingFetchSize(@NotNull final Connection connection, @NotNull final Statement statement,
+                                             final String dbType, final int fetchSize) throws SQLException {
+        //PostgreSQL and DB2 only fetch the rows in batches outside of the auto commit mode
+        connection.setAutoCommit(false);
+        //MySQL streams the rows one by one only with this fetch size, any other value reads the whole result set
+        statement.setFetchSize(MYSQL_DB_TYPE.equalsIgnoreCase(dbType) ? Integer.MIN_VALUE : fetchSize);
+    }
+
+    /**
+     * Ends the transaction that {@link #setStreamingFetchSize} started on a connection that only read data,
+     * so the connection is left in its auto commit mode whether the query succeeded or not.
+     *
+     * @param connection the connection of the query
+     * @param autoCommit the auto commit mode of the connection before the query
+     */
+    public static void restoreAutoCommit(@NotNull final Connection connection, final boolean autoCommit) {
+        try {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ignore) {
+        }
+    }
+
+    /**
+     * Deletes the partially written output file of a query that failed.
+     *
+     * @param outputFile the path of the file
+     */
+    public static void deleteOutputFile(@NotNull final String outputFile) {
+        try {
+            Files.deleteIfExists(Paths.get(outputFile));
+        } catch (IOException | InvalidPathException ignore) {
+        }
+    }
+
+    /**
+     * Creates the statement of the sql command. When the command has parameters it is prepared and the parameters
+     * are bound to it, so a pooled connection can take it from its statement cache instead of parsing it again.
+     *
+     * @param connection           the connection
+     * @param sqlInputs            the inputs holding the sql command and its parameters
+     * @param resultSetType        the result set type
+     * @param resultSetConcurrency the result set concurrency
+     * @return a PreparedStatement if the command has parameters, otherwise a Statement
+     * @throws SQLException
+     */
+    @NotNull
+    public static Statement createStatement(@NotNull final Connection connection, @NotNull final SQLInputs sqlInputs,
+                                            final int resultSetType, final int resultSetConcurrency) throws SQLException {
+        if (sqlInputs.getParameters().isEmpty()) {
+            return connection.createStatement(resultSetType, resultSetConcurrency);
+        }
+        final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand(), resultSetType, resultSetConcurrency);
+        try {
+            setParameters(preparedStatement, sqlInputs.getParameters());
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Executes the sql command with a statement created by createStatement.
+     *
+     * @return true if the first result is a ResultSet
+     * @throws SQLException
+     */
+    public static boolean execute(@NotNull final Statement statement, @NotNull final String sqlCommand) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).execute();
+        }
+        return statement.execute(sqlCommand);
+    }
+
+    /**
+     * Executes the sql query with a statement created by createStatement.
+     *
+     * @return the ResultSet of the query
+     * @throws SQLException
+     */
+    @NotNull
+    public static ResultSet executeQuery(@NotNull final Statement statement, @NotNull final String sqlQuery) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).executeQuery();
+        }
+        return statement.executeQuery(sqlQuery);
+    }
+
+    /**
+     * Binds the values to the parameters of the statement, in order. A null value is bound as NULL of the type
+     * of its parameter, which is taken from the statement the first time a null is bound.
+     *
+     * @param statement the prepared statement
+     * @param values    the values of the parameters
+     * @throws SQLException
+     */
+    public static void setParameters(@NotNull final PreparedStatement statement, @NotNull final List<?> values) throws SQLException {
+        setParameters(statement, values, null);
+    }
+
+    /**
+     * Binds the values to the parameters of the statement, in order. A null value is bound as NULL of the type
+     * of its parameter.
+     *
+     * @param statement      the prepared statement
+     * @param values         the values of the parameters
+     * @param parameterTypes the types of the parameters from {@link #getParameterTypes}, so a statement executed
+     *                       many times describes its parameters once. If null they are taken from the statement
+     *                       the first time a null is bound
+     * @throws SQLException
+     */
+    public static void setParameters(@NotNull final PreparedStatement statement, @NotNull final List<?> values,
+                                     final int[] parameterTypes) throws SQLException {
+        int[] types = parameterTypes;
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == null) {
+                if (types == null) {
+                    types = getParameterTypes(statement);
+                }
+                statement.setNull(i + 1, i < types.length ? types[i] : Types.NULL);
+            } else {
+                statement.setObject(i + 1, values.get(i));
+            }
+        }
+    }
+
+    /**
+     * @param statement the prepared statement
+     * @return the SQL types of the parameters of the statement, Types.NULL for the parameters whose type
+     * the driver doesn't report
+     */
+    @NotNull
+    public static int[] getParameterTypes(@NotNull final PreparedStatement statement) {
+        final ParameterMetaData metaData;
+        final int count;
+        try {
+            metaData = statement.getParameterMetaData();
+            count = metaData != null ? metaData.getParameterCount() : 0;
+        } catch (SQLException e) {
+            return new int[0];
+        }
+        final int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            try {
+                types[i] = metaData.getParameterType(i + 1);
+            } catch (SQLException e) {
+                types[i] = Types.NULL;
+            }
+        }
+        return types;
+    }
+
     public static String processNullTerminatedString(final String value) {
         if (isEmpty(value)) {
             return "null";
@@ -0,0 +1,81 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.actions;
+
+import io.cloudslang.content.database.services.SQLBulkInsertService;
+import io.cloudslang.content.database.utils.RowsReader;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBOtherValues.JSON_FORMAT;
+import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROWS_PER_SECOND;
+import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({SQLBulkInsertService.class})
+public class SQLBulkInsertTest {
+
+    @Test
+    public void executeFailsValidation() throws Exception {
+        final Map<String, String> resultMap = new SQLBulkInsert().execute("1", MSSQL_DB_TYPE, "username", "Password", EMPTY, EMPTY, "db",
+                EMPTY, EMPTY, EMPTY, "INSERT INTO t VALUES (?)", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, "-1", EMPTY, "true",
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
+        assertThat(resultMap.get(RETURN_RESULT), is("Exactly one of the rows and rowsFile inputs must be specified\nchunkSize has to be a positive integer!"));
+    }
+
+    @Test
+    public void executeSuccess() throws Exception {
+        mockStatic(SQLBulkInsertService.class);
+        when(SQLBulkInsertService.executeBulkInsert(any(SQLInputs.class), any(RowsReader.class), eq(500), eq(false))).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) throws Throwable {
+                ((SQLInputs) invocation.getArguments()[0]).setIUpdateCount(2);
+                return "2 row(s) inserted";
+            }
+        });
+
+        final Map<String, String> resultMap = new SQLBulkInsert().execute("1", MSSQL_DB_TYPE, "username", "Password", EMPTY, EMPTY, "db",
+                EMPTY, EMPTY, EMPTY, "INSERT INTO t VALUES (?, ?)", "[[1, \"a\"], [2, \"b\"]]", EMPTY, JSON_FORMAT, EMPTY, EMPTY, "500", "false",
+                "true", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
+        assertThat(resultMap.get(RETURN_RESULT), is("2 row(s) inserted"));
+        assertThat(resultMap.get(UPDATE_COUNT), is("2"));
+        assertTrue(Double.parseDouble(resultMap.get(ROWS_PER_SECOND)) > 0);
+    }
+}
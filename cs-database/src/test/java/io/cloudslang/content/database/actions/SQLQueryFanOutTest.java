@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.actions;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBOtherValues.CUSTOM_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOutputNames.COLUMN_NAMES;
+import static io.cloudslang.content.database.constants.DBOutputNames.ERRORS;
+import static io.cloudslang.content.database.constants.DBOutputNames.FAILURE_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.SUCCESS_COUNT;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryFanOutTest {
+
+    @Test
+    public void execute() throws Exception {
+        final Map<String, String> resultMap = new SQLQueryFanOut().execute(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
+        assertThat(resultMap.get(RETURN_RESULT), is("targets must be a non empty JSON array of server names or of objects with the name, " +
+                "dbServerName, dbType, username, password, instance, DBPort, databaseName and dbURL fields\n" +
+                "command input is empty."));
+    }
+
+    @Test
+    public void executeSuccess() throws Exception {
+        Class.forName("org.h2.Driver");
+        try (Connection keepAlive = DriverManager.getConnection("jdbc:h2:mem:sql_query_fan_out_action_test", "sa", "sa");
+             Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE items(id INT PRIMARY KEY)");
+            statement.execute("INSERT INTO items VALUES (1)");
+
+            final String targets = "[{\"name\": \"h2\", \"dbServerName\": \"localhost\", \"dbURL\": \"jdbc:h2:mem:sql_query_fan_out_action_test\"}," +
+                    "{\"name\": \"missing\", \"dbServerName\": \"localhost\", \"dbURL\": \"jdbc:h2:mem:sql_query_fan_out_missing;IFEXISTS=TRUE\"}]";
+            final Map<String, String> resultMap = new SQLQueryFanOut().execute(targets, CUSTOM_DB_TYPE, "sa", "sa", EMPTY, EMPTY, "db",
+                    EMPTY, "org.h2.Driver", EMPTY, "SELECT id FROM items", "true", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
+                    EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+
+            assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
+            assertThat(resultMap.get(RETURN_RESULT), is("h2,1"));
+            assertThat(resultMap.get(COLUMN_NAMES), is("target,ID"));
+            assertThat(resultMap.get(SUCCESS_COUNT), is("1"));
+            assertThat(resultMap.get(FAILURE_COUNT), is("1"));
+            assertThat(resultMap.get(ERRORS), startsWith("missing: "));
+        }
+    }
+}
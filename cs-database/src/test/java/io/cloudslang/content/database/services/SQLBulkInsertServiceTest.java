@@ -0,0 +1,187 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.CsvRowsReader;
+import io.cloudslang.content.database.utils.JsonRowsReader;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.CUSTOM_DB_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(SQLBulkInsertService.class)
+@PowerMockIgnore({"org.h2.*", "javax.management.*", "com.mchange.*", "com.zaxxer.*"})
+public class SQLBulkInsertServiceTest {
+    private static final String H2_URL = "jdbc:h2:mem:sql_bulk_insert_test";
+    private static final String INSERT = "INSERT INTO items (id, name) VALUES (?, ?)";
+
+    //keeps the in memory database alive between the connections of a test
+    private Connection keepAlive;
+
+    @Before
+    public void setUp() throws Exception {
+        Class.forName("org.h2.Driver");
+        keepAlive = DriverManager.getConnection(H2_URL, "sa", "sa");
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE items(id INT PRIMARY KEY, name VARCHAR(20))");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP TABLE items");
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    public void executeBulkInsertInsertsAllChunks() throws Exception {
+        final SQLInputs sqlInputs = getSqlInputs();
+        final String rows = "1,one\n2,\"two, too\"\n3,\n4,\"\"\n5,five";
+
+        final String result = SQLBulkInsertService.executeBulkInsert(sqlInputs, new CsvRowsReader(new StringReader(rows), ',', false), 2, true);
+
+        assertEquals("5 row(s) inserted", result);
+        assertEquals(5, sqlInputs.getIUpdateCount());
+        assertEquals(5, count());
+        assertEquals("two, too", getName(2));
+        assertNull(getName(3));
+        assertEquals("", getName(4));
+    }
+
+    @Test
+    public void executeBulkInsertKeepsCommittedChunks() throws Exception {
+        final String rows = "1,one\n2,two\n3,three\n1,duplicate\n5,five";
+
+        try {
+            SQLBulkInsertService.executeBulkInsert(getSqlInputs(), new CsvRowsReader(new StringReader(rows), ',', false), 2, false);
+            fail("the duplicate key should fail the insert");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().startsWith("The bulk insert failed after 2 rows were committed"));
+        }
+        assertEquals(2, count());
+    }
+
+    @Test
+    public void executeBulkInsertBindsJsonObjectsByColumnName() throws Exception {
+        final String rows = "[{\"name\": \"one\", \"id\": 1}, [2, \"two\"]]";
+
+        SQLBulkInsertService.executeBulkInsert(getSqlInputs(),
+                new JsonRowsReader(new StringReader(rows), SQLBulkInsertService.getInsertColumns(INSERT)), 10, false);
+
+        assertEquals("one", getName(1));
+        assertEquals("two", getName(2));
+    }
+
+    @Test
+    public void executeBulkInsertRestoresAutoCommitOnFailure() throws Exception {
+        final Connection connection = mock(Connection.class);
+        final ConnectionService connectionService = mock(ConnectionService.class);
+        when(connection.getAutoCommit()).thenReturn(true, false);
+        when(connection.prepareStatement(INSERT)).thenThrow(new SQLException("no table"));
+        final SQLInputs sqlInputs = getSqlInputs();
+        when(connectionService.setUpConnection(sqlInputs)).thenReturn(connection);
+        PowerMockito.whenNew(ConnectionService.class).withNoArguments().thenReturn(connectionService);
+
+        try {
+            SQLBulkInsertService.executeBulkInsert(sqlInputs, new CsvRowsReader(new StringReader("1,one"), ',', false), 10, false);
+            fail("the insert should fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().startsWith("The bulk insert failed after 0 rows were committed"));
+        }
+        verify(connection).setAutoCommit(false);
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+    }
+
+    @Test
+    public void getInsertColumns() {
+        assertEquals(Arrays.asList("id", "name"), SQLBulkInsertService.getInsertColumns(INSERT));
+        assertNull(SQLBulkInsertService.getInsertColumns("INSERT INTO items (id, name) VALUES (?, upper(?))"));
+        assertNull(SQLBulkInsertService.getInsertColumns("UPDATE items SET name = ? WHERE id = ?"));
+    }
+
+    @Test
+    public void getCopySql() {
+        assertEquals("COPY items (id, name) FROM STDIN WITH (FORMAT csv)", SQLBulkInsertService.getCopySql(INSERT));
+        assertEquals("COPY public.items (id,name) FROM STDIN WITH (FORMAT csv)",
+                SQLBulkInsertService.getCopySql("insert into public.items(id,name) values(?,?);"));
+        assertNull(SQLBulkInsertService.getCopySql("INSERT INTO items (id, name) VALUES (?, upper(?))"));
+        assertNull(SQLBulkInsertService.getCopySql("INSERT INTO items (id, name) VALUES (?)"));
+        assertNull(SQLBulkInsertService.getCopySql("UPDATE items SET name = ? WHERE id = ?"));
+    }
+
+    @Test
+    public void appendCsvRow() {
+        final StringBuilder chunk = new StringBuilder();
+        SQLBulkInsertService.appendCsvRow(chunk, new Object[]{1, null, "", "say \"hi\", bye"});
+        assertEquals("\"1\",,\"\",\"say \"\"hi\"\", bye\"\n", chunk.toString());
+    }
+
+    private SQLInputs getSqlInputs() {
+        return SQLInputs.builder()
+                .dbType(CUSTOM_DB_TYPE)
+                .dbClass("org.h2.Driver")
+                .dbUrl(H2_URL)
+                .username("sa")
+                .password("sa")
+                .sqlCommand(INSERT)
+                .timeout(60)
+                .build();
+    }
+
+    private int count() throws Exception {
+        try (Statement statement = keepAlive.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private String getName(final int id) throws Exception {
+        try (Statement statement = keepAlive.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM items WHERE id = " + id)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
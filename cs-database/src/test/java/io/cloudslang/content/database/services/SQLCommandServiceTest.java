@@ -33,6 +33,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.sql.*;
+import java.util.Arrays;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
@@ -133,4 +134,23 @@ public class SQLCommandServiceTest {
         verify(oracleDbmsOutputMock, Mockito.times(1)).close();
     }
 
+    @Test
+    public void testExecuteSqlCommandParameters() throws Exception {
+        when(connectionMock.prepareStatement(Matchers.eq(SQL_COMMAND), anyInt(), anyInt())).thenReturn(preparedStatementMock);
+        when(preparedStatementMock.getResultSet()).thenReturn(resultSetMock);
+
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setSqlCommand(SQL_COMMAND);
+        sqlInputs.getParameters().addAll(Arrays.asList(10, "name", null));
+
+        final String executeSqlCommand = SQLCommandService.executeSqlCommand(sqlInputs);
+
+        assertEquals("Command completed successfully", executeSqlCommand);
+        verify(preparedStatementMock, Mockito.times(1)).setObject(1, 10);
+        verify(preparedStatementMock, Mockito.times(1)).setObject(2, "name");
+        verify(preparedStatementMock, Mockito.times(1)).setNull(3, Types.NULL);
+        verify(preparedStatementMock, Mockito.times(1)).execute();
+        verify(connectionMock, Mockito.never()).createStatement(anyInt(), anyInt());
+    }
+
 }
@@ -32,15 +32,19 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
 import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.fail;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -140,4 +144,26 @@ public class SQLQueryAllRowsServiceTest {
         verify(resultSetMock, Mockito.times(1)).close();
     }
 
+    @Test
+    public void testExecuteQueryAllRowsToFileFailure() throws Exception {
+        sqlInputs.setDbType(POSTGRES_DB_TYPE);
+        sqlInputs.setTimeout(QUYERY_TIMEOUT);
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setFetchSize(1000);
+        when(connectionMock.getAutoCommit()).thenReturn(true, false);
+        when(resultSetMock.getMetaData()).thenThrow(new SQLException("connection lost"));
+        final File outputFile = File.createTempFile("rows", ".csv");
+        try {
+            SQLQueryAllRowsService.execQueryAllRowsToFile(sqlInputs, outputFile.getPath());
+            fail("The query should fail");
+        } catch (SQLException e) {
+            assertEquals("connection lost", e.getMessage());
+        }
+
+        assertFalse(outputFile.exists());
+        verify(connectionMock).setAutoCommit(false);
+        verify(connectionMock).rollback();
+        verify(connectionMock).setAutoCommit(true);
+        verify(connectionMock).close();
+    }
 }
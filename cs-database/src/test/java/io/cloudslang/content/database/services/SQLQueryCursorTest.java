@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLSessionResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SQLQueryCursorTest {
+    private static final String H2_URL = "jdbc:h2:mem:sql_query_cursor_test";
+    private static final long IDLE_TIMEOUT = 60000;
+
+    //keeps the in memory database alive between the connections of a test
+    private Connection keepAlive;
+
+    @Before
+    public void setUp() throws Exception {
+        Class.forName("org.h2.Driver");
+        keepAlive = DriverManager.getConnection(H2_URL);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE items(id INT, name VARCHAR(20))");
+            statement.execute("INSERT INTO items VALUES (1, 'one'), (2, 'two '), (3, NULL)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP TABLE items");
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    public void nextReadsRowsAndReleasesConnectionAfterLastRow() throws Exception {
+        final Connection connection = DriverManager.getConnection(H2_URL);
+        final SQLQueryCursor cursor = openCursor(connection, IDLE_TIMEOUT);
+
+        assertEquals("ID,NAME", cursor.getStrColumns());
+        assertEquals("1,one", cursor.next());
+        assertTrue(cursor.hasNext());
+        assertEquals("2,two", cursor.next());
+        assertTrue(cursor.hasNext());
+        assertEquals("3,", cursor.next());
+        assertFalse(cursor.hasNext());
+        assertTrue(cursor.isClosed());
+        assertTrue(connection.isClosed());
+        assertNull(cursor.next());
+    }
+
+    @Test
+    public void emptyResultClosesCursor() throws Exception {
+        final Connection connection = DriverManager.getConnection(H2_URL);
+        final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        final ResultSet results = statement.executeQuery("SELECT * FROM items WHERE id > 10");
+        final SQLQueryCursor cursor = new SQLQueryCursor(connection, statement, results, "ID,NAME", ",", false, IDLE_TIMEOUT);
+
+        assertFalse(cursor.hasNext());
+        assertNull(cursor.next());
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    public void closeIdleCursorsClosesOnlyIdleCursors() throws Exception {
+        final Connection idleConnection = DriverManager.getConnection(H2_URL);
+        final SQLQueryCursor idleCursor = openCursor(idleConnection, 1);
+        final Connection usedConnection = DriverManager.getConnection(H2_URL);
+        final SQLQueryCursor usedCursor = openCursor(usedConnection, IDLE_TIMEOUT);
+        try {
+            assertEquals(1, SQLQueryCursor.closeIdleCursors(System.currentTimeMillis() + 1000));
+            assertTrue(idleCursor.isClosed());
+            assertTrue(idleConnection.isClosed());
+            assertFalse(usedCursor.isClosed());
+            try {
+                idleCursor.next();
+                fail("the cursor was closed");
+            } catch (SQLException e) {
+                assertEquals("The cursor was closed because it was not used for more than 0 seconds.", e.getMessage());
+            }
+        } finally {
+            usedCursor.close();
+        }
+        assertTrue(usedConnection.isClosed());
+    }
+
+    @Test
+    public void releaseSessionResourceClosesCursors() throws Exception {
+        final Connection connection = DriverManager.getConnection(H2_URL);
+        final SQLQueryCursor cursor = openCursor(connection, IDLE_TIMEOUT);
+        final Map<String, Object> globalMap = new HashMap<>();
+        globalMap.put("key", cursor);
+
+        new SQLSessionResource(globalMap).release();
+
+        assertTrue(cursor.isClosed());
+        assertTrue(connection.isClosed());
+    }
+
+    private static SQLQueryCursor openCursor(final Connection connection, final long idleTimeoutMillis) throws SQLException {
+        connection.setAutoCommit(false);
+        final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(1);
+        final ResultSet results = statement.executeQuery("SELECT id, name FROM items ORDER BY id");
+        return new SQLQueryCursor(connection, statement, results, "ID,NAME", ",", false, idleTimeoutMillis);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.FanOutResult;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.CUSTOM_DB_TYPE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SQLQueryFanOutServiceTest {
+    private static final String H2_URL = "jdbc:h2:mem:sql_query_fan_out_test_";
+    private static final String QUERY = "SELECT id, name FROM items ORDER BY id";
+
+    //keep the in memory databases alive between the connections of a test
+    private Connection keepAlive1;
+    private Connection keepAlive2;
+
+    @Before
+    public void setUp() throws Exception {
+        Class.forName("org.h2.Driver");
+        keepAlive1 = createDatabase(1, "INSERT INTO items VALUES (1, 'one'), (2, NULL)");
+        keepAlive2 = createDatabase(2, "INSERT INTO items VALUES (3, 'three')");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        keepAlive1.close();
+        keepAlive2.close();
+    }
+
+    @Test
+    public void executeKeepsTargetOrderAndReportsFailurePerTarget() throws Exception {
+        final Map<String, SQLInputs> targets = new LinkedHashMap<>();
+        targets.put("db1", getSqlInputs(H2_URL + 1));
+        targets.put("missing", getSqlInputs("jdbc:h2:mem:sql_query_fan_out_test_missing;IFEXISTS=TRUE"));
+        targets.put("db2", getSqlInputs(H2_URL + 2));
+
+        final List<FanOutResult> results = new SQLQueryFanOutService(2, 60).execute(targets);
+
+        assertEquals(3, results.size());
+        assertEquals("db1", results.get(0).getTarget());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(Arrays.asList("ID", "NAME"), results.get(0).getColumnNames().get(0));
+        assertEquals(2, results.get(0).getRows().get(0).size());
+        assertArrayEquals(new String[]{"2", null}, results.get(0).getRows().get(0).get(1));
+        assertEquals("missing", results.get(1).getTarget());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getRows().isEmpty());
+        assertEquals("db2", results.get(2).getTarget());
+        assertArrayEquals(new String[]{"3", "three"}, results.get(2).getRows().get(0).get(0));
+
+        assertEquals("db1,1,one\ndb1,2,null\ndb2,3,three", SQLQueryFanOutService.toDelimited(results, ",", "\n"));
+        assertEquals("target,ID,NAME", SQLQueryFanOutService.getDelimitedColumnNames(results, ","));
+    }
+
+    @Test
+    public void executeTimesOutTarget() {
+        final Map<String, SQLInputs> targets = new LinkedHashMap<>();
+        targets.put("slow", getSqlInputs(H2_URL + 1));
+        targets.put("db2", getSqlInputs(H2_URL + 2));
+
+        final List<FanOutResult> results = new SQLQueryFanOutService(2, 1) {
+            @Override
+            protected ConnectionService createConnectionService() {
+                return new ConnectionService() {
+                    @Override
+                    public Connection setUpConnection(SQLInputs sqlInputs) throws SQLException {
+                        if (sqlInputs.getDbUrl().endsWith("1")) {
+                            try {
+                                Thread.sleep(10000);
+                            } catch (InterruptedException e) {
+                                throw new SQLException("interrupted", e);
+                            }
+                        }
+                        return super.setUpConnection(sqlInputs);
+                    }
+                };
+            }
+        }.execute(targets);
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("The target did not complete in 1 seconds.", results.get(0).getError());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    public void executeReadsAllResultSets() throws Exception {
+        final Connection connection = mock(Connection.class);
+        final Statement statement = mock(Statement.class);
+        final ResultSet first = mockResultSet("A", "1");
+        final ResultSet second = mockResultSet("B", "2");
+        when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+        when(statement.execute(QUERY)).thenReturn(true);
+        when(statement.getResultSet()).thenReturn(first, second);
+        when(statement.getMoreResults()).thenReturn(false, true, false);
+        when(statement.getUpdateCount()).thenReturn(5, -1);
+
+        final List<FanOutResult> results = new SQLQueryFanOutService(1, 0) {
+            @Override
+            protected ConnectionService createConnectionService() {
+                return new ConnectionService() {
+                    @Override
+                    public Connection setUpConnection(SQLInputs sqlInputs) {
+                        return connection;
+                    }
+                };
+            }
+        }.execute(Collections.singletonMap("db", getSqlInputs(H2_URL + 1)));
+
+        assertEquals(2, results.get(0).getRows().size());
+        assertEquals(Collections.singletonList("B"), results.get(0).getColumnNames().get(1));
+        assertEquals("db|1;db|2", SQLQueryFanOutService.toDelimited(results, "|", ";"));
+        verify(connection).close();
+    }
+
+    @Test
+    public void toJson() throws Exception {
+        final FanOutResult success = new FanOutResult("db1");
+        success.addResultSet(Arrays.asList("ID", "NAME"), Collections.singletonList(new String[]{"1", null}));
+        success.setElapsedMillis(5);
+        final FanOutResult failure = new FanOutResult("db2");
+        failure.setError("no \"items\" table");
+
+        assertEquals("[{\"target\":\"db1\",\"status\":\"success\",\"elapsedMillis\":5,\"resultSets\":" +
+                        "[{\"columns\":[\"ID\",\"NAME\"],\"rows\":[[\"1\",null]]}]}," +
+                        "{\"target\":\"db2\",\"status\":\"failure\",\"elapsedMillis\":0,\"error\":\"no \\\"items\\\" table\"}]",
+                SQLQueryFanOutService.toJson(Arrays.asList(success, failure)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsInvalidParallelism() {
+        new SQLQueryFanOutService(0, 10);
+    }
+
+    private static Connection createDatabase(final int index, final String insert) throws SQLException {
+        final Connection connection = DriverManager.getConnection(H2_URL + index, "sa", "sa");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE items(id INT PRIMARY KEY, name VARCHAR(20))");
+            statement.execute(insert);
+        }
+        return connection;
+    }
+
+    private static ResultSet mockResultSet(final String column, final String value) throws SQLException {
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn(column);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn(value);
+        return resultSet;
+    }
+
+    private static SQLInputs getSqlInputs(final String dbUrl) {
+        return SQLInputs.builder()
+                .dbType(CUSTOM_DB_TYPE)
+                .dbClass("org.h2.Driver")
+                .dbUrl(dbUrl)
+                .username("sa")
+                .password("sa")
+                .sqlCommand(QUERY)
+                .timeout(60)
+                .resultSetType(ResultSet.TYPE_FORWARD_ONLY)
+                .resultSetConcurrency(ResultSet.CONCUR_READ_ONLY)
+                .build();
+    }
+}
@@ -20,6 +20,7 @@ package io.cloudslang.content.database.services;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.Constants;
 import io.cloudslang.content.database.utils.InputsProcessor;
+import io.cloudslang.content.database.utils.LobStore;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,12 +33,17 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 
 
+import static io.cloudslang.content.database.constants.DBOtherValues.BASE64_FORMAT;
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
 import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
 import static junit.framework.Assert.assertEquals;
@@ -94,7 +100,7 @@ public class SQLQueryLobServiceTest {
         sqlInputs.setSqlCommand(SQL_QUERY);
         sqlInputs.setTimeout(QUYERY_TIMEOUT);
 
-        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs, new LobStore(1024, BASE64_FORMAT));
 
         assertEquals(false, executeSqlCommand);
         assertEquals("defaulLabel,defaulLabel,defaulLabel", sqlInputs.getStrColumns());
@@ -103,6 +109,30 @@ public class SQLQueryLobServiceTest {
         verify(statementMock, Mockito.times(1)).executeQuery(SQL_QUERY);
     }
 
+    @Test
+    public void testExecuteSqlQueryLobValues() throws Exception {
+        final Clob clobMock = Mockito.mock(Clob.class);
+        final Blob blobMock = Mockito.mock(Blob.class);
+        when(clobMock.getCharacterStream()).thenReturn(new StringReader("clob value"));
+        when(blobMock.getBinaryStream()).thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        when(resultSetMock.next()).thenReturn(true, false);
+        when(resultSetMock.getObject(1)).thenReturn(clobMock);
+        when(resultSetMock.getObject(2)).thenReturn(blobMock);
+        when(resultSetMock.getObject(3)).thenReturn(null);
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setSqlCommand(SQL_QUERY);
+
+        final LobStore lobStore = new LobStore(1024, BASE64_FORMAT);
+        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs, lobStore);
+
+        assertEquals(true, executeSqlCommand);
+        assertEquals("(CLOB)...,(BLOB)...,null", sqlInputs.getLRows().get(0));
+        assertEquals("CLOB column: defaulLabel", sqlInputs.getLRowsNames().get(0).get(0));
+        assertEquals("BLOB column: defaulLabel", sqlInputs.getLRowsNames().get(0).get(1));
+        assertEquals("clob value", lobStore.remove(sqlInputs.getLRowsFiles().get(0).get(0)));
+        assertEquals("AQID", lobStore.remove(sqlInputs.getLRowsFiles().get(0).get(1)));
+    }
+
     public void testExecuteSqlQueryLobPSQL() throws Exception {
         sqlInputs.setDbType(POSTGRES_DB_TYPE);
         sqlInputs.setDbPort(5432);
@@ -111,7 +141,7 @@ public class SQLQueryLobServiceTest {
         sqlInputs.setSqlCommand(SQL_QUERY);
         sqlInputs.setTimeout(QUYERY_TIMEOUT);
 
-        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs, new LobStore(1024, BASE64_FORMAT));
 
         assertEquals(false, executeSqlCommand);
         assertEquals("defaulLabel,defaulLabel,defaulLabel", sqlInputs.getStrColumns());
@@ -125,6 +155,6 @@ public class SQLQueryLobServiceTest {
     public void testExecuteSqlQueryLobNoCommand() throws Exception {
         expectedEx.expect(Exception.class);
         expectedEx.expectMessage("command input is empty.");
-        SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+        SQLQueryLobService.executeSqlQueryLob(sqlInputs, new LobStore(1024, BASE64_FORMAT));
     }
 }
@@ -123,6 +123,26 @@ public class SQLQueryServiceTest {
         verify(statementMock, Mockito.times(1)).executeQuery(SQL_QUERY);
     }
 
+    @Test
+    public void testOpenSqlQueryCursorMySQL() throws Exception {
+        sqlInputs.setDbType(MYSQL_DB_TYPE);
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setTimeout(SQL_QUERY_TIMEOUT);
+        sqlInputs.setStrDelim(",");
+        sqlInputs.setFetchSize(100);
+
+        final SQLQueryCursor cursor = SQLQueryService.openSqlQueryCursor(sqlInputs, 1000);
+
+        assertEquals("defaulLabel,defaulLabel,defaulLabel", cursor.getStrColumns());
+        verify(connectionMock, Mockito.times(1)).setReadOnly(true);
+        verify(connectionMock, Mockito.times(1)).setAutoCommit(false);
+        verify(connectionMock, Mockito.times(1)).createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statementMock, Mockito.times(1)).setFetchSize(Integer.MIN_VALUE);
+        verify(statementMock, Mockito.times(1)).setQueryTimeout(SQL_QUERY_TIMEOUT);
+        //no rows, the connection is released right away
+        verify(connectionMock, Mockito.times(1)).close();
+    }
+
     @Test
     public void testExecuteSqlQueryNoCommand() throws Exception {
         expectedEx.expect(Exception.class);
@@ -20,6 +20,7 @@ package io.cloudslang.content.database.services;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.Constants;
 import io.cloudslang.content.database.utils.InputsProcessor;
+import io.cloudslang.content.database.utils.SQLScriptReader;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -28,18 +29,27 @@ import org.junit.runner.RunWith;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.SYBASE_DB_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -79,7 +89,21 @@ public class SQLScriptServiceTest {
         PowerMockito.whenNew(ConnectionService.class).withNoArguments().thenReturn(connectionServiceMock);
         when(connectionServiceMock.setUpConnection(sqlInputs)).thenReturn(connectionMock);
         when(connectionMock.createStatement(Matchers.any(Integer.class), Matchers.any(Integer.class))).thenReturn(statementMock);
-        when(connectionMock.getAutoCommit()).thenReturn(true);
+        //the connection starts in auto commit mode
+        final boolean[] autoCommit = {true};
+        Mockito.doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                return autoCommit[0];
+            }
+        }).when(connectionMock).getAutoCommit();
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                autoCommit[0] = (Boolean) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(connectionMock).setAutoCommit(Matchers.anyBoolean());
         when(statementMock.executeQuery(SQL_COMMAND)).thenReturn(resultSetMock);
         when(statementMock.executeBatch()).thenReturn(new int[]{1,2});
     }
@@ -123,6 +147,93 @@ public class SQLScriptServiceTest {
         verify(statementMock, Mockito.times(0)).execute(SQL_COMMAND);
     }
 
+    @Test
+    public void testExecuteSqlScriptFromReader() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setTimeout(QUYERY_TIMEOUT);
+        final SQLScriptReader scriptReader = new SQLScriptReader(new StringReader(
+                "insert into t values (1);\ninsert into t values (2);\n" + SQL_COMMAND + ";\n"), ORACLE_DB_TYPE, ";");
+
+        final String result = SQLScriptService.executeSqlScript(scriptReader, sqlInputs, 2);
+
+        assertTrue(result.startsWith("Command completed successfully. 3 statement(s) executed in "));
+        assertEquals(3, sqlInputs.getIUpdateCount());
+        verify(statementMock, Mockito.times(1)).addBatch("insert into t values (1)");
+        verify(statementMock, Mockito.times(1)).addBatch("insert into t values (2)");
+        verify(statementMock, Mockito.times(1)).executeBatch();
+        verify(statementMock, Mockito.times(1)).execute(SQL_COMMAND);
+        verify(connectionMock, Mockito.times(2)).commit();
+        verify(connectionMock, Mockito.times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    public void testExecuteSqlScriptFromReaderKeepsCommittedBatches() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        when(statementMock.execute(SQL_COMMAND)).thenThrow(new SQLException("table not found"));
+        final SQLScriptReader scriptReader = new SQLScriptReader(new StringReader(
+                "insert into t values (1);\ninsert into t values (2);\n" + SQL_COMMAND), ORACLE_DB_TYPE, ";");
+
+        expectedEx.expect(Exception.class);
+        expectedEx.expectMessage("The script failed after 2 statements were committed: table not found");
+        try {
+            SQLScriptService.executeSqlScript(scriptReader, sqlInputs, 2);
+        } finally {
+            verify(connectionMock, Mockito.times(1)).commit();
+            verify(connectionMock, Mockito.atLeastOnce()).rollback();
+            verify(connectionMock, Mockito.times(1)).setAutoCommit(true);
+        }
+    }
+
+    @Test
+    public void testExecuteSqlScriptFromReaderRestoresAutoCommitWhenReadFails() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        final Reader failingReader = new Reader() {
+            private final Reader content = new StringReader("insert into t values (1);\ninsert into t values (2);\n");
+
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                final int read = content.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new IOException("connection reset");
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        expectedEx.expect(Exception.class);
+        expectedEx.expectMessage("The script failed after 2 statements were committed: connection reset");
+        try {
+            SQLScriptService.executeSqlScript(new SQLScriptReader(failingReader, ORACLE_DB_TYPE, ";"), sqlInputs, 1);
+        } finally {
+            verify(connectionMock, Mockito.times(2)).commit();
+            verify(connectionMock, Mockito.atLeastOnce()).rollback();
+            verify(connectionMock, Mockito.times(1)).setAutoCommit(true);
+        }
+    }
+
+    @Test
+    public void testExecuteSqlScriptFromReaderRestoresAutoCommitAfterSybaseDump() throws Exception {
+        sqlInputs.setDbType(SYBASE_DB_TYPE);
+        when(statementMock.execute("dump database db to 'db.dump'")).thenThrow(new SQLException("Dump is complete", "s1000"));
+
+        final String result = SQLScriptService.executeSqlScript(new SQLScriptReader(
+                new StringReader("dump database db to 'db.dump'\n"), SYBASE_DB_TYPE, ";"), sqlInputs, 10);
+
+        assertEquals("Dump is complete", result);
+        verify(connectionMock, Mockito.times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    public void testExecuteSqlScriptFromEmptyReader() throws Exception {
+        expectedEx.expect(Exception.class);
+        expectedEx.expectMessage("No SQL command to be executed.");
+        SQLScriptService.executeSqlScript(new SQLScriptReader(new StringReader("-- nothing to run\n"), ORACLE_DB_TYPE, ";"), sqlInputs, 10);
+    }
+
     @Test
     public void testExecuteSqlScriptNullLines() throws Exception {
         expectedEx.expect(Exception.class);
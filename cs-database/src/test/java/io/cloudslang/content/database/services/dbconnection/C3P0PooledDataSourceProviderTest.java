@@ -27,10 +27,12 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import javax.sql.DataSource;
+import java.util.Map;
 import java.util.Properties;
 
 import static io.cloudslang.content.database.constants.DBInputNames.USERNAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.mock;
 
@@ -81,4 +83,21 @@ public class C3P0PooledDataSourceProviderTest {
         DataSources.unpooledDataSource(anyString(), anyString(), anyString());
         DataSources.pooledDataSource(any(DataSource.class), anyMap());
     }
+
+    /**
+     * Test the statement cache properties of the pool.
+     */
+    @Test
+    public void testGetPoolingPropertiesStatementCache() {
+        Properties props = new Properties();
+        provider = new C3P0PooledDataSourceProvider(props);
+        Map<String, String> poolingProperties = provider.getPoolingProperties(DBConnectionManager.DBType.MYSQL);
+        assertEquals("50", poolingProperties.get("maxStatementsPerConnection"));
+        assertEquals("1", poolingProperties.get("statementCacheNumDeferredCloseThreads"));
+
+        props.setProperty(PooledDataSourceProvider.CONNECTION_STATEMENT_CACHESIZE_NAME, "0");
+        poolingProperties = provider.getPoolingProperties(DBConnectionManager.DBType.MYSQL);
+        assertEquals("0", poolingProperties.get("maxStatementsPerConnection"));
+        assertFalse(poolingProperties.containsKey("statementCacheNumDeferredCloseThreads"));
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CheckoutWaitTimeHistogramTest {
+
+    @Test
+    public void testRecord() {
+        CheckoutWaitTimeHistogram histogram = new CheckoutWaitTimeHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500), false);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3), false);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(700), false);
+        histogram.record(TimeUnit.SECONDS.toNanos(20), true);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(1, histogram.getFailedCount());
+        assertEquals(20000, histogram.getMaxMillis());
+        assertArrayEquals(new long[]{1, 1, 0, 0, 0, 0, 1, 0, 0, 1}, histogram.getBucketCounts());
+        assertEquals(histogram.getBucketBounds().length + 1, histogram.getBucketCounts().length);
+    }
+
+    @Test
+    public void testToString() {
+        CheckoutWaitTimeHistogram histogram = new CheckoutWaitTimeHistogram();
+        assertTrue(histogram.toString().startsWith("count=0, failed=0, avg=0.00ms, max=0ms, le1ms=0"));
+
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(2), false);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(4), false);
+        assertTrue(histogram.toString().startsWith("count=2, failed=0, avg=3.00ms, max=4ms, le1ms=0, le5ms=2"));
+        assertTrue(histogram.toString().endsWith("gt10000ms=0"));
+    }
+}
@@ -27,6 +27,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -37,6 +39,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Hashtable;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -48,16 +57,17 @@ import static org.mockito.Mockito.*;
  */
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(TripleDES.class)
-@PowerMockIgnore({"javax.management.*", "org.apache.commons.logging.*"})
+@PowerMockIgnore({"javax.management.*", "javax.crypto.*", "org.apache.commons.logging.*"})
 public class DBConnectionManagerTest {
 
     private static final String DHARMA_PASSWORD = "dharma_password";
     private static final String DHARMA_USER = "dharma_user";
     private static final String EMPTY_STRING = "";
     private static final String DB_URL = "dbUrl";
+    private static final String SLOW_DB_URL = "slowDbUrl";
     private static final String FALSE = "false";
     private static final String TRUE = "true";
-    private static final String ENCRYPTED_PASS = "encryptedPass";
+    private static final String PASSWORD_HASH = "passwordHash";
     @Rule
     public ExpectedException exception = ExpectedException.none();
     private DBConnectionManager dbcManager;
@@ -125,7 +135,7 @@ public class DBConnectionManagerTest {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         dbcManagerSpy.getConnection(DBType.DB2, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
 
         doNothing().when(dbcManagerSpy).shutdownDbmsPools();
@@ -203,11 +213,11 @@ public class DBConnectionManagerTest {
         aDbType = DBType.MYSQL;
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
 
         Connection connection = dbcManagerSpy.getConnection(aDbType, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
         verify(dbcManagerSpy, times(1)).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         assertEquals(connMock, connection);
     }
 
@@ -240,7 +250,7 @@ public class DBConnectionManagerTest {
     public void testCleanDataSources() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = getHashTableObject1(dataSourceMock);
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = getHashTableObject1(dataSourceMock);
 
         Hashtable<String, PooledDataSourceProvider> providerTable = new Hashtable<>();
         PooledDataSourceProvider dataSourceProviderMock = mock(PooledDataSourceProvider.class);
@@ -273,7 +283,7 @@ public class DBConnectionManagerTest {
         dbcManagerSpy.providerTable = providerTable;
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         dbcManagerSpy.getConnection(DBType.DB2, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
 
         dbcManagerSpy.shutdownDbmsPools();
@@ -333,31 +343,33 @@ public class DBConnectionManagerTest {
         doReturn(connMock).when(dataSourceMock).getConnection();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
 
-        PowerMockito.mockStatic(TripleDES.class);
-        Mockito.when(TripleDES.encryptPassword(any(String.class))).thenReturn(ENCRYPTED_PASS);
+        doReturn(PASSWORD_HASH).when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
 
         assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
         verify(dataSourceMock, times(1)).getConnection();
     }
 
     /**
-     * Test method getPooledConnection(...) throws encryption failed exception.
+     * Test method getPooledConnection(...) finds the datasource by the password hash, without encrypting the password.
      *
      * @throws Exception
      */
     @Test
-    public void testGetPooledConnectionThrowsEncryptionException() throws Exception {
+    public void testGetPooledConnectionDoesNotEncryptPassword() throws Exception {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
         Connection connMock = mock(Connection.class);
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        dbmsPoolTable.get(DBType.MYSQL + "." + DB_URL).put(DB_URL + "." + DHARMA_USER + "."
+                + dbcManagerSpy.passwordHasher.hash(DB_URL, DHARMA_USER, DHARMA_PASSWORD), dataSourceMock);
         dbcManagerSpy.dbmsPoolTable = dbmsPoolTable;
         PowerMockito.mockStatic(TripleDES.class);
         Mockito.when(TripleDES.encryptPassword(any(String.class))).thenThrow(new Exception("encryption failed"));
 
-        exception.expect(Exception.class);
-        exception.expectMessage("Failed to encrypt password for key = ");
-        dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD);
+        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
+        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
+        verify(dataSourceMock, times(2)).getConnection();
+        assertEquals(2, dbmsPoolTable.get(DBType.MYSQL + "." + DB_URL).size());
     }
 
     /**
@@ -373,15 +385,151 @@ public class DBConnectionManagerTest {
         doReturn(connMock).when(dataSourceMock).getConnection();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
         doReturn(dataSourceMock).when(dbcManagerSpy).createDataSource(any(DBType.class)
-                , anyString(), anyString(), anyString(), any(Hashtable.class));
+                , anyString(), anyString(), anyString(), any(Hashtable.class), any(Properties.class));
 
-        PowerMockito.mockStatic(TripleDES.class);
-        Mockito.when(TripleDES.encryptPassword(any(String.class))).thenReturn(ENCRYPTED_PASS);
+        //the pool only has a datasource for another password
+        doReturn("otherPasswordHash").when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
 
         assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
         verify(dataSourceMock, times(1)).getConnection();
-        verify(dbcManagerSpy.createDataSource(any(DBType.class)
-                , anyString(), anyString(), anyString(), any(Hashtable.class)), times(1));
+        verify(dbcManagerSpy, times(1)).createDataSource(any(DBType.class)
+                , anyString(), anyString(), anyString(), any(Hashtable.class), any(Properties.class));
+    }
+
+    /**
+     * Test method getPooledConnection(...) records the checkout wait time of the pool.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetPooledConnectionRecordsCheckoutWaitTime() throws Exception {
+        DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        PooledDataSource dataSourceMock = mock(PooledDataSource.class);
+        Connection connMock = mock(Connection.class);
+        dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        doReturn(PASSWORD_HASH).when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
+
+        dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD);
+        doThrow(new SQLException("checkout timeout")).when(dataSourceMock).getConnection();
+        try {
+            dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD);
+            fail("checkout should have failed");
+        } catch (SQLException e) {
+            //expected
+        }
+
+        CheckoutWaitTimeHistogram histogram = dbcManagerSpy.getCheckoutWaitTimeHistogram(DBType.MYSQL, DB_URL);
+        assertEquals(2, histogram.getCount());
+        assertEquals(1, histogram.getFailedCount());
+        assertEquals(1, dbcManagerSpy.getCheckoutWaitTimeHistograms().size());
+    }
+
+    /**
+     * Test method getPooledConnection(...) doesn't block the callers of another pool while a checkout hangs.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 10000)
+    public void testGetPooledConnectionFromSlowPoolDoesNotBlockOtherPools() throws Exception {
+        final DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        final CountDownLatch checkoutStarted = new CountDownLatch(1);
+        final CountDownLatch releaseCheckout = new CountDownLatch(1);
+        final Connection slowConnMock = mock(Connection.class);
+        PooledDataSource slowDataSourceMock = mock(PooledDataSource.class);
+        doAnswer(new Answer<Connection>() {
+            @Override
+            public Connection answer(InvocationOnMock invocation) throws Throwable {
+                checkoutStarted.countDown();
+                releaseCheckout.await();
+                return slowConnMock;
+            }
+        }).when(slowDataSourceMock).getConnection();
+        PooledDataSource dataSourceMock = mock(PooledDataSource.class);
+        Connection connMock = mock(Connection.class);
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        ConcurrentMap<String, DataSource> slowDsTable = new ConcurrentHashMap<>();
+        slowDsTable.put(SLOW_DB_URL + "." + DHARMA_USER + "." + PASSWORD_HASH, slowDataSourceMock);
+        dbmsPoolTable.put(DBType.MYSQL + "." + SLOW_DB_URL, slowDsTable);
+        dbcManagerSpy.dbmsPoolTable = dbmsPoolTable;
+        doReturn(PASSWORD_HASH).when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> slowCheckout = executor.submit(new Callable<Connection>() {
+                @Override
+                public Connection call() throws Exception {
+                    return dbcManagerSpy.getPooledConnection(DBType.MYSQL, SLOW_DB_URL, DHARMA_USER, DHARMA_PASSWORD);
+                }
+            });
+            checkoutStarted.await();
+
+            assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
+            assertFalse(slowCheckout.isDone());
+
+            releaseCheckout.countDown();
+            assertEquals(slowConnMock, slowCheckout.get());
+        } finally {
+            releaseCheckout.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test the datasources are opened by the provider selected in the pooling properties
+     * and closed by the provider that opened them.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetPooledConnectionWithHikariProvider() throws Exception {
+        DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        Properties poolingProperties = getPoolingProperties();
+        poolingProperties.put("db.pooling.provider", "hikari");
+        poolingProperties.put("hikari.register_mbeans", FALSE);
+        doReturn(PASSWORD_HASH).when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
+        Class.forName("org.h2.Driver");
+        dbcManagerSpy.getConnection(DBType.CUSTOM, EMPTY_STRING, "jdbc:h2:mem:hikari_manager_test", DHARMA_USER,
+                DHARMA_PASSWORD, poolingProperties).close();
+        try {
+            assertTrue(dbcManagerSpy.providerTable.get(HikariPooledDataSourceProvider.HIKARI_DATASOURCE_PROVIDER_NAME)
+                    instanceof HikariPooledDataSourceProvider);
+            assertEquals(1, dbcManagerSpy.getTotalConnectionSize());
+            assertEquals(0, dbcManagerSpy.getTotalCheckedOutConnectionSize());
+            assertEquals(1, dbcManagerSpy.getCheckoutWaitTimeHistogram(DBType.CUSTOM, "jdbc:h2:mem:hikari_manager_test").getCount());
+        } finally {
+            dbcManagerSpy.shutdownDbmsPools();
+        }
+    }
+
+    /**
+     * Test the datasources are keyed by their pooling properties, the same properties share a datasource.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetConnectionCreatesDataSourcePerPoolingProperties() throws Exception {
+        DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        String dbUrl = "jdbc:h2:mem:pooling_properties_test";
+        Properties poolingProperties = getPoolingProperties();
+        poolingProperties.put("db.pooling.provider", "hikari");
+        poolingProperties.put("hikari.register_mbeans", FALSE);
+        Properties otherPoolingProperties = new Properties();
+        otherPoolingProperties.putAll(poolingProperties);
+        otherPoolingProperties.put(PooledDataSourceProvider.MAX_POOL_SIZE_NAME, "5");
+        Properties samePoolingProperties = new Properties();
+        samePoolingProperties.putAll(poolingProperties);
+        doReturn(PASSWORD_HASH).when(dbcManagerSpy).getPasswordHash(anyString(), anyString(), anyString());
+        Class.forName("org.h2.Driver");
+        try {
+            dbcManagerSpy.getConnection(DBType.CUSTOM, EMPTY_STRING, dbUrl, DHARMA_USER, DHARMA_PASSWORD, poolingProperties).close();
+            dbcManagerSpy.getConnection(DBType.CUSTOM, EMPTY_STRING, dbUrl, DHARMA_USER, DHARMA_PASSWORD, otherPoolingProperties).close();
+            dbcManagerSpy.getConnection(DBType.CUSTOM, EMPTY_STRING, dbUrl, DHARMA_USER, DHARMA_PASSWORD, samePoolingProperties).close();
+
+            assertEquals(2, dbcManagerSpy.dbmsPoolTable.get(DBType.CUSTOM + "." + dbUrl).size());
+            assertSame(poolingProperties, dbcManagerSpy.dbPoolingProperties);
+        } finally {
+            dbcManagerSpy.shutdownDbmsPools();
+        }
     }
 
     /**
@@ -569,32 +717,30 @@ public class DBConnectionManagerTest {
         return dbPoolingPropertiesMock;
     }
 
-    private Hashtable getHashTableObject1(PooledDataSource dataSourceMock) throws SQLException {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable
-                = new Hashtable<String, Hashtable<String, DataSource>>();
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject1(PooledDataSource dataSourceMock) throws SQLException {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
         String tableKey1 = "key1";
-        Hashtable<String, DataSource> hashTable1 = new Hashtable<String, DataSource>();
+        ConcurrentMap<String, DataSource> hashTable1 = new ConcurrentHashMap<>();
         doReturn(0).when(dataSourceMock).getNumConnectionsAllUsers();
         hashTable1.put(tableKey1, dataSourceMock);
         dbmsPoolTable.put(tableKey1, hashTable1);
         return dbmsPoolTable;
     }
 
-    private Hashtable<String, Hashtable<String, DataSource>> getHashTableObject2(PooledDataSource dataSourceMock, Connection connMock) throws SQLException {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = new Hashtable<>();
-        String dsTableKey = DB_URL + "." + DHARMA_USER + "." + ENCRYPTED_PASS;
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject2(PooledDataSource dataSourceMock, Connection connMock) throws SQLException {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
+        String dsTableKey = DB_URL + "." + DHARMA_USER + "." + PASSWORD_HASH;
         String tableKey1 = DBType.MYSQL + "." + DB_URL;
-        Hashtable<String, DataSource> hashTable1 = new Hashtable<String, DataSource>();
+        ConcurrentMap<String, DataSource> hashTable1 = new ConcurrentHashMap<>();
         doReturn(connMock).when(dataSourceMock).getConnection();
         hashTable1.put(dsTableKey, dataSourceMock);
         dbmsPoolTable.put(tableKey1, hashTable1);
         return dbmsPoolTable;
     }
 
-    private Hashtable<String, Hashtable<String, DataSource>> getHashTableObject3() {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable
-                = new Hashtable<String, Hashtable<String, DataSource>>();
-        Hashtable<String, DataSource> hashTable = new Hashtable<String, DataSource>();
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject3() {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
+        ConcurrentMap<String, DataSource> hashTable = new ConcurrentHashMap<>();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
         String dbmsPoolKey = DBType.MYSQL + "." + DB_URL;
         hashTable.put("key", dataSourceMock);
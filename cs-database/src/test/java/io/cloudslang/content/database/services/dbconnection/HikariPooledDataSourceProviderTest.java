@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HikariPooledDataSourceProviderTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:hikari_provider_test";
+    private HikariPooledDataSourceProvider provider;
+
+    /**
+     * Will execute before each test.
+     */
+    @Before
+    public void setUp() {
+        Properties props = new Properties();
+        props.setProperty(PooledDataSourceProvider.MAX_POOL_SIZE_NAME, "5");
+        props.setProperty(PooledDataSourceProvider.CONNECTION_MAX_IDLETIME_NAME, "60");
+        props.setProperty(PooledDataSourceProvider.CONNECTION_CHECKOUT_TIMEOUT_NAME, "3000");
+        props.setProperty(PooledDataSourceProvider.MYSQL_CONNECTION_LIFETIME_NAME, "600");
+        props.setProperty(HikariPooledDataSourceProvider.HIKARI_REGISTER_MBEANS_NAME, "false");
+        provider = new HikariPooledDataSourceProvider(props);
+    }
+
+    /**
+     * Will execute after each test.
+     */
+    @After
+    public void tearDown() {
+        provider = null;
+    }
+
+    /**
+     * Test the pooling properties are mapped to the HikariCP configuration.
+     */
+    @Test
+    public void testGetPoolingConfig() {
+        HikariConfig config = provider.getPoolingConfig(DBType.MYSQL, "url", "user", "password");
+        assertEquals(5, config.getMaximumPoolSize());
+        assertEquals(0, config.getMinimumIdle());
+        assertEquals(60000, config.getIdleTimeout());
+        assertEquals(3000, config.getConnectionTimeout());
+        assertEquals(600000, config.getMaxLifetime());
+        assertEquals(-1, config.getInitializationFailTimeout());
+        assertFalse(config.isRegisterMbeans());
+        assertTrue(config.getPoolName().startsWith("cs-database-mysql-"));
+        assertNotEquals(config.getPoolName(), provider.getPoolingConfig(DBType.MYSQL, "url", "user", "password").getPoolName());
+    }
+
+    /**
+     * Test the statement cache of the drivers is enabled.
+     */
+    @Test
+    public void testGetPoolingConfigStatementCache() {
+        Properties dataSourceProperties = provider.getPoolingConfig(DBType.MYSQL, "url", "user", "password").getDataSourceProperties();
+        assertEquals("true", dataSourceProperties.getProperty("cachePrepStmts"));
+        assertEquals("50", dataSourceProperties.getProperty("prepStmtCacheSize"));
+        assertEquals("true", dataSourceProperties.getProperty("useServerPrepStmts"));
+
+        dataSourceProperties = provider.getPoolingConfig(DBType.POSTGRESQL, "url", "user", "password").getDataSourceProperties();
+        assertEquals("50", dataSourceProperties.getProperty("preparedStatementCacheQueries"));
+
+        assertTrue(provider.getPoolingConfig(DBType.MSSQL, "url", "user", "password").getDataSourceProperties().isEmpty());
+    }
+
+    /**
+     * Test a checkout from the pooled datasource and the connection numbers.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOpenPooledDataSource() throws Exception {
+        Class.forName("org.h2.Driver");
+        DataSource ds = provider.openPooledDataSource(DBType.CUSTOM, H2_URL, "sa", "sa");
+        try {
+            assertTrue(ds instanceof HikariDataSource);
+            Connection connection = ds.getConnection();
+            assertEquals(1, provider.getCheckedOutConnectionNumber(ds));
+            assertEquals(1, provider.getAllConnectionNumber(ds));
+            connection.close();
+            assertEquals(0, provider.getCheckedOutConnectionNumber(ds));
+            assertEquals(1, provider.getCheckedInConnectionNumber(ds));
+            assertEquals(0, provider.getThreadsAwaitingConnection(ds));
+        } finally {
+            provider.closePooledDataSource(ds);
+        }
+        assertTrue(((HikariDataSource) ds).isClosed());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class PasswordHasherTest {
+
+    @Test
+    public void testHashIsMemoized() throws Exception {
+        PasswordHasher passwordHasher = new PasswordHasher();
+        String hash = passwordHasher.hash("url", "user", "password");
+        assertSame(hash, passwordHasher.hash("url", "user", "password"));
+        assertEquals(hash, passwordHasher.hash("url2", "user", "password"));
+        assertEquals(2, passwordHasher.size());
+        assertFalse(hash.contains("password"));
+    }
+
+    @Test
+    public void testHashDependsOnPasswordAndProcessKey() throws Exception {
+        PasswordHasher passwordHasher = new PasswordHasher();
+        String hash = passwordHasher.hash("url", "user", "password");
+        assertNotEquals(hash, passwordHasher.hash("url", "user", "password2"));
+        assertNotEquals(hash, new PasswordHasher().hash("url", "user", "password"));
+        assertNotEquals(passwordHasher.hash("url", "user", null), passwordHasher.hash("url", "user", ""));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedHashIsDropped() throws Exception {
+        PasswordHasher passwordHasher = new PasswordHasher(2);
+        String hash = passwordHasher.hash("url", "user", "password");
+        String otherHash = passwordHasher.hash("url", "user2", "password2");
+        assertSame(hash, passwordHasher.hash("url", "user", "password"));
+
+        passwordHasher.hash("url", "user3", "password3");
+        assertEquals(2, passwordHasher.size());
+        assertSame(hash, passwordHasher.hash("url", "user", "password"));
+        assertNotSame(otherHash, passwordHasher.hash("url", "user2", "password2"));
+    }
+}
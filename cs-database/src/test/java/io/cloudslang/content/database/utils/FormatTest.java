@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+
+public class FormatTest {
+    private static final String H2_URL = "jdbc:h2:mem:format_test";
+    private static final String QUERY = "SELECT id, name FROM items ORDER BY id";
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        Class.forName("org.h2.Driver");
+        connection = DriverManager.getConnection(H2_URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE items(id INT, name VARCHAR(20))");
+            statement.execute("INSERT INTO items VALUES (1, 'one'), (2, 'a longer name'), (3, NULL)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE items");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void resultSetToTableWriterMatchesString() throws Exception {
+        final String expected = "ID  NAME           \n" +
+                "--  -------------  \n" +
+                "1   one            \n" +
+                "2   a longer name  \n" +
+                "3   null           \n";
+        try (Statement statement = connection.createStatement()) {
+            assertEquals(expected, Format.resultSetToTable(statement.executeQuery(QUERY), false));
+        }
+
+        final StringWriter writer = new StringWriter();
+        try (Statement statement = connection.createStatement()) {
+            assertEquals(3, Format.resultSetToTable(statement.executeQuery(QUERY), false, writer));
+        }
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void resultSetToDelimitedColsAndRowsWriterMatchesString() throws Exception {
+        final String expected = "1;one||2;a longer name||3;null";
+        try (Statement statement = connection.createStatement()) {
+            assertEquals(expected, Format.resultSetToDelimitedColsAndRows(statement.executeQuery(QUERY), false, ";", "||"));
+        }
+
+        final StringWriter writer = new StringWriter();
+        try (Statement statement = connection.createStatement()) {
+            assertEquals(3, Format.resultSetToDelimitedColsAndRows(statement.executeQuery(QUERY), false, ";", "||", writer));
+        }
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void emptyResultSetToDelimitedColsAndRows() throws Exception {
+        final StringWriter writer = new StringWriter();
+        try (Statement statement = connection.createStatement()) {
+            final ResultSet resultSet = statement.executeQuery("SELECT id, name FROM items WHERE id > 10");
+            assertEquals(0, Format.resultSetToDelimitedColsAndRows(resultSet, false, ";", "||", writer));
+        }
+        assertEquals("", writer.toString());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.BASE64_FORMAT;
+import static io.cloudslang.content.database.constants.DBOtherValues.HEX_FORMAT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LobStoreTest {
+
+    private LobStore lobStore;
+
+    @After
+    public void tearDown() {
+        if (lobStore != null) {
+            lobStore.close();
+        }
+    }
+
+    @Test
+    public void smallValuesStayInMemory() throws Exception {
+        lobStore = new LobStore(16, BASE64_FORMAT);
+        final String clob = lobStore.addClob(new StringReader("small value"));
+        final String blob = lobStore.addBlob(new ByteArrayInputStream("small value".getBytes("UTF-8")));
+
+        assertNull(lobStore.getSpillFile());
+        assertEquals("small value", lobStore.remove(clob));
+        assertEquals("c21hbGwgdmFsdWU=", lobStore.remove(blob));
+    }
+
+    @Test
+    public void largeValuesAreAppendedToOneSpillFile() throws Exception {
+        lobStore = new LobStore(4, HEX_FORMAT);
+        final char[] longText = new char[20000];
+        Arrays.fill(longText, '\u00e9');
+        final String first = lobStore.addClob(new StringReader(new String(longText)));
+        final String inline = lobStore.addClob(new StringReader("abc"));
+        final String second = lobStore.addBlob(new ByteArrayInputStream(new byte[]{0, 15, 16, (byte) 255, 1}));
+        final File spillFile = lobStore.getSpillFile();
+
+        assertTrue(spillFile.isFile());
+        assertEquals("000f10ff01", lobStore.remove(second));
+        assertEquals(new String(longText), lobStore.remove(first));
+        assertEquals("abc", lobStore.remove(inline));
+        assertEquals(40010, spillFile.length());
+
+        lobStore.close();
+        assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void clobSizeIsMeasuredInBytes() throws Exception {
+        lobStore = new LobStore(16, BASE64_FORMAT);
+        //10 characters, 20 bytes in UTF-8
+        final String clob = lobStore.addClob(new StringReader("\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9"));
+        final String inline = lobStore.addClob(new StringReader("\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9"));
+
+        assertEquals("\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9", lobStore.remove(inline));
+        assertEquals("\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9", lobStore.remove(clob));
+        assertEquals(20, lobStore.getSpillFile().length());
+    }
+
+    @Test
+    public void largeBlobIsBase64WithoutLineBreaks() throws Exception {
+        lobStore = new LobStore(0, BASE64_FORMAT);
+        final byte[] bytes = new byte[300];
+        Arrays.fill(bytes, (byte) 1);
+        final String blob = lobStore.addBlob(new ByteArrayInputStream(bytes));
+
+        assertEquals(Base64.encodeBase64String(bytes), lobStore.remove(blob));
+        assertEquals("", lobStore.remove(lobStore.addClob(new StringReader(""))));
+    }
+
+    @Test
+    public void blobIsReadInChunksAcrossTheInlineLimit() throws Exception {
+        lobStore = new LobStore(20000, HEX_FORMAT);
+        final byte[] small = new byte[20000];
+        Arrays.fill(small, (byte) 10);
+        final byte[] large = new byte[20001];
+        Arrays.fill(large, (byte) 11);
+        final String inline = lobStore.addBlob(new ByteArrayInputStream(small));
+        final String spilled = lobStore.addBlob(new ByteArrayInputStream(large));
+
+        assertEquals(Hex.encodeHexString(large), lobStore.remove(spilled));
+        assertEquals(Hex.encodeHexString(small), lobStore.remove(inline));
+        assertEquals(40002, lobStore.getSpillFile().length());
+    }
+}
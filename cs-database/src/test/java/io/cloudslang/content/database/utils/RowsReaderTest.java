@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RowsReaderTest {
+
+    @Test
+    public void csvRowsReaderReadsQuotedValuesAndNulls() throws Exception {
+        final String rows = "id;name;note\r\n1;\"a;b\";\"say \"\"hi\"\"\"\n\n2;;\"\"\n3;\"multi\nline\";x";
+        try (final CsvRowsReader reader = new CsvRowsReader(new StringReader(rows), ';', true)) {
+            assertArrayEquals(new Object[]{"1", "a;b", "say \"hi\""}, reader.next());
+            assertArrayEquals(new Object[]{"2", null, ""}, reader.next());
+            assertArrayEquals(new Object[]{"3", "multi\nline", "x"}, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void csvRowsReaderFailsOnUnterminatedQuote() throws Exception {
+        try (final CsvRowsReader reader = new CsvRowsReader(new StringReader("1,\"open"), ',', false)) {
+            reader.next();
+        }
+    }
+
+    @Test
+    public void jsonRowsReaderReadsArraysAndObjects() throws Exception {
+        final String rows = "[[1, \"one\", true], {\"id\": 2, \"name\": null, \"price\": 2.5}]";
+        try (final JsonRowsReader reader = new JsonRowsReader(new StringReader(rows), Arrays.asList("id", "name", "price"))) {
+            assertArrayEquals(new Object[]{1, "one", true}, reader.next());
+            assertArrayEquals(new Object[]{2, null, new BigDecimal("2.5")}, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void jsonRowsReaderBindsObjectsByColumnName() throws Exception {
+        final String rows = "[{\"Name\": \"one\", \"id\": 1}, {\"id\": 2, \"name\": null}]";
+        try (final JsonRowsReader reader = new JsonRowsReader(new StringReader(rows), Arrays.asList("\"ID\"", "name"))) {
+            assertArrayEquals(new Object[]{1, "one"}, reader.next());
+            assertArrayEquals(new Object[]{2, null}, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void jsonRowsReaderRejectsObjectsNotMatchingColumns() throws Exception {
+        assertObjectRowRejected("[{\"id\": 1, \"title\": \"one\"}]", Arrays.asList("id", "name"), "'title' that is not a column");
+        assertObjectRowRejected("[{\"id\": 1}]", Arrays.asList("id", "name"), "no field for the column 'name'");
+        assertObjectRowRejected("[{\"id\": 1, \"id\": 2}]", Arrays.asList("id"), "'id' more than once");
+        assertObjectRowRejected("[{\"id\": 1}]", null, "object rows are only supported");
+    }
+
+    @Test(expected = IOException.class)
+    public void jsonRowsReaderFailsOnNestedValue() throws Exception {
+        try (final JsonRowsReader reader = new JsonRowsReader(new StringReader("[[1, [2]]]"))) {
+            reader.next();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void jsonRowsReaderFailsWithoutArray() throws Exception {
+        new JsonRowsReader(new StringReader("{\"id\": 1}"));
+    }
+
+    private static void assertObjectRowRejected(final String rows, final List<String> columns, final String message) throws Exception {
+        try (final JsonRowsReader reader = new JsonRowsReader(new StringReader(rows), columns)) {
+            reader.next();
+            fail("The row should be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import java.sql.ResultSet;
 import java.util.*;
 
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_TARGETS;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType.*;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
@@ -48,6 +49,43 @@ import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 public class SQLInputsUtilsTest {
 
 
+    @Test
+    public void getParametersArray() throws Exception {
+        assertThat(getParameters(" [1, \"name\", null, true] "), is(Arrays.<Object>asList(1, "name", null, true)));
+        assertThat(getParameters("[]"), is(Collections.emptyList()));
+        assertThat(getParameters(EMPTY), is(Collections.emptyList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getParametersNotArray() throws Exception {
+        getParameters("1, 2");
+    }
+
+    @Test
+    public void getTargetsNamesAndObjects() throws Exception {
+        final List<Map<String, String>> targets = getTargets("[\"db1\", {\"name\": \"reports\", \"dbServerName\": \"db2\", \"DBPort\": 5432}]");
+
+        assertEquals(2, targets.size());
+        assertEquals(Collections.singletonMap("dbServerName", "db1"), targets.get(0));
+        assertEquals("5432", targets.get(1).get("DBPort"));
+        assertEquals("db1", getTargetName(targets.get(0)));
+        assertEquals("reports", getTargetName(targets.get(1)));
+        assertEquals("db2", getTargetValue(targets.get(1), "dbServerName", "default"));
+        assertEquals("default", getTargetValue(targets.get(1), "dbType", "default"));
+    }
+
+    @Test
+    public void getTargetsInvalid() throws Exception {
+        for (final String targets : Arrays.asList(EMPTY, "[]", "db1", "[1]", "[[\"db1\"]]", "[{\"host\": \"db1\"}]", "[{\"name\": {}}]")) {
+            try {
+                getTargets(targets);
+                fail(targets + " should be invalid");
+            } catch (IllegalArgumentException e) {
+                assertEquals(INVALID_TARGETS, e.getMessage());
+            }
+        }
+    }
+
     @Test
     public void checkIsNetcoolTrue() throws Exception {
         assertTrue(checkIsNetcool(NETCOOL_DB_TYPE));
@@ -41,25 +41,25 @@ public class SQLInputsValidatorTest {
     public void validateSqlCommandInputsValid() throws Exception {
         final List<String> validationList = validateSqlCommandInputs("1", MSSQL_DB_TYPE, "username",
                 "Password", "someInstance", "123", "database", AUTH_SQL, "Command",
-                "true", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY);
+                "true", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlCommandInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlCommandInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND)));
 
         final List<String> validationList2 = validateSqlCommandInputs(EMPTY, MYSQL_DB_TYPE, EMPTY, EMPTY, "Instance", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList2, is(Arrays.asList(INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_INSTANCE, INVALID_DATABASE,
                 String.format(INVALID_AUTH_TYPE, EMPTY), INVALID_COMMAND)));
 
         final List<String> validationList3 = validateSqlCommandInputs(EMPTY, MYSQL_DB_TYPE, EMPTY, EMPTY, "Instance", EMPTY, EMPTY, AUTH_WINDOWS, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList3, is(Arrays.asList(INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_INSTANCE, INVALID_DATABASE,
                 INVALID_AUTH_TYPE_WINDOWS, INVALID_COMMAND)));
@@ -69,73 +69,155 @@ public class SQLInputsValidatorTest {
     @Test
     public void validateSqlQueryInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, EMPTY);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, String.format(INVALID_IGNORE_CASE, EMPTY),
                 INVALID_COMMAND, INVALID_TIMEOUT)));
 
         final List<String> validationList2 = validateSqlQueryInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, "1a12a", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList2, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_DB_PORT, String.format(INVALID_IGNORE_CASE, EMPTY),
                 INVALID_COMMAND, INVALID_TIMEOUT)));
     }
 
+    @Test
+    public void validateSqlQueryInputsInvalidCursor() throws Exception {
+        final List<String> validationList = validateSqlQueryInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY,
+                CONCUR_READ_ONLY, FALSE, EMPTY, "yes", "-1", "0", EMPTY);
+        assertThat(validationList, is(Arrays.asList(INVALID_USE_CURSOR, INVALID_FETCH_SIZE, INVALID_CURSOR_IDLE_TIMEOUT)));
+    }
+
+    @Test
+    public void validateSqlQueryInputsZeroFetchSize() throws Exception {
+        final List<String> validationList = validateSqlQueryInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY,
+                CONCUR_READ_ONLY, FALSE, EMPTY, "true", "0", "60", EMPTY);
+        assertThat(validationList, is(Collections.singletonList(INVALID_FETCH_SIZE)));
+    }
+
+    @Test
+    public void validateSqlQueryInputsInvalidParameters() throws Exception {
+        final List<String> validationList = validateSqlQueryInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY,
+                CONCUR_READ_ONLY, FALSE, EMPTY, EMPTY, EMPTY, EMPTY, "{\"id\": 1}");
+        assertThat(validationList, is(Collections.singletonList(INVALID_PARAMETERS)));
+    }
+
     @Test
     public void validateSqlQueryAllRowsInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryAllRowsInputs("1", MSSQL_DB_TYPE, "username",
                 "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
-                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY);
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryAllRowsInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryAllRowsInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
 
         final List<String> validationList2 = validateSqlQueryAllRowsInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, "-1", EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, "-1", EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList2, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_NEGATIVE_TIMEOUT)));
     }
 
+    @Test
+    public void validateSqlQueryAllRowsInputsInvalidOutputFile() throws Exception {
+        final List<String> validationList = validateSqlQueryAllRowsInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, "a lot", "/missing/directory/rows.csv");
+        assertThat(validationList, is(Arrays.asList(INVALID_FETCH_SIZE, INVALID_OUTPUT_FILE)));
+    }
+
+    @Test
+    public void validateSqlBulkInsertInputsValid() throws Exception {
+        final List<String> validationList = validateSqlBulkInsertInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", EMPTY, "1,a", EMPTY, CSV_FORMAT, ",", FALSE, "100", "true");
+        assertThat(validationList, is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void validateSqlBulkInsertInputsInvalid() throws Exception {
+        final List<String> validationList = validateSqlBulkInsertInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", EMPTY, EMPTY, EMPTY, CSV_FORMAT, "||", "yes", "0", "fast");
+        assertThat(validationList, is(Arrays.asList(INVALID_ROWS_EXCLUSIVITY, INVALID_CSV_DELIMITER, INVALID_HAS_HEADER,
+                INVALID_CHUNK_SIZE, INVALID_USE_FAST_PATH)));
+    }
+
+    @Test
+    public void validateSqlBulkInsertInputsInvalidRowsFile() throws Exception {
+        final List<String> validationList = validateSqlBulkInsertInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", EMPTY, EMPTY, "/missing/rows.json", "xml", ",", FALSE, "100", "true");
+        assertThat(validationList, is(Arrays.asList(INVALID_ROWS_FILE, INVALID_ROWS_FORMAT)));
+    }
+
     @Test
     public void validateSqlQueryLOBInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryLOBInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY, "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, "64", "hex");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryLOBInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryLOBInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT, INVALID_LOB_INLINE_SIZE,
+                INVALID_BLOB_FORMAT)));
+    }
+
+    @Test
+    public void validateSqlQueryFanOutInputsValid() throws Exception {
+        final List<String> validationList = validateSqlQueryFanOutInputs("[\"db1\", {\"dbServerName\": \"db2\", \"dbType\": \"MySQL\", \"databaseName\": \"db\"}]",
+                MSSQL_DB_TYPE, "username", "Password", EMPTY, EMPTY, EMPTY, AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, "json", "0", "4");
+        assertThat(validationList, is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void validateSqlQueryFanOutInputsInvalidTargets() throws Exception {
+        final List<String> validationList = validateSqlQueryFanOutInputs("[\"db1\", {\"dbServerName\": \"db1\", \"dbType\": \"MySQL\"}]",
+                MSSQL_DB_TYPE, "username", "Password", EMPTY, EMPTY, EMPTY, AUTH_SQL, "Command", "true", EMPTY, EMPTY,
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, "delimited", "10", "1");
+        assertThat(validationList, is(Arrays.asList(String.format(INVALID_DUPLICATE_TARGET, "db1"), "db1: " + INVALID_DATABASE)));
+    }
+
+    @Test
+    public void validateSqlQueryFanOutInputsEmpty() throws Exception {
+        final List<String> validationList = validateSqlQueryFanOutInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+        assertThat(validationList, is(Arrays.asList(INVALID_TARGETS, INVALID_COMMAND, INVALID_TIMEOUT, INVALID_TARGET_TIMEOUT,
+                INVALID_PARALLELISM, INVALID_OUTPUT_FORMAT)));
     }
 
     @Test
     public void validateSqlQueryTabularInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryTabularInputs("1", MSSQL_DB_TYPE, "username",
                 "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "true", EMPTY, EMPTY,
-                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY);
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryTabularInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryTabularInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
     }
@@ -143,14 +225,21 @@ public class SQLInputsValidatorTest {
     @Test
     public void validateSqlScriptInputsValid() throws Exception {
         final List<String> validationList = validateSqlScriptInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Commands", EMPTY, "true", EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Commands", EMPTY, "true", EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY);
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
+    @Test
+    public void validateSqlScriptInputsInvalidBatchSize() throws Exception {
+        final List<String> validationList = validateSqlScriptInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, EMPTY, "script.sql", "true", EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, "0");
+        assertThat(validationList, is(Collections.singletonList(INVALID_BATCH_SIZE)));
+    }
+
     @Test
     public void validateSqlScriptInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlScriptInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD, INVALID_TRUST_ALL_ROOTS,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMANDS_EXCLUSIVITY)));
 
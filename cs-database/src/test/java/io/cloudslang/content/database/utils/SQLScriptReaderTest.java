@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.MYSQL_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
+import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SQLScriptReaderTest {
+
+    @Test
+    public void nextIgnoresDelimitersInStringsAndComments() throws Exception {
+        final String script = "-- create the table;\n" +
+                "create table t (a varchar(10), \"b;c\" int);\n" +
+                "/* insert\n the rows; */ insert into t values ('x;''y', 1); insert into t values ('z', 2);\n" +
+                "select /*+ index(t) */ a from t -- trailing; comment\n" +
+                "where a = 'multi\nline;'";
+
+        assertThat(readAll(script, ORACLE_DB_TYPE, ";"), is(Arrays.asList(
+                "create table t (a varchar(10), \"b;c\" int)",
+                "insert into t values ('x;''y', 1)",
+                "insert into t values ('z', 2)",
+                "select /*+ index(t) */ a from t \nwhere a = 'multi\nline;'")));
+    }
+
+    @Test
+    public void nextReadsOraclePlSqlBlocks() throws Exception {
+        final String script = "create or replace procedure p as\nbegin\n  null;\nend;\n/\n" +
+                "select 1 from dual;\n" +
+                "begin\n  p;\nend;";
+
+        assertThat(readAll(script, ORACLE_DB_TYPE, ";"), is(Arrays.asList(
+                "create or replace procedure p as\nbegin\n  null;\nend;",
+                "select 1 from dual",
+                "begin\n  p;\nend;")));
+    }
+
+    @Test
+    public void nextSplitsTransactSqlOnGo() throws Exception {
+        final String script = "create table [a;b] (id int);\ngo\n" +
+                "create procedure p as\nbegin\n  select 1;\n  select 2;\nend\nGO\n" +
+                "begin transaction; insert into [a;b] values (1); commit";
+
+        assertThat(readAll(script, MSSQL_DB_TYPE, ";"), is(Arrays.asList(
+                "create table [a;b] (id int)",
+                "create procedure p as\nbegin\n  select 1;\n  select 2;\nend",
+                "begin transaction",
+                "insert into [a;b] values (1)",
+                "commit")));
+    }
+
+    @Test
+    public void nextReadsMySqlDelimiterAndEscapes() throws Exception {
+        final String script = "insert into t values ('it\\'s; fine'); # a comment; here\n" +
+                "DELIMITER //\ncreate procedure p() begin select 1; end//\nDELIMITER ;\n" +
+                "select `a;b` from t;";
+
+        assertThat(readAll(script, MYSQL_DB_TYPE, ";"), is(Arrays.asList(
+                "insert into t values ('it\\'s; fine')",
+                "create procedure p() begin select 1; end",
+                "select `a;b` from t")));
+    }
+
+    @Test
+    public void nextReadsPostgresDollarQuotes() throws Exception {
+        final String script = "create function f() returns int as $body$\nbegin\n  return 1;\nend;\n$body$ language plpgsql;\n" +
+                "select $$a;b$$, price$1 from t;";
+
+        assertThat(readAll(script, POSTGRES_DB_TYPE, ";"), is(Arrays.asList(
+                "create function f() returns int as $body$\nbegin\n  return 1;\nend;\n$body$ language plpgsql",
+                "select $$a;b$$, price$1 from t")));
+    }
+
+    @Test
+    public void nextReadsMySqlEscapesInDoubleQuotes() throws Exception {
+        assertThat(readAll("insert into t values (\"a\\\";b\");select 1", MYSQL_DB_TYPE, ";"),
+                is(Arrays.asList("insert into t values (\"a\\\";b\")", "select 1")));
+    }
+
+    @Test
+    public void nextReadsPostgresEscapeStrings() throws Exception {
+        final String script = "insert into t values (E'a\\';b');\n" +
+                "insert into t values (e'c\\\\', 'd\\');\n" +
+                "select name'x;y' from t";
+
+        assertThat(readAll(script, POSTGRES_DB_TYPE, ";"), is(Arrays.asList(
+                "insert into t values (E'a\\';b')",
+                "insert into t values (e'c\\\\', 'd\\')",
+                "select name'x;y' from t")));
+    }
+
+    @Test
+    public void nextUsesCustomDelimiter() throws Exception {
+        assertThat(readAll("select 1 from t||select 'a||b' from t||", "Custom", "||"),
+                is(Arrays.asList("select 1 from t", "select 'a||b' from t")));
+    }
+
+    private static List<String> readAll(final String script, final String dbType, final String delimiter) throws Exception {
+        final List<String> statements = new ArrayList<>();
+        try (final SQLScriptReader reader = new SQLScriptReader(new StringReader(script), dbType, delimiter)) {
+            String statement;
+            while ((statement = reader.next()) != null) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+}
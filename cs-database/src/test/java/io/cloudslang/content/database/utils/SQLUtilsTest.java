@@ -23,7 +23,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +35,9 @@ import static io.cloudslang.content.database.utils.SQLUtils.getStrColumns;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Created by victor on 10.01.2017.
@@ -44,6 +51,33 @@ public class SQLUtilsTest {
     @Rule
     public ExpectedException expectedEx = ExpectedException.none();
 
+    @Test
+    public void setParametersBindsNullsWithParameterTypes() throws SQLException {
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        final ParameterMetaData metaData = mock(ParameterMetaData.class);
+        when(statement.getParameterMetaData()).thenReturn(metaData);
+        when(metaData.getParameterCount()).thenReturn(3);
+        when(metaData.getParameterType(1)).thenReturn(Types.INTEGER);
+        when(metaData.getParameterType(2)).thenThrow(new SQLException("not available"));
+
+        SQLUtils.setParameters(statement, Arrays.asList(null, null, "x"));
+
+        verify(statement).setNull(1, Types.INTEGER);
+        verify(statement).setNull(2, Types.NULL);
+        verify(statement).setObject(3, "x");
+    }
+
+    @Test
+    public void setParametersBindsNullsWithoutParameterMetaData() throws SQLException {
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getParameterMetaData()).thenThrow(new SQLException("not supported"));
+
+        SQLUtils.setParameters(statement, Arrays.asList(1, null));
+
+        verify(statement).setObject(1, 1);
+        verify(statement).setNull(2, Types.NULL);
+    }
+
     @Test
     public void testProcessNullTerminatedString() {
         String value = SQLUtils.processNullTerminatedString("\0");
@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.httpclient.build.conn.ConnectionManagerBuilder;
+import io.cloudslang.content.httpclient.build.conn.ConnectionManagerRegistry;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ResponseNames.FAILURE;
+import static io.cloudslang.content.constants.ResponseNames.SUCCESS;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.EXCEPTION_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.RETURN_CODE_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.ConnectionPoolStatistics.*;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+
+public class ConnectionPoolStatisticsAction {
+    public static final String LEASED = "leased";
+    public static final String AVAILABLE = "available";
+    public static final String PENDING = "pending";
+    public static final String MAX = "max";
+
+    @Action(name = "Http Client Connection Pool Statistics", description = CONNECTION_POOL_STATISTICS_DESC,
+            outputs = {
+                    @Output(value = HttpClientService.EXCEPTION, description = EXCEPTION_DESC),
+                    @Output(value = RETURN_CODE, description = RETURN_CODE_DESC),
+                    @Output(value = RETURN_RESULT, description = RETURN_RESULT_DESC),
+                    @Output(value = LEASED, description = LEASED_DESC),
+                    @Output(value = AVAILABLE, description = AVAILABLE_DESC),
+                    @Output(value = PENDING, description = PENDING_DESC),
+                    @Output(value = MAX, description = MAX_DESC)
+            },
+            responses = {
+                    @Response(text = SUCCESS, field = RETURN_CODE, value = ReturnCodes.SUCCESS,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = FAILURE, field = RETURN_CODE, value = ReturnCodes.FAILURE,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR)
+            }
+    )
+    public Map<String, String> execute(
+            @Param(value = HttpClientInputs.SESSION_CONNECTION_POOL, description = SESSION_CONNECTION_POOL_DESC)
+                    GlobalSessionObject<Map<String, PoolingHttpClientConnectionManager>> httpClientPoolingConnectionManager) {
+
+        try {
+            ConnectionManagerRegistry registry = httpClientPoolingConnectionManager == null ? new ConnectionManagerRegistry()
+                    : toRegistry(ConnectionManagerBuilder.getConnectionManagerMap(httpClientPoolingConnectionManager));
+            PoolStats totalStats = registry.getTotalStats();
+
+            Map<String, String> result = getSuccessResultsMap(registry.getPoolStatistics());
+            result.put(LEASED, String.valueOf(totalStats.getLeased()));
+            result.put(AVAILABLE, String.valueOf(totalStats.getAvailable()));
+            result.put(PENDING, String.valueOf(totalStats.getPending()));
+            result.put(MAX, String.valueOf(totalStats.getMax()));
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e.getMessage(), e);
+        }
+    }
+
+    private static ConnectionManagerRegistry toRegistry(Map<String, PoolingHttpClientConnectionManager> connectionManagerMap) {
+        if (connectionManagerMap instanceof ConnectionManagerRegistry) {
+            return (ConnectionManagerRegistry) connectionManagerMap;
+        }
+        //only used to compute the statistics, the connection managers are not registered to the idle connection monitor
+        ConnectionManagerRegistry registry = new ConnectionManagerRegistry();
+        registry.putAll(connectionManagerMap);
+        return registry;
+    }
+}
@@ -222,6 +222,29 @@ public class HttpClientAction {
      * @param method                             The HTTP method used. This is a required input.
      * @param httpClientCookieSession            the session object that holds the cookies if the useCookies input is true.
      * @param httpClientPoolingConnectionManager the GlobalSessionObject that holds the http client pooling connection manager.
+     * @param binaryDownload                     Specifies whether the entity is written to 'destinationFile' exactly as it is received,
+     *                                           without decoding it with 'responseCharacterSet'. Use this for binary content and for large downloads.
+     *                                           Default value: false. Valid values: true, false
+     * @param checksumAlgorithm                  The algorithm of the checksum computed while the entity is written to a file
+     *                                           ('binaryDownload' is true or 'maxResponseSize' is exceeded). No checksum is computed if this is empty.
+     *                                           Examples: MD5, SHA-1, SHA-256
+     * @param maxResponseSize                    The maximum size, in bytes, of an entity kept in memory when 'destinationFile' is not specified.
+     *                                           A larger entity is written, without decoding it, to a temporary file whose path is returned in 'responseFile'
+     *                                           and 'returnResult' will be empty. If this is empty there is no limit.
+     * @param retryMaxAttempts                   The maximum number of times the request is sent. The request is retried when the status code
+     *                                           of the response is one of 'retryStatusCodes' or when it fails with an I/O error before
+     *                                           a response is received (a request that is not idempotent is only retried if it was not sent).
+     *                                           A request with an entity that cannot be repeated is not retried. Default value: 1 (no retry)
+     * @param retryBackoff                       The time to wait before the first retry, in milliseconds. The time is doubled before each of the
+     *                                           following retries and it is never longer than 60 seconds. When the response has a 'Retry-After'
+     *                                           header the time it specifies is waited instead. Default value: 1000
+     * @param retryJitter                        The random part added to the time waited before a retry, as a fraction of that time.
+     *                                           Default value: 0.2. Valid values: between 0 and 1
+     * @param retryStatusCodes                   The comma separated list of the response status codes that are retried.
+     *                                           Default value: 429,502,503,504
+     * @param compressedRequestEntity            Specifies whether the request entity is gzip compressed. The compressed entity is
+     *                                           sent with the 'Content-Encoding: gzip' header and chunk coding. The server must support
+     *                                           compressed request entities. Default value: false. Valid values: true, false
      * @return a map containing the output of the operation. Keys present in the map are:
      * <br><br><b>returnResult</b> - This will contain the response entity (unless 'destinationFile' is specified).
      * In case of an error this output will contain the error message.
@@ -238,6 +261,13 @@ public class HttpClientAction {
      * <br><b>responseHeaders</b> - The list containing the headers of the response message, separated by newline.
      * Format: This is conforming to HTTP standard for headers (RFC 2616).
      * <br><b>protocolVersion</b> - The HTTP protocol version. Examples: HTTP/1.1
+     * <br><b>bytesWritten</b> - The number of bytes written to the file when the entity is not decoded.
+     * <br><b>checksum</b> - The hex encoded checksum of the entity written to the file, computed with 'checksumAlgorithm'.
+     * <br><b>responseFile</b> - The temporary file holding the entity when it is larger than 'maxResponseSize'.
+     * <br><b>compressedBytes</b> - The number of bytes of the response entity as received, when it was gzip or deflate compressed.
+     * The entity is decompressed transparently.
+     * <br><b>decompressedBytes</b> - The number of bytes of the decompressed response entity, when it was gzip or deflate compressed.
+     * <br><b>retries</b> - The number of times the request was retried. It is only returned when 'retryMaxAttempts' is greater than 1.
      * <br><b>reasonPhrase</b> - The reason phrase from the origin HTTP response. This depends on the status code and are according to RFC 1945 and RFC 2048
      * <br>Examples: (HTTP 1.0): OK, Created, Accepted, No Content, Moved Permanently, Moved Temporarily, Not Modified, Bad Request,
      * Unauthorized, Forbidden, Not Found, Internal Server Error, Not Implemented, Bad Gateway,
@@ -257,6 +287,12 @@ public class HttpClientAction {
                     @Output(RESPONSE_HEADERS),
                     @Output(PROTOCOL_VERSION),
                     @Output(REASON_PHRASE),
+                    @Output(BYTES_WRITTEN),
+                    @Output(CHECKSUM),
+                    @Output(RESPONSE_FILE),
+                    @Output(RETRIES),
+                    @Output(COMPRESSED_BYTES),
+                    @Output(DECOMPRESSED_BYTES),
                     @Output(RETURN_CODE),
                     @Output(RETURN_RESULT)
             },
@@ -313,7 +349,15 @@ public class HttpClientAction {
             @Param(HttpClientInputs.CHUNKED_REQUEST_ENTITY) String chunkedRequestEntity,
             @Param(value = HttpClientInputs.METHOD, required = true) String method,
             @Param(HttpClientInputs.SESSION_COOKIES) SerializableSessionObject httpClientCookieSession,
-            @Param(HttpClientInputs.SESSION_CONNECTION_POOL) GlobalSessionObject httpClientPoolingConnectionManager) {
+            @Param(HttpClientInputs.SESSION_CONNECTION_POOL) GlobalSessionObject httpClientPoolingConnectionManager,
+            @Param(HttpClientInputs.BINARY_DOWNLOAD) String binaryDownload,
+            @Param(HttpClientInputs.CHECKSUM_ALGORITHM) String checksumAlgorithm,
+            @Param(HttpClientInputs.MAX_RESPONSE_SIZE) String maxResponseSize,
+            @Param(HttpClientInputs.RETRY_MAX_ATTEMPTS) String retryMaxAttempts,
+            @Param(HttpClientInputs.RETRY_BACKOFF) String retryBackoff,
+            @Param(HttpClientInputs.RETRY_JITTER) String retryJitter,
+            @Param(HttpClientInputs.RETRY_STATUS_CODES) String retryStatusCodes,
+            @Param(HttpClientInputs.COMPRESSED_REQUEST_ENTITY) String compressedRequestEntity) {
 
         HttpClientInputs httpClientInputs = new HttpClientInputs();
         httpClientInputs.setUrl(url);
@@ -340,9 +384,16 @@ public class HttpClientAction {
         httpClientInputs.setKeepAlive(keepAlive);
         httpClientInputs.setConnectionsMaxPerRoute(connectionsMaxPerRoot);
         httpClientInputs.setConnectionsMaxTotal(connectionsMaxTotal);
+        httpClientInputs.setRetryMaxAttempts(retryMaxAttempts);
+        httpClientInputs.setRetryBackoff(retryBackoff);
+        httpClientInputs.setRetryJitter(retryJitter);
+        httpClientInputs.setRetryStatusCodes(retryStatusCodes);
         httpClientInputs.setHeaders(headers);
         httpClientInputs.setResponseCharacterSet(responseCharacterSet);
         httpClientInputs.setDestinationFile(destinationFile);
+        httpClientInputs.setBinaryDownload(binaryDownload);
+        httpClientInputs.setChecksumAlgorithm(checksumAlgorithm);
+        httpClientInputs.setMaxResponseSize(maxResponseSize);
         httpClientInputs.setFollowRedirects(followRedirects);
         httpClientInputs.setQueryParams(queryParams);
         httpClientInputs.setQueryParamsAreURLEncoded(queryParamsAreURLEncoded);
@@ -359,6 +410,7 @@ public class HttpClientAction {
         httpClientInputs.setMultipartFilesContentType(multipartFilesContentType);
         httpClientInputs.setMultipartValuesAreURLEncoded(multipartValuesAreURLEncoded);
         httpClientInputs.setChunkedRequestEntity(chunkedRequestEntity);
+        httpClientInputs.setCompressedRequestEntity(compressedRequestEntity);
         httpClientInputs.setMethod(method);
         httpClientInputs.setTlsVersion(tlsVersion);
         httpClientInputs.setAllowedCyphers(allowedCyphers);
@@ -380,7 +432,8 @@ public class HttpClientAction {
                     otherTls.remove(tls12);
                     httpClientInputs.setTlsVersion(otherTls.toString().replace("[", "").replace("]", ""));
                     httpClientInputs.setCookieStoreSessionObject(new SerializableSessionObject());
-                    httpClientInputs.setConnectionPoolSessionObject(new GlobalSessionObject());
+                    //the service creates a connection pool for the retry and releases it when the request is done
+                    httpClientInputs.setConnectionPoolSessionObject(null);
                     try {
                         return new HttpClientService().execute(httpClientInputs);
                     } catch (Exception ex) {
@@ -403,6 +456,72 @@ public class HttpClientAction {
         }
     }
 
+    /**
+     * Executes the request with the inputs of the first version of this operation, in the same order.
+     * It is kept for the Java callers that pass the inputs by position, the inputs added later keep their default values.
+     */
+    public Map<String, String> execute(
+            String url,
+            String tlsVersion,
+            String allowedCyphers,
+            String authType,
+            String preemptiveAuth,
+            String username,
+            String password,
+            String kerberosConfFile,
+            String kerberosLoginConfFile,
+            String kerberosSkipPortForLookup,
+            String proxyHost,
+            String proxyPort,
+            String proxyUsername,
+            String proxyPassword,
+            String trustAllRoots,
+            String x509HostnameVerifier,
+            String trustKeystore,
+            String trustPassword,
+            String keystore,
+            String keystorePassword,
+            String connectTimeout,
+            String socketTimeout,
+            String useCookies,
+            String keepAlive,
+            String connectionsMaxPerRoot,
+            String connectionsMaxTotal,
+            String headers,
+            String responseCharacterSet,
+            String destinationFile,
+            String followRedirects,
+            String queryParams,
+            String queryParamsAreURLEncoded,
+            String queryParamsAreFormEncoded,
+            String formParams,
+            String formParamsAreURLEncoded,
+            String sourceFile,
+            String body,
+            String contentType,
+            String requestCharacterSet,
+            String multipartBodies,
+            String multipartBodiesContentType,
+            String multipartFiles,
+            String multipartFilesContentType,
+            String multipartValuesAreURLEncoded,
+            String chunkedRequestEntity,
+            String method,
+            SerializableSessionObject httpClientCookieSession,
+            GlobalSessionObject httpClientPoolingConnectionManager) {
+        return execute(
+                url, tlsVersion, allowedCyphers, authType, preemptiveAuth, username, password, kerberosConfFile,
+                kerberosLoginConfFile, kerberosSkipPortForLookup, proxyHost, proxyPort, proxyUsername, proxyPassword,
+                trustAllRoots, x509HostnameVerifier, trustKeystore, trustPassword, keystore, keystorePassword,
+                connectTimeout, socketTimeout, useCookies, keepAlive, connectionsMaxPerRoot, connectionsMaxTotal,
+                headers, responseCharacterSet, destinationFile, followRedirects, queryParams, queryParamsAreURLEncoded,
+                queryParamsAreFormEncoded, formParams, formParamsAreURLEncoded, sourceFile, body, contentType,
+                requestCharacterSet, multipartBodies, multipartBodiesContentType, multipartFiles,
+                multipartFilesContentType, multipartValuesAreURLEncoded, chunkedRequestEntity, method,
+                httpClientCookieSession, httpClientPoolingConnectionManager, null, null, null, null, null, null, null,
+                null);
+    }
+
     private Map<String, String> exceptionResult(String message, Exception e) {
         StringWriter writer = new StringWriter();
         e.printStackTrace(new PrintWriter(writer));
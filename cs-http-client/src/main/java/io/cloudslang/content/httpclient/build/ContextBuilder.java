@@ -21,6 +21,8 @@ import io.cloudslang.content.httpclient.build.auth.AuthTypes;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthSchemeProvider;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
 import org.apache.http.client.AuthCache;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.protocol.HttpClientContext;
@@ -78,6 +80,15 @@ public class ContextBuilder {
             context.setCredentialsProvider(credentialsProvider);
             context.setAuthCache(authCache);
         }
+        if (authTypes.contains(AuthTypes.NTLM) || authTypes.contains(AuthTypes.KERBEROS)) {
+            //NTLM and Kerberos authenticate the connection, not the request. The pooled connections are tagged with
+            //the user principal once authenticated and they are only leased again to a context with the same user token
+            Credentials credentials = credentialsProvider != null
+                    ? credentialsProvider.getCredentials(new AuthScope(uri.getHost(), uri.getPort())) : null;
+            if (credentials != null && credentials.getUserPrincipal() != null) {
+                context.setUserToken(credentials.getUserPrincipal());
+            }
+        }
         return context;
     }
 }
@@ -20,9 +20,8 @@ package io.cloudslang.content.httpclient.build;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.CookieStore;
-import org.apache.http.impl.client.BasicCookieStore;
 
-import java.io.*;
+import java.io.IOException;
 
 public class CookieStoreBuilder {
     private String useCookies = "true";
@@ -42,12 +41,12 @@ public class CookieStoreBuilder {
 
     public CookieStore buildCookieStore() {
         if (Boolean.parseBoolean(useCookies) && cookieStoreSessionObject != null) {
-            BasicCookieStore cookieStore;
+            SessionCookieStore cookieStore;
             if (cookieStoreSessionObject.getValue() == null) {
-                cookieStore = new BasicCookieStore();
+                cookieStore = new SessionCookieStore();
             } else {
                 try {
-                    cookieStore = (BasicCookieStore) deserialize((byte[]) cookieStoreSessionObject.getValue());
+                    cookieStore = deserialize((byte[]) cookieStoreSessionObject.getValue());
                 } catch (IOException | ClassNotFoundException e) {
                     throw new RuntimeException(e.getMessage(), e);
                 }
@@ -57,17 +56,19 @@ public class CookieStoreBuilder {
         return null;
     }
 
-    public static byte[] serialize(Object obj) throws IOException {
-        ByteArrayOutputStream b = new ByteArrayOutputStream();
-        ObjectOutputStream o = new ObjectOutputStream(b);
-        o.writeObject(obj);
-        return b.toByteArray();
+    public static byte[] serialize(CookieStore cookieStore) throws IOException {
+        return CookieStoreCodec.encode(cookieStore);
     }
 
-    public static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
-        ByteArrayInputStream b = new ByteArrayInputStream(bytes);
-        ObjectInputStream o = new ObjectInputStream(b);
-        return o.readObject();
+    public static SessionCookieStore deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        return CookieStoreCodec.decode(bytes);
+    }
+
+    /**
+     * @return false if the cookie store was read from the session object and its cookies did not change since then
+     */
+    public static boolean isModified(CookieStore cookieStore) {
+        return !(cookieStore instanceof SessionCookieStore) || ((SessionCookieStore) cookieStore).isModified();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.client.CookieStore;
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.cookie.CookieIdentityComparator;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.AbstractOwnableSynchronizer;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact binary encoding of a cookie store.
+ * <p>
+ * Only the cookies are written, one after the other, with their fields and the attributes from the Set-Cookie header
+ * that the cookie specs rely on. Expired cookies are dropped when the store is written. The values written by the
+ * previous versions with Java serialization are still read, but only the classes of a serialized BasicCookieStore
+ * are accepted in them.
+ */
+public final class CookieStoreCodec {
+    private static final int MAGIC = 0x43534B31;
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+    private static final String HTTP_ONLY_ATTR = "httponly";
+    private static final String[] ATTRIBUTES = {ClientCookie.VERSION_ATTR, ClientCookie.COMMENT_ATTR, ClientCookie.PATH_ATTR,
+            ClientCookie.DOMAIN_ATTR, ClientCookie.MAX_AGE_ATTR, ClientCookie.SECURE_ATTR, ClientCookie.COMMENTURL_ATTR,
+            ClientCookie.DISCARD_ATTR, ClientCookie.PORT_ATTR, ClientCookie.EXPIRES_ATTR, HTTP_ONLY_ATTR};
+    private static final long NO_DATE = Long.MIN_VALUE;
+    //the classes found in a BasicCookieStore written with Java serialization
+    private static final Set<String> LEGACY_CLASSES = new HashSet<>(Arrays.asList(
+            BasicCookieStore.class.getName(),
+            BasicClientCookie.class.getName(),
+            BasicClientCookie2.class.getName(),
+            CookieIdentityComparator.class.getName(),
+            Date.class.getName(),
+            ArrayList.class.getName(),
+            TreeSet.class.getName(),
+            HashMap.class.getName(),
+            String.class.getName(),
+            int[].class.getName(),
+            //the lock of a BasicCookieStore of httpclient 4.5.x
+            ReentrantReadWriteLock.class.getName(),
+            "java.util.concurrent.locks.ReentrantReadWriteLock$Sync",
+            "java.util.concurrent.locks.ReentrantReadWriteLock$NonfairSync",
+            "java.util.concurrent.locks.ReentrantReadWriteLock$FairSync",
+            ReentrantReadWriteLock.ReadLock.class.getName(),
+            ReentrantReadWriteLock.WriteLock.class.getName(),
+            AbstractQueuedSynchronizer.class.getName(),
+            AbstractOwnableSynchronizer.class.getName()));
+
+    private CookieStoreCodec() {
+    }
+
+    public static byte[] encode(CookieStore cookieStore) throws IOException {
+        Date now = new Date();
+        List<Cookie> cookies = new ArrayList<>();
+        for (Cookie cookie : cookieStore.getCookies()) {
+            if (!cookie.isExpired(now)) {
+                cookies.add(cookie);
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + cookies.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(cookies.size());
+        for (Cookie cookie : cookies) {
+            writeCookie(out, cookie);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static SessionCookieStore decode(byte[] bytes) throws IOException, ClassNotFoundException {
+        SessionCookieStore cookieStore = new SessionCookieStore();
+        if (bytes.length >= 2 && (short) ((bytes[0] << 8) | (bytes[1] & 0xFF)) == JAVA_SERIALIZATION_MAGIC) {
+            try (ObjectInputStream in = new LegacyCookieStoreInputStream(new ByteArrayInputStream(bytes))) {
+                cookieStore.addCookies(((BasicCookieStore) in.readObject()).getCookies().toArray(new Cookie[0]));
+            }
+            //written again with the new encoding
+            cookieStore.setModified(true);
+            return cookieStore;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("The cookie store session object has an unknown format");
+        }
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            cookieStore.addCookie(readCookie(in));
+        }
+        cookieStore.setModified(false);
+        return cookieStore;
+    }
+
+    /**
+     * Rejects every class that is not part of a serialized BasicCookieStore before it is loaded.
+     */
+    private static class LegacyCookieStoreInputStream extends ObjectInputStream {
+        private LegacyCookieStoreInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!LEGACY_CLASSES.contains(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "The class is not allowed in a cookie store session object");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed in a cookie store session object");
+        }
+    }
+
+    private static void writeCookie(DataOutputStream out, Cookie cookie) throws IOException {
+        boolean cookie2 = cookie instanceof BasicClientCookie2;
+        out.writeBoolean(cookie2);
+        writeString(out, cookie.getName());
+        writeString(out, cookie.getValue());
+        writeString(out, cookie.getDomain());
+        writeString(out, cookie.getPath());
+        writeString(out, cookie.getComment());
+        writeDate(out, cookie.getExpiryDate());
+        writeDate(out, cookie instanceof BasicClientCookie ? ((BasicClientCookie) cookie).getCreationDate() : null);
+        out.writeBoolean(cookie.isSecure());
+        out.writeInt(cookie.getVersion());
+
+        List<String> attributes = new ArrayList<>();
+        if (cookie instanceof ClientCookie) {
+            ClientCookie clientCookie = (ClientCookie) cookie;
+            for (String attribute : ATTRIBUTES) {
+                if (clientCookie.containsAttribute(attribute)) {
+                    attributes.add(attribute);
+                    attributes.add(clientCookie.getAttribute(attribute));
+                }
+            }
+        }
+        out.writeShort(attributes.size() / 2);
+        for (String attribute : attributes) {
+            writeString(out, attribute);
+        }
+
+        if (cookie2) {
+            BasicClientCookie2 clientCookie2 = (BasicClientCookie2) cookie;
+            writeString(out, clientCookie2.getCommentURL());
+            out.writeBoolean(!clientCookie2.isPersistent());
+            int[] ports = clientCookie2.getPorts();
+            out.writeShort(ports != null ? ports.length : -1);
+            if (ports != null) {
+                for (int port : ports) {
+                    out.writeInt(port);
+                }
+            }
+        }
+    }
+
+    private static Cookie readCookie(DataInputStream in) throws IOException {
+        boolean cookie2 = in.readBoolean();
+        String name = readString(in);
+        String value = readString(in);
+        BasicClientCookie cookie = cookie2 ? new BasicClientCookie2(name, value) : new BasicClientCookie(name, value);
+        cookie.setDomain(readString(in));
+        cookie.setPath(readString(in));
+        cookie.setComment(readString(in));
+        cookie.setExpiryDate(readDate(in));
+        cookie.setCreationDate(readDate(in));
+        cookie.setSecure(in.readBoolean());
+        cookie.setVersion(in.readInt());
+
+        int attributes = in.readShort();
+        for (int i = 0; i < attributes; i++) {
+            cookie.setAttribute(readString(in), readString(in));
+        }
+
+        if (cookie2) {
+            BasicClientCookie2 clientCookie2 = (BasicClientCookie2) cookie;
+            clientCookie2.setCommentURL(readString(in));
+            clientCookie2.setDiscard(in.readBoolean());
+            int ports = in.readShort();
+            if (ports >= 0) {
+                int[] portValues = new int[ports];
+                for (int i = 0; i < ports; i++) {
+                    portValues[i] = in.readInt();
+                }
+                clientCookie2.setPorts(portValues);
+            }
+        }
+        return cookie;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, Date date) throws IOException {
+        out.writeLong(date != null ? date.getTime() : NO_DATE);
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return time != NO_DATE ? new Date(time) : null;
+    }
+}
@@ -21,6 +21,7 @@ import io.cloudslang.content.httpclient.entities.HttpClientInputs;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ContentType;
@@ -44,6 +45,7 @@ public class EntityBuilder {
     private String multipartBodiesContentType = "text/plain; charset=ISO-8859-1";
     private String multipartFilesContentType = "application/octet-stream";
     private String chunkedRequestEntity;
+    private String compressedRequestEntity = "false";
 
     public EntityBuilder setBody(String body) {
         this.body = body;
@@ -108,7 +110,23 @@ public class EntityBuilder {
         return this;
     }
 
+    public EntityBuilder setCompressedRequestEntity(String compressedRequestEntity) {
+        if (!StringUtils.isEmpty(compressedRequestEntity)) {
+            this.compressedRequestEntity = compressedRequestEntity;
+        }
+        return this;
+    }
+
     public HttpEntity buildEntity() {
+        HttpEntity httpEntity = buildUncompressedEntity();
+        if (httpEntity != null && Boolean.parseBoolean(compressedRequestEntity)) {
+            //the compressed entity is always chunked and it sets the 'Content-Encoding: gzip' request header
+            return new GzipCompressingEntity(httpEntity);
+        }
+        return httpEntity;
+    }
+
+    private HttpEntity buildUncompressedEntity() {
         AbstractHttpEntity httpEntity = null;
         if (!StringUtils.isEmpty(formParams)) {
             List<? extends NameValuePair> list;
@@ -0,0 +1,167 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of fully built http clients, there is one for each connection pool session object.
+ * <p>
+ * A cached client only holds the settings that are not request specific: the pooled connection manager
+ * (which already carries the TLS settings) and the connection reuse strategy derived from 'keepAlive'.
+ * Credentials, auth schemes and cookies travel on the HttpClientContext of each request so that
+ * the same client can serve every call that shares a connection pool.
+ * <p>
+ * The cache is bounded (least recently used entries are dropped first) and entries that were not used
+ * for longer than the idle timeout are evicted on the next access. The clients must be built with a shared
+ * connection manager: the connection managers are owned by the {@link io.cloudslang.content.httpclient.build.conn.ConnectionManagerRegistry}
+ * of the session, which closes the cached clients and shuts down the managers when the session is released.
+ */
+public class HttpClientCache {
+    public static final int DEFAULT_MAX_SIZE = 100;
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    private final int maxSize;
+    private final long idleTimeout;
+    private final LinkedHashMap<ClientKey, CachedClient> clients;
+
+    public HttpClientCache(final int maxSize, long idleTimeout) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the http client cache should be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.clients = new LinkedHashMap<ClientKey, CachedClient>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientKey, CachedClient> eldest) {
+                if (size() > HttpClientCache.this.maxSize) {
+                    safeClose(eldest.getValue().client);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached client for the given connection manager and keep alive mode or null if none is cached
+     */
+    public synchronized CloseableHttpClient get(PoolingHttpClientConnectionManager connManager, boolean keepAlive) {
+        long now = System.currentTimeMillis();
+        evictIdle(now);
+        CachedClient cachedClient = clients.get(new ClientKey(connManager, keepAlive));
+        if (cachedClient == null) {
+            return null;
+        }
+        cachedClient.lastUsed = now;
+        return cachedClient.client;
+    }
+
+    /**
+     * Caches the client unless another thread already cached one for the same key.
+     *
+     * @return the client that should be used, which is the previously cached one if it exists
+     */
+    public synchronized CloseableHttpClient put(PoolingHttpClientConnectionManager connManager, boolean keepAlive,
+                                                CloseableHttpClient client) {
+        ClientKey key = new ClientKey(connManager, keepAlive);
+        CachedClient cachedClient = clients.get(key);
+        if (cachedClient != null) {
+            safeClose(client);
+            cachedClient.lastUsed = System.currentTimeMillis();
+            return cachedClient.client;
+        }
+        clients.put(key, new CachedClient(client, System.currentTimeMillis()));
+        return client;
+    }
+
+    public synchronized int size() {
+        return clients.size();
+    }
+
+    public synchronized void clear() {
+        for (CachedClient cachedClient : clients.values()) {
+            safeClose(cachedClient.client);
+        }
+        clients.clear();
+    }
+
+    private void evictIdle(long now) {
+        //the map is in access order so the idle entries are at its head
+        Iterator<CachedClient> iterator = clients.values().iterator();
+        while (iterator.hasNext()) {
+            CachedClient cachedClient = iterator.next();
+            if (now - cachedClient.lastUsed <= idleTimeout) {
+                break;
+            }
+            safeClose(cachedClient.client);
+            iterator.remove();
+        }
+    }
+
+    private static void safeClose(CloseableHttpClient client) {
+        try {
+            client.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static class CachedClient {
+        private final CloseableHttpClient client;
+        private long lastUsed;
+
+        private CachedClient(CloseableHttpClient client, long lastUsed) {
+            this.client = client;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private static class ClientKey {
+        private final PoolingHttpClientConnectionManager connManager;
+        private final boolean keepAlive;
+
+        private ClientKey(PoolingHttpClientConnectionManager connManager, boolean keepAlive) {
+            this.connManager = connManager;
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return keepAlive == that.keepAlive && connManager == that.connManager;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(connManager) + (keepAlive ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.execute.RetryPolicy;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class RetryPolicyBuilder {
+    public static final String DEFAULT_RETRY_STATUS_CODES = "429,502,503,504";
+
+    private String maxAttempts = "1";
+    private String backoff = "1000";
+    private String jitter = "0.2";
+    private String statusCodes = DEFAULT_RETRY_STATUS_CODES;
+
+    public RetryPolicyBuilder setMaxAttempts(String maxAttempts) {
+        if (!StringUtils.isEmpty(maxAttempts)) {
+            this.maxAttempts = maxAttempts;
+        }
+        return this;
+    }
+
+    public RetryPolicyBuilder setBackoff(String backoff) {
+        if (!StringUtils.isEmpty(backoff)) {
+            this.backoff = backoff;
+        }
+        return this;
+    }
+
+    public RetryPolicyBuilder setJitter(String jitter) {
+        if (!StringUtils.isEmpty(jitter)) {
+            this.jitter = jitter;
+        }
+        return this;
+    }
+
+    public RetryPolicyBuilder setStatusCodes(String statusCodes) {
+        if (!StringUtils.isEmpty(statusCodes)) {
+            this.statusCodes = statusCodes;
+        }
+        return this;
+    }
+
+    /**
+     * @return the retry policy or null if the request is attempted only once
+     */
+    public RetryPolicy buildRetryPolicy() {
+        int maxAttemptsNumber = parseNumber(maxAttempts, HttpClientInputs.RETRY_MAX_ATTEMPTS);
+        if (maxAttemptsNumber <= 1) {
+            return null;
+        }
+        long backoffNumber = parseNumber(backoff, HttpClientInputs.RETRY_BACKOFF);
+        double jitterNumber;
+        try {
+            jitterNumber = Double.parseDouble(jitter);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Could not parse '" + HttpClientInputs.RETRY_JITTER + "': " + e.getMessage(), e);
+        }
+        if (jitterNumber < 0 || jitterNumber > 1) {
+            throw new IllegalArgumentException("'" + HttpClientInputs.RETRY_JITTER + "' should be between 0 and 1");
+        }
+        Set<Integer> statusCodeSet = new HashSet<>();
+        for (String statusCode : statusCodes.split(",")) {
+            if (!StringUtils.isBlank(statusCode)) {
+                statusCodeSet.add(parseNumber(statusCode.trim(), HttpClientInputs.RETRY_STATUS_CODES));
+            }
+        }
+        return new RetryPolicy(maxAttemptsNumber, backoffNumber, jitterNumber, statusCodeSet);
+    }
+
+    private static int parseNumber(String value, String inputName) {
+        int number;
+        try {
+            number = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Could not parse '" + inputName + "': " + e.getMessage(), e);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException("'" + inputName + "' should not be negative");
+        }
+        return number;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.BasicCookieStore;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The cookie store kept in the cookie store session object between calls.
+ * It tracks whether its cookies were changed since it was read from the session object, so that an unchanged
+ * store does not have to be written back.
+ */
+public class SessionCookieStore extends BasicCookieStore {
+    private static final long serialVersionUID = 1L;
+
+    private boolean modified;
+
+    @Override
+    public synchronized void addCookie(Cookie cookie) {
+        if (cookie != null && !containsSameCookie(cookie)) {
+            modified = true;
+        }
+        super.addCookie(cookie);
+    }
+
+    @Override
+    public synchronized boolean clearExpired(Date date) {
+        boolean removed = super.clearExpired(date);
+        modified |= removed;
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        modified |= !getCookies().isEmpty();
+        super.clear();
+    }
+
+    public synchronized boolean isModified() {
+        return modified;
+    }
+
+    synchronized void setModified(boolean modified) {
+        this.modified = modified;
+    }
+
+    private boolean containsSameCookie(Cookie cookie) {
+        List<Cookie> cookies = getCookies();
+        for (Cookie existingCookie : cookies) {
+            if (Objects.equals(existingCookie.getName(), cookie.getName())
+                    && Objects.equals(existingCookie.getDomain(), cookie.getDomain())
+                    && Objects.equals(existingCookie.getPath(), cookie.getPath())
+                    && Objects.equals(existingCookie.getValue(), cookie.getValue())
+                    && Objects.equals(existingCookie.getExpiryDate(), cookie.getExpiryDate())
+                    && existingCookie.isSecure() == cookie.isSecure()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
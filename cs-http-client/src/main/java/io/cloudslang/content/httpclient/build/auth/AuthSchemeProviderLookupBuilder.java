@@ -32,6 +32,8 @@ import org.apache.http.impl.auth.*;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HttpContext;
 
+import javax.security.auth.Subject;
+import javax.security.auth.login.LoginException;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -39,8 +41,16 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class AuthSchemeProviderLookupBuilder {
+    //the engine keeps no state, the state of the NTLM handshake is kept by the scheme
+    private static final NTLMEngine NTLM_ENGINE = new JCIFSEngine();
+    //the generated configuration files are written once per process and reused by the following calls
+    private static final ConcurrentMap<String, File> KRB5_CONFIGS = new ConcurrentHashMap<>();
+    private static volatile File loginConfig;
+
     private AuthTypes authTypes;
     private String skipPortAtKerberosDatabaseLookup = "true";
     private String kerberosConfigFile;
@@ -49,6 +59,7 @@ public class AuthSchemeProviderLookupBuilder {
     private String username;
     private String password;
     private List<Header> headers;
+    private KerberosSubjectCache kerberosSubjectCache = KerberosSubjectCache.getInstance();
 
     public AuthSchemeProviderLookupBuilder setAuthTypes(AuthTypes authTypes) {
         this.authTypes = authTypes;
@@ -93,6 +104,11 @@ public class AuthSchemeProviderLookupBuilder {
         return this;
     }
 
+    public AuthSchemeProviderLookupBuilder setKerberosSubjectCache(KerberosSubjectCache kerberosSubjectCache) {
+        this.kerberosSubjectCache = kerberosSubjectCache;
+        return this;
+    }
+
     public Lookup<AuthSchemeProvider> buildAuthSchemeProviderLookup() {
         RegistryBuilder<AuthSchemeProvider> registryBuilder = RegistryBuilder.create();
 
@@ -102,7 +118,7 @@ public class AuthSchemeProviderLookupBuilder {
                     registryBuilder.register(AuthSchemes.NTLM, new AuthSchemeProvider() {
                         @Override
                         public AuthScheme create(HttpContext httpContext) {
-                            return new NTLMScheme(new JCIFSEngine());
+                            return new NTLMScheme(NTLM_ENGINE);
                         }
                     });
                     break;
@@ -116,29 +132,35 @@ public class AuthSchemeProviderLookupBuilder {
                     registryBuilder.register(AuthSchemes.DIGEST, new DigestSchemeFactory());
                     break;
                 case "KERBEROS":
-                    if (kerberosConfigFile != null) {
-                        System.setProperty("java.security.krb5.conf", kerberosConfigFile);
-                    } else {
-                        File krb5Config;
+                    String krb5Config = kerberosConfigFile;
+                    if (krb5Config == null) {
                         String domain = host.replaceAll(".*\\.(?=.*\\.)", "");
                         try {
-                            krb5Config = createKrb5Configuration(domain);
+                            krb5Config = getKrb5Configuration(domain);
                         } catch (IOException e) {
                             throw new RuntimeException("could not create the krb5 config file" + e.getMessage(), e);
                         }
-                        System.setProperty("java.security.krb5.conf", krb5Config.toURI().toString());
                     }
+                    setSystemProperty("java.security.krb5.conf", krb5Config);
+                    System.setProperty("javax.security.auth.useSubjectCredsOnly", "false");
 
+                    boolean skipPort = Boolean.parseBoolean(skipPortAtKerberosDatabaseLookup);
+                    Subject subject = getKerberosSubject(krb5Config);
+                    if (subject != null) {
+                        registryBuilder.register(AuthSchemes.KERBEROS, new SubjectSchemeFactory(subject, new KerberosSchemeFactory(skipPort)));
+                        registryBuilder.register(AuthSchemes.SPNEGO, new SubjectSchemeFactory(subject, new SPNegoSchemeFactory(skipPort)));
+                        break;
+                    }
+
+                    //without a subject the GSS mechanism logs in by itself, using the login configuration
                     if (kerberosLoginConfigFile != null) {
-                        System.setProperty("java.security.auth.login.config", kerberosLoginConfigFile);
+                        setSystemProperty("java.security.auth.login.config", kerberosLoginConfigFile);
                     } else {
-                        File loginConfig;
                         try {
-                            loginConfig = createLoginConfig();
+                            setSystemProperty("java.security.auth.login.config", getLoginConfig());
                         } catch (IOException e) {
                             throw new RuntimeException("could not create the kerberos login config file" + e.getMessage(), e);
                         }
-                        System.setProperty("java.security.auth.login.config", loginConfig.toURI().toString());
                     }
 
                     if (password != null) {
@@ -148,9 +170,6 @@ public class AuthSchemeProviderLookupBuilder {
                         System.setProperty(KrbHttpLoginModule.USR, username);
                     }
 
-                    System.setProperty("javax.security.auth.useSubjectCredsOnly", "false");
-
-                    boolean skipPort = Boolean.parseBoolean(skipPortAtKerberosDatabaseLookup);
                     registryBuilder.register(AuthSchemes.KERBEROS, new KerberosSchemeFactory(skipPort));
                     registryBuilder.register(AuthSchemes.SPNEGO, new SPNegoSchemeFactory(skipPort));
                     break;
@@ -164,6 +183,43 @@ public class AuthSchemeProviderLookupBuilder {
         return registryBuilder.build();
     }
 
+    /**
+     * @return the cached subject of the user or null if there is no user
+     * @throws RuntimeException if the login of the user failed
+     */
+    private Subject getKerberosSubject(String krb5Config) {
+        if (StringUtils.isEmpty(username) || kerberosSubjectCache == null) {
+            return null;
+        }
+        try {
+            return kerberosSubjectCache.getSubject(username, password, krb5Config, kerberosLoginConfigFile);
+        } catch (LoginException e) {
+            throw new RuntimeException("Kerberos login failed for user " + username + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void setSystemProperty(String name, String value) {
+        //the Kerberos configuration is read again by the JDK only when the property changes
+        if (!value.equals(System.getProperty(name))) {
+            System.setProperty(name, value);
+        }
+    }
+
+    private static String getKrb5Configuration(String domain) throws IOException {
+        File krb5Config = KRB5_CONFIGS.get(domain);
+        if (krb5Config == null || !krb5Config.exists()) {
+            krb5Config = createKrb5Configuration(domain);
+            KRB5_CONFIGS.put(domain, krb5Config);
+        }
+        return krb5Config.toURI().toString();
+    }
+
+    private static synchronized String getLoginConfig() throws IOException {
+        if (loginConfig == null || !loginConfig.exists()) {
+            loginConfig = createLoginConfig();
+        }
+        return loginConfig.toURI().toString();
+    }
 
     private static File createKrb5Configuration(String domain) throws IOException {
         File tempFile = File.createTempFile("krb", "kdc");
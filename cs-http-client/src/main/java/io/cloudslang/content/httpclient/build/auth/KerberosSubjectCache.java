@@ -0,0 +1,255 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.auth;
+
+import com.sun.security.auth.login.ConfigFile;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.auth.kerberos.KerberosTicket;
+import javax.security.auth.login.AppConfigurationEntry;
+import javax.security.auth.login.Configuration;
+import javax.security.auth.login.LoginContext;
+import javax.security.auth.login.LoginException;
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process wide cache of the Kerberos subjects logged in for the Kerberos authentication.
+ * <p>
+ * A subject is cached per user, Kerberos configuration, login configuration and password, so the ticket granting ticket
+ * it holds is reused by the following calls instead of requesting a new one from the KDC every time. The subject is
+ * logged in again {@link #REFRESH_MARGIN} before its ticket granting ticket expires.
+ * <p>
+ * The cache is bounded (least recently used subjects are dropped first) and the subjects whose ticket granting ticket
+ * should be refreshed are dropped when a new subject is logged in.
+ */
+public class KerberosSubjectCache {
+    public static final long REFRESH_MARGIN = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_LIFETIME = TimeUnit.MINUTES.toMillis(10);
+    public static final int DEFAULT_MAX_SIZE = 100;
+    static final String LOGIN_ENTRY = "com.sun.security.jgss.initiate";
+
+    private static final KerberosSubjectCache INSTANCE = new KerberosSubjectCache();
+
+    private final int maxSize;
+    //the entries are also the locks the logins of their key are made with
+    private final LinkedHashMap<String, SubjectEntry> subjects;
+
+    public KerberosSubjectCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public KerberosSubjectCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the Kerberos subject cache should be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.subjects = new LinkedHashMap<String, SubjectEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SubjectEntry> eldest) {
+                return size() > KerberosSubjectCache.this.maxSize;
+            }
+        };
+    }
+
+    public static KerberosSubjectCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param kerberosConfigFile the Kerberos configuration the subject is logged in with, it is only used for the cache key
+     * @param loginConfigFile    the JAAS login configuration that has the 'com.sun.security.jgss.initiate' entry.
+     *                           If it is null the subject is logged in with the Kerberos login module
+     * @return the cached subject or a newly logged in one
+     */
+    public Subject getSubject(String username, String password, String kerberosConfigFile, String loginConfigFile) throws LoginException {
+        String key = buildKey(username, password, kerberosConfigFile, loginConfigFile);
+        SubjectEntry entry = getEntry(key);
+        Subject subject = entry.getValidSubject();
+        if (subject != null) {
+            return subject;
+        }
+        synchronized (entry) {
+            //another thread may have logged in meanwhile
+            subject = entry.getValidSubject();
+            if (subject == null) {
+                try {
+                    subject = login(username, password, loginConfigFile);
+                } catch (LoginException e) {
+                    //the failure is not cached, the next call logs in again
+                    removeEntry(key, entry);
+                    throw e;
+                }
+                entry.cachedSubject = new CachedSubject(subject, getRefreshTime(subject, System.currentTimeMillis()));
+            }
+        }
+        return subject;
+    }
+
+    public synchronized int size() {
+        return subjects.size();
+    }
+
+    public synchronized void clear() {
+        subjects.clear();
+    }
+
+    protected Subject login(final String username, final String password, String loginConfigFile) throws LoginException {
+        Configuration configuration;
+        if (loginConfigFile == null) {
+            configuration = new KerberosLoginConfiguration();
+        } else {
+            //the login modules of a custom login configuration, like KrbHttpLoginModule, may read the credentials from here
+            if (password != null) {
+                System.setProperty(KrbHttpLoginModule.PAS, password);
+            }
+            System.setProperty(KrbHttpLoginModule.USR, username);
+            configuration = new ConfigFile(toURI(loginConfigFile));
+        }
+        LoginContext loginContext = new LoginContext(LOGIN_ENTRY, new Subject(), new CallbackHandler() {
+            @Override
+            public void handle(Callback[] callbacks) throws UnsupportedCallbackException {
+                for (Callback callback : callbacks) {
+                    if (callback instanceof NameCallback) {
+                        ((NameCallback) callback).setName(username);
+                    } else if (callback instanceof PasswordCallback) {
+                        ((PasswordCallback) callback).setPassword(password != null ? password.toCharArray() : new char[0]);
+                    } else {
+                        throw new UnsupportedCallbackException(callback);
+                    }
+                }
+            }
+        }, configuration);
+        loginContext.login();
+        return loginContext.getSubject();
+    }
+
+    /**
+     * @return the time after which the subject is logged in again
+     */
+    static long getRefreshTime(Subject subject, long now) {
+        for (KerberosTicket ticket : subject.getPrivateCredentials(KerberosTicket.class)) {
+            if (ticket.getServer() != null && ticket.getServer().getName().startsWith("krbtgt/") && ticket.getEndTime() != null) {
+                long endTime = ticket.getEndTime().getTime();
+                //a ticket that is valid for less than twice the margin is refreshed half way through its lifetime
+                return Math.max(endTime - REFRESH_MARGIN, now + (endTime - now) / 2);
+            }
+        }
+        return now + DEFAULT_LIFETIME;
+    }
+
+    private synchronized SubjectEntry getEntry(String key) {
+        SubjectEntry entry = subjects.get(key);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            evictExpired(System.currentTimeMillis());
+            if (entry == null) {
+                entry = new SubjectEntry();
+            }
+            subjects.put(key, entry);
+        }
+        return entry;
+    }
+
+    private synchronized void removeEntry(String key, SubjectEntry entry) {
+        if (entry.cachedSubject == null && subjects.get(key) == entry) {
+            subjects.remove(key);
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<SubjectEntry> iterator = subjects.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String buildKey(String username, String password, String kerberosConfigFile, String loginConfigFile) {
+        return StringUtils.join(new Object[]{username, kerberosConfigFile, loginConfigFile,
+                password != null ? DigestUtils.sha256Hex(password) : null}, '|');
+    }
+
+    private static URI toURI(String file) {
+        try {
+            URI uri = new URI(file);
+            if (uri.getScheme() != null && uri.getScheme().length() > 1) {
+                return uri;
+            }
+        } catch (Exception ignore) {
+            //not an URI, it is a file path
+        }
+        return new File(file).toURI();
+    }
+
+    private static class SubjectEntry {
+        //null until the first login of the key succeeds
+        private volatile CachedSubject cachedSubject;
+
+        private Subject getValidSubject() {
+            CachedSubject cached = cachedSubject;
+            return cached != null && !cached.isExpired(System.currentTimeMillis()) ? cached.subject : null;
+        }
+
+        private boolean isExpired(long now) {
+            CachedSubject cached = cachedSubject;
+            return cached != null && cached.isExpired(now);
+        }
+    }
+
+    private static class CachedSubject {
+        private final Subject subject;
+        private final long refreshTime;
+
+        private CachedSubject(Subject subject, long refreshTime) {
+            this.subject = subject;
+            this.refreshTime = refreshTime;
+        }
+
+        private boolean isExpired(long now) {
+            return refreshTime <= now;
+        }
+    }
+
+    /**
+     * Login configuration with the Kerberos login module getting the credentials from the callback handler.
+     */
+    private static class KerberosLoginConfiguration extends Configuration {
+        @Override
+        public AppConfigurationEntry[] getAppConfigurationEntry(String name) {
+            Map<String, String> options = new HashMap<>();
+            options.put("useTicketCache", "false");
+            options.put("doNotPrompt", "false");
+            options.put("refreshKrb5Config", "true");
+            return new AppConfigurationEntry[]{new AppConfigurationEntry("com.sun.security.auth.module.Krb5LoginModule",
+                    AppConfigurationEntry.LoginModuleControlFlag.REQUIRED, options)};
+        }
+    }
+}
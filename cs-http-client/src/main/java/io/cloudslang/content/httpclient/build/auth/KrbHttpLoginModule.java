@@ -37,7 +37,8 @@ public class KrbHttpLoginModule extends Krb5LoginModule {
         super.initialize(subject, callbackHandler, sharedState, options);    //To change body of overridden methods use File | Settings | File Templates.
         Map<String, Object> myss = (Map<String, Object>) sharedState;
         myss.put(USR, System.getProperty(USR));
-        myss.put(PAS, System.getProperty(PAS).toCharArray());
+        String password = System.getProperty(PAS);
+        myss.put(PAS, password != null ? password.toCharArray() : null);
         System.clearProperty(USR);
         System.clearProperty(PAS);
     }
@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.auth;
+
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.auth.AuthScheme;
+import org.apache.http.auth.AuthSchemeProvider;
+import org.apache.http.auth.AuthenticationException;
+import org.apache.http.auth.ContextAwareAuthScheme;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.MalformedChallengeException;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+import javax.security.auth.Subject;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+/**
+ * Creates the schemes of another provider, like Kerberos or SPNego, that authenticate with the credentials of a
+ * logged in subject: the authentication response is generated inside {@link Subject#doAs}.
+ */
+public class SubjectSchemeFactory implements AuthSchemeProvider {
+    private final Subject subject;
+    private final AuthSchemeProvider schemeProvider;
+
+    public SubjectSchemeFactory(Subject subject, AuthSchemeProvider schemeProvider) {
+        this.subject = subject;
+        this.schemeProvider = schemeProvider;
+    }
+
+    public Subject getSubject() {
+        return subject;
+    }
+
+    @Override
+    public AuthScheme create(HttpContext context) {
+        return new SubjectScheme(subject, schemeProvider.create(context));
+    }
+
+    private static class SubjectScheme implements ContextAwareAuthScheme {
+        private final Subject subject;
+        private final AuthScheme scheme;
+
+        private SubjectScheme(Subject subject, AuthScheme scheme) {
+            this.subject = subject;
+            this.scheme = scheme;
+        }
+
+        @Override
+        public void processChallenge(Header header) throws MalformedChallengeException {
+            scheme.processChallenge(header);
+        }
+
+        @Override
+        public String getSchemeName() {
+            return scheme.getSchemeName();
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return scheme.getParameter(name);
+        }
+
+        @Override
+        public String getRealm() {
+            return scheme.getRealm();
+        }
+
+        @Override
+        public boolean isConnectionBased() {
+            return scheme.isConnectionBased();
+        }
+
+        @Override
+        public boolean isComplete() {
+            return scheme.isComplete();
+        }
+
+        @Override
+        @Deprecated
+        public Header authenticate(Credentials credentials, HttpRequest request) throws AuthenticationException {
+            return authenticate(credentials, request, new BasicHttpContext());
+        }
+
+        @Override
+        public Header authenticate(final Credentials credentials, final HttpRequest request, final HttpContext context)
+                throws AuthenticationException {
+            try {
+                return Subject.doAs(subject, new PrivilegedExceptionAction<Header>() {
+                    @Override
+                    public Header run() throws AuthenticationException {
+                        return scheme instanceof ContextAwareAuthScheme ?
+                                ((ContextAwareAuthScheme) scheme).authenticate(credentials, request, context) :
+                                scheme.authenticate(credentials, request);
+                    }
+                });
+            } catch (PrivilegedActionException e) {
+                if (e.getException() instanceof AuthenticationException) {
+                    throw (AuthenticationException) e.getException();
+                }
+                throw new RuntimeException(e.getException().getMessage(), e.getException());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return scheme.toString();
+        }
+    }
+}
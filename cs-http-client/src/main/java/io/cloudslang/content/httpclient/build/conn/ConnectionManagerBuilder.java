@@ -19,6 +19,7 @@ package io.cloudslang.content.httpclient.build.conn;
 
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import com.hp.oo.sdk.content.plugin.SessionResource;
+import io.cloudslang.content.httpclient.build.HttpClientCache;
 import io.cloudslang.content.httpclient.entities.HttpClientInputs;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.config.Registry;
@@ -28,7 +29,6 @@ import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class ConnectionManagerBuilder {
@@ -76,26 +76,20 @@ public class ConnectionManagerBuilder {
 
     public PoolingHttpClientConnectionManager buildConnectionManager() {
         if (connectionPoolHolder != null) {
-            PoolingHttpClientConnectionManager connManager = null;
-            synchronized (connectionPoolHolder) {
-                Map<String, PoolingHttpClientConnectionManager> connectionManagerMap
-                        = connectionPoolHolder.get();
-
-                if (connectionManagerMap == null) {
-                    final HashMap<String, PoolingHttpClientConnectionManager> connectionManagerMapFinal = new HashMap<>();
-                    connectionPoolHolder.setResource(new SessionResource<Map<String, PoolingHttpClientConnectionManager>>() {
-                        @Override
-                        public Map<String, PoolingHttpClientConnectionManager> get() {
-                            return connectionManagerMapFinal;
-                        }
-
-                        @Override
-                        public void release() {
-                        }
-                    });
-                    connectionManagerMap = connectionPoolHolder.get();
-                }
+            Integer defaultMaxPerRouteValue = parseLimit(defaultMaxPerRoute, HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE);
+            Integer totalMaxValue = parseLimit(totalMax, HttpClientInputs.CONNECTIONS_MAX_TOTAL);
+
+            Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = getConnectionManagerMap(connectionPoolHolder);
+            if (connectionManagerMap instanceof ConnectionManagerRegistry) {
+                ConnectionManagerRegistry registry = (ConnectionManagerRegistry) connectionManagerMap;
+                PoolingHttpClientConnectionManager connManager = registry.getOrCreate(connectionManagerMapKey, sslsf);
+                registry.setPoolLimits(connectionManagerMapKey, connManager, defaultMaxPerRouteValue, totalMaxValue);
+                return connManager;
+            }
 
+            //a map that was not created by this builder, it is not thread safe
+            PoolingHttpClientConnectionManager connManager;
+            synchronized (connectionPoolHolder) {
                 connManager = connectionManagerMap.get(connectionManagerMapKey);
                 if (connManager == null) {
                     Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
@@ -107,27 +101,78 @@ public class ConnectionManagerBuilder {
                     connectionManagerMap.put(connectionManagerMapKey, connManager);
                 }
             }
-
             //the DefaultMaxPerRoute default is 2
-            if (!StringUtils.isEmpty(defaultMaxPerRoute)) {
-                try {
-                    connManager.setDefaultMaxPerRoute(Integer.parseInt(defaultMaxPerRoute));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE
-                            + "' input should be integer" + e.getMessage(), e);
-                }
+            if (defaultMaxPerRouteValue != null) {
+                connManager.setDefaultMaxPerRoute(defaultMaxPerRouteValue);
             }
             //the Default totalMax default is 20
-            if (!StringUtils.isEmpty(totalMax)) {
-                try {
-                    connManager.setMaxTotal(Integer.parseInt(totalMax));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_TOTAL
-                            + "' input should be integer" + e.getMessage(), e);
-                }
+            if (totalMaxValue != null) {
+                connManager.setMaxTotal(totalMaxValue);
             }
             return connManager;
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the connection managers held by the connection pool session object, creating an empty
+     * {@link ConnectionManagerRegistry} the first time it is used
+     */
+    public static Map<String, PoolingHttpClientConnectionManager> getConnectionManagerMap(
+            GlobalSessionObject<Map<String, PoolingHttpClientConnectionManager>> connectionPoolHolder) {
+        Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = connectionPoolHolder.get();
+        if (connectionManagerMap == null) {
+            synchronized (connectionPoolHolder) {
+                connectionManagerMap = connectionPoolHolder.get();
+                if (connectionManagerMap == null) {
+                    connectionPoolHolder.setResource(new ConnectionManagerRegistryResource(new ConnectionManagerRegistry()));
+                    connectionManagerMap = connectionPoolHolder.get();
+                }
+            }
+        }
+        return connectionManagerMap;
+    }
+
+    /**
+     * @return the cache of the http clients of the connection pool session object or null if the connection managers
+     * of the session are not held by a {@link ConnectionManagerRegistry}
+     */
+    public static HttpClientCache getHttpClientCache(
+            GlobalSessionObject<Map<String, PoolingHttpClientConnectionManager>> connectionPoolHolder) {
+        if (connectionPoolHolder == null) {
+            return null;
+        }
+        Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = getConnectionManagerMap(connectionPoolHolder);
+        return connectionManagerMap instanceof ConnectionManagerRegistry ?
+                ((ConnectionManagerRegistry) connectionManagerMap).getHttpClientCache() : null;
+    }
+
+    private static Integer parseLimit(String limit, String inputName) {
+        if (StringUtils.isEmpty(limit)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the '" + inputName + "' input should be integer" + e.getMessage(), e);
+        }
+    }
+
+    private static class ConnectionManagerRegistryResource extends SessionResource<Map<String, PoolingHttpClientConnectionManager>> {
+        private final ConnectionManagerRegistry registry;
+
+        private ConnectionManagerRegistryResource(ConnectionManagerRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public Map<String, PoolingHttpClientConnectionManager> get() {
+            return registry;
+        }
+
+        @Override
+        public void release() {
+            registry.release();
+        }
+    }
+}
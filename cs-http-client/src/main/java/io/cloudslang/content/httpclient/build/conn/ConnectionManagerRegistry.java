@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import io.cloudslang.content.httpclient.build.HttpClientCache;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The connection managers of a connection pool session object, mapped by their connection manager key.
+ * <p>
+ * Lookups do not take any lock. A connection manager is created on first use and registered to the
+ * {@link IdleConnectionMonitor}; its pool limits are only changed when the requested values differ from
+ * the ones applied last time.
+ */
+public class ConnectionManagerRegistry extends ConcurrentHashMap<String, PoolingHttpClientConnectionManager> {
+    private final ConcurrentMap<String, Integer> appliedMaxPerRoute = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> appliedMaxTotal = new ConcurrentHashMap<>();
+    private final transient IdleConnectionMonitor idleConnectionMonitor;
+    private final transient HttpClientCache httpClientCache =
+            new HttpClientCache(HttpClientCache.DEFAULT_MAX_SIZE, HttpClientCache.DEFAULT_IDLE_TIMEOUT);
+
+    public ConnectionManagerRegistry() {
+        this(IdleConnectionMonitor.getInstance());
+    }
+
+    public ConnectionManagerRegistry(IdleConnectionMonitor idleConnectionMonitor) {
+        this.idleConnectionMonitor = idleConnectionMonitor;
+    }
+
+    public PoolingHttpClientConnectionManager getOrCreate(String connectionManagerKey, SSLConnectionSocketFactory sslsf) {
+        PoolingHttpClientConnectionManager connManager = get(connectionManagerKey);
+        if (connManager != null) {
+            return connManager;
+        }
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslsf)
+                .build();
+        connManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        PoolingHttpClientConnectionManager existingConnManager = putIfAbsent(connectionManagerKey, connManager);
+        if (existingConnManager != null) {
+            //another thread created the connection manager meanwhile
+            connManager.shutdown();
+            return existingConnManager;
+        }
+        idleConnectionMonitor.register(connManager);
+        return connManager;
+    }
+
+    /**
+     * @return the cache of the http clients built on the connection managers of this registry
+     */
+    public HttpClientCache getHttpClientCache() {
+        return httpClientCache;
+    }
+
+    /**
+     * Applies the pool limits that are not null and differ from the ones already applied for the connection manager key.
+     */
+    public void setPoolLimits(String connectionManagerKey, PoolingHttpClientConnectionManager connManager,
+                              Integer defaultMaxPerRoute, Integer maxTotal) {
+        if (defaultMaxPerRoute != null && !defaultMaxPerRoute.equals(appliedMaxPerRoute.get(connectionManagerKey))) {
+            synchronized (connManager) {
+                connManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+                appliedMaxPerRoute.put(connectionManagerKey, defaultMaxPerRoute);
+            }
+        }
+        if (maxTotal != null && !maxTotal.equals(appliedMaxTotal.get(connectionManagerKey))) {
+            synchronized (connManager) {
+                connManager.setMaxTotal(maxTotal);
+                appliedMaxTotal.put(connectionManagerKey, maxTotal);
+            }
+        }
+    }
+
+    /**
+     * @return one line for every connection manager with its total statistics, followed by one line for each of its routes.
+     * Example: false:strict:/path/to/keystore:/path/to/truststore total: leased=1, available=2, pending=0, max=20
+     */
+    public String getPoolStatistics() {
+        StringBuilder statistics = new StringBuilder();
+        for (Map.Entry<String, PoolingHttpClientConnectionManager> entry : entrySet()) {
+            PoolingHttpClientConnectionManager connManager = entry.getValue();
+            appendPoolStats(statistics, entry.getKey() + " total", connManager.getTotalStats());
+            for (HttpRoute route : connManager.getRoutes()) {
+                appendPoolStats(statistics, entry.getKey() + " route " + route, connManager.getStats(route));
+            }
+        }
+        return statistics.toString().trim();
+    }
+
+    /**
+     * @return the sum of the total statistics of all the connection managers
+     */
+    public PoolStats getTotalStats() {
+        int leased = 0;
+        int pending = 0;
+        int available = 0;
+        int max = 0;
+        for (PoolingHttpClientConnectionManager connManager : values()) {
+            PoolStats totalStats = connManager.getTotalStats();
+            leased += totalStats.getLeased();
+            pending += totalStats.getPending();
+            available += totalStats.getAvailable();
+            max += totalStats.getMax();
+        }
+        return new PoolStats(leased, pending, available, max);
+    }
+
+    /**
+     * Closes the cached http clients and shuts down all the connection managers.
+     * This is called when the connection pool session object is released.
+     */
+    public void release() {
+        httpClientCache.clear();
+        for (PoolingHttpClientConnectionManager connManager : values()) {
+            idleConnectionMonitor.unregister(connManager);
+            connManager.shutdown();
+        }
+        clear();
+        appliedMaxPerRoute.clear();
+        appliedMaxTotal.clear();
+    }
+
+    private static void appendPoolStats(StringBuilder statistics, String name, PoolStats poolStats) {
+        statistics.append(name)
+                .append(": leased=").append(poolStats.getLeased())
+                .append(", available=").append(poolStats.getAvailable())
+                .append(", pending=").append(poolStats.getPending())
+                .append(", max=").append(poolStats.getMax())
+                .append(System.lineSeparator());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes the expired and idle connections of the registered connection managers.
+ * A single daemon thread serves all the connection managers of the process.
+ */
+public class IdleConnectionMonitor {
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+    public static final long DEFAULT_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+
+    private static final IdleConnectionMonitor INSTANCE = new IdleConnectionMonitor(DEFAULT_IDLE_TIMEOUT, DEFAULT_CHECK_INTERVAL);
+
+    private final long idleTimeout;
+    private final long checkInterval;
+    //the managers are held weakly, a manager whose session was discarded without being released must not be pinned
+    private final Set<PoolingHttpClientConnectionManager> connectionManagers =
+            Collections.newSetFromMap(new WeakHashMap<PoolingHttpClientConnectionManager, Boolean>());
+    private ScheduledExecutorService executor;
+
+    public IdleConnectionMonitor(long idleTimeout, long checkInterval) {
+        this.idleTimeout = idleTimeout;
+        this.checkInterval = checkInterval;
+    }
+
+    public static IdleConnectionMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    public void register(PoolingHttpClientConnectionManager connManager) {
+        synchronized (connectionManagers) {
+            connectionManagers.add(connManager);
+        }
+        start();
+    }
+
+    public void unregister(PoolingHttpClientConnectionManager connManager) {
+        synchronized (connectionManagers) {
+            connectionManagers.remove(connManager);
+        }
+    }
+
+    public boolean isRegistered(PoolingHttpClientConnectionManager connManager) {
+        synchronized (connectionManagers) {
+            return connectionManagers.contains(connManager);
+        }
+    }
+
+    /**
+     * @return the number of connection managers that are registered and were not garbage collected
+     */
+    public int getRegisteredCount() {
+        synchronized (connectionManagers) {
+            return connectionManagers.size();
+        }
+    }
+
+    public void closeIdleConnections() {
+        List<PoolingHttpClientConnectionManager> registeredConnectionManagers;
+        synchronized (connectionManagers) {
+            registeredConnectionManagers = new ArrayList<>(connectionManagers);
+        }
+        for (PoolingHttpClientConnectionManager connManager : registeredConnectionManagers) {
+            try {
+                connManager.closeExpiredConnections();
+                connManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException ignore) {
+                //a manager that was shut down meanwhile must not stop the monitor
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "http-client-idle-connection-monitor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    closeIdleConnections();
+                }
+            }, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+}
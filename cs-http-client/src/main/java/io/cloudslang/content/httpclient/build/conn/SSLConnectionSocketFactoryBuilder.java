@@ -16,6 +16,7 @@
 
 package io.cloudslang.content.httpclient.build.conn;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContextBuilder;
@@ -71,6 +72,7 @@ public class SSLConnectionSocketFactoryBuilder {
     private String x509HostnameVerifierInputValue = "strict";
     private boolean flag = false;
     private boolean hasTLS2;
+    private SSLConnectionSocketFactoryCache sslConnectionSocketFactoryCache = SSLConnectionSocketFactoryCache.getInstance();
 
     public static boolean checkEquality(String[] subArray, String[] largeArray) {
 
@@ -103,7 +105,58 @@ public class SSLConnectionSocketFactoryBuilder {
         return keystore;
     }
 
+    /**
+     * Returns the cached socket factory for the current inputs if the keystore files did not change since it was built,
+     * otherwise builds a new one and caches it. Keystores that are not local files are never cached.
+     */
     public SSLConnectionSocketFactory build() {
+        String javaKeystore = System.getProperty("java.home") + "/lib/security/cacerts";
+        if (isRemote(keystore) || isRemote(trustKeystore)) {
+            return buildSSLConnectionSocketFactory();
+        }
+        String cacheKey = buildCacheKey();
+        String fingerprint = buildKeystoresFingerprint(javaKeystore);
+        SSLConnectionSocketFactory sslsf = sslConnectionSocketFactoryCache.get(cacheKey, fingerprint);
+        if (sslsf == null) {
+            sslsf = buildSSLConnectionSocketFactory();
+            sslConnectionSocketFactoryCache.put(cacheKey, fingerprint, sslsf);
+        }
+        return sslsf;
+    }
+
+    protected String buildCacheKey() {
+        return StringUtils.join(new String[]{
+                trustAllRootsStr.toLowerCase(),
+                x509HostnameVerifierInputValue.toLowerCase(),
+                inputTLS,
+                inputCyphers,
+                keystore,
+                hashPassword(keystorePassword),
+                trustKeystore,
+                hashPassword(trustPassword)}, '|');
+    }
+
+    protected String buildKeystoresFingerprint(String javaKeystore) {
+        return fileFingerprint(keystore) + "|" + fileFingerprint(trustKeystore) + "|" + fileFingerprint(javaKeystore);
+    }
+
+    private static String fileFingerprint(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return "";
+        }
+        File file = new File(path);
+        return file.lastModified() + ":" + file.length();
+    }
+
+    private static String hashPassword(String password) {
+        return password == null ? null : DigestUtils.sha256Hex(password);
+    }
+
+    private static boolean isRemote(String keystorePath) {
+        return keystorePath != null && keystorePath.startsWith("http");
+    }
+
+    protected SSLConnectionSocketFactory buildSSLConnectionSocketFactory() {
         if (!"true".equalsIgnoreCase(trustAllRootsStr) && !"false".equalsIgnoreCase(trustAllRootsStr)) {
             throw new IllegalArgumentException("'trustAllRoots' can only be 'true' or 'false'");
         }
@@ -283,6 +336,11 @@ public class SSLConnectionSocketFactoryBuilder {
         return this;
     }
 
+    public SSLConnectionSocketFactoryBuilder setSslConnectionSocketFactoryCache(SSLConnectionSocketFactoryCache sslConnectionSocketFactoryCache) {
+        this.sslConnectionSocketFactoryCache = sslConnectionSocketFactoryCache;
+        return this;
+    }
+
     public SSLConnectionSocketFactoryBuilder setX509HostnameVerifier(String x509HostnameVerifier) {
         if (!StringUtils.isEmpty(x509HostnameVerifier)) {
             this.x509HostnameVerifierInputValue = x509HostnameVerifier;
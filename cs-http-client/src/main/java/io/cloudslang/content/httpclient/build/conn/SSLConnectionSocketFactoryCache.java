@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide cache of the SSL socket factories built by {@link SSLConnectionSocketFactoryBuilder}.
+ * <p>
+ * Entries are looked up by a key made of the SSL inputs and validated against a fingerprint of the keystore
+ * files (last modified time and size). When a keystore file changes the fingerprint no longer matches,
+ * the entry is treated as a miss and it is replaced by the newly built factory.
+ * When the cache is full the least recently used factory is evicted.
+ */
+public class SSLConnectionSocketFactoryCache {
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final SSLConnectionSocketFactoryCache INSTANCE = new SSLConnectionSocketFactoryCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final LinkedHashMap<String, CachedFactory> factories;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SSLConnectionSocketFactoryCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.factories = new LinkedHashMap<String, CachedFactory>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedFactory> eldest) {
+                return size() > SSLConnectionSocketFactoryCache.this.maxSize;
+            }
+        };
+    }
+
+    public static SSLConnectionSocketFactoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    public SSLConnectionSocketFactory get(String key, String fingerprint) {
+        CachedFactory cachedFactory;
+        synchronized (factories) {
+            cachedFactory = factories.get(key);
+        }
+        if (cachedFactory != null && cachedFactory.fingerprint.equals(fingerprint)) {
+            hits.incrementAndGet();
+            return cachedFactory.factory;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, String fingerprint, SSLConnectionSocketFactory factory) {
+        synchronized (factories) {
+            factories.put(key, new CachedFactory(fingerprint, factory));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (factories) {
+            return factories.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (factories) {
+            factories.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private static class CachedFactory {
+        private final String fingerprint;
+        private final SSLConnectionSocketFactory factory;
+
+        private CachedFactory(String fingerprint, SSLConnectionSocketFactory factory) {
+            this.fingerprint = fingerprint;
+            this.factory = factory;
+        }
+    }
+}
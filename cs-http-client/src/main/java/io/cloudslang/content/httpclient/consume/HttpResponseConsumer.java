@@ -19,27 +19,45 @@ package io.cloudslang.content.httpclient.consume;
 
 import io.cloudslang.content.httpclient.entities.HttpClientInputs;
 import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicHeaderValueParser;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
 /**
  * Created with IntelliJ IDEA.
  * User: davidmih
  * Date: 7/28/14
  */
 public class HttpResponseConsumer {
+    public static final int BINARY_BUFFER_SIZE = 128 * 1024;
+    public static final String RESPONSE_FILE_PREFIX = "httpClientResponse";
+
     private HttpResponse httpResponse;
     private String responseCharacterSet;
     private String destinationFile;
+    private String binaryDownload;
+    private String checksumAlgorithm;
+    private String maxResponseSize;
 
     public HttpResponseConsumer setHttpResponse(HttpResponse httpResponse) {
         this.httpResponse = httpResponse;
@@ -56,6 +74,21 @@ public class HttpResponseConsumer {
         return this;
     }
 
+    public HttpResponseConsumer setBinaryDownload(String binaryDownload) {
+        this.binaryDownload = binaryDownload;
+        return this;
+    }
+
+    public HttpResponseConsumer setChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+        return this;
+    }
+
+    public HttpResponseConsumer setMaxResponseSize(String maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+        return this;
+    }
+
     public void consume(Map<String, String> result) throws IOException {
         if (httpResponse.getEntity() != null) {
             if (responseCharacterSet == null || responseCharacterSet.isEmpty()) {
@@ -80,18 +113,109 @@ public class HttpResponseConsumer {
 
     protected void consumeResponseContent(Map<String, String> result) throws IOException {
         if (StringUtils.isEmpty(destinationFile)) {
-            String document;
-            try {
-                document = IOUtils.toString(httpResponse.getEntity().getContent(), responseCharacterSet);
-            } catch (UnsupportedCharsetException e) {
-                throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
+            if (StringUtils.isEmpty(maxResponseSize)) {
+                String document;
+                try {
+                    document = IOUtils.toString(httpResponse.getEntity().getContent(), responseCharacterSet);
+                } catch (UnsupportedCharsetException e) {
+                    throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
+                }
+                result.put(HttpClientService.RETURN_RESULT, document);
+            } else {
+                consumeWithinMaxResponseSize(result);
             }
-            result.put(HttpClientService.RETURN_RESULT, document);
+        } else if (Boolean.parseBoolean(binaryDownload)) {
+            consumeToFile(httpResponse.getEntity().getContent(), new File(destinationFile), result);
         } else {
             consumeToDestinationFile();
         }
     }
 
+    /**
+     * Keeps the entity in memory only if it is not larger than 'maxResponseSize'. A larger entity is written
+     * as it is received (without decoding it) to a temporary file and the path of that file is returned.
+     */
+    private void consumeWithinMaxResponseSize(Map<String, String> result) throws IOException {
+        long maxSize = parseMaxResponseSize();
+        HttpEntity entity = httpResponse.getEntity();
+        InputStream content = entity.getContent();
+
+        byte[] head = new byte[0];
+        long contentLength = entity.getContentLength();
+        if (contentLength <= maxSize) {
+            //a content length outside of the int range cannot size the buffer
+            int initialSize = contentLength > 0 && contentLength <= Integer.MAX_VALUE ? (int) contentLength : 4096;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(initialSize);
+            long read = IOUtils.copyLarge(content, buffer, 0, maxSize + 1);
+            if (read <= maxSize) {
+                try {
+                    result.put(HttpClientService.RETURN_RESULT, new String(buffer.toByteArray(), Charset.forName(responseCharacterSet)));
+                } catch (UnsupportedCharsetException | IllegalCharsetNameException e) {
+                    throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
+                }
+                return;
+            }
+            head = buffer.toByteArray();
+        }
+
+        File responseFile = File.createTempFile(RESPONSE_FILE_PREFIX, ".tmp");
+        consumeToFile(new SequenceInputStream(new ByteArrayInputStream(head), content), responseFile, result);
+        result.put(HttpClientService.RETURN_RESULT, "");
+        result.put(HttpClientService.RESPONSE_FILE, responseFile.getAbsolutePath());
+    }
+
+    /**
+     * Writes the entity bytes to the file through a file channel, updating the checksum on the way.
+     */
+    private void consumeToFile(InputStream content, File file, Map<String, String> result) throws IOException {
+        MessageDigest digest = createDigest();
+        long bytesWritten = 0;
+        byte[] buffer = new byte[BINARY_BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        try (FileChannel channel = FileChannel.open(file.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                if (digest != null) {
+                    digest.update(buffer, 0, read);
+                }
+                byteBuffer.clear();
+                byteBuffer.limit(read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+                bytesWritten += read;
+            }
+        }
+        result.put(HttpClientService.BYTES_WRITTEN, String.valueOf(bytesWritten));
+        if (digest != null) {
+            result.put(HttpClientService.CHECKSUM, Hex.encodeHexString(digest.digest()));
+        }
+    }
+
+    private MessageDigest createDigest() {
+        if (StringUtils.isEmpty(checksumAlgorithm)) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Invalid value '" + checksumAlgorithm + "' for input '"
+                    + HttpClientInputs.CHECKSUM_ALGORITHM + "'. " + e.getMessage(), e);
+        }
+    }
+
+    private long parseMaxResponseSize() {
+        try {
+            long maxSize = Long.parseLong(maxResponseSize);
+            if (maxSize >= 0) {
+                return maxSize;
+            }
+        } catch (NumberFormatException ignore) {
+        }
+        throw new IllegalArgumentException("Invalid value '" + maxResponseSize + "' for input '"
+                + HttpClientInputs.MAX_RESPONSE_SIZE + "'. Valid values: 0 and positive integer values.");
+    }
+
     private void consumeToDestinationFile() throws IOException {
         BufferedReader reader;
         BufferedWriter fileWriter = null;
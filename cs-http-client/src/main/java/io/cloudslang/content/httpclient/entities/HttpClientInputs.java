@@ -62,15 +62,23 @@ public class HttpClientInputs {
     public static final String KEEP_ALIVE = "keepAlive";
     public static final String CONNECTIONS_MAX_PER_ROUTE = "connectionsMaxPerRoute";
     public static final String CONNECTIONS_MAX_TOTAL = "connectionsMaxTotal";
+    public static final String RETRY_MAX_ATTEMPTS = "retryMaxAttempts";
+    public static final String RETRY_BACKOFF = "retryBackoff";
+    public static final String RETRY_JITTER = "retryJitter";
+    public static final String RETRY_STATUS_CODES = "retryStatusCodes";
     public static final String HEADERS = "headers";
     public static final String RESPONSE_CHARACTER_SET = "responseCharacterSet";
     public static final String DESTINATION_FILE = "destinationFile";
+    public static final String BINARY_DOWNLOAD = "binaryDownload";
+    public static final String CHECKSUM_ALGORITHM = "checksumAlgorithm";
+    public static final String MAX_RESPONSE_SIZE = "maxResponseSize";
     public static final String MULTIPART_BODIES = "multipartBodies";
     public static final String MULTIPART_BODIES_CONTENT_TYPE = "multipartBodiesContentType";
     public static final String MULTIPART_FILES = "multipartFiles";
     public static final String MULTIPART_FILES_CONTENT_TYPE = "multipartFilesContentType";
     public static final String MULTIPART_VALUES_ARE_URLENCODED = "multipartValuesAreURLEncoded";
     public static final String CHUNKED_REQUEST_ENTITY = "chunkedRequestEntity";
+    public static final String COMPRESSED_REQUEST_ENTITY = "compressedRequestEntity";
 
     public final static String SESSION_CONNECTION_POOL = "httpClientPoolingConnectionManager";
     public final static String SESSION_COOKIES = "httpClientCookieSession";
@@ -99,9 +107,16 @@ public class HttpClientInputs {
     private String keepAlive;
     private String connectionsMaxPerRoute;
     private String connectionsMaxTotal;
+    private String retryMaxAttempts;
+    private String retryBackoff;
+    private String retryJitter;
+    private String retryStatusCodes;
     private String headers;
     private String responseCharacterSet;
     private String destinationFile;
+    private String binaryDownload;
+    private String checksumAlgorithm;
+    private String maxResponseSize;
     private String followRedirects;
     private String queryParams;
     private String queryParamsAreURLEncoded;
@@ -117,6 +132,7 @@ public class HttpClientInputs {
     private String multipartBodiesContentType;
     private String multipartFilesContentType;
     private String chunkedRequestEntity;
+    private String compressedRequestEntity;
     private String method;
     private String tlsVersion;
     private String allowedCyphers;
@@ -125,6 +141,71 @@ public class HttpClientInputs {
     private GlobalSessionObject connectionPoolSessionObject;
     private String queryParamsAreFormEncoded;
 
+    public HttpClientInputs() {
+    }
+
+    /**
+     * Creates a copy of the inputs, the session objects are shared with the original inputs.
+     */
+    public HttpClientInputs(HttpClientInputs httpClientInputs) {
+        this.url = httpClientInputs.url;
+        this.authType = httpClientInputs.authType;
+        this.preemptiveAuth = httpClientInputs.preemptiveAuth;
+        this.username = httpClientInputs.username;
+        this.password = httpClientInputs.password;
+        this.kerberosConfFile = httpClientInputs.kerberosConfFile;
+        this.kerberosLoginConfFile = httpClientInputs.kerberosLoginConfFile;
+        this.kerberosSkipPortCheck = httpClientInputs.kerberosSkipPortCheck;
+        this.proxyHost = httpClientInputs.proxyHost;
+        this.proxyPort = httpClientInputs.proxyPort;
+        this.proxyUsername = httpClientInputs.proxyUsername;
+        this.proxyPassword = httpClientInputs.proxyPassword;
+        this.trustAllRoots = httpClientInputs.trustAllRoots;
+        this.x509HostnameVerifier = httpClientInputs.x509HostnameVerifier;
+        this.trustKeystore = httpClientInputs.trustKeystore;
+        this.trustPassword = httpClientInputs.trustPassword;
+        this.keystore = httpClientInputs.keystore;
+        this.keystorePassword = httpClientInputs.keystorePassword;
+        this.connectTimeout = httpClientInputs.connectTimeout;
+        this.socketTimeout = httpClientInputs.socketTimeout;
+        this.useCookies = httpClientInputs.useCookies;
+        this.keepAlive = httpClientInputs.keepAlive;
+        this.connectionsMaxPerRoute = httpClientInputs.connectionsMaxPerRoute;
+        this.connectionsMaxTotal = httpClientInputs.connectionsMaxTotal;
+        this.retryMaxAttempts = httpClientInputs.retryMaxAttempts;
+        this.retryBackoff = httpClientInputs.retryBackoff;
+        this.retryJitter = httpClientInputs.retryJitter;
+        this.retryStatusCodes = httpClientInputs.retryStatusCodes;
+        this.headers = httpClientInputs.headers;
+        this.responseCharacterSet = httpClientInputs.responseCharacterSet;
+        this.destinationFile = httpClientInputs.destinationFile;
+        this.binaryDownload = httpClientInputs.binaryDownload;
+        this.checksumAlgorithm = httpClientInputs.checksumAlgorithm;
+        this.maxResponseSize = httpClientInputs.maxResponseSize;
+        this.followRedirects = httpClientInputs.followRedirects;
+        this.queryParams = httpClientInputs.queryParams;
+        this.queryParamsAreURLEncoded = httpClientInputs.queryParamsAreURLEncoded;
+        this.formParams = httpClientInputs.formParams;
+        this.formParamsAreURLEncoded = httpClientInputs.formParamsAreURLEncoded;
+        this.sourceFile = httpClientInputs.sourceFile;
+        this.body = httpClientInputs.body;
+        this.contentType = httpClientInputs.contentType;
+        this.requestCharacterSet = httpClientInputs.requestCharacterSet;
+        this.multipartBodies = httpClientInputs.multipartBodies;
+        this.multipartFiles = httpClientInputs.multipartFiles;
+        this.multipartValuesAreURLEncoded = httpClientInputs.multipartValuesAreURLEncoded;
+        this.multipartBodiesContentType = httpClientInputs.multipartBodiesContentType;
+        this.multipartFilesContentType = httpClientInputs.multipartFilesContentType;
+        this.chunkedRequestEntity = httpClientInputs.chunkedRequestEntity;
+        this.compressedRequestEntity = httpClientInputs.compressedRequestEntity;
+        this.method = httpClientInputs.method;
+        this.tlsVersion = httpClientInputs.tlsVersion;
+        this.allowedCyphers = httpClientInputs.allowedCyphers;
+        this.cookieStoreSessionObject = httpClientInputs.cookieStoreSessionObject;
+        this.connectionPoolSessionObject = httpClientInputs.connectionPoolSessionObject;
+        this.queryParamsAreFormEncoded = httpClientInputs.queryParamsAreFormEncoded;
+    }
+
     public String getAllowedCyphers() {
         return allowedCyphers;
     }
@@ -333,6 +414,38 @@ public class HttpClientInputs {
         this.connectionsMaxTotal = connectionsMaxTotal;
     }
 
+    public String getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(String retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public String getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(String retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public String getRetryJitter() {
+        return retryJitter;
+    }
+
+    public void setRetryJitter(String retryJitter) {
+        this.retryJitter = retryJitter;
+    }
+
+    public String getRetryStatusCodes() {
+        return retryStatusCodes;
+    }
+
+    public void setRetryStatusCodes(String retryStatusCodes) {
+        this.retryStatusCodes = retryStatusCodes;
+    }
+
     public String getHeaders() {
         return headers;
     }
@@ -357,6 +470,30 @@ public class HttpClientInputs {
         this.destinationFile = destinationFile;
     }
 
+    public String getBinaryDownload() {
+        return binaryDownload;
+    }
+
+    public void setBinaryDownload(String binaryDownload) {
+        this.binaryDownload = binaryDownload;
+    }
+
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    public void setChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+    }
+
+    public String getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public void setMaxResponseSize(String maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
     public String getFollowRedirects() {
         return followRedirects;
     }
@@ -485,6 +622,14 @@ public class HttpClientInputs {
         this.chunkedRequestEntity = chunkedRequestEntity;
     }
 
+    public String getCompressedRequestEntity() {
+        return compressedRequestEntity;
+    }
+
+    public void setCompressedRequestEntity(String compressedRequestEntity) {
+        this.compressedRequestEntity = compressedRequestEntity;
+    }
+
     public SerializableSessionObject getCookieStoreSessionObject() {
         return cookieStoreSessionObject;
     }
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The number of bytes of a compressed response entity, as received and after it was decompressed.
+ * <p>
+ * The http client decompresses the gzip and deflate entities transparently. {@link #COMPRESSED_CONTENT_INTERCEPTOR}
+ * runs before the decompression and counts the received bytes, {@link #DECOMPRESSED_CONTENT_INTERCEPTOR} runs after
+ * it and counts the bytes read by the response consumer. The statistics are kept on the context of the request.
+ */
+public class CompressionStatistics {
+    public static final String CONTEXT_ATTRIBUTE = "io.cloudslang.content.httpclient.compression-statistics";
+
+    public static final HttpResponseInterceptor COMPRESSED_CONTENT_INTERCEPTOR = new HttpResponseInterceptor() {
+        @Override
+        public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+            //a redirect or a retried response may have been compressed
+            context.removeAttribute(CONTEXT_ATTRIBUTE);
+            HttpEntity entity = response.getEntity();
+            if (entity == null || !isDecompressed(entity.getContentEncoding())) {
+                return;
+            }
+            CompressionStatistics compressionStatistics = new CompressionStatistics(entity.getContentEncoding().getValue());
+            context.setAttribute(CONTEXT_ATTRIBUTE, compressionStatistics);
+            response.setEntity(new CountingEntity(entity, compressionStatistics.compressedBytes));
+        }
+    };
+
+    public static final HttpResponseInterceptor DECOMPRESSED_CONTENT_INTERCEPTOR = new HttpResponseInterceptor() {
+        @Override
+        public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+            CompressionStatistics compressionStatistics = get(context);
+            if (compressionStatistics != null && response.getEntity() != null) {
+                response.setEntity(new CountingEntity(response.getEntity(), compressionStatistics.decompressedBytes));
+            }
+        }
+    };
+
+    private final String contentEncoding;
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong decompressedBytes = new AtomicLong();
+
+    public CompressionStatistics(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return the statistics of the response of the context or null if the response entity was not compressed
+     */
+    public static CompressionStatistics get(HttpContext context) {
+        return context != null ? (CompressionStatistics) context.getAttribute(CONTEXT_ATTRIBUTE) : null;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    public long getDecompressedBytes() {
+        return decompressedBytes.get();
+    }
+
+    private static boolean isDecompressed(Header contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        String value = contentEncoding.getValue().trim().toLowerCase(Locale.ROOT);
+        return value.equals("gzip") || value.equals("x-gzip") || value.equals("deflate");
+    }
+
+    private static class CountingEntity extends HttpEntityWrapper {
+        private final AtomicLong count;
+
+        private CountingEntity(HttpEntity wrappedEntity, AtomicLong count) {
+            super(wrappedEntity);
+            this.count = count;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new ProxyInputStream(super.getContent()) {
+                @Override
+                protected void afterRead(int n) {
+                    if (n > 0) {
+                        count.addAndGet(n);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try (InputStream content = getContent()) {
+                IOUtils.copy(content, outStream);
+            }
+        }
+    }
+}
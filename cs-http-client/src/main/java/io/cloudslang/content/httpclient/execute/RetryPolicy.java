@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.utils.DateUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The retry settings of a single request. It is set on the request context and applied by {@link RetryStrategy}.
+ * <p>
+ * The delay before a retry grows exponentially from the backoff base and a random part of up to 'jitter'
+ * times the delay is added to it. A 'Retry-After' header sent by the server takes the place of the computed delay.
+ * No delay is longer than {@link #MAX_DELAY}.
+ */
+public class RetryPolicy {
+    public static final String CONTEXT_ATTRIBUTE = "io.cloudslang.content.httpclient.retry-policy";
+    public static final long MAX_DELAY = TimeUnit.SECONDS.toMillis(60);
+
+    private final int maxAttempts;
+    private final long backoff;
+    private final double jitter;
+    private final Set<Integer> retryableStatusCodes;
+
+    public RetryPolicy(int maxAttempts, long backoff, double jitter, Set<Integer> retryableStatusCodes) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.jitter = jitter;
+        this.retryableStatusCodes = Collections.unmodifiableSet(retryableStatusCodes);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBackoff() {
+        return backoff;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public boolean isRetryableStatusCode(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * @param retry      the number of the retry, starting with 1
+     * @param retryAfter the value of the 'Retry-After' response header, in seconds or as an http date. It may be null
+     * @return the time to wait before the retry, in milliseconds
+     */
+    public long getDelay(int retry, String retryAfter) {
+        long retryAfterDelay = parseRetryAfter(retryAfter);
+        if (retryAfterDelay >= 0) {
+            return Math.min(retryAfterDelay, MAX_DELAY);
+        }
+        //the shift is bounded so that the delay does not overflow
+        long delay = Math.min(backoff << Math.min(retry - 1, 30), MAX_DELAY);
+        if (jitter > 0 && delay > 0) {
+            delay += (long) (ThreadLocalRandom.current().nextDouble() * jitter * delay);
+        }
+        return Math.min(delay, MAX_DELAY);
+    }
+
+    static long parseRetryAfter(String retryAfter) {
+        if (StringUtils.isBlank(retryAfter)) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        if (StringUtils.isNumeric(value)) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                return MAX_DELAY;
+            }
+        }
+        Date date = DateUtils.parseDate(value);
+        if (date == null) {
+            return -1;
+        }
+        return Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+}
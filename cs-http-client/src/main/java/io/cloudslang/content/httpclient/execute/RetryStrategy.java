@@ -0,0 +1,168 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries the requests whose context holds a {@link RetryPolicy}; the requests without one are never retried.
+ * <p>
+ * A single instance serves all the http clients, which are shared between requests, so all the request specific
+ * state is kept on the context. A response is retried when its status code is one of the retryable status codes
+ * and an I/O failure is retried in the same cases as with {@link DefaultHttpRequestRetryHandler}: never for a request
+ * that is not idempotent and was already sent. Both kinds of retries count towards the maximum number of attempts.
+ */
+public class RetryStrategy implements ServiceUnavailableRetryStrategy, HttpRequestRetryHandler {
+    public static final String RETRIES_ATTRIBUTE = "io.cloudslang.content.httpclient.retries";
+
+    private static final RetryStrategy INSTANCE = new RetryStrategy();
+    private static final DefaultHttpRequestRetryHandler IO_RETRY_HANDLER = new DefaultHttpRequestRetryHandler(1, false);
+
+    //getRetryInterval() has no context, the interval computed by retryRequest(...) is handed over on the executing thread
+    private final ThreadLocal<Long> retryInterval = new ThreadLocal<>();
+    private final AtomicLong retriedResponses = new AtomicLong();
+    private final AtomicLong retriedExceptions = new AtomicLong();
+    private final AtomicLong retryDelay = new AtomicLong();
+
+    public static RetryStrategy getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of retries done for the request of the context or null if the request has no retry policy
+     */
+    public static Integer getRetries(HttpContext context) {
+        if (context == null || context.getAttribute(RetryPolicy.CONTEXT_ATTRIBUTE) == null) {
+            return null;
+        }
+        AtomicInteger retries = (AtomicInteger) context.getAttribute(RETRIES_ATTRIBUTE);
+        return retries == null ? 0 : retries.get();
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int executionCount, HttpContext context) {
+        RetryPolicy retryPolicy = getRetryPolicy(context);
+        if (retryPolicy == null || !retryPolicy.isRetryableStatusCode(response.getStatusLine().getStatusCode())
+                || !isRepeatable(context)) {
+            return false;
+        }
+        Integer retry = nextRetry(retryPolicy, context);
+        if (retry == null) {
+            return false;
+        }
+        Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        long delay = retryPolicy.getDelay(retry, retryAfter != null ? retryAfter.getValue() : null);
+        retryInterval.set(delay);
+        retriedResponses.incrementAndGet();
+        retryDelay.addAndGet(delay);
+        return true;
+    }
+
+    @Override
+    public long getRetryInterval() {
+        Long delay = retryInterval.get();
+        retryInterval.remove();
+        return delay != null ? delay : 0;
+    }
+
+    @Override
+    public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+        RetryPolicy retryPolicy = getRetryPolicy(context);
+        if (retryPolicy == null || !IO_RETRY_HANDLER.retryRequest(exception, 1, context)) {
+            return false;
+        }
+        Integer retry = nextRetry(retryPolicy, context);
+        if (retry == null) {
+            return false;
+        }
+        long delay = retryPolicy.getDelay(retry, null);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        retriedExceptions.incrementAndGet();
+        retryDelay.addAndGet(delay);
+        return true;
+    }
+
+    /**
+     * @return the number of responses retried by all the requests of the process
+     */
+    public long getRetriedResponses() {
+        return retriedResponses.get();
+    }
+
+    /**
+     * @return the number of I/O failures retried by all the requests of the process
+     */
+    public long getRetriedExceptions() {
+        return retriedExceptions.get();
+    }
+
+    /**
+     * @return the total time, in milliseconds, waited before retries by all the requests of the process
+     */
+    public long getRetryDelay() {
+        return retryDelay.get();
+    }
+
+    private static RetryPolicy getRetryPolicy(HttpContext context) {
+        return context != null ? (RetryPolicy) context.getAttribute(RetryPolicy.CONTEXT_ATTRIBUTE) : null;
+    }
+
+    /**
+     * @return the number of the next retry or null if the request already used all its attempts
+     */
+    private static Integer nextRetry(RetryPolicy retryPolicy, HttpContext context) {
+        AtomicInteger retries = (AtomicInteger) context.getAttribute(RETRIES_ATTRIBUTE);
+        if (retries == null) {
+            retries = new AtomicInteger();
+            context.setAttribute(RETRIES_ATTRIBUTE, retries);
+        }
+        if (retries.get() >= retryPolicy.getMaxAttempts() - 1) {
+            return null;
+        }
+        return retries.incrementAndGet();
+    }
+
+    private static boolean isRepeatable(HttpContext context) {
+        HttpRequest request = HttpClientContext.adapt(context).getRequest();
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            return entity == null || entity.isRepeatable();
+        }
+        return true;
+    }
+}
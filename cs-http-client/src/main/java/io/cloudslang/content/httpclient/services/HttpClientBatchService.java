@@ -0,0 +1,246 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.services;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a list of independent http requests concurrently.
+ * <p>
+ * The requests run on a bounded executor that is reused by all the batches of the service. Its threads stop
+ * when they are idle, so the service does not need to be shut down. The requests share one connection pool
+ * (unless they already carry their own connection pool session object) which is released when the batch is done.
+ * The inputs are copied, the session objects of the batch are never written into the inputs of the caller.
+ * Every request gets its own copy of the cookies of the cookie session of its inputs, the cookies set by the
+ * responses are not written back to that session.
+ * The requests are queued per host and at most 'maxPerHost' of them run at the same time against the same host.
+ * The hosts take turns on the executor, so the requests of a busy host do not hold back the other hosts. The results
+ * are returned in the order of the inputs; a request that fails does not stop the others and its result holds the
+ * same outputs as a failed Http Client operation.
+ */
+public class HttpClientBatchService {
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_MAX_PER_HOST = 4;
+    public static final String FAILURE = "-1";
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private final int parallelism;
+    private final int maxPerHost;
+    private final ThreadPoolExecutor executor;
+
+    public HttpClientBatchService() {
+        this(DEFAULT_PARALLELISM, DEFAULT_MAX_PER_HOST);
+    }
+
+    public HttpClientBatchService(int parallelism, int maxPerHost) {
+        if (parallelism <= 0 || maxPerHost <= 0) {
+            throw new IllegalArgumentException("The parallelism and the maximum number of requests per host should be greater than 0");
+        }
+        this.parallelism = parallelism;
+        this.maxPerHost = maxPerHost;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "http-client-batch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public List<Map<String, String>> execute(List<HttpClientInputs> httpClientInputsList) {
+        List<Map<String, String>> results = new ArrayList<>(httpClientInputsList.size());
+        if (httpClientInputsList.isEmpty()) {
+            return results;
+        }
+
+        GlobalSessionObject sharedConnectionPool = new GlobalSessionObject();
+        Map<String, Queue<FutureTask<Map<String, String>>>> hostQueues = new LinkedHashMap<>();
+        List<FutureTask<Map<String, String>>> futures = new ArrayList<>(httpClientInputsList.size());
+        try {
+            for (HttpClientInputs httpClientInputs : httpClientInputsList) {
+                final HttpClientInputs requestInputs = new HttpClientInputs(httpClientInputs);
+                prepareInputs(requestInputs, sharedConnectionPool);
+                String host;
+                try {
+                    host = getHost(requestInputs.getUrl());
+                } catch (Exception e) {
+                    futures.add(failedFuture(e));
+                    continue;
+                }
+                FutureTask<Map<String, String>> future = new FutureTask<>(new Callable<Map<String, String>>() {
+                    @Override
+                    public Map<String, String> call() {
+                        return executeRequest(requestInputs);
+                    }
+                });
+                futures.add(future);
+                Queue<FutureTask<Map<String, String>>> hostQueue = hostQueues.get(host);
+                if (hostQueue == null) {
+                    hostQueue = new ConcurrentLinkedQueue<>();
+                    hostQueues.put(host, hostQueue);
+                }
+                hostQueue.add(future);
+            }
+            //all the requests are queued before the first one runs
+            for (Queue<FutureTask<Map<String, String>>> hostQueue : hostQueues.values()) {
+                for (int i = Math.min(maxPerHost, hostQueue.size()); i > 0; i--) {
+                    executor.execute(new HostWorker(hostQueue));
+                }
+            }
+            for (Future<Map<String, String>> future : futures) {
+                results.add(getResult(future));
+            }
+        } finally {
+            //the requests still running when the batch fails are cancelled before their connection pool is shut down
+            for (Future<Map<String, String>> future : futures) {
+                future.cancel(true);
+            }
+            releaseConnectionPool(sharedConnectionPool);
+        }
+        return results;
+    }
+
+    protected HttpClientService createHttpClientService() {
+        return new HttpClientService();
+    }
+
+    private void prepareInputs(HttpClientInputs httpClientInputs, GlobalSessionObject sharedConnectionPool) {
+        if (httpClientInputs.getConnectionPoolSessionObject() == null) {
+            httpClientInputs.setConnectionPoolSessionObject(sharedConnectionPool);
+        }
+        //the requests run at the same time, they should not read and write the same cookie session
+        SerializableSessionObject cookieStoreSessionObject = new SerializableSessionObject();
+        if (httpClientInputs.getCookieStoreSessionObject() != null) {
+            cookieStoreSessionObject.setValue(httpClientInputs.getCookieStoreSessionObject().getValue());
+        }
+        httpClientInputs.setCookieStoreSessionObject(cookieStoreSessionObject);
+        //the pool should not be the one limiting the concurrency
+        if (StringUtils.isEmpty(httpClientInputs.getConnectionsMaxPerRoute())) {
+            httpClientInputs.setConnectionsMaxPerRoute(String.valueOf(maxPerHost));
+        }
+        if (StringUtils.isEmpty(httpClientInputs.getConnectionsMaxTotal())) {
+            httpClientInputs.setConnectionsMaxTotal(String.valueOf(Math.max(parallelism, 20)));
+        }
+    }
+
+    private static void releaseConnectionPool(GlobalSessionObject connectionPool) {
+        if (connectionPool.getResource() != null) {
+            connectionPool.getResource().release();
+        }
+    }
+
+    private Map<String, String> executeRequest(HttpClientInputs httpClientInputs) {
+        try {
+            return createHttpClientService().execute(httpClientInputs);
+        } catch (Exception e) {
+            return exceptionResult(e);
+        }
+    }
+
+    private static String getHost(String url) {
+        return StringUtils.defaultString(URI.create(url).getHost()).toLowerCase();
+    }
+
+    private static FutureTask<Map<String, String>> failedFuture(final Exception e) {
+        FutureTask<Map<String, String>> future = new FutureTask<>(new Callable<Map<String, String>>() {
+            @Override
+            public Map<String, String> call() {
+                return exceptionResult(e);
+            }
+        });
+        future.run();
+        return future;
+    }
+
+    /**
+     * Runs the requests of one host, one at a time. There are at most 'maxPerHost' workers per host.
+     * A worker runs one request and then goes back to the end of the executor queue, so the threads
+     * are shared by all the hosts instead of being held by the first one.
+     */
+    private class HostWorker implements Runnable {
+        private final Queue<FutureTask<Map<String, String>>> hostQueue;
+
+        private HostWorker(Queue<FutureTask<Map<String, String>>> hostQueue) {
+            this.hostQueue = hostQueue;
+        }
+
+        @Override
+        public void run() {
+            FutureTask<Map<String, String>> future = hostQueue.poll();
+            if (future == null) {
+                return;
+            }
+            //a cancelled request is not run
+            future.run();
+            if (!hostQueue.isEmpty()) {
+                executor.execute(this);
+            }
+        }
+    }
+
+    private static Map<String, String> getResult(Future<Map<String, String>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return exceptionResult(e);
+        } catch (ExecutionException e) {
+            return exceptionResult(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+    }
+
+    private static Map<String, String> exceptionResult(Exception e) {
+        StringWriter writer = new StringWriter();
+        e.printStackTrace(new PrintWriter(writer));
+
+        Map<String, String> result = new HashMap<>();
+        result.put(HttpClientService.RETURN_RESULT, e.getMessage());
+        result.put(HttpClientService.RETURN_CODE, FAILURE);
+        result.put(HttpClientService.EXCEPTION, writer.toString());
+        return result;
+    }
+}
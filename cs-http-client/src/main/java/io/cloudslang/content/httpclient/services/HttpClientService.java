@@ -31,7 +31,10 @@ import io.cloudslang.content.httpclient.consume.FinalLocationConsumer;
 import io.cloudslang.content.httpclient.consume.HeadersConsumer;
 import io.cloudslang.content.httpclient.consume.HttpResponseConsumer;
 import io.cloudslang.content.httpclient.consume.StatusConsumer;
+import io.cloudslang.content.httpclient.execute.CompressionStatistics;
 import io.cloudslang.content.httpclient.execute.HttpClientExecutor;
+import io.cloudslang.content.httpclient.execute.RetryPolicy;
+import io.cloudslang.content.httpclient.execute.RetryStrategy;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -47,8 +50,8 @@ import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.DefaultConnectionReuseStrategy;
 import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
@@ -74,6 +77,12 @@ public class HttpClientService {
     public static final String RESPONSE_HEADERS = "responseHeaders";
     public static final String PROTOCOL_VERSION = "protocolVersion";
     public static final String REASON_PHRASE = "reasonPhrase";
+    public static final String BYTES_WRITTEN = "bytesWritten";
+    public static final String CHECKSUM = "checksum";
+    public static final String RESPONSE_FILE = "responseFile";
+    public static final String RETRIES = "retries";
+    public static final String COMPRESSED_BYTES = "compressedBytes";
+    public static final String DECOMPRESSED_BYTES = "decompressedBytes";
 
     private CookieStoreBuilder cookieStoreBuilder;
     private AuthSchemeProviderLookupBuilder authSchemeProviderLookupBuilder;
@@ -87,6 +96,7 @@ public class HttpClientService {
     private SSLConnectionSocketFactoryBuilder sslConnectionSocketFactoryBuilder;
     private ConnectionManagerBuilder poolingHttpClientConnectionManagerBuilder;
     private ContextBuilder contextBuilder;
+    private RetryPolicyBuilder retryPolicyBuilder;
     private HttpClientExecutor httpClientExecutor;
     private HttpResponseConsumer httpResponseConsumer;
     private FinalLocationConsumer finalLocationConsumer;
@@ -94,13 +104,24 @@ public class HttpClientService {
     private StatusConsumer statusConsumer;
 
     public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+        //a connection pool created for a single request is released as soon as the request is done
+        boolean ownsConnectionPool = httpClientInputs.getConnectionPoolSessionObject() == null;
         initSessionsObjects(httpClientInputs);
-        HttpComponents httpComponents = buildHttpComponents(httpClientInputs);
+        try {
+            return execute(httpClientInputs, buildHttpComponents(httpClientInputs));
+        } finally {
+            if (ownsConnectionPool) {
+                releaseConnectionPool(httpClientInputs);
+            }
+        }
+    }
 
+    private Map<String, String> execute(HttpClientInputs httpClientInputs, HttpComponents httpComponents) {
         CloseableHttpResponse httpResponse = execute(httpComponents.getCloseableHttpClient(),
                 httpComponents.getHttpRequestBase(),
                 httpComponents.getHttpClientContext());
 
+        initResponseConsumer(httpClientInputs);
         Map<String, String> result = parseResponse(httpResponse,
                 httpClientInputs.getResponseCharacterSet(),
                 httpClientInputs.getDestinationFile(),
@@ -109,6 +130,16 @@ public class HttpClientService {
                 httpComponents.getCookieStore(),
                 httpClientInputs.getCookieStoreSessionObject());
 
+        Integer retries = RetryStrategy.getRetries(httpComponents.getHttpClientContext());
+        if (retries != null) {
+            result.put(RETRIES, String.valueOf(retries));
+        }
+        CompressionStatistics compressionStatistics = CompressionStatistics.get(httpComponents.getHttpClientContext());
+        if (compressionStatistics != null) {
+            result.put(COMPRESSED_BYTES, String.valueOf(compressionStatistics.getCompressedBytes()));
+            result.put(DECOMPRESSED_BYTES, String.valueOf(compressionStatistics.getDecompressedBytes()));
+        }
+
         checkKeepAlive(httpComponents.getHttpRequestBase(),
                 httpComponents.getConnManager(),
                 httpClientInputs.getKeepAlive(),
@@ -129,6 +160,24 @@ public class HttpClientService {
         }
     }
 
+    private void releaseConnectionPool(HttpClientInputs httpClientInputs) {
+        GlobalSessionObject globalSessionObject = httpClientInputs.getConnectionPoolSessionObject();
+        httpClientInputs.setConnectionPoolSessionObject(null);
+        if (globalSessionObject != null && globalSessionObject.getResource() != null) {
+            globalSessionObject.getResource().release();
+        }
+    }
+
+    private void initResponseConsumer(HttpClientInputs httpClientInputs) {
+        if (httpResponseConsumer == null) {
+            httpResponseConsumer = new HttpResponseConsumer();
+        }
+        httpResponseConsumer
+                .setBinaryDownload(httpClientInputs.getBinaryDownload())
+                .setChecksumAlgorithm(httpClientInputs.getChecksumAlgorithm())
+                .setMaxResponseSize(httpClientInputs.getMaxResponseSize());
+    }
+
     public HttpComponents buildHttpComponents(HttpClientInputs httpClientInputs) {
         buildDefaultServices();
 
@@ -156,6 +205,7 @@ public class HttpClientService {
                 .setMultipartBodiesContentType(httpClientInputs.getMultipartBodiesContentType())
                 .setMultipartFilesContentType(httpClientInputs.getMultipartFilesContentType())
                 .setChunkedRequestEntity(httpClientInputs.getChunkedRequestEntity())
+                .setCompressedRequestEntity(httpClientInputs.getCompressedRequestEntity())
                 .buildEntity();
 
         HttpRequestBase httpRequestBase = requestBuilder
@@ -178,8 +228,6 @@ public class HttpClientService {
                 .buildRequestConfig();
         httpRequestBase.setConfig(requestConfig);
 
-        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
-
         AuthTypes authTypes = new AuthTypes(httpClientInputs.getAuthType());
 
         CredentialsProvider credentialsProvider = credentialsProviderBuilder
@@ -193,7 +241,6 @@ public class HttpClientService {
                 .setProxyHost(httpClientInputs.getProxyHost())
                 .setProxyPort(httpClientInputs.getProxyPort())
                 .buildCredentialsProvider();
-        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
 
         Lookup<AuthSchemeProvider> authSchemeLookup = authSchemeProviderLookupBuilder
                 .setAuthTypes(authTypes)
@@ -205,7 +252,6 @@ public class HttpClientService {
                 .setUsername(httpClientInputs.getUsername())
                 .setPassword(httpClientInputs.getPassword())
                 .buildAuthSchemeProviderLookup();
-        httpClientBuilder.setDefaultAuthSchemeRegistry(authSchemeLookup);
 
         httpRequestBase.setHeaders(theHeaders.toArray(new Header[theHeaders.size()]));
 
@@ -213,9 +259,6 @@ public class HttpClientService {
                 .setUseCookies(httpClientInputs.getUseCookies())
                 .setCookieStoreSessionObject(httpClientInputs.getCookieStoreSessionObject())
                 .buildCookieStore();
-        if (cookieStore != null) {
-            httpClientBuilder.setDefaultCookieStore(cookieStore);
-        }
 
         SSLConnectionSocketFactory sslConnectionSocketFactory = sslConnectionSocketFactoryBuilder
                 .setTrustAllRoots(httpClientInputs.getTrustAllRoots())
@@ -240,24 +283,37 @@ public class HttpClientService {
                 .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
                 .buildConnectionManager();
 
-        httpClientBuilder.setConnectionManager(connManager);
-
-        if (StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive())) {
-            httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
-        } else {
-            httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        RetryPolicy retryPolicy = retryPolicyBuilder
+                .setMaxAttempts(httpClientInputs.getRetryMaxAttempts())
+                .setBackoff(httpClientInputs.getRetryBackoff())
+                .setJitter(httpClientInputs.getRetryJitter())
+                .setStatusCodes(httpClientInputs.getRetryStatusCodes())
+                .buildRetryPolicy();
+
+        boolean keepAlive = StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive());
+        //the clients are cached by the connection pool session object that owns their connection manager
+        HttpClientCache httpClientCache = ConnectionManagerBuilder.getHttpClientCache(httpClientInputs.getConnectionPoolSessionObject());
+        CloseableHttpClient closeableHttpClient = httpClientCache != null ? httpClientCache.get(connManager, keepAlive) : null;
+        if (closeableHttpClient == null) {
+            closeableHttpClient = buildHttpClient(connManager, keepAlive);
+            if (httpClientCache != null) {
+                closeableHttpClient = httpClientCache.put(connManager, keepAlive, closeableHttpClient);
+            }
         }
 
-        httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
-
-        CloseableHttpClient closeableHttpClient = httpClientBuilder.build();
-
         HttpClientContext context = contextBuilder
                 .setAuthSchemeLookup(authSchemeLookup)
                 .setAuthTypes(authTypes)
                 .setCredentialsProvider(credentialsProvider)
                 .setUri(uri)
                 .setPreemptiveAuth(httpClientInputs.getPreemptiveAuth()).build();
+        //the cached client is shared between requests so the request specific state is set on the context
+        context.setCredentialsProvider(credentialsProvider);
+        context.setAuthSchemeRegistry(authSchemeLookup);
+        context.setCookieStore(cookieStore != null ? cookieStore : new BasicCookieStore());
+        if (retryPolicy != null) {
+            context.setAttribute(RetryPolicy.CONTEXT_ATTRIBUTE, retryPolicy);
+        }
 
         HttpComponents result = new HttpComponents();
         result.setCloseableHttpClient(closeableHttpClient);
@@ -266,10 +322,32 @@ public class HttpClientService {
         result.setUri(uri);
         result.setConnManager(connManager);
         result.setCookieStore(cookieStore);
-        result.setHttpClientBuilder(httpClientBuilder);
         return result;
     }
 
+    private CloseableHttpClient buildHttpClient(PoolingHttpClientConnectionManager connManager, boolean keepAlive) {
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+        httpClientBuilder.setConnectionManager(connManager);
+        //the connection manager is owned by the connection pool session object, not by the client
+        httpClientBuilder.setConnectionManagerShared(true);
+
+        if (keepAlive) {
+            httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
+        } else {
+            httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+
+        //requests are only retried when their context holds a retry policy
+        httpClientBuilder.setRetryHandler(RetryStrategy.getInstance());
+        httpClientBuilder.setServiceUnavailableRetryStrategy(RetryStrategy.getInstance());
+
+        //count the bytes of the compressed entities before and after the transparent decompression
+        httpClientBuilder.addInterceptorFirst(CompressionStatistics.COMPRESSED_CONTENT_INTERCEPTOR);
+        httpClientBuilder.addInterceptorLast(CompressionStatistics.DECOMPRESSED_CONTENT_INTERCEPTOR);
+
+        return httpClientBuilder.build();
+    }
+
 
     public CloseableHttpResponse execute(CloseableHttpClient closeableHttpClient,
                                          HttpRequestBase httpRequestBase,
@@ -310,7 +388,8 @@ public class HttpClientService {
         headersConsumer.setHeaders(httpResponse.getAllHeaders()).consume(result);
         statusConsumer.setStatusLine(httpResponse.getStatusLine()).consume(result);
 
-        if (cookieStore != null) {
+        //an unchanged cookie store is not written back
+        if (cookieStore != null && CookieStoreBuilder.isModified(cookieStore)) {
             try {
                 cookieStoreSessionObject.setValue(
                         CookieStoreBuilder.serialize(cookieStore));
@@ -409,6 +488,9 @@ public class HttpClientService {
         if (poolingHttpClientConnectionManagerBuilder == null) {
             poolingHttpClientConnectionManagerBuilder = new ConnectionManagerBuilder();
         }
+        if (retryPolicyBuilder == null) {
+            retryPolicyBuilder = new RetryPolicyBuilder();
+        }
         if (contextBuilder == null) {
             contextBuilder = new ContextBuilder();
         }
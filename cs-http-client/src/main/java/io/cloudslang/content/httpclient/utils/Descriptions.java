@@ -28,6 +28,16 @@ public class Descriptions {
         public static final String RETURN_RESULT_DESC = "The percent-decoded 'url'. In case of an error this output will contain the error message.";
     }
 
+    public static class ConnectionPoolStatistics {
+        public static final String CONNECTION_POOL_STATISTICS_DESC = "This operation returns the statistics of the connection pools used by the Http Client operation in the current execution.";
+        public static final String SESSION_CONNECTION_POOL_DESC = "The GlobalSessionObject that holds the http client pooling connection managers.";
+        public static final String RETURN_RESULT_DESC = "One line for each connection pool with its total statistics, followed by one line for each of its routes. Format: <pool> route <route>: leased=<n>, available=<n>, pending=<n>, max=<n>. In case of an error this output will contain the error message.";
+        public static final String LEASED_DESC = "The number of connections leased from all the connection pools.";
+        public static final String AVAILABLE_DESC = "The number of idle connections kept alive in all the connection pools.";
+        public static final String PENDING_DESC = "The number of requests waiting for a connection in all the connection pools.";
+        public static final String MAX_DESC = "The sum of the maximum number of connections allowed by all the connection pools.";
+    }
+
     public static class Commons {
         public static final String URL_DESC = "Any text like query or form values. Adding a whole URL will not work.";
         public static final String CHARACTER_SET_DESC = "The character encoding used for URL encoding. Leave this UTF-8, like the standard recommends and because the inputs are stored as UTF-8.";
@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.cloudslang.content.httpclient.actions.HttpClientAction;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class HttpClientActionTest {
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = (exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("X-Test")).getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void executeWithInputsOfFirstVersionByPosition() {
+        Map<String, String> result = new HttpClientAction().execute(
+                "http://localhost:" + server.getAddress().getPort() + "/", null, null, "anonymous", null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, "false", "true",
+                null, null, "X-Test:first", null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, "PUT", null, null);
+
+        assertEquals(HttpClientService.SUCCESS, result.get(HttpClientService.RETURN_CODE));
+        assertEquals("PUT first", result.get(HttpClientService.RETURN_RESULT));
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionManagerBuilder;
+import io.cloudslang.content.httpclient.build.conn.IdleConnectionMonitor;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientBatchService;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientBatchServiceTest {
+
+    @Test
+    public void executeKeepsInputOrder() {
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            inputs.add(inputs("http://host" + (i % 3) + "/item/" + i));
+        }
+
+        List<Map<String, String>> results = new HttpClientBatchService(4, 2) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(null, null);
+            }
+        }.execute(inputs);
+
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("http://host" + (i % 3) + "/item/" + i, results.get(i).get(HttpClientService.RETURN_RESULT));
+            assertEquals(HttpClientService.SUCCESS, results.get(i).get(HttpClientService.RETURN_CODE));
+        }
+    }
+
+    @Test
+    public void executeSharesConnectionPoolAndLimitsHost() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Set<GlobalSessionObject> connectionPools = Collections.newSetFromMap(new ConcurrentHashMap<GlobalSessionObject, Boolean>());
+        final Set<String> connectionsMaxPerRoute = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            inputs.add(inputs("http://samehost/item/" + i));
+        }
+
+        new HttpClientBatchService(6, 2) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(running, maxRunning) {
+                    @Override
+                    public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+                        connectionPools.add(httpClientInputs.getConnectionPoolSessionObject());
+                        connectionsMaxPerRoute.add(httpClientInputs.getConnectionsMaxPerRoute());
+                        return super.execute(httpClientInputs);
+                    }
+                };
+            }
+        }.execute(inputs);
+
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(1, connectionPools.size());
+        assertEquals(Collections.singleton("2"), connectionsMaxPerRoute);
+    }
+
+    @Test
+    public void executeDoesNotChangeInputsAndReleasesConnectionPool() {
+        final List<PoolingHttpClientConnectionManager> connectionManagers = new CopyOnWriteArrayList<>();
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            inputs.add(inputs("http://host/item/" + i));
+        }
+
+        HttpClientBatchService batchService = new HttpClientBatchService(2, 2) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(null, null) {
+                    @Override
+                    public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+                        connectionManagers.add(new ConnectionManagerBuilder()
+                                .setConnectionManagerMapKey("key")
+                                .setSslsf(SSLConnectionSocketFactory.getSocketFactory())
+                                .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
+                                .buildConnectionManager());
+                        return super.execute(httpClientInputs);
+                    }
+                };
+            }
+        };
+        batchService.execute(inputs);
+        batchService.execute(inputs);
+
+        for (HttpClientInputs httpClientInputs : inputs) {
+            assertNull(httpClientInputs.getConnectionPoolSessionObject());
+            assertNull(httpClientInputs.getConnectionsMaxPerRoute());
+            assertNull(httpClientInputs.getConnectionsMaxTotal());
+        }
+        assertEquals(8, connectionManagers.size());
+        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers) {
+            assertFalse(IdleConnectionMonitor.getInstance().isRegistered(connectionManager));
+        }
+    }
+
+    @Test
+    public void executeDoesNotHoldOtherHostsBehindBusyHost() {
+        final CountDownLatch otherHostDone = new CountDownLatch(1);
+        final List<String> events = new CopyOnWriteArrayList<>();
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            inputs.add(inputs("http://busyhost/item/" + i));
+        }
+        inputs.add(inputs("http://otherhost/item"));
+
+        new HttpClientBatchService(2, 1) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(null, null) {
+                    @Override
+                    public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+                        events.add(httpClientInputs.getUrl());
+                        if (httpClientInputs.getUrl().contains("otherhost")) {
+                            otherHostDone.countDown();
+                        } else {
+                            try {
+                                otherHostDone.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        return super.execute(httpClientInputs);
+                    }
+                };
+            }
+        }.execute(inputs);
+
+        assertTrue(events.toString(), events.indexOf("http://otherhost/item") < events.indexOf("http://busyhost/item/1"));
+    }
+
+    @Test
+    public void executeGivesEveryRequestItsOwnCookieSession() {
+        final Set<SerializableSessionObject> cookieSessions = Collections.newSetFromMap(new ConcurrentHashMap<SerializableSessionObject, Boolean>());
+        final Set<Serializable> initialCookies = Collections.newSetFromMap(new ConcurrentHashMap<Serializable, Boolean>());
+        SerializableSessionObject callerCookieSession = new SerializableSessionObject();
+        callerCookieSession.setValue("caller cookies");
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            HttpClientInputs httpClientInputs = inputs("http://host/item/" + i);
+            httpClientInputs.setCookieStoreSessionObject(callerCookieSession);
+            inputs.add(httpClientInputs);
+        }
+
+        new HttpClientBatchService(4, 4) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(null, null) {
+                    @Override
+                    public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+                        SerializableSessionObject cookieSession = httpClientInputs.getCookieStoreSessionObject();
+                        cookieSessions.add(cookieSession);
+                        initialCookies.add(cookieSession.getValue());
+                        cookieSession.setValue(httpClientInputs.getUrl());
+                        return super.execute(httpClientInputs);
+                    }
+                };
+            }
+        }.execute(inputs);
+
+        assertEquals(4, cookieSessions.size());
+        assertFalse(cookieSessions.contains(callerCookieSession));
+        assertEquals(Collections.<Serializable>singleton("caller cookies"), initialCookies);
+        assertEquals("caller cookies", callerCookieSession.getValue());
+    }
+
+    @Test
+    public void executeReportsFailurePerItem() {
+        List<HttpClientInputs> inputs = new ArrayList<>();
+        inputs.add(inputs("http://host/ok"));
+        inputs.add(inputs("http://host/fail"));
+        inputs.add(inputs("not a valid url"));
+
+        List<Map<String, String>> results = new HttpClientBatchService(2, 2) {
+            @Override
+            protected HttpClientService createHttpClientService() {
+                return new StubHttpClientService(null, null);
+            }
+        }.execute(inputs);
+
+        assertEquals(HttpClientService.SUCCESS, results.get(0).get(HttpClientService.RETURN_CODE));
+        assertEquals(HttpClientBatchService.FAILURE, results.get(1).get(HttpClientService.RETURN_CODE));
+        assertEquals("request failed", results.get(1).get(HttpClientService.RETURN_RESULT));
+        assertEquals(HttpClientBatchService.FAILURE, results.get(2).get(HttpClientService.RETURN_CODE));
+    }
+
+    private static HttpClientInputs inputs(String url) {
+        HttpClientInputs httpClientInputs = new HttpClientInputs();
+        httpClientInputs.setUrl(url);
+        httpClientInputs.setMethod("GET");
+        return httpClientInputs;
+    }
+
+    private static class StubHttpClientService extends HttpClientService {
+        private final AtomicInteger running;
+        private final AtomicInteger maxRunning;
+
+        private StubHttpClientService(AtomicInteger running, AtomicInteger maxRunning) {
+            this.running = running;
+            this.maxRunning = maxRunning;
+        }
+
+        @Override
+        public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+            if (httpClientInputs.getUrl().endsWith("fail")) {
+                throw new RuntimeException("request failed");
+            }
+            if (running != null) {
+                int current = running.incrementAndGet();
+                maxRunning.set(Math.max(maxRunning.get(), current));
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }
+            Map<String, String> result = new HashMap<>();
+            result.put(HttpClientService.RETURN_RESULT, httpClientInputs.getUrl());
+            result.put(HttpClientService.RETURN_CODE, HttpClientService.SUCCESS);
+            return result;
+        }
+    }
+}
@@ -19,15 +19,28 @@ package io.cloudslang.content.httpclient.build;
 
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import org.apache.http.client.CookieStore;
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.cookie.Cookie;
 import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * User: Adina Tusa
@@ -86,4 +99,105 @@ public class CookieStoreBuilderTest {
 
         assertNull(cookieStore);
     }
+
+    @Test
+    public void serializeKeepsCookieFieldsAndDropsExpiredCookies() throws Exception {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        BasicClientCookie cookie = cookie("session", "abc", new Date(System.currentTimeMillis() + 60000));
+        cookie.setAttribute(ClientCookie.DOMAIN_ATTR, "example.com");
+        cookie.setSecure(true);
+        basicCookieStore.addCookie(cookie);
+        basicCookieStore.addCookie(cookie("expiring", "x", new Date(System.currentTimeMillis() + 200)));
+        Thread.sleep(300);
+
+        SessionCookieStore cookieStore = CookieStoreBuilder.deserialize(CookieStoreBuilder.serialize(basicCookieStore));
+
+        assertEquals(1, cookieStore.getCookies().size());
+        BasicClientCookie readCookie = (BasicClientCookie) cookieStore.getCookies().get(0);
+        assertEquals("session", readCookie.getName());
+        assertEquals("abc", readCookie.getValue());
+        assertEquals("example.com", readCookie.getDomain());
+        assertEquals("/", readCookie.getPath());
+        assertEquals(cookie.getExpiryDate(), readCookie.getExpiryDate());
+        assertTrue(readCookie.isSecure());
+        assertEquals("example.com", readCookie.getAttribute(ClientCookie.DOMAIN_ATTR));
+        assertFalse(readCookie.containsAttribute(ClientCookie.PATH_ATTR));
+    }
+
+    @Test
+    public void buildCookieStoreTracksModifications() throws IOException {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        basicCookieStore.addCookie(cookie("session", "abc", null));
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        sessionObjectHolder.setValue(CookieStoreBuilder.serialize(basicCookieStore));
+
+        CookieStore cookieStore = cookieStoreBuilder
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+        assertFalse(CookieStoreBuilder.isModified(cookieStore));
+
+        cookieStore.addCookie(cookie("session", "abc", null));
+        assertFalse(CookieStoreBuilder.isModified(cookieStore));
+
+        cookieStore.addCookie(cookie("session", "def", null));
+        assertTrue(CookieStoreBuilder.isModified(cookieStore));
+        assertTrue(CookieStoreBuilder.isModified(new BasicCookieStore()));
+    }
+
+    @Test
+    public void buildCookieStoreFromJavaSerialization() throws IOException {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        basicCookieStore.addCookie(cookie("session", "abc", null));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(basicCookieStore);
+        }
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        sessionObjectHolder.setValue(bytes.toByteArray());
+
+        CookieStore cookieStore = cookieStoreBuilder
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+
+        Cookie cookie = cookieStore.getCookies().get(0);
+        assertEquals("session", cookie.getName());
+        assertEquals("abc", cookie.getValue());
+        assertTrue(CookieStoreBuilder.isModified(cookieStore));
+    }
+
+    @Test
+    public void deserializeJavaSerializationWithCookie2() throws Exception {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        BasicClientCookie2 cookie2 = new BasicClientCookie2("session2", "def");
+        cookie2.setPorts(new int[]{80, 8080});
+        cookie2.setAttribute(ClientCookie.PATH_ATTR, "/");
+        cookie2.setExpiryDate(new Date(System.currentTimeMillis() + 60000));
+        basicCookieStore.addCookie(cookie2);
+        basicCookieStore.addCookie(cookie("session", "abc", null));
+
+        CookieStore cookieStore = CookieStoreBuilder.deserialize(javaSerialize(basicCookieStore));
+
+        assertEquals(2, cookieStore.getCookies().size());
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void deserializeJavaSerializationRejectsOtherClasses() throws Exception {
+        CookieStoreBuilder.deserialize(javaSerialize(new HashSet<>(Collections.singleton(new URL("http://example.com")))));
+    }
+
+    private static byte[] javaSerialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BasicClientCookie cookie(String name, String value, Date expiryDate) {
+        BasicClientCookie cookie = new BasicClientCookie(name, value);
+        cookie.setDomain("example.com");
+        cookie.setPath("/");
+        cookie.setExpiryDate(expiryDate);
+        return cookie;
+    }
 }
@@ -17,7 +17,9 @@
 
 package io.cloudslang.content.httpclient.build;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.entity.StringEntity;
@@ -29,7 +31,10 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.util.zip.GZIPInputStream;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
@@ -63,6 +68,22 @@ public class EntityBuilderTest {
         assertNull(stringEntity.getContentType());
     }
 
+    @Test
+    public void buildCompressedEntity() throws Exception {
+        HttpEntity httpEntity = entityBuilder
+                .setBody("testBody")
+                .setContentType(ContentType.parse(CONTENT_TYPE))
+                .setCompressedRequestEntity("true")
+                .buildEntity();
+        assertThat(httpEntity, instanceOf(GzipCompressingEntity.class));
+        assertEquals("gzip", httpEntity.getContentEncoding().getValue());
+        assertEquals(CONTENT_TYPE, httpEntity.getContentType().getValue());
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        httpEntity.writeTo(compressed);
+        assertEquals("testBody", IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())), "ISO-8859-1"));
+    }
+
     @Test
     public void buildEntityWithContentType() {
         ContentType parsedContentType = ContentType.parse(CONTENT_TYPE);
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.IOException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientCacheTest {
+
+    @Mock
+    private PoolingHttpClientConnectionManager connManager1;
+    @Mock
+    private PoolingHttpClientConnectionManager connManager2;
+    @Mock
+    private CloseableHttpClient client1;
+    @Mock
+    private CloseableHttpClient client2;
+
+    @Test
+    public void getCachedClient() throws IOException {
+        HttpClientCache cache = new HttpClientCache(10, HttpClientCache.DEFAULT_IDLE_TIMEOUT);
+        assertNull(cache.get(connManager1, true));
+
+        assertSame(client1, cache.put(connManager1, true, client1));
+        assertSame(client1, cache.get(connManager1, true));
+        assertNull(cache.get(connManager1, false));
+        assertNull(cache.get(connManager2, true));
+        verify(client1, never()).close();
+    }
+
+    @Test
+    public void putKeepsPreviouslyCachedClient() throws IOException {
+        HttpClientCache cache = new HttpClientCache(10, HttpClientCache.DEFAULT_IDLE_TIMEOUT);
+        cache.put(connManager1, true, client1);
+
+        assertSame(client1, cache.put(connManager1, true, client2));
+        assertEquals(1, cache.size());
+        verify(client2).close();
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedClient() throws IOException {
+        HttpClientCache cache = new HttpClientCache(1, HttpClientCache.DEFAULT_IDLE_TIMEOUT);
+        cache.put(connManager1, true, client1);
+        cache.put(connManager2, true, client2);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(connManager1, true));
+        assertSame(client2, cache.get(connManager2, true));
+        verify(client1).close();
+    }
+
+    @Test
+    public void evictIdleClient() throws Exception {
+        HttpClientCache cache = new HttpClientCache(10, 0);
+        cache.put(connManager1, true, client1);
+        Thread.sleep(5);
+
+        assertNull(cache.get(connManager1, true));
+        assertEquals(0, cache.size());
+        verify(client1).close();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build;
+
+import io.cloudslang.content.httpclient.execute.RetryPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyBuilderTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void buildNoRetryByDefault() {
+        assertNull(new RetryPolicyBuilder().buildRetryPolicy());
+        assertNull(new RetryPolicyBuilder().setMaxAttempts("1").buildRetryPolicy());
+    }
+
+    @Test
+    public void buildRetryPolicy() {
+        RetryPolicy retryPolicy = new RetryPolicyBuilder()
+                .setMaxAttempts("3")
+                .setBackoff("100")
+                .setJitter("0")
+                .setStatusCodes("500, 503")
+                .buildRetryPolicy();
+        assertEquals(3, retryPolicy.getMaxAttempts());
+        assertTrue(retryPolicy.isRetryableStatusCode(500));
+        assertTrue(retryPolicy.isRetryableStatusCode(503));
+        assertFalse(retryPolicy.isRetryableStatusCode(429));
+        assertEquals(100, retryPolicy.getDelay(1, null));
+        assertEquals(200, retryPolicy.getDelay(2, null));
+        assertEquals(400, retryPolicy.getDelay(3, null));
+        assertEquals(RetryPolicy.MAX_DELAY, retryPolicy.getDelay(40, null));
+    }
+
+    @Test
+    public void retryAfterReplacesBackoff() {
+        RetryPolicy retryPolicy = new RetryPolicyBuilder().setMaxAttempts("2").buildRetryPolicy();
+        assertEquals(2000, retryPolicy.getDelay(1, "2"));
+        assertEquals(RetryPolicy.MAX_DELAY, retryPolicy.getDelay(1, "3600"));
+        assertEquals(0, retryPolicy.getDelay(1, "Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    @Test
+    public void jitterIsBounded() {
+        RetryPolicy retryPolicy = new RetryPolicyBuilder().setMaxAttempts("2").setBackoff("1000").setJitter("0.5").buildRetryPolicy();
+        for (int i = 0; i < 100; i++) {
+            long delay = retryPolicy.getDelay(1, null);
+            assertTrue(delay >= 1000 && delay <= 1500);
+        }
+    }
+
+    @Test
+    public void buildInvalidJitter() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("retryJitter");
+        new RetryPolicyBuilder().setMaxAttempts("2").setJitter("2").buildRetryPolicy();
+    }
+
+    @Test
+    public void buildInvalidStatusCodes() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("retryStatusCodes");
+        new RetryPolicyBuilder().setMaxAttempts("2").setStatusCodes("503,abc").buildRetryPolicy();
+    }
+}
@@ -27,11 +27,15 @@ import org.apache.http.impl.auth.DigestSchemeFactory;
 import org.apache.http.impl.auth.KerberosSchemeFactory;
 import org.junit.Test;
 
+import javax.security.auth.Subject;
+import javax.security.auth.login.LoginException;
 import java.util.ArrayList;
 
 import static junit.framework.Assert.assertEquals;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * Created with IntelliJ IDEA.
@@ -63,6 +67,56 @@ public class AuthSchemeProviderLookupBuilderTest {
         assertThat(provider, instanceOf(KerberosSchemeFactory.class));
     }
 
+    @Test
+    public void buildLookupWithKerberosSubject() {
+        final Subject subject = new Subject();
+        KerberosSubjectCache subjectCache = new KerberosSubjectCache() {
+            @Override
+            protected Subject login(String username, String password, String loginConfigFile) {
+                return subject;
+            }
+        };
+        Lookup<AuthSchemeProvider> lookup = new AuthSchemeProviderLookupBuilder()
+                .setAuthTypes(new AuthTypes(AuthSchemes.KERBEROS))
+                .setHost("myweb.contoso.com")
+                .setUsername("user")
+                .setPassword("pass")
+                .setKerberosSubjectCache(subjectCache)
+                .buildAuthSchemeProviderLookup();
+
+        AuthSchemeProvider provider = lookup.lookup(AuthSchemes.KERBEROS);
+        assertThat(provider, instanceOf(SubjectSchemeFactory.class));
+        assertSame(subject, ((SubjectSchemeFactory) provider).getSubject());
+        assertEquals(AuthSchemes.KERBEROS, provider.create(null).getSchemeName());
+        assertThat(lookup.lookup(AuthSchemes.SPNEGO), instanceOf(SubjectSchemeFactory.class));
+        assertEquals(AuthSchemes.SPNEGO, lookup.lookup(AuthSchemes.SPNEGO).create(null).getSchemeName());
+        assertEquals(1, subjectCache.size());
+    }
+
+    @Test
+    public void buildLookupWithFailedKerberosLogin() {
+        KerberosSubjectCache subjectCache = new KerberosSubjectCache() {
+            @Override
+            protected Subject login(String username, String password, String loginConfigFile) throws LoginException {
+                throw new LoginException("Pre-authentication information was invalid");
+            }
+        };
+        AuthSchemeProviderLookupBuilder builder = new AuthSchemeProviderLookupBuilder()
+                .setAuthTypes(new AuthTypes(AuthSchemes.KERBEROS))
+                .setHost("myweb.contoso.com")
+                .setUsername("user")
+                .setPassword("wrong")
+                .setKerberosSubjectCache(subjectCache);
+
+        try {
+            builder.buildAuthSchemeProviderLookup();
+            fail("the login failure should be reported");
+        } catch (RuntimeException e) {
+            assertEquals("Kerberos login failed for user user: Pre-authentication information was invalid", e.getMessage());
+        }
+        assertEquals(0, subjectCache.size());
+    }
+
     @Test
     public void buildLookupWithNtlmAuth() {
         AuthSchemeProvider provider = getAuthSchemeProvider(AuthSchemes.NTLM);
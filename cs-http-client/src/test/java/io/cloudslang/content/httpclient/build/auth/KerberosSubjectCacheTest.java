@@ -0,0 +1,124 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.build.auth;
+
+import org.junit.Test;
+
+import javax.security.auth.Subject;
+import javax.security.auth.kerberos.KerberosPrincipal;
+import javax.security.auth.kerberos.KerberosTicket;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class KerberosSubjectCacheTest {
+
+    @Test
+    public void getSubjectFromCache() throws Exception {
+        CountingSubjectCache subjectCache = new CountingSubjectCache(TimeUnit.HOURS.toMillis(8));
+
+        Subject subject = subjectCache.getSubject("user", "pass", "krb5.conf", null);
+        assertSame(subject, subjectCache.getSubject("user", "pass", "krb5.conf", null));
+        assertEquals(1, subjectCache.logins);
+
+        assertNotSame(subject, subjectCache.getSubject("user", "other", "krb5.conf", null));
+        assertNotSame(subject, subjectCache.getSubject("other", "pass", "krb5.conf", null));
+        assertEquals(3, subjectCache.logins);
+        assertEquals(3, subjectCache.size());
+    }
+
+    @Test
+    public void getSubjectRefreshedBeforeExpiry() throws Exception {
+        CountingSubjectCache subjectCache = new CountingSubjectCache(KerberosSubjectCache.REFRESH_MARGIN / 2);
+
+        Subject subject = subjectCache.getSubject("user", "pass", "krb5.conf", null);
+        Thread.sleep(10);
+        //the ticket expires in less than the refresh margin, it is refreshed half way through its lifetime
+        assertSame(subject, subjectCache.getSubject("user", "pass", "krb5.conf", null));
+        assertEquals(1, subjectCache.logins);
+    }
+
+    @Test
+    public void getSubjectBounded() throws Exception {
+        CountingSubjectCache subjectCache = new CountingSubjectCache(2, TimeUnit.HOURS.toMillis(8));
+
+        Subject subject = subjectCache.getSubject("user1", "pass", "krb5.conf", null);
+        subjectCache.getSubject("user2", "pass", "krb5.conf", null);
+        //user1 is the most recently used subject, user2 is dropped
+        assertSame(subject, subjectCache.getSubject("user1", "pass", "krb5.conf", null));
+        subjectCache.getSubject("user3", "pass", "krb5.conf", null);
+        assertEquals(2, subjectCache.size());
+        assertSame(subject, subjectCache.getSubject("user1", "pass", "krb5.conf", null));
+        assertEquals(3, subjectCache.logins);
+
+        subjectCache.getSubject("user2", "pass", "krb5.conf", null);
+        assertEquals(2, subjectCache.size());
+        assertEquals(4, subjectCache.logins);
+    }
+
+    @Test
+    public void getSubjectDropsExpired() throws Exception {
+        CountingSubjectCache subjectCache = new CountingSubjectCache(10, 0);
+
+        for (int i = 0; i < 5; i++) {
+            subjectCache.getSubject("user" + i, "pass", "krb5.conf", null);
+        }
+        //the subjects whose ticket expired are dropped when another subject is logged in
+        assertEquals(1, subjectCache.size());
+    }
+
+    @Test
+    public void getRefreshTime() {
+        long now = System.currentTimeMillis();
+        long endTime = now + TimeUnit.HOURS.toMillis(8);
+        assertEquals(endTime - KerberosSubjectCache.REFRESH_MARGIN, KerberosSubjectCache.getRefreshTime(subject(endTime), now));
+        assertEquals(now + 1000, KerberosSubjectCache.getRefreshTime(subject(now + 2000), now));
+        assertEquals(now + KerberosSubjectCache.DEFAULT_LIFETIME, KerberosSubjectCache.getRefreshTime(new Subject(), now));
+    }
+
+    private static Subject subject(long endTime) {
+        Subject subject = new Subject();
+        subject.getPrivateCredentials().add(new KerberosTicket(new byte[]{1}, new KerberosPrincipal("user@EXAMPLE.COM"),
+                new KerberosPrincipal("krbtgt/EXAMPLE.COM@EXAMPLE.COM"), new byte[16], 17, new boolean[32],
+                new Date(), new Date(), new Date(endTime), null, null));
+        return subject;
+    }
+
+    private static class CountingSubjectCache extends KerberosSubjectCache {
+        private final long lifetime;
+        private int logins;
+
+        private CountingSubjectCache(long lifetime) {
+            this.lifetime = lifetime;
+        }
+
+        private CountingSubjectCache(int maxSize, long lifetime) {
+            super(maxSize);
+            this.lifetime = lifetime;
+        }
+
+        @Override
+        protected Subject login(String username, String password, String loginConfigFile) {
+            logins++;
+            return subject(System.currentTimeMillis() + lifetime);
+        }
+    }
+}
@@ -19,17 +19,22 @@ package io.cloudslang.content.httpclient.build.conn;
 
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import com.hp.oo.sdk.content.plugin.SessionResource;
+import io.cloudslang.content.httpclient.build.HttpClientCache;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import static junit.framework.Assert.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * User: Adina Tusa
@@ -42,6 +47,8 @@ public class ConnectionManagerBuilderTest {
     private SSLConnectionSocketFactory sslConnectionSocketFactoryMock;
     @Mock
     private PoolingHttpClientConnectionManager connectionManagerMock;
+    @Mock
+    private CloseableHttpClient httpClientMock;
 
     @Test
     public void buildConnectionManagerWithoutPoolHolder() {
@@ -83,4 +90,92 @@ public class ConnectionManagerBuilderTest {
                 .buildConnectionManager();
         assertEquals(connectionManagerMock, connectionManager);
     }
+
+    @Test
+    public void buildConnectionManagerCreatesRegistry() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        PoolingHttpClientConnectionManager connectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .setDefaultMaxPerRoute("5")
+                .setTotalMax("50")
+                .buildConnectionManager();
+
+        assertTrue(holder.get() instanceof ConnectionManagerRegistry);
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertTrue(IdleConnectionMonitor.getInstance().isRegistered(connectionManager));
+
+        PoolingHttpClientConnectionManager sameConnectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .buildConnectionManager();
+        assertSame(connectionManager, sameConnectionManager);
+
+        holder.getResource().release();
+        assertFalse(IdleConnectionMonitor.getInstance().isRegistered(connectionManager));
+    }
+
+    @Test
+    public void releaseClosesCachedHttpClients() throws IOException {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        PoolingHttpClientConnectionManager connectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .buildConnectionManager();
+        HttpClientCache httpClientCache = ConnectionManagerBuilder.getHttpClientCache(holder);
+        httpClientCache.put(connectionManager, true, httpClientMock);
+        assertSame(httpClientMock, httpClientCache.get(connectionManager, true));
+
+        holder.getResource().release();
+        assertEquals(0, httpClientCache.size());
+        verify(httpClientMock).close();
+    }
+
+    @Test
+    public void getHttpClientCacheOfForeignMap() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        final Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = new HashMap();
+        holder.setResource(new SessionResource() {
+            @Override
+            public Object get() {
+                return connectionManagerMap;
+            }
+
+            @Override
+            public void release() {
+            }
+        });
+        assertNull(ConnectionManagerBuilder.getHttpClientCache(holder));
+        assertNull(ConnectionManagerBuilder.getHttpClientCache(null));
+    }
+
+    @Test
+    public void setPoolLimitsOnlyWhenChanged() {
+        ConnectionManagerRegistry registry = new ConnectionManagerRegistry();
+        registry.put("key", connectionManagerMock);
+
+        registry.setPoolLimits("key", connectionManagerMock, 5, 50);
+        registry.setPoolLimits("key", connectionManagerMock, 5, 50);
+        registry.setPoolLimits("key", connectionManagerMock, null, null);
+        verify(connectionManagerMock, times(1)).setDefaultMaxPerRoute(5);
+        verify(connectionManagerMock, times(1)).setMaxTotal(50);
+
+        registry.setPoolLimits("key", connectionManagerMock, 6, 50);
+        verify(connectionManagerMock, times(1)).setDefaultMaxPerRoute(6);
+        verify(connectionManagerMock, times(1)).setMaxTotal(50);
+    }
+
+    @Test
+    public void poolStatistics() {
+        ConnectionManagerRegistry registry = new ConnectionManagerRegistry();
+        registry.getOrCreate("key", sslConnectionSocketFactoryMock);
+
+        assertEquals("key total: leased=0, available=0, pending=0, max=20", registry.getPoolStatistics());
+        assertEquals(20, registry.getTotalStats().getMax());
+        registry.release();
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IdleConnectionMonitorTest {
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = "ok".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void executionsWithoutPoolSessionDoNotStayRegistered() {
+        IdleConnectionMonitor monitor = IdleConnectionMonitor.getInstance();
+        int registeredCount = monitor.getRegisteredCount();
+
+        for (int i = 0; i < 20; i++) {
+            HttpClientInputs httpClientInputs = inputs();
+            Map<String, String> result = new HttpClientService().execute(httpClientInputs);
+            assertEquals(HttpClientService.SUCCESS, result.get(HttpClientService.RETURN_CODE));
+            assertEquals("ok", result.get(HttpClientService.RETURN_RESULT));
+            assertNull(httpClientInputs.getConnectionPoolSessionObject());
+        }
+
+        assertTrue(monitor.getRegisteredCount() <= registeredCount);
+    }
+
+    @Test
+    public void executionsWithPoolSessionShareOneConnectionManager() {
+        IdleConnectionMonitor monitor = IdleConnectionMonitor.getInstance();
+        int registeredCount = monitor.getRegisteredCount();
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+
+        for (int i = 0; i < 20; i++) {
+            HttpClientInputs httpClientInputs = inputs();
+            httpClientInputs.setConnectionPoolSessionObject(connectionPool);
+            new HttpClientService().execute(httpClientInputs);
+        }
+        Map<String, PoolingHttpClientConnectionManager> connectionManagers = ConnectionManagerBuilder.getConnectionManagerMap(connectionPool);
+        assertEquals(1, connectionManagers.size());
+        PoolingHttpClientConnectionManager connManager = connectionManagers.values().iterator().next();
+        assertTrue(monitor.isRegistered(connManager));
+        assertTrue(monitor.getRegisteredCount() <= registeredCount + 1);
+
+        connectionPool.getResource().release();
+        assertFalse(monitor.isRegistered(connManager));
+    }
+
+    private HttpClientInputs inputs() {
+        HttpClientInputs httpClientInputs = new HttpClientInputs();
+        httpClientInputs.setUrl("http://localhost:" + server.getAddress().getPort() + "/");
+        httpClientInputs.setMethod("GET");
+        return httpClientInputs;
+    }
+}
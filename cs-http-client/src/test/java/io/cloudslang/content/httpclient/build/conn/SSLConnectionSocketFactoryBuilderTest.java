@@ -34,6 +34,9 @@ import java.security.KeyStore;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -128,6 +131,52 @@ public class SSLConnectionSocketFactoryBuilderTest {
         assertEquals(sslsfMock, sslsf);
     }
 
+    @Test
+    public void buildFromCache() throws Exception {
+        final SSLConnectionSocketFactoryCache cache = new SSLConnectionSocketFactoryCache(SSLConnectionSocketFactoryCache.DEFAULT_MAX_SIZE);
+        final File keystoreFile = File.createTempFile("keystore", ".jks");
+        keystoreFile.deleteOnExit();
+
+        SSLConnectionSocketFactory first = cachingBuilder(cache, keystoreFile.getAbsolutePath()).build();
+        SSLConnectionSocketFactory second = cachingBuilder(cache, keystoreFile.getAbsolutePath()).build();
+        assertEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        assertTrue(keystoreFile.setLastModified(keystoreFile.lastModified() - 60000));
+        SSLConnectionSocketFactory third = cachingBuilder(cache, keystoreFile.getAbsolutePath()).build();
+        assertNotSame(first, third);
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void fullCacheEvictsLeastRecentlyUsedFactory() {
+        final SSLConnectionSocketFactoryCache cache = new SSLConnectionSocketFactoryCache(2);
+        final SSLConnectionSocketFactory first = mock(SSLConnectionSocketFactory.class);
+        cache.put("first", "fingerprint", first);
+        cache.put("second", "fingerprint", mock(SSLConnectionSocketFactory.class));
+        assertEquals(first, cache.get("first", "fingerprint"));
+
+        cache.put("third", "fingerprint", mock(SSLConnectionSocketFactory.class));
+        assertEquals(2, cache.size());
+        assertEquals(first, cache.get("first", "fingerprint"));
+        assertNull(cache.get("second", "fingerprint"));
+    }
+
+    private SSLConnectionSocketFactoryBuilder cachingBuilder(SSLConnectionSocketFactoryCache cache, String keystore) {
+        return new SSLConnectionSocketFactoryBuilder() {
+            @Override
+            protected SSLConnectionSocketFactory buildSSLConnectionSocketFactory() {
+                return mock(SSLConnectionSocketFactory.class);
+            }
+        }.setSslConnectionSocketFactoryCache(cache)
+                .setKeystore(keystore)
+                .setKeystorePassword(PASSWORD)
+                .setTrustKeystore(keystore)
+                .setTrustPassword(PASSWORD);
+    }
+
     @Test
     public void createTrustKeystore() throws Exception {
         builder = new SSLConnectionSocketFactoryBuilder() {
@@ -17,6 +17,8 @@
 
 package io.cloudslang.content.httpclient.consume;
 
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Consts;
 import org.apache.http.Header;
@@ -32,11 +34,13 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.*;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -123,6 +127,76 @@ public class HttpResponseConsumerTest {
         assertNull(result.get(RETURN_RESULT));
     }
 
+    @Test
+    public void consumeBinaryToDestinationFile() throws Exception {
+        byte[] content = new byte[]{(byte) 0xff, 0x00, (byte) 0xc3, 0x28, 0x0a};
+        setHttpResponseEntity(CONTENT_TYPE, content);
+        File file = File.createTempFile("binaryDownload", ".bin");
+        file.deleteOnExit();
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setDestinationFile(file.getAbsolutePath())
+                .setBinaryDownload("true")
+                .setChecksumAlgorithm("MD5")
+                .consume(result);
+
+        assertTrue(Arrays.equals(content, IOUtils.toByteArray(new FileInputStream(file))));
+        assertEquals("5", result.get(HttpClientService.BYTES_WRITTEN));
+        assertEquals(DigestUtils.md5Hex(content), result.get(HttpClientService.CHECKSUM));
+        assertNull(result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void consumeWithinMaxResponseSize() throws Exception {
+        setHttpResponseEntity(CONTENT_TYPE, "doc".getBytes(Consts.UTF_8));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxResponseSize("3")
+                .consume(result);
+
+        assertEquals("doc", result.get(RETURN_RESULT));
+        assertNull(result.get(HttpClientService.RESPONSE_FILE));
+    }
+
+    @Test
+    public void consumeOverMaxResponseSize() throws Exception {
+        setHttpResponseEntity(CONTENT_TYPE, "document".getBytes(Consts.UTF_8));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxResponseSize("3")
+                .consume(result);
+
+        File responseFile = new File(result.get(HttpClientService.RESPONSE_FILE));
+        responseFile.deleteOnExit();
+        assertEquals("", result.get(RETURN_RESULT));
+        assertEquals("8", result.get(HttpClientService.BYTES_WRITTEN));
+        assertEquals("document", IOUtils.toString(new FileInputStream(responseFile), Consts.UTF_8.name()));
+    }
+
+    @Test
+    public void consumeWithContentLengthOverIntRange() throws Exception {
+        setHttpResponseEntity(CONTENT_TYPE, "doc".getBytes(Consts.UTF_8));
+        ((BasicHttpEntity) httpResponseMock.getEntity()).setContentLength(3L * 1024 * 1024 * 1024);
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxResponseSize("4294967296")
+                .consume(result);
+
+        assertEquals("doc", result.get(RETURN_RESULT));
+        assertNull(result.get(HttpClientService.RESPONSE_FILE));
+    }
+
+    private void setHttpResponseEntity(String contentType, byte[] content) {
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(content));
+        entity.setContentType(new HeaderEntity("Content-Type", contentType));
+        when(httpResponseMock.getEntity()).thenReturn(entity);
+    }
+
     private void setHttpResponseEntity(String contentType) {
         BasicHttpEntity entity = new BasicHttpEntity();
         entity.setContent(inputStreamMock);
@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionStatisticsTest {
+    private static final String CONTENT = StringUtils.repeat("compressible content ", 1000);
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = CONTENT.getBytes(StandardCharsets.UTF_8);
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                if (exchange.getRequestURI().getPath().equals("/gzip") && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                    try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(body);
+                    }
+                    body = compressed.toByteArray();
+                    exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+        httpClient = HttpClientBuilder.create()
+                .addInterceptorFirst(CompressionStatistics.COMPRESSED_CONTENT_INTERCEPTOR)
+                .addInterceptorLast(CompressionStatistics.DECOMPRESSED_CONTENT_INTERCEPTOR)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void countCompressedResponse() throws IOException {
+        HttpClientContext context = HttpClientContext.create();
+
+        assertEquals(CONTENT, execute("/gzip", context));
+
+        CompressionStatistics compressionStatistics = CompressionStatistics.get(context);
+        assertEquals("gzip", compressionStatistics.getContentEncoding());
+        assertEquals(CONTENT.length(), compressionStatistics.getDecompressedBytes());
+        assertTrue(compressionStatistics.getCompressedBytes() > 0);
+        assertTrue(compressionStatistics.getCompressedBytes() < compressionStatistics.getDecompressedBytes());
+    }
+
+    @Test
+    public void noStatisticsForUncompressedResponse() throws IOException {
+        HttpClientContext context = HttpClientContext.create();
+
+        assertEquals(CONTENT, execute("/plain", context));
+
+        assertNull(CompressionStatistics.get(context));
+    }
+
+    private String execute(String path, HttpClientContext context) throws IOException {
+        HttpGet request = new HttpGet("http://localhost:" + server.getAddress().getPort() + path);
+        try (CloseableHttpResponse response = httpClient.execute(request, context)) {
+            return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        }
+    }
+}
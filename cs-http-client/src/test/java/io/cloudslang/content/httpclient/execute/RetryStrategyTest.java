@@ -0,0 +1,122 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RetryStrategyTest {
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int failures;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = "ok".getBytes();
+                if (requests.incrementAndGet() <= failures) {
+                    exchange.getResponseHeaders().add("Retry-After", "0");
+                    exchange.sendResponseHeaders(503, body.length);
+                } else {
+                    exchange.sendResponseHeaders(200, body.length);
+                }
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            }
+        });
+        server.start();
+        httpClient = HttpClientBuilder.create()
+                .setRetryHandler(RetryStrategy.getInstance())
+                .setServiceUnavailableRetryStrategy(RetryStrategy.getInstance())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void retryUntilSuccess() throws IOException {
+        failures = 2;
+        HttpClientContext context = contextWithPolicy(3);
+        long retriedResponses = RetryStrategy.getInstance().getRetriedResponses();
+
+        assertEquals(200, execute(context));
+        assertEquals(3, requests.get());
+        assertEquals(Integer.valueOf(2), RetryStrategy.getRetries(context));
+        assertEquals(retriedResponses + 2, RetryStrategy.getInstance().getRetriedResponses());
+    }
+
+    @Test
+    public void retryStopsAtMaxAttempts() throws IOException {
+        failures = 5;
+        HttpClientContext context = contextWithPolicy(2);
+
+        assertEquals(503, execute(context));
+        assertEquals(2, requests.get());
+        assertEquals(Integer.valueOf(1), RetryStrategy.getRetries(context));
+    }
+
+    @Test
+    public void noRetryWithoutPolicy() throws IOException {
+        failures = 1;
+        HttpClientContext context = HttpClientContext.create();
+
+        assertEquals(503, execute(context));
+        assertEquals(1, requests.get());
+        assertNull(RetryStrategy.getRetries(context));
+    }
+
+    private HttpClientContext contextWithPolicy(int maxAttempts) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(RetryPolicy.CONTEXT_ATTRIBUTE, new RetryPolicy(maxAttempts, 10, 0, Collections.singleton(503)));
+        return context;
+    }
+
+    private int execute(HttpClientContext context) throws IOException {
+        HttpGet request = new HttpGet("http://localhost:" + server.getAddress().getPort() + "/");
+        try (CloseableHttpResponse response = httpClient.execute(request, context)) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+}
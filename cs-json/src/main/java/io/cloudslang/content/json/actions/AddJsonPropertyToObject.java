@@ -16,7 +16,6 @@
 
 package io.cloudslang.content.json.actions;
 
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -33,6 +32,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
 import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.StringUtilities;
 
@@ -92,7 +92,7 @@ public class AddJsonPropertyToObject {
             return populateResult(returnResult, new Exception("Empty jsonObject provided!"));
         }
 
-        ObjectMapper mapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+        ObjectMapper mapper = JsonEngine.getInstance(true).getObjectMapper();
         final boolean validateValueBoolean = JsonUtils.parseBooleanWithDefault(validateValue, true);
 
         if (StringUtilities.isBlank(newPropertyValue)) {
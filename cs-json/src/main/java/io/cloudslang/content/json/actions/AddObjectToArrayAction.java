@@ -51,6 +51,9 @@ public class AddObjectToArrayAction {
      *                must be wrapped in quotes, and objects must be formatted correctly.
      * @param index   The index (-n < i < n) in the array in which the value will be inserted.
      *                If an index is not specified, then the element will be appended to the end of the array.
+     * @param jsonFile   The path of a file that contains the JavaScript array, instead of the array input.
+     * @param outputFile The path of the file the new array is written to. If it is provided, returnResult
+     *                   contains the absolute path of the file instead of the array.
      * @return a map containing the output of the operations. Keys present in the map are:
      * <br><b>returnResult</b> - The element of the array at specified index.
      * If the operation failed, this field will contain an error message.
@@ -69,14 +72,18 @@ public class AddObjectToArrayAction {
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE,
                             matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
-    public Map<String, String> execute(@Param(value = Constants.InputNames.ARRAY, required = true) String array,
+    public Map<String, String> execute(@Param(value = Constants.InputNames.ARRAY) String array,
                                        @Param(value = Constants.InputNames.ELEMENT, required = true) String element,
-                                       @Param(value = Constants.InputNames.INDEX) String index) {
+                                       @Param(value = Constants.InputNames.INDEX) String index,
+                                       @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
         try {
             AddObjectToArrayInput input = new AddObjectToArrayInput.Builder()
                     .array(array)
+                    .jsonFile(jsonFile)
                     .element(element)
                     .index(index)
+                    .outputFile(outputFile)
                     .build();
             return this.service.execute(input);
         } catch (Exception ex) {
@@ -16,7 +16,6 @@
 
 package io.cloudslang.content.json.actions;
 
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
@@ -27,6 +26,7 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.entities.AddPropertyToObjectInputs;
 import io.cloudslang.content.json.services.AddPropertyToObjectImpl;
+import io.cloudslang.content.json.utils.JsonEngine;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.util.List;
@@ -46,12 +46,7 @@ import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 
 public class AddPropertyToObject {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-
-    public AddPropertyToObject() {
-        objectMapper.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
-    }
+    private final ObjectMapper objectMapper = JsonEngine.getInstance(true).getObjectMapper();
 
 
     /**
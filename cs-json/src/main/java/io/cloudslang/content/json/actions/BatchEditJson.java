@@ -0,0 +1,192 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.actions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import com.jayway.jsonpath.internal.JsonContext;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.utils.ActionsEnum;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.Constants.OutputNames;
+import io.cloudslang.content.json.utils.JsonEngine;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.utils.StringUtilities;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_OPERATION;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_OPERATIONS;
+import static io.cloudslang.content.json.utils.JsonUtils.populateResult;
+
+public class BatchEditJson {
+
+    /**
+     * This operation applies an ordered list of edit operations on a JSON object. The JSON object is parsed once, all
+     * the operations edit the same JSON tree and the edited JSON is serialized once, after the last operation.
+     *
+     * @param jsonObject The JSON object in a form of a string
+     * @param operations A JSON array with the operations, they are applied in the order of the array. Every operation
+     *                   is a JSON object with the properties: action, jsonPath, name and value. The action and the
+     *                   jsonPath have the same meaning as the inputs of the Edit Json operation: the valid actions are
+     *                   get, insert, add, update, delete and rename. The value is a JSON value, a string value is
+     *                   quoted.
+     *                   Example: [{"action":"update","jsonPath":"$.a","value":1},
+     *                   {"action":"rename","jsonPath":"$","name":"a","value":"b"},{"action":"get","jsonPath":"$.b"}]
+     * @param jsonFile   The path of a file that contains the JSON object, instead of the jsonObject input.
+     * @param outputFile The path of the file the edited JSON is written to. If it is provided, returnResult
+     *                   contains the absolute path of the file instead of the JSON.
+     * @return a map containing the output of the operation. Keys present in the map are:
+     * <p/>
+     * <br><br><b>returnResult</b> - The JSON object edited by all the operations.
+     * <br><b>getResults</b> - A JSON array with the values read by the get operations, in the order of the operations.
+     * A get operation reads the JSON as edited by the operations before it.
+     * <br><b>exception</b> - In case of success response, this result is empty. In case of failure response,
+     * this result contains the error message. The message of a failed operation starts with its index.
+     * <br><br><b>returnCode</b> - The returnCode of the operation: 0 for success, -1 for failure.
+     */
+    @Action(name = "Batch Edit Json",
+            outputs = {
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.GET_RESULTS),
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
+                                       @Param(value = Constants.InputNames.OPERATIONS, required = true) String operations,
+                                       @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
+
+        Map<String, String> returnResult = new HashMap<>();
+        final JsonEngine jsonEngine = JsonEngine.getInstance(true);
+        final ObjectMapper objectMapper = jsonEngine.getObjectMapper();
+
+        final ArrayNode operationNodes;
+        try {
+            operationNodes = parseOperations(objectMapper, operations);
+        } catch (Exception e) {
+            return populateResult(returnResult, INVALID_OPERATIONS, e);
+        }
+
+        final JsonContext jsonContext;
+        try {
+            jsonContext = jsonEngine.newJsonContext(
+                    JsonUtils.readJson(objectMapper, jsonObject, jsonFile, Constants.InputNames.JSON_OBJECT));
+        } catch (IllegalArgumentException e) {
+            return populateResult(returnResult, e);
+        } catch (IOException e) {
+            return populateResult(returnResult, INVALID_JSONOBJECT, e);
+        }
+
+        final ArrayNode getResults = objectMapper.createArrayNode();
+        for (int index = 0; index < operationNodes.size(); index++) {
+            try {
+                final JsonNode result = applyOperation(objectMapper, jsonContext, operationNodes.get(index));
+                if (result != null) {
+                    getResults.add(result);
+                }
+            } catch (Exception e) {
+                return populateResult(returnResult, String.format(INVALID_OPERATION, index, e.getMessage()), e);
+            }
+        }
+
+        final String result;
+        try {
+            result = JsonUtils.writeJson((JsonNode) jsonContext.json(), outputFile);
+        } catch (Exception e) {
+            return populateResult(returnResult, e);
+        }
+        populateResult(returnResult, result, null);
+        returnResult.put(OutputNames.GET_RESULTS, getResults.toString());
+        return returnResult;
+    }
+
+
+    @NotNull
+    private static ArrayNode parseOperations(@NotNull final ObjectMapper objectMapper, @Nullable final String operations) throws IOException {
+        if (StringUtilities.isBlank(operations)) {
+            throw new IllegalArgumentException("Empty operations provided!");
+        }
+        final JsonNode operationNodes = objectMapper.readTree(operations);
+        if (operationNodes == null || !operationNodes.isArray()) {
+            throw new IllegalArgumentException(INVALID_OPERATIONS);
+        }
+        for (JsonNode operationNode : operationNodes) {
+            if (!operationNode.isObject()) {
+                throw new IllegalArgumentException(INVALID_OPERATIONS);
+            }
+        }
+        return (ArrayNode) operationNodes;
+    }
+
+
+    /**
+     * @return the value read by a get operation, null for the other operations
+     */
+    @Nullable
+    private static JsonNode applyOperation(@NotNull final ObjectMapper objectMapper, @NotNull final JsonContext jsonContext,
+                                           @NotNull final JsonNode operation) throws Exception {
+        final String action = getText(operation, Constants.InputNames.ACTION);
+        final String jsonPath = getText(operation, Constants.InputNames.JSON_PATH);
+        final String name = getText(operation, Constants.InputNames.NAME);
+        final JsonNode value = operation.get(Constants.InputNames.VALUE);
+        JsonUtils.validateEditJsonInputs(jsonPath, action, name, getText(operation, Constants.InputNames.VALUE));
+
+        final ActionsEnum actionEnum = ActionsEnum.valueOf(action.toLowerCase().trim());
+        final Object result = JsonService.editJson(jsonContext, JsonUtils.getValidJsonPath(jsonPath), actionEnum, name, value);
+        return actionEnum == ActionsEnum.get ? toJsonNode(objectMapper, result) : null;
+    }
+
+
+    @Nullable
+    private static String getText(@NotNull final JsonNode operation, @NotNull final String property) {
+        final JsonNode node = operation.get(property);
+        if (node == null) {
+            return null;
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+
+    //the read value is copied, the operations that follow may edit it in the json
+    @NotNull
+    private static JsonNode toJsonNode(@NotNull final ObjectMapper objectMapper, @Nullable final Object value) {
+        if (value == null) {
+            return objectMapper.getNodeFactory().nullNode();
+        }
+        return value instanceof JsonNode ? ((JsonNode) value).deepCopy() : objectMapper.<JsonNode>valueToTree(value);
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.cloudslang.content.json.actions;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
 import com.hp.oo.sdk.content.annotations.Param;
@@ -26,9 +28,12 @@ import com.jayway.jsonpath.internal.JsonContext;
 import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
 import io.cloudslang.content.json.utils.ActionsEnum;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
 import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.utils.StringUtilities;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -46,13 +51,19 @@ public class EditJson {
      *
      * @param jsonObject The JSON object in a form of a string
      * @param jsonPath   The JSON Path query used for editing the json object
-     * @param action     The action used for editing the json. Valid values are: get, insert, add, update and delete.
+     * @param action     The action used for editing the json. Valid values are: get, insert, add, update, delete and
+     *                   rename.
      *                   The difference between insert and add action is that add is used for adding data into an array
      *                   based on the jsonPath provided and insert action inserts an new property and a new value in the
      *                   json
-     *                   based on the jsonPath provided.
-     * @param name       The property name used for insert operation
-     * @param value      The property value used for insert, add and update operations.
+     *                   based on the jsonPath provided. The rename action renames the property of the object found at
+     *                   the jsonPath.
+     * @param name       The property name used for insert operation, the name of the renamed property for rename operation
+     * @param value      The property value used for insert, add and update operations, the new property name for rename
+     *                   operation.
+     * @param jsonFile   The path of a file that contains the JSON object, instead of the jsonObject input.
+     * @param outputFile The path of the file the edited JSON is written to. If it is provided, returnResult
+     *                   contains the absolute path of the file instead of the JSON.
      * @return a map containing the output of the operation. Keys present in the map are:
      * <p/>
      * <br><br><b>returnResult</b> - This will contain the edited json based on the action type, jsonPath and
@@ -71,19 +82,28 @@ public class EditJson {
                     @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
-    public Map<String, String> execute(@Param(value = Constants.InputNames.JSON_OBJECT, required = true) String jsonObject,
+    public Map<String, String> execute(@Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
                                        @Param(value = Constants.InputNames.JSON_PATH, required = true) String jsonPath,
                                        @Param(value = Constants.InputNames.ACTION, required = true) String action,
                                        @Param(value = Constants.InputNames.NAME) String name,
                                        @Param(value = Constants.InputNames.VALUE) String value,
-                                       @Param(value = Constants.InputNames.VALIDATE_VALUE) String validateValue) {
+                                       @Param(value = Constants.InputNames.VALIDATE_VALUE) String validateValue,
+                                       @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
 
         Map<String, String> returnResult = new HashMap<>();
         JsonContext jsonContext;
         boolean validateValueBoolean = JsonUtils.parseBooleanWithDefault(validateValue, true);
         try {
-            JsonUtils.validateEditJsonInputs(jsonObject, jsonPath, action, name, value);
-            jsonContext = JsonUtils.getValidJsonContext(jsonObject);
+            if (StringUtilities.isBlank(jsonFile)) {
+                JsonUtils.validateEditJsonInputs(jsonObject, jsonPath, action, name, value);
+                jsonContext = JsonUtils.getValidJsonContext(jsonObject);
+            } else {
+                JsonUtils.validateEditJsonInputs(jsonPath, action, name, value);
+                final ObjectMapper objectMapper = JsonEngine.getInstance(true).getObjectMapper();
+                jsonContext = JsonEngine.getInstance(true).newJsonContext(
+                        JsonUtils.readJson(objectMapper, jsonObject, jsonFile, Constants.InputNames.JSON_OBJECT));
+            }
         } catch (Exception e) {
             return populateResult(returnResult, e);
         }
@@ -102,36 +122,18 @@ public class EditJson {
                     throw e;
                 }
             }
-            Object json = editJson(jsonPath, action, name, valueObject, jsonContext);
-            result = json.toString();
+            Object json = JsonService.editJson(jsonContext, JsonUtils.getValidJsonPath(jsonPath),
+                    ActionsEnum.valueOf(action.toLowerCase()), name, valueObject);
+            if (StringUtilities.isBlank(outputFile)) {
+                result = json.toString();
+            } else {
+                final JsonNode jsonNode = json instanceof JsonNode ? (JsonNode) json :
+                        JsonEngine.getInstance(true).getObjectMapper().<JsonNode>valueToTree(json);
+                result = JsonUtils.writeJson(jsonNode, outputFile);
+            }
         } catch (Exception e) {
             return populateResult(returnResult, e);
         }
         return populateResult(returnResult, result, null);
     }
-
-
-    private Object editJson(String jsonPath, String action, String name, Object value, JsonContext jsonContext) {
-        ActionsEnum myAction = ActionsEnum.valueOf(action.toLowerCase());
-        Object json = null;
-
-        switch (myAction) {
-            case get:
-                json = jsonContext.read(jsonPath);
-                break;
-            case insert:
-                json = jsonContext.put(jsonPath, name, value).json();
-                break;
-            case add:
-                json = jsonContext.add(jsonPath, value).json();
-                break;
-            case update:
-                json = jsonContext.set(jsonPath, value).json();
-                break;
-            case delete:
-                json = jsonContext.delete(jsonPath).json();
-                break;
-        }
-        return json;
-    }
 }
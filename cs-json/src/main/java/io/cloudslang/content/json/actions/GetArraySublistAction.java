@@ -70,6 +70,9 @@ public class GetArraySublistAction {
      *                returned by this operation. If this input is not supplied, the sub-array will contain the elements
      *                of 'array' beginning with fromIndex to the end of the array.
      *                Valid values: Integer between (-1*n) and (n-1) for an array with n elements.
+     * @param jsonFile   The path of a file that contains the JSON array, instead of the array input.
+     * @param outputFile The path of the file the sublist is written to. If it is provided, returnResult
+     *                   contains the absolute path of the file instead of the sublist.
      * @return a map containing the output of the operations. Keys present in the map are:
      * <br><b>returnResult</b> -  The new JSON array which is a subset of the input array.
      * If the operation failed, this field will contain an error message.
@@ -90,22 +93,26 @@ public class GetArraySublistAction {
                             matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
     public Map<String, String> execute(
-            @Param(value = Constants.InputNames.ARRAY, required = true) String array,
+            @Param(value = Constants.InputNames.ARRAY) String array,
             @Param(value = Constants.InputNames.FROM_INDEX, required = true) String fromIndex,
-            @Param(value = Constants.InputNames.TO_INDEX) String toIndex) {
+            @Param(value = Constants.InputNames.TO_INDEX) String toIndex,
+            @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+            @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
 
         if (StringUtils.isEmpty(toIndex))
             toIndex = null;
 
-        List<RuntimeException> exceptionList = GetArraySublistValidator.validate(array, fromIndex, toIndex);
+        List<RuntimeException> exceptionList = GetArraySublistValidator.validate(StringUtils.isEmpty(array) ? jsonFile : array, fromIndex, toIndex);
         if (exceptionList.size() > 0)
             return OutputUtilities.getFailureResultsMap(exceptionList.get(0));
         else {
             try {
                 GetArraySublistInput input = new GetArraySublistInput.Builder()
                         .array(array)
+                        .jsonFile(jsonFile)
                         .fromIndex(fromIndex)
                         .toIndex(toIndex)
+                        .outputFile(outputFile)
                         .build();
                 return this.service.execute(input);
             } catch (Exception ex) {
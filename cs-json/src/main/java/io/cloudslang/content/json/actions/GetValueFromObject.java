@@ -16,6 +16,7 @@
 
 package io.cloudslang.content.json.actions;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -30,8 +31,14 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
+import io.cloudslang.content.json.utils.JsonExceptionValues;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.json.utils.StreamingJsonPath;
 import io.cloudslang.content.utils.StringUtilities;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -55,6 +62,11 @@ public class GetValueFromObject {
      *               Examples: {"one":1, "two":2}, {"one":{"a":"a","B":"B"}, "two":"two", "three":[1,2,3.4]}
      * @param key    The key in the object to get the value of.
      *               Examples: city, location[0].city
+     * @param jsonFile  The path of a file that contains the JSON object. Either object or jsonFile should be provided.
+     * @param streaming If true, the value is read while the JSON is parsed, without keeping the JSON in memory,
+     *                  and the parsing stops at the value. In this mode every part of the key should exist.
+     *                  Valid values: true, false.
+     *                  Default value: false
      * @return a map containing the output of the operation. Keys present in the map are:
      * <p/>
      * <br><br><b>returnResult</b> - This will contain the value for the specified key in the object.
@@ -73,22 +85,34 @@ public class GetValueFromObject {
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
     public Map<String, String> execute(
-            @Param(value = Constants.InputNames.OBJECT, required = true) String object,
-            @Param(value = Constants.InputNames.KEY, required = true) String key) {
+            @Param(value = Constants.InputNames.OBJECT) String object,
+            @Param(value = Constants.InputNames.KEY, required = true) String key,
+            @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+            @Param(value = Constants.InputNames.STREAMING) String streaming) {
 
         Map<String, String> returnResult = new HashMap<>();
 
-        if (StringUtilities.isBlank(object)) {
+        if (StringUtilities.isBlank(object) && StringUtilities.isBlank(jsonFile)) {
             return populateResult(returnResult, new Exception("Empty object provided!"));
         }
         if (key == null) {
             return populateResult(returnResult, new Exception("Null key provided!"));
         }
 
+        ObjectMapper objectMapper = JsonEngine.getInstance(false).getObjectMapper();
+        if (JsonUtils.parseBooleanWithDefault(streaming, false)) {
+            try (JsonParser parser = JsonUtils.createJsonParser(objectMapper, object, jsonFile, Constants.InputNames.OBJECT)) {
+                return populateResult(returnResult, toResult(streamValue(parser, key)), null);
+            } catch (Exception exception) {
+                return populateResult(returnResult, exception);
+            }
+        }
+
         final JsonNode jsonRoot;
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            jsonRoot = objectMapper.readTree(object);
+        try (JsonParser parser = JsonUtils.createJsonParser(objectMapper, object, jsonFile, Constants.InputNames.OBJECT)) {
+            jsonRoot = objectMapper.readTree(parser);
+        } catch (IllegalArgumentException exception) {
+            return populateResult(returnResult, exception);
         } catch (Exception exception) {
             final String value = "Invalid object provided! " + exception.getMessage();
             return populateResult(returnResult, value, exception);
@@ -101,12 +125,45 @@ public class GetValueFromObject {
         } catch (Exception exception) {
             return populateResult(returnResult, exception);
         }
-        if (valueFromObject.isValueNode()) {
-            return populateResult(returnResult, valueFromObject.asText(), null);
-        } else {
-            return populateResult(returnResult, valueFromObject.toString(), null);
+        return populateResult(returnResult, toResult(valueFromObject), null);
+    }
+
+
+    private static String toResult(JsonNode value) {
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+
+    private JsonNode streamValue(JsonParser parser, String key) throws Exception {
+        final JsonNode[] value = new JsonNode[1];
+        toStreamingJsonPath(key).evaluate(parser, new StreamingJsonPath.MatchHandler() {
+            @Override
+            public void onMatch(@NotNull JsonParser matchParser) throws IOException {
+                value[0] = matchParser.readValueAsTree();
+            }
+        }, StreamingJsonPath.IndexPastEnd.FAIL);
+        if (value[0] == null) {
+            throw new Exception("The " + key + " key does not exist in JavaScript object!");
         }
+        return value[0];
+    }
 
+
+    //location[0].city is $['location'][0]['city']
+    private StreamingJsonPath toStreamingJsonPath(String key) {
+        final StringBuilder jsonPath = new StringBuilder("$");
+        for (String aKey : key.split(ESCAPED_SLASH + ".")) {
+            String index = null;
+            if (aKey.matches(".*" + ESCAPED_SLASH + "[[0-9]+]$")) {
+                index = aKey.substring(aKey.lastIndexOf("[") + 1, aKey.length() - 1);
+                aKey = aKey.substring(0, aKey.lastIndexOf("["));
+            }
+            jsonPath.append("['").append(aKey.replace("\\", "\\\\").replace("'", "\\'")).append("']");
+            if (index != null) {
+                jsonPath.append('[').append(index).append(']');
+            }
+        }
+        return StreamingJsonPath.compile(jsonPath.toString());
     }
 
 
@@ -162,7 +219,7 @@ public class GetValueFromObject {
                 if (subObject instanceof ArrayNode) {
                     final ArrayNode asJsonArray = (ArrayNode) subObject;
                     if ((index >= asJsonArray.size()) || (index < 0)) {
-                        throw new Exception("The provided " + index + " index is out of range! Provide a valid index value in the provided JSON!");
+                        throw new Exception(String.format(JsonExceptionValues.INDEX_OUT_OF_RANGE, index));
                     } else {
                         return asJsonArray.get(index);
                     }
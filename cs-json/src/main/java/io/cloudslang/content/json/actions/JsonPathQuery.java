@@ -16,7 +16,10 @@
 
 package io.cloudslang.content.json.actions;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
 import com.hp.oo.sdk.content.annotations.Param;
@@ -28,8 +31,15 @@ import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.services.JsonService;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.json.utils.StreamingJsonPath;
 import io.cloudslang.content.utils.OutputUtilities;
+import io.cloudslang.content.utils.StringUtilities;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.OtherValues.NULL_STRING;
@@ -43,8 +53,18 @@ public class JsonPathQuery {
      * This operation takes a reference to JSON (in the form of a string) and runs a specified JSON Path query on it.
      * It returns the results as a JSON Object.
      *
-     * @param jsonObject The JSON in the form of a string.
+     * @param jsonObject The JSON in the form of a string. Either jsonObject or jsonFile should be provided.
      * @param jsonPath   The JSON Path query to run.
+     * @param jsonFile   The path of a file that contains the JSON. Either jsonObject or jsonFile should be provided.
+     * @param streaming  If true, the query is evaluated while the JSON is read, without keeping the JSON in memory.
+     *                   The matches are written to the result as soon as they are found and a definite path
+     *                   stops reading at its match. Only child, wildcard, index, slice and simple filter
+     *                   expressions are supported in this mode, for example $.items[*].id or $.items[?(@.price &lt; 10)].
+     *                   Valid values: true, false.
+     *                   Default value: false
+     * @param outputFile The path of the file the result is written to. If it is provided, returnResult contains
+     *                   the absolute path of the file instead of the result. In streaming mode the matches are
+     *                   written to the file as soon as they are found.
      * @return A map which contains the resulted JSON from the given path.
      */
     @Action(name = "JSON Path Query",
@@ -58,16 +78,42 @@ public class JsonPathQuery {
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
     public Map<String, String> execute(
-            @Param(value = Constants.InputNames.JSON_OBJECT, required = true) String jsonObject,
-            @Param(value = Constants.InputNames.JSON_PATH, required = true) String jsonPath) {
+            @Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
+            @Param(value = Constants.InputNames.JSON_PATH, required = true) String jsonPath,
+            @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+            @Param(value = Constants.InputNames.STREAMING) String streaming,
+            @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
         try {
-            final JsonNode jsonNode = JsonService.evaluateJsonPathQuery(jsonObject, jsonPath);
-            if (!jsonNode.isNull()) {
-                return OutputUtilities.getSuccessResultsMap(jsonNode.toString());
+            if (JsonUtils.parseBooleanWithDefault(streaming, false)) {
+                return OutputUtilities.getSuccessResultsMap(streamJsonPathQuery(jsonObject, jsonPath, jsonFile, outputFile));
+            }
+            final JsonNode jsonNode;
+            if (StringUtilities.isBlank(jsonFile)) {
+                jsonNode = JsonService.evaluateJsonPathQuery(jsonObject, jsonPath);
+            } else {
+                jsonNode = JsonService.evaluateJsonPathQuery(JsonUtils.readJson(JsonEngine.getInstance(true).getObjectMapper(),
+                        jsonObject, jsonFile, Constants.InputNames.JSON_OBJECT), jsonPath);
+            }
+            if (!jsonNode.isNull() || StringUtilities.isNotBlank(outputFile)) {
+                return OutputUtilities.getSuccessResultsMap(JsonUtils.writeJson(jsonNode, outputFile));
             }
             return OutputUtilities.getSuccessResultsMap(NULL_STRING);
         } catch (Exception exception) {
             return OutputUtilities.getFailureResultsMap(exception);
         }
     }
+
+
+    private static String streamJsonPathQuery(String jsonObject, String jsonPath, String jsonFile, String outputFile) throws IOException {
+        final StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(jsonPath);
+        final ObjectMapper objectMapper = JsonEngine.getInstance(true).getObjectMapper();
+        final StringWriter result = new StringWriter();
+        final File file = StringUtilities.isBlank(outputFile) ? null : new File(outputFile);
+        try (JsonParser parser = JsonUtils.createJsonParser(objectMapper, jsonObject, jsonFile, Constants.InputNames.JSON_OBJECT);
+             JsonGenerator generator = file == null ? objectMapper.getFactory().createGenerator(result) :
+                     JsonUtils.createJsonGenerator(objectMapper, file)) {
+            JsonService.evaluateJsonPathQuery(parser, streamingJsonPath, generator);
+        }
+        return file == null ? result.toString() : file.getAbsolutePath();
+    }
 }
@@ -29,7 +29,10 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.StringUtilities;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -61,6 +64,10 @@ public class MergeArrays {
      * @param array2 The string representation of a JSON array object.
      *               Arrays in JSON are comma separated lists of objects, enclosed in square brackets [ ].
      *               Examples: [1,2,3] or ["one","two","three"] or [{"one":1, "two":2}, 3, "four"]
+     * @param array1File The path of a file that contains the first JSON array, instead of the array1 input.
+     * @param array2File The path of a file that contains the second JSON array, instead of the array2 input.
+     * @param outputFile The path of the file the merged array is written to. If it is provided, returnResult
+     *                   contains the absolute path of the file instead of the array.
      * @return a map containing the output of the operation. Keys present in the map are:
      * <p/>
      * <br><br><b>returnResult</b> - This will contain the string representation of the new JSON array with the contents
@@ -79,45 +86,55 @@ public class MergeArrays {
                     @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
-    public Map<String, String> execute(@Param(value = Constants.InputNames.ARRAY, required = true) String array1,
-                                       @Param(value = Constants.InputNames.ARRAY, required = true) String array2) {
+    public Map<String, String> execute(@Param(value = Constants.InputNames.ARRAY) String array1,
+                                       @Param(value = Constants.InputNames.ARRAY) String array2,
+                                       @Param(value = Constants.InputNames.ARRAY1_FILE) String array1File,
+                                       @Param(value = Constants.InputNames.ARRAY2_FILE) String array2File,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
 
         Map<String, String> returnResult = new HashMap<>();
-        if (StringUtilities.isBlank(array1)) {
+        if (StringUtilities.isBlank(array1) && StringUtilities.isBlank(array1File)) {
             final String exceptionValue = NOT_A_VALID_JSON_ARRAY_MESSAGE + ARRAY1_MESSAGE.replaceFirst("=", EMPTY_STRING);
             return populateResult(returnResult, exceptionValue, new Exception(exceptionValue));
         }
 
-        if (StringUtilities.isBlank(array2)) {
+        if (StringUtilities.isBlank(array2) && StringUtilities.isBlank(array2File)) {
             final String exceptionValue = NOT_A_VALID_JSON_ARRAY_MESSAGE + ARRAY2_MESSAGE.replaceFirst("=", EMPTY_STRING);
             return populateResult(returnResult, new Exception(exceptionValue));
         }
 
         JsonNode jsonNode1;
         JsonNode jsonNode2;
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = JsonEngine.getLenientInstance().getObjectMapper();
         try {
-            jsonNode1 = mapper.readTree(array1);
+            jsonNode1 = JsonUtils.readJson(mapper, array1, array1File, Constants.InputNames.ARRAY1,
+                    Constants.InputNames.ARRAY1_FILE);
+        } catch (IllegalArgumentException exception) {
+            return populateResult(returnResult, exception);
         } catch (IOException exception) {
-            final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY1_MESSAGE + array1;
+            final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY1_MESSAGE + StringUtils.defaultIfEmpty(array1, array1File);
             return populateResult(returnResult, value, exception);
         }
         try {
-            jsonNode2 = mapper.readTree(array2);
+            jsonNode2 = JsonUtils.readJson(mapper, array2, array2File, Constants.InputNames.ARRAY2,
+                    Constants.InputNames.ARRAY2_FILE);
+        } catch (IllegalArgumentException exception) {
+            return populateResult(returnResult, exception);
         } catch (IOException exception) {
-            final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY2_MESSAGE + array2;
+            final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY2_MESSAGE + StringUtils.defaultIfEmpty(array2, array2File);
             return populateResult(returnResult, value, exception);
         }
 
         final String result;
         if (jsonNode1 instanceof ArrayNode && jsonNode2 instanceof ArrayNode) {
-            final ArrayNode asJsonArray1 = (ArrayNode) jsonNode1;
-            final ArrayNode asJsonArray2 = (ArrayNode) jsonNode2;
-            final ArrayNode asJsonArrayResult = new ArrayNode(mapper.getNodeFactory());
-
-            asJsonArrayResult.addAll(asJsonArray1);
-            asJsonArrayResult.addAll(asJsonArray2);
-            result = asJsonArrayResult.toString();
+            //both arrays were parsed for this call, the second one is appended to the first one
+            final ArrayNode asJsonArrayResult = (ArrayNode) jsonNode1;
+            asJsonArrayResult.addAll((ArrayNode) jsonNode2);
+            try {
+                result = JsonUtils.writeJson(asJsonArrayResult, outputFile);
+            } catch (IOException exception) {
+                return populateResult(returnResult, exception);
+            }
         } else {
             result = NOT_A_VALID_JSON_ARRAY_MESSAGE + ARRAY1_MESSAGE + array1 + ARRAY2_MESSAGE + array2;
             return populateResult(returnResult, new Exception(result));
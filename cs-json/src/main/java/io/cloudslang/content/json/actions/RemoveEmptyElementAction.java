@@ -16,6 +16,7 @@
 
 package io.cloudslang.content.json.actions;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
 import com.hp.oo.sdk.content.annotations.Param;
@@ -27,7 +28,10 @@ import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.services.JsonService;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonEngine;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.OutputUtilities;
+import io.cloudslang.content.utils.StringUtilities;
 
 import java.util.Map;
 
@@ -44,9 +48,18 @@ public class RemoveEmptyElementAction {
                     @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
                     @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
             })
-    public Map<String, String> removeEmptyElements(@Param(value = Constants.InputNames.JSON_OBJECT, required = true) String json) {
+    public Map<String, String> removeEmptyElements(@Param(value = Constants.InputNames.JSON_OBJECT) String json,
+                                                   @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+                                                   @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
         try {
-            final String result = new JsonService().removeEmptyElementsJson(json);
+            final JsonService jsonService = new JsonService();
+            if (StringUtilities.isBlank(jsonFile) && StringUtilities.isBlank(outputFile)) {
+                return OutputUtilities.getSuccessResultsMap(jsonService.removeEmptyElementsJson(json));
+            }
+            //the files are read and written as standard json, with double quotes
+            final JsonNode jsonNode = JsonUtils.readJson(JsonEngine.getLenientInstance().getObjectMapper(), json, jsonFile,
+                    Constants.InputNames.JSON_OBJECT);
+            final String result = JsonUtils.writeJson(jsonService.removeEmptyElementsJson(jsonNode), outputFile);
             return OutputUtilities.getSuccessResultsMap(result);
         } catch (Exception ex) {
             return OutputUtilities.getFailureResultsMap(ex);
@@ -15,28 +15,30 @@
 
 package io.cloudslang.content.json.entities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class AddObjectToArrayInput {
-    private JsonArray array;
-    private JsonElement element;
+    private ArrayNode array;
+    private JsonNode element;
     private Integer index;
+    private String outputFile;
 
 
     private AddObjectToArrayInput() {
     }
 
 
-    public JsonArray getArray() {
+    public ArrayNode getArray() {
         return array;
     }
 
 
-    public JsonElement getElement() {
+    public JsonNode getElement() {
         return element;
     }
 
@@ -46,10 +48,15 @@ public class AddObjectToArrayInput {
     }
 
 
-    public static class Builder {
-        private final JsonParser jsonParser = new JsonParser();
+    public String getOutputFile() {
+        return outputFile;
+    }
 
+
+    public static class Builder {
         private String array;
+        private String jsonFile;
+        private String outputFile;
         private String element;
         private String index;
 
@@ -60,6 +67,18 @@ public class AddObjectToArrayInput {
         }
 
 
+        public Builder jsonFile(String jsonFile) {
+            this.jsonFile = jsonFile;
+            return this;
+        }
+
+
+        public Builder outputFile(String outputFile) {
+            this.outputFile = outputFile;
+            return this;
+        }
+
+
         public Builder element(String element) {
             this.element = element;
             return this;
@@ -75,18 +94,20 @@ public class AddObjectToArrayInput {
         public @NotNull AddObjectToArrayInput build() throws Exception {
             AddObjectToArrayInput input = new AddObjectToArrayInput();
 
-            if (StringUtils.isNotBlank(this.array)) {
-                input.array = this.jsonParser.parse(this.array).getAsJsonArray();
+            if (StringUtils.isNotBlank(this.array) || StringUtils.isNotBlank(this.jsonFile)) {
+                input.array = JsonUtils.readJsonArray(this.array, this.jsonFile, Constants.InputNames.ARRAY);
             }
 
             if(StringUtils.isNotBlank(this.element)) {
-                input.element = this.jsonParser.parse(this.element);
+                input.element = JsonUtils.parseJson(this.element);
             }
 
             if (StringUtils.isNotBlank(this.index)) {
                 input.index = Integer.parseInt(this.index);
             }
 
+            input.outputFile = this.outputFile;
+
             return input;
         }
     }
@@ -29,13 +29,13 @@
  */
 package io.cloudslang.content.json.entities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.cloudslang.content.json.utils.JsonUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class GetArrayEntryInput {
-    private JsonArray array;
+    private ArrayNode array;
     private Integer index;
 
 
@@ -44,7 +44,7 @@ public class GetArrayEntryInput {
     }
 
 
-    public JsonArray getArray() {
+    public ArrayNode getArray() {
         return array;
     }
 
@@ -75,7 +75,7 @@ public class GetArrayEntryInput {
             GetArrayEntryInput input = new GetArrayEntryInput();
 
             if (StringUtils.isNotBlank(this.array)) {
-                input.array = new JsonParser().parse(this.array).getAsJsonArray();
+                input.array = JsonUtils.parseJsonArray(this.array);
             }
 
             if (StringUtils.isNotBlank(this.index)) {
@@ -29,14 +29,16 @@
  */
 package io.cloudslang.content.json.entities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class GetArraySublistInput {
-    private JsonArray array;
+    private ArrayNode array;
     private String fromIndex;
     private String toIndex;
+    private String outputFile;
 
 
     private GetArraySublistInput() {
@@ -44,7 +46,7 @@ public class GetArraySublistInput {
     }
 
 
-    public JsonArray getArray() {
+    public ArrayNode getArray() {
         return array;
     }
 
@@ -56,8 +58,14 @@ public class GetArraySublistInput {
         return toIndex;
     }
 
+    public String getOutputFile() {
+        return outputFile;
+    }
+
     public static class Builder {
         private String array;
+        private String jsonFile;
+        private String outputFile;
         private String fromIndex;
         private String toIndex;
 
@@ -68,6 +76,18 @@ public class GetArraySublistInput {
         }
 
 
+        public Builder jsonFile(String jsonFile) {
+            this.jsonFile = jsonFile;
+            return this;
+        }
+
+
+        public Builder outputFile(String outputFile) {
+            this.outputFile = outputFile;
+            return this;
+        }
+
+
         public Builder fromIndex(String fromIndex) {
             this.fromIndex = fromIndex;
             return this;
@@ -82,12 +102,14 @@ public class GetArraySublistInput {
         public @NotNull GetArraySublistInput build() throws Exception {
             GetArraySublistInput input = new GetArraySublistInput();
 
-            input.array = new JsonParser().parse(this.array).getAsJsonArray();
+            input.array = JsonUtils.readJsonArray(this.array, this.jsonFile, Constants.InputNames.ARRAY);
 
             input.fromIndex = this.fromIndex;
 
             input.toIndex = this.toIndex;
 
+            input.outputFile = this.outputFile;
+
             return input;
         }
     }
@@ -29,16 +29,16 @@
  */
 package io.cloudslang.content.json.entities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.cloudslang.content.json.utils.Constants;
 import io.cloudslang.content.json.utils.ExceptionMsgs;
+import io.cloudslang.content.json.utils.JsonUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class MergeArraysInput {
-    private JsonArray array1;
-    private JsonArray array2;
+    private ArrayNode array1;
+    private ArrayNode array2;
 
 
     private MergeArraysInput() {
@@ -46,18 +46,17 @@ public class MergeArraysInput {
     }
 
 
-    public JsonArray getArray1() {
+    public ArrayNode getArray1() {
         return array1;
     }
 
 
-    public JsonArray getArray2() {
+    public ArrayNode getArray2() {
         return array2;
     }
 
 
     public static class Builder {
-        private final JsonParser jsonParser = new JsonParser();
         private String array1;
         private String array2;
 
@@ -79,7 +78,7 @@ public class MergeArraysInput {
 
             if (StringUtils.isNotBlank(this.array1)) {
                 try {
-                    input.array1 = this.jsonParser.parse(this.array1).getAsJsonArray();
+                    input.array1 = JsonUtils.parseJsonArray(this.array1);
                 } catch (Exception ex) {
                     String msg = String.format(ExceptionMsgs.EXCEPTION_WHILE_PARSING, Constants.InputNames.ARRAY1, ex.getMessage());
                     throw new Exception(msg, ex);
@@ -88,7 +87,7 @@ public class MergeArraysInput {
 
             if (StringUtils.isNotBlank(this.array2)) {
                 try {
-                    input.array2 = this.jsonParser.parse(this.array2).getAsJsonArray();
+                    input.array2 = JsonUtils.parseJsonArray(this.array2);
                 } catch (Exception ex) {
                     String msg = String.format(ExceptionMsgs.EXCEPTION_WHILE_PARSING, Constants.InputNames.ARRAY2, ex.getMessage());
                     throw new Exception(msg, ex);
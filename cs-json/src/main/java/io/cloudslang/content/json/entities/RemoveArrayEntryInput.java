@@ -29,13 +29,13 @@
  */
 package io.cloudslang.content.json.entities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.cloudslang.content.json.utils.JsonUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 public class RemoveArrayEntryInput {
-    private JsonArray array;
+    private ArrayNode array;
     private Integer index;
 
 
@@ -44,7 +44,7 @@ public class RemoveArrayEntryInput {
     }
 
 
-    public JsonArray getArray() {
+    public ArrayNode getArray() {
         return array;
     }
 
@@ -75,7 +75,7 @@ public class RemoveArrayEntryInput {
             RemoveArrayEntryInput input = new RemoveArrayEntryInput();
 
             if (StringUtils.isNotBlank(this.array)) {
-                input.array = new JsonParser().parse(StringUtils.defaultString(this.array)).getAsJsonArray();
+                input.array = JsonUtils.parseJsonArray(this.array);
             }
 
             if (StringUtils.isNotBlank(this.index)) {
@@ -15,13 +15,15 @@
 
 package io.cloudslang.content.json.services;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.cloudslang.content.json.entities.AddObjectToArrayInput;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.json.validators.AddObjectToArrayValidator;
 import io.cloudslang.content.utils.OutputUtilities;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -30,24 +32,24 @@ public class AddObjectToArrayService {
     private final AddObjectToArrayValidator validator = new AddObjectToArrayValidator();
 
 
-    public @NotNull Map<String, String> execute(@NotNull AddObjectToArrayInput input) {
+    public @NotNull Map<String, String> execute(@NotNull AddObjectToArrayInput input) throws IOException {
         List<RuntimeException> validationErrs = this.validator.validate(input);
         if (!validationErrs.isEmpty()) {
             throw validationErrs.get(0);
         }
 
-        JsonArray array = input.getArray();
-        JsonElement element = input.getElement();
+        ArrayNode array = input.getArray();
+        JsonNode element = input.getElement();
         int index = getPositiveIndex(input.getArray(), input.getIndex());
 
-        JsonArray resultArray = addToArray(array, element, index);
+        array.insert(index, element);
 
-        String returnResult = resultArray.toString();
+        String returnResult = JsonUtils.writeJson(array, input.getOutputFile());
         return OutputUtilities.getSuccessResultsMap(returnResult);
     }
 
 
-    public int getPositiveIndex(JsonArray array, Integer index) {
+    public int getPositiveIndex(ArrayNode array, Integer index) {
         if (index == null) {
             return array.size();
         }
@@ -57,19 +59,4 @@ public class AddObjectToArrayService {
         return index;
     }
 
-
-    private JsonArray addToArray(JsonArray array, JsonElement element, int index) {
-        JsonArray resultArray = new JsonArray();
-
-        for (int i = 0; i < index; i++) {
-            resultArray.add(array.get(i));
-        }
-        resultArray.add(element);
-        for (int i = index; i < array.size(); i++) {
-            resultArray.add(array.get(i));
-        }
-
-        return resultArray;
-    }
-
 }
@@ -29,7 +29,7 @@
  */
 package io.cloudslang.content.json.services;
 
-import com.google.gson.JsonElement;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.cloudslang.content.json.entities.GetArrayEntryInput;
 import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.json.validators.GetArrayEntryValidator;
@@ -50,8 +50,8 @@ public class GetArrayEntryService {
             throw validationErrs.get(0);
         }
 
-        int index = input.getIndex() < 0 ? input.getArray().size() + input.getIndex() : input.getIndex();
-        JsonElement arrayEntry = input.getArray().get(index);
+        int index = JsonUtils.getArrayIndex(input.getArray(), input.getIndex());
+        JsonNode arrayEntry = input.getArray().get(index);
 
         String returnResult = arrayEntry.toString();
         return OutputUtilities.getSuccessResultsMap(returnResult);
@@ -29,11 +29,14 @@
  */
 package io.cloudslang.content.json.services;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.cloudslang.content.json.entities.GetArraySublistInput;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.OutputUtilities;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -44,30 +47,36 @@ import static io.cloudslang.content.json.utils.Constants.InputNames.*;
 
 public class GetArraySublistService {
 
-    public @NotNull Map<String, String> execute(@NotNull GetArraySublistInput input) {
+    public @NotNull Map<String, String> execute(@NotNull GetArraySublistInput input) throws IOException {
 
-        List<String> outputArray = new ArrayList<>();
+        final ArrayNode array = input.getArray();
+        final int fromIndex = Integer.parseInt(input.getfromIndex());
 
-        if (Integer.parseInt(input.getfromIndex()) > input.getArray().size()) {
+        if (fromIndex > array.size()) {
             return OutputUtilities.getFailureResultsMap(INVALID_FROM_INDEX_VALUE);
         }
-        if (!StringUtils.isEmpty(input.gettoIndex()) && Integer.parseInt(input.gettoIndex()) > input.getArray().size()) {
+        if (!StringUtils.isEmpty(input.gettoIndex()) && Integer.parseInt(input.gettoIndex()) > array.size()) {
             return OutputUtilities.getFailureResultsMap(INVALID_TO_INDEX_VALUE);
         }
-        if (StringUtils.isEmpty(input.gettoIndex())) {
-            for (int i = Integer.parseInt(input.getfromIndex()); i < input.getArray().size(); i++) {
-                if (input.getArray().get(i).toString().startsWith(BRACKET) || input.getArray().get(i).toString().startsWith(SQUARE_BRACKET) || input.getArray().get(i).toString().startsWith(DOUBLE_QUOTES))
-                    outputArray.add(input.getArray().get(i).toString());
-                else
-                    outputArray.add(DOUBLE_QUOTES + input.getArray().get(i).toString() + DOUBLE_QUOTES);
-            }
-        } else
-            for (int i = Integer.parseInt(input.getfromIndex()); i < Integer.parseInt(input.gettoIndex()); i++) {
-                if (input.getArray().get(i).toString().startsWith(BRACKET) || input.getArray().get(i).toString().startsWith(SQUARE_BRACKET) || input.getArray().get(i).toString().startsWith(DOUBLE_QUOTES))
-                    outputArray.add(input.getArray().get(i).toString());
-                else
-                    outputArray.add(DOUBLE_QUOTES + input.getArray().get(i).toString() + DOUBLE_QUOTES);
+        final int toIndex = StringUtils.isEmpty(input.gettoIndex()) ? array.size() : Integer.parseInt(input.gettoIndex());
+
+        if (!StringUtils.isEmpty(input.getOutputFile())) {
+            final ArrayNode sublist = array.arrayNode(toIndex - fromIndex);
+            for (int i = fromIndex; i < toIndex; i++) {
+                sublist.add(array.get(i));
             }
+            return OutputUtilities.getSuccessResultsMap(JsonUtils.writeJson(sublist, input.getOutputFile()));
+        }
+
+        List<String> outputArray = new ArrayList<>();
+        for (int i = fromIndex; i < toIndex; i++) {
+            //every entry is serialized once
+            final String entry = array.get(i).toString();
+            if (entry.startsWith(BRACKET) || entry.startsWith(SQUARE_BRACKET) || entry.startsWith(DOUBLE_QUOTES))
+                outputArray.add(entry);
+            else
+                outputArray.add(DOUBLE_QUOTES + entry + DOUBLE_QUOTES);
+        }
         return OutputUtilities.getSuccessResultsMap(outputArray.toString());
     }
 }
@@ -29,26 +29,24 @@
  */
 package io.cloudslang.content.json.services;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cloudslang.content.json.utils.JsonUtils;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import static io.cloudslang.content.json.utils.Constants.InputNames.DOUBLE_QUOTES;
 
 public class GetObjectKeysImpl {
 
-    public static String getObjectKeys(String jsonString) {
+    public static String getObjectKeys(String jsonString) throws IOException {
 
-        JsonObject jsonObject = new JsonParser().parse(jsonString).getAsJsonObject();
-        Set<Map.Entry<String, JsonElement>> entries = jsonObject.entrySet();
+        ObjectNode jsonObject = JsonUtils.parseJsonObject(jsonString);
         List<String> keyList = new ArrayList<>();
-        for (Map.Entry<String, JsonElement> entry : entries) {
-            keyList.add(DOUBLE_QUOTES + entry.getKey() + DOUBLE_QUOTES);
+        for (Iterator<String> fieldNames = jsonObject.fieldNames(); fieldNames.hasNext(); ) {
+            keyList.add(DOUBLE_QUOTES + fieldNames.next() + DOUBLE_QUOTES);
         }
 
         return keyList.toString();
@@ -16,26 +16,24 @@
 
 package io.cloudslang.content.json.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.JsonContext;
-import com.jayway.jsonpath.spi.json.GsonJsonProvider;
-import com.jayway.jsonpath.spi.json.JsonProvider;
 import io.cloudslang.content.json.exceptions.RemoveEmptyElementException;
+import io.cloudslang.content.json.utils.ActionsEnum;
+import io.cloudslang.content.json.utils.JsonEngine;
 import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.json.utils.StreamingJsonPath;
 import io.cloudslang.content.json.utils.StringUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
-import net.minidev.json.JSONStyle;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Created by Folea Ilie Cristian on 2/3/2016.
@@ -50,30 +48,116 @@ public class JsonService {
     }
 
 
+    @NotNull
+    public static JsonNode evaluateJsonPathQuery(@NotNull final JsonNode jsonObject, @Nullable final String jsonPath) {
+        final JsonContext jsonContext = JsonEngine.getInstance(true).newJsonContext(jsonObject);
+        final JsonPath path = JsonUtils.getValidJsonPath(jsonPath);
+        return jsonContext.read(path);
+    }
+
+
+    /**
+     * Evaluates the json path while the json is read and writes every match to the generator as soon as it is found.
+     * The result of a definite path is its value, the result of any other path is the array of its matches.
+     *
+     * @param parser    the parser of the json, created by an ObjectMapper
+     * @param jsonPath  the path
+     * @param generator the generator the result is written to
+     * @throws IOException if the json is not valid or the result cannot be written
+     */
+    public static void evaluateJsonPathQuery(@NotNull final JsonParser parser, @NotNull final StreamingJsonPath jsonPath,
+                                             @NotNull final JsonGenerator generator) throws IOException {
+        if (!jsonPath.isDefinite()) {
+            generator.writeStartArray();
+        }
+        final int matches = jsonPath.evaluate(parser, new StreamingJsonPath.MatchHandler() {
+            @Override
+            public void onMatch(@NotNull JsonParser matchParser) throws IOException {
+                generator.copyCurrentStructure(matchParser);
+            }
+        }, StreamingJsonPath.IndexPastEnd.NULL);
+        if (!jsonPath.isDefinite()) {
+            generator.writeEndArray();
+        } else if (matches == 0) {
+            throw new PathNotFoundException("No results for path: " + jsonPath);
+        }
+    }
+
+
+    /**
+     * Applies one edit action on the json of the context, the json is changed in place.
+     *
+     * @param jsonContext the context of the json
+     * @param jsonPath    the path the action is applied to
+     * @param action      the action
+     * @param name        the name of the inserted property or the name of the renamed property
+     * @param value       the inserted, added or updated value or the new name of the renamed property
+     * @return the value read by the get action, the edited json for the other actions
+     */
+    @NotNull
+    public static Object editJson(@NotNull final JsonContext jsonContext, @NotNull final JsonPath jsonPath,
+                                  @NotNull final ActionsEnum action, @Nullable final String name, @Nullable final Object value) {
+        switch (action) {
+            case get:
+                return jsonContext.read(jsonPath);
+            case insert:
+                return jsonContext.put(jsonPath, name, value).json();
+            case add:
+                return jsonContext.add(jsonPath, value).json();
+            case update:
+                return jsonContext.set(jsonPath, value).json();
+            case delete:
+                return jsonContext.delete(jsonPath).json();
+            case rename:
+                final String newName = value instanceof JsonNode ? ((JsonNode) value).asText() : String.valueOf(value);
+                return jsonContext.renameKey(jsonPath, name, newName).json();
+            default:
+                throw new IllegalArgumentException("Unsupported action: " + action);
+        }
+    }
+
+
     public String removeEmptyElementsJson(String json) throws RemoveEmptyElementException {
         String normalizedJson = json.trim();
 
         char wrappingQuote = retrieveWrappingQuoteTypeOfJsonMemberNames(normalizedJson);
 
-        Map<String, Object> jsonMap;
+        JsonNode jsonNode;
 
         try {
-            parseJsonForInconsistencies(normalizedJson);
-            jsonMap = JsonPath.read(normalizedJson, "$");
-        } catch (com.jayway.jsonpath.InvalidJsonException | com.google.gson.JsonSyntaxException ije) {
-            throw new RemoveEmptyElementException(ije);
+            //the tree is parsed once and the empty elements are removed from it in place
+            jsonNode = JsonEngine.getLenientInstance().getObjectMapper().readTree(normalizedJson);
+        } catch (IOException ioe) {
+            throw new RemoveEmptyElementException(ioe);
+        }
+        if (jsonNode == null) {
+            throw new RemoveEmptyElementException("Invalid json object: " + json);
         }
 
-        removeEmptyElementsFromMap(jsonMap);
-        return generateResultingJsonString(wrappingQuote, jsonMap);
+        return generateResultingJsonString(wrappingQuote, removeEmptyElementsJson(jsonNode));
     }
 
 
-    private String generateResultingJsonString(char wrappingQuote, Map<String, Object> jsonMap) {
-        JSONObject jsonObject = new JSONObject(jsonMap);
-        String newJson = jsonObject.toJSONString(JSONStyle.LT_COMPRESS);
+    /**
+     * Removes the empty elements from the json object, the tree is changed in place.
+     *
+     * @param json the json object
+     * @return the json object
+     * @throws RemoveEmptyElementException if the json is not an object
+     */
+    public JsonNode removeEmptyElementsJson(JsonNode json) throws RemoveEmptyElementException {
+        if (!json.isObject()) {
+            throw new RemoveEmptyElementException("Invalid json object: " + json);
+        }
+        removeEmptyElements(json);
+        return json;
+    }
 
-        if ((!jsonObject.isEmpty()) && (newJson.charAt(1) != wrappingQuote)) {
+
+    private String generateResultingJsonString(char wrappingQuote, JsonNode jsonNode) {
+        String newJson = jsonNode.toString();
+
+        if ((jsonNode.size() != 0) && (newJson.charAt(1) != wrappingQuote)) {
             return replaceUnescapedOccurrencesOfCharacterInText(newJson, newJson.charAt(1), wrappingQuote);
         }
 
@@ -81,13 +165,6 @@ public class JsonService {
     }
 
 
-    private void parseJsonForInconsistencies(String normalizedJson) {
-        JsonProvider provider = new GsonJsonProvider();
-        Configuration configuration = Configuration.builder().jsonProvider(provider).build();
-        JsonPath.parse(normalizedJson, configuration);       //throws an exception at runtime if the json is malformed
-    }
-
-
     /**
      * Returns the quote character used for specifying json member names and String values of json members
      *
@@ -106,53 +183,28 @@ public class JsonService {
     }
 
 
-    private void removeEmptyElementsFromMap(Map<String, Object> json) {
-        Set<Map.Entry<String, Object>> jsonElements = json.entrySet();
-        Iterator<Map.Entry<String, Object>> jsonElementsIterator = jsonElements.iterator();
+    /**
+     * Removes from the json object or array the null values, the empty strings and the empty arrays and objects.
+     * An array or object that becomes empty after its own empty elements are removed is kept.
+     */
+    private void removeEmptyElements(JsonNode json) {
+        Iterator<JsonNode> jsonElementsIterator = json.elements();
         while (jsonElementsIterator.hasNext()) {
-            Map.Entry<String, Object> jsonElement = jsonElementsIterator.next();
-            Object jsonElementValue = jsonElement.getValue();
-            if (StringUtils.isEmpty(jsonElementValue)) {
+            JsonNode jsonElement = jsonElementsIterator.next();
+            if (isEmptyElement(jsonElement)) {
                 jsonElementsIterator.remove();
-            } else if (jsonElementValue instanceof JSONArray) {
-                if (((JSONArray) jsonElementValue).isEmpty()) {
-                    jsonElementsIterator.remove();
-                } else {
-                    removeEmptyElementFromJsonArray((JSONArray) jsonElementValue);
-                }
-            } else if (jsonElementValue instanceof LinkedHashMap) {
-                if (((LinkedHashMap) jsonElementValue).isEmpty()) {
-                    jsonElementsIterator.remove();
-                } else {
-                    removeEmptyElementsFromMap((Map<String, Object>) jsonElementValue);
-                }
+            } else if (jsonElement.isContainerNode()) {
+                removeEmptyElements(jsonElement);
             }
         }
     }
 
 
-    private void removeEmptyElementFromJsonArray(JSONArray jsonArray) {
-
-        Iterator jsonArrayIterator = jsonArray.iterator();
-        while (jsonArrayIterator.hasNext()) {
-            Object jsonArrayElement = jsonArrayIterator.next();
-            if (StringUtils.isEmpty(jsonArrayElement)) {
-                jsonArrayIterator.remove();
-            } else if (jsonArrayElement instanceof JSONArray) {
-                if (((JSONArray) jsonArrayElement).isEmpty()) {
-                    jsonArrayIterator.remove();
-                } else {
-                    removeEmptyElementFromJsonArray((JSONArray) jsonArrayElement);
-                }
-            } else if (jsonArrayElement instanceof LinkedHashMap) {
-                if (((LinkedHashMap) jsonArrayElement).isEmpty()) {
-                    jsonArrayIterator.remove();
-                } else {
-                    removeEmptyElementsFromMap((LinkedHashMap) jsonArrayElement);
-                }
-            }
+    private boolean isEmptyElement(JsonNode jsonElement) {
+        if (jsonElement.isContainerNode()) {
+            return jsonElement.size() == 0;
         }
-
+        return jsonElement.isNull() || (jsonElement.isTextual() && StringUtils.isEmpty(jsonElement.textValue()));
     }
 
 
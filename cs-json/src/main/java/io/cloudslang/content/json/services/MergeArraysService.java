@@ -29,7 +29,7 @@
  */
 package io.cloudslang.content.json.services;
 
-import com.google.gson.JsonArray;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.cloudslang.content.json.entities.MergeArraysInput;
 import io.cloudslang.content.json.validators.MergeArraysValidator;
 import io.cloudslang.content.utils.OutputUtilities;
@@ -49,8 +49,7 @@ public class MergeArraysService {
             throw validationErrs.get(0);
         }
 
-        JsonArray mergedArray = new JsonArray();
-        mergedArray.addAll(input.getArray1());
+        ArrayNode mergedArray = input.getArray1();
         mergedArray.addAll(input.getArray2());
 
         String returnResult = mergedArray.toString();
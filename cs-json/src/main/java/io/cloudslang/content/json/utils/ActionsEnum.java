@@ -25,7 +25,8 @@ public enum ActionsEnum {
     insert(Constants.EditJsonOperations.INSERT_ACTION, true),
     add(Constants.EditJsonOperations.ADD_ACTION, true),
     update(Constants.EditJsonOperations.UPDATE_ACTION, true),
-    delete(Constants.EditJsonOperations.DELETE_ACTION, false);
+    delete(Constants.EditJsonOperations.DELETE_ACTION, false),
+    rename(Constants.EditJsonOperations.RENAME_ACTION, false);
     private final Boolean needValue;
     private final String value;
 
@@ -36,6 +36,12 @@ public final class Constants {
         public static final String ARRAY2 = "array2";
         public static final String ACTION = "action";
         public static final String JSON_PATH = "jsonPath";
+        public static final String JSON_FILE = "jsonFile";
+        public static final String ARRAY1_FILE = "array1File";
+        public static final String ARRAY2_FILE = "array2File";
+        public static final String OUTPUT_FILE = "outputFile";
+        public static final String OPERATIONS = "operations";
+        public static final String STREAMING = "streaming";
         public static final String NAME = "name";
         public static final String VALUE = "value";
         public static final String VALIDATE_VALUE = "validateValue";
@@ -46,12 +52,17 @@ public final class Constants {
         public static final String SQUARE_BRACKET = "[";
     }
 
+    public static final class OutputNames extends io.cloudslang.content.constants.OutputNames {
+        public static final String GET_RESULTS = "getResults";
+    }
+
     static final class EditJsonOperations {
         static final String GET_ACTION = "get";
         static final String INSERT_ACTION = "insert";
         static final String UPDATE_ACTION = "update";
         static final String DELETE_ACTION = "delete";
         static final String ADD_ACTION = "add";
+        static final String RENAME_ACTION = "rename";
     }
 
     public static final class AddPropertyToObject {
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.JsonContext;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The Jackson ObjectMapper and the JsonPath configuration shared by the json actions.
+ * Building an ObjectMapper is expensive and every new instance starts with empty serializer and deserializer caches,
+ * so there is one engine for each configuration, created the first time it is used. The engines are thread safe.
+ * <p>
+ * The lenient engine reads the inputs of the actions that used to be parsed with the lenient Gson parser: it accepts
+ * single quotes, unquoted field names, comments, NaN and Infinity, control characters in strings, numbers with
+ * leading zeros and missing array values, and like Gson it rejects any content after the json value.
+ * Unquoted string values and the '=' and ';' separators Gson accepted are still rejected.
+ */
+public final class JsonEngine {
+
+    private final ObjectMapper objectMapper;
+    private final Configuration configuration;
+
+    private JsonEngine(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        configuration = Configuration.defaultConfiguration()
+                .jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper));
+    }
+
+    /**
+     * @param allowSingleQuotes true if the field names and the string values may be wrapped in single quotes
+     * @return the shared engine of the configuration
+     */
+    @NotNull
+    public static JsonEngine getInstance(final boolean allowSingleQuotes) {
+        return allowSingleQuotes ? SingleQuotesHolder.INSTANCE : DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * @return the shared engine that reads json as leniently as the Gson parser and rejects the content after the json
+     */
+    @NotNull
+    public static JsonEngine getLenientInstance() {
+        return LenientHolder.INSTANCE;
+    }
+
+    @NotNull
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @return the JsonPath configuration that reads and writes Jackson JsonNode trees with the object mapper of the engine
+     */
+    @NotNull
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @return a new context for a document, the context is not thread safe
+     */
+    @NotNull
+    public JsonContext newJsonContext() {
+        return new JsonContext(configuration);
+    }
+
+    /**
+     * @param json the root of a json tree read with the object mapper of the engine
+     * @return a new context for the tree, the context is not thread safe
+     */
+    @NotNull
+    public JsonContext newJsonContext(@NotNull final Object json) {
+        final JsonContext jsonContext = new JsonContext(configuration);
+        jsonContext.parse(json);
+        return jsonContext;
+    }
+
+    private static final class DefaultHolder {
+        private static final JsonEngine INSTANCE = new JsonEngine(new ObjectMapper());
+    }
+
+    private static final class SingleQuotesHolder {
+        private static final JsonEngine INSTANCE = new JsonEngine(new ObjectMapper()
+                .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true));
+    }
+
+    private static final class LenientHolder {
+        private static final JsonEngine INSTANCE = new JsonEngine(new ObjectMapper()
+                .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+                .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+                .configure(JsonParser.Feature.ALLOW_COMMENTS, true)
+                .configure(JsonParser.Feature.ALLOW_YAML_COMMENTS, true)
+                .configure(JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS, true)
+                .configure(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, true)
+                .configure(JsonParser.Feature.ALLOW_NUMERIC_LEADING_ZEROS, true)
+                .configure(JsonParser.Feature.ALLOW_MISSING_VALUES, true)
+                .configure(DeserializationFeature.FAIL_ON_TRAILING_TOKENS, true));
+    }
+}
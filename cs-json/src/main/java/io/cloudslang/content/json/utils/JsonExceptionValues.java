@@ -24,4 +24,10 @@ import io.cloudslang.content.constants.ExceptionValues;
 public final class JsonExceptionValues extends ExceptionValues {
     public static final String INVALID_JSONOBJECT = "Invalid jsonObject provided!";
     public static final String INVALID_JSONPATH = "Invalid jsonPath provided!";
+    public static final String UNSUPPORTED_STREAMING_JSONPATH = "The jsonPath %s cannot be evaluated in streaming mode: %s.";
+    public static final String INVALID_JSON_SOURCE = "Exactly one of the %s and %s inputs should be provided!";
+    public static final String INVALID_JSON_FILE = "The jsonFile %s does not exist or is not a file!";
+    public static final String INVALID_OPERATIONS = "Invalid operations provided! The operations should be a JSON array of objects.";
+    public static final String INVALID_OPERATION = "Operation %d failed: %s";
+    public static final String INDEX_OUT_OF_RANGE = "The provided %d index is out of range! Provide a valid index value in the provided JSON!";
 }
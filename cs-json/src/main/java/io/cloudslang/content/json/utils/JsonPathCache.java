@@ -0,0 +1,86 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.jayway.jsonpath.JsonPath;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the compiled JsonPath expressions, the least recently used expression is evicted when the cache is full.
+ * A compiled JsonPath holds no state of the documents it is evaluated on, so it can be shared between threads.
+ */
+public final class JsonPathCache {
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final JsonPathCache INSTANCE = new JsonPathCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, JsonPath> paths;
+
+    JsonPathCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The size of the JsonPath cache should be greater than 0");
+        }
+        paths = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, JsonPath> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @NotNull
+    public static JsonPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param jsonPath a JsonPath expression
+     * @return the compiled expression, it is compiled only if it is not in the cache
+     * @throws IllegalArgumentException if the expression is not valid, invalid expressions are not cached
+     */
+    @NotNull
+    public JsonPath compile(@NotNull final String jsonPath) {
+        synchronized (paths) {
+            final JsonPath cachedPath = paths.get(jsonPath);
+            if (cachedPath != null) {
+                return cachedPath;
+            }
+        }
+        //compile outside of the lock, two threads may compile the same expression but they get equivalent paths
+        final JsonPath compiledPath = JsonPath.compile(jsonPath);
+        synchronized (paths) {
+            paths.put(jsonPath, compiledPath);
+        }
+        return compiledPath;
+    }
+
+    public int size() {
+        synchronized (paths) {
+            return paths.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+}
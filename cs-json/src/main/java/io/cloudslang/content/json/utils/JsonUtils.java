@@ -16,15 +16,15 @@
 
 package io.cloudslang.content.json.utils;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.jayway.jsonpath.Configuration;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.internal.JsonContext;
-import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
-import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import io.cloudslang.content.constants.OtherValues;
 import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ReturnCodes;
@@ -32,10 +32,15 @@ import io.cloudslang.content.utils.StringUtilities;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 
 import static io.cloudslang.content.json.utils.ActionsEnum.insert;
+import static io.cloudslang.content.json.utils.ActionsEnum.rename;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSON_FILE;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSON_SOURCE;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
 
 /**
@@ -69,6 +74,11 @@ public class JsonUtils {
         if (StringUtilities.isBlank(jsonObject)) {
             throw new Exception("Empty jsonObject provided!");
         }
+        validateEditJsonInputs(jsonPath, action, name, value);
+    }
+
+
+    public static void validateEditJsonInputs(String jsonPath, String action, String name, String value) throws Exception {
         if (StringUtilities.isBlank(jsonPath)) {
             throw new Exception("Empty jsonPath provided!");
         }
@@ -96,6 +106,14 @@ public class JsonUtils {
                 throw new Exception("Empty name provided for insert action!");
             }
         }
+        if (actionString.equals(rename.getValue())) {
+            if (StringUtilities.isBlank(name)) {
+                throw new Exception("Empty name provided for rename action!");
+            }
+            if (StringUtilities.isBlank(value)) {
+                throw new Exception("Empty value provided for rename action!");
+            }
+        }
 
         checkForNullValue(actionString, value);
     }
@@ -113,7 +131,7 @@ public class JsonUtils {
 
     public static JsonPath getValidJsonPath(final String jsonPath) {
         try {
-            return JsonPath.compile(jsonPath);
+            return JsonPathCache.getInstance().compile(jsonPath);
         } catch (IllegalArgumentException iae) {
             throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONPATH, iae);
         }
@@ -123,11 +141,7 @@ public class JsonUtils {
     @NotNull
     public static JsonContext getValidJsonContext(final String jsonObject) {
         try {
-            final ObjectMapper objectMapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
-            final AbstractJsonProvider provider = new JacksonJsonNodeJsonProvider(objectMapper);
-            final Configuration configuration = Configuration.defaultConfiguration()
-                    .jsonProvider(provider);
-            final JsonContext jsonContext = new JsonContext(configuration);
+            final JsonContext jsonContext = JsonEngine.getInstance(true).newJsonContext();
             jsonContext.parse(jsonObject);
             return jsonContext;
         } catch (IllegalArgumentException iae) {
@@ -136,6 +150,167 @@ public class JsonUtils {
     }
 
 
+    /**
+     * Parses a json with the lenient engine, see {@link JsonEngine#getLenientInstance()}.
+     *
+     * @param json the json text
+     * @return the root of the json tree
+     * @throws IOException if json is not a valid json
+     */
+    @NotNull
+    public static JsonNode parseJson(final String json) throws IOException {
+        final JsonNode jsonNode = JsonEngine.getLenientInstance().getObjectMapper().readTree(json);
+        if (jsonNode == null) {
+            throw new IOException("No content to map due to end-of-input");
+        }
+        return jsonNode;
+    }
+
+
+    /**
+     * @param array the array
+     * @param index the index of an entry, counted from the end of the array when it is negative
+     * @return the position of the entry in the array
+     * @throws IndexOutOfBoundsException if the array has no such entry, ArrayNode only returns null in that case
+     */
+    public static int getArrayIndex(@NotNull final ArrayNode array, final int index) {
+        final int position = index < 0 ? array.size() + index : index;
+        if (position < 0 || position >= array.size()) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + array.size());
+        }
+        return position;
+    }
+
+
+    @NotNull
+    public static ArrayNode parseJsonArray(final String json) throws IOException {
+        final JsonNode jsonNode = parseJson(json);
+        if (!jsonNode.isArray()) {
+            throw new IllegalStateException("Not a JSON Array: " + jsonNode);
+        }
+        return (ArrayNode) jsonNode;
+    }
+
+
+    @NotNull
+    public static ObjectNode parseJsonObject(final String json) throws IOException {
+        final JsonNode jsonNode = parseJson(json);
+        if (!jsonNode.isObject()) {
+            throw new IllegalStateException("Not a JSON Object: " + jsonNode);
+        }
+        return (ObjectNode) jsonNode;
+    }
+
+
+    /**
+     * Creates a parser over the json text or over the json file, exactly one of them should be provided.
+     * The file is read through the buffer of the parser, it is never loaded in memory as a whole.
+     *
+     * @param objectMapper  the object mapper that configures the parser and reads the trees
+     * @param json          the json text
+     * @param jsonFile      the path of the json file
+     * @param jsonInputName the name of the input that holds the json text, for the error message
+     * @return a parser positioned before the first token
+     * @throws IOException if the file cannot be opened
+     */
+    @NotNull
+    public static JsonParser createJsonParser(@NotNull final ObjectMapper objectMapper, @Nullable final String json,
+                                              @Nullable final String jsonFile, @NotNull final String jsonInputName) throws IOException {
+        return createJsonParser(objectMapper, json, jsonFile, jsonInputName, Constants.InputNames.JSON_FILE);
+    }
+
+    /**
+     * @param jsonFileInputName the name of the input that holds the path of the json file, for the error message
+     * @see #createJsonParser(ObjectMapper, String, String, String)
+     */
+    @NotNull
+    public static JsonParser createJsonParser(@NotNull final ObjectMapper objectMapper, @Nullable final String json,
+                                              @Nullable final String jsonFile, @NotNull final String jsonInputName,
+                                              @NotNull final String jsonFileInputName) throws IOException {
+        if (StringUtilities.isBlank(json) == StringUtilities.isBlank(jsonFile)) {
+            throw new IllegalArgumentException(String.format(INVALID_JSON_SOURCE, jsonInputName, jsonFileInputName));
+        }
+        if (StringUtilities.isBlank(jsonFile)) {
+            return objectMapper.getFactory().createParser(json);
+        }
+        final File file = new File(jsonFile);
+        if (!file.isFile()) {
+            throw new IllegalArgumentException(String.format(INVALID_JSON_FILE, jsonFile));
+        }
+        return objectMapper.getFactory().createParser(file);
+    }
+
+
+    /**
+     * Reads the json text or the json file, exactly one of them should be provided.
+     *
+     * @return the root of the json tree
+     * @throws IOException if the json is not valid or the file cannot be read
+     * @see #createJsonParser(ObjectMapper, String, String, String)
+     */
+    @NotNull
+    public static JsonNode readJson(@NotNull final ObjectMapper objectMapper, @Nullable final String json,
+                                    @Nullable final String jsonFile, @NotNull final String jsonInputName) throws IOException {
+        return readJson(objectMapper, json, jsonFile, jsonInputName, Constants.InputNames.JSON_FILE);
+    }
+
+    /**
+     * @see #readJson(ObjectMapper, String, String, String)
+     * @see #createJsonParser(ObjectMapper, String, String, String, String)
+     */
+    @NotNull
+    public static JsonNode readJson(@NotNull final ObjectMapper objectMapper, @Nullable final String json,
+                                    @Nullable final String jsonFile, @NotNull final String jsonInputName,
+                                    @NotNull final String jsonFileInputName) throws IOException {
+        try (JsonParser parser = createJsonParser(objectMapper, json, jsonFile, jsonInputName, jsonFileInputName)) {
+            final JsonNode jsonNode = objectMapper.readTree(parser);
+            if (jsonNode == null) {
+                throw new IOException("No content to map due to end-of-input");
+            }
+            return jsonNode;
+        }
+    }
+
+
+    @NotNull
+    public static ArrayNode readJsonArray(@Nullable final String json, @Nullable final String jsonFile,
+                                          @NotNull final String jsonInputName) throws IOException {
+        final JsonNode jsonNode = readJson(JsonEngine.getLenientInstance().getObjectMapper(), json, jsonFile, jsonInputName);
+        if (!jsonNode.isArray()) {
+            throw new IllegalStateException("Not a JSON Array: " + jsonNode);
+        }
+        return (ArrayNode) jsonNode;
+    }
+
+
+    /**
+     * Returns the json as text or, when an output file is given, writes it to the file through a streaming generator.
+     *
+     * @param json       the json
+     * @param outputFile the path of the file to write, an existing file is overwritten
+     * @return the json text, or the absolute path of the output file
+     * @throws IOException if the file cannot be written
+     */
+    @NotNull
+    public static String writeJson(@NotNull final JsonNode json, @Nullable final String outputFile) throws IOException {
+        if (StringUtilities.isBlank(outputFile)) {
+            return json.toString();
+        }
+        final File file = new File(outputFile);
+        final ObjectMapper objectMapper = JsonEngine.getInstance(false).getObjectMapper();
+        try (JsonGenerator generator = createJsonGenerator(objectMapper, file)) {
+            objectMapper.writeTree(generator, json);
+        }
+        return file.getAbsolutePath();
+    }
+
+
+    @NotNull
+    public static JsonGenerator createJsonGenerator(@NotNull final ObjectMapper objectMapper, @NotNull final File outputFile) throws IOException {
+        return objectMapper.getFactory().createGenerator(outputFile, JsonEncoding.UTF8);
+    }
+
+
     public static boolean parseBooleanWithDefault(String booleanValue, boolean defaultValue) {
         if (StringUtilities.isBlank(booleanValue)) {
             return defaultValue;
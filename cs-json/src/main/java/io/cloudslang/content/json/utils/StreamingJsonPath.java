@@ -0,0 +1,662 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JsonPath evaluated on a Jackson JsonParser, without building the tree of the document.
+ * <p>
+ * Only the paths that can be answered in one pass over the document are supported: child ($.a, $['a']),
+ * wildcard ($.*, $[*]), index ($[2]), slice ($[1:5], $[:5], $[1:]) and simple filters that compare a field of the
+ * current element with a literal ($[?(@.price &lt; 10)], $[?(@.type == 'book')], $[?(@.isbn)]).
+ * Deep scans, negative indexes, unions, functions and filters that refer to the root are not supported.
+ * An index past the end of an array has no match, unless the evaluation is asked for another {@link IndexPastEnd}.
+ * <p>
+ * Only the elements tested by a filter and the matches read by the handler are held in memory, the rest of the
+ * document is skipped as it is read. A definite path (no wildcard, slice or filter) stops reading at its first match.
+ */
+public final class StreamingJsonPath {
+
+    private final String path;
+    private final List<Segment> segments;
+    private final boolean definite;
+
+    private StreamingJsonPath(final String path, final List<Segment> segments) {
+        this.path = path;
+        this.segments = Collections.unmodifiableList(segments);
+        boolean isDefinite = true;
+        for (Segment segment : segments) {
+            isDefinite &= segment.isDefinite();
+        }
+        this.definite = isDefinite;
+    }
+
+    /**
+     * Receives the matches of the path, in document order.
+     */
+    public interface MatchHandler {
+        /**
+         * @param parser the parser positioned on the first token of the match. The handler should read or skip the
+         *               whole value, for example with readValueAsTree, copyCurrentStructure or skipChildren.
+         * @throws IOException if the match cannot be read or written
+         */
+        void onMatch(@NotNull JsonParser parser) throws IOException;
+    }
+
+    /**
+     * What an index past the end of an array evaluates to.
+     */
+    public enum IndexPastEnd {
+        /**
+         * The index has no match.
+         */
+        NO_MATCH,
+        /**
+         * The index matches null when it is the last segment of the path, as with JsonPath on the tree.
+         */
+        NULL,
+        /**
+         * The evaluation fails with an IndexOutOfBoundsException.
+         */
+        FAIL
+    }
+
+    /**
+     * @param jsonPath the json path
+     * @return the compiled path
+     * @throws IllegalArgumentException if the path is not valid or it cannot be evaluated in one pass
+     */
+    @NotNull
+    public static StreamingJsonPath compile(final String jsonPath) {
+        if (jsonPath == null) {
+            throw new IllegalArgumentException(JsonExceptionValues.INVALID_JSONPATH);
+        }
+        return new PathCompiler(jsonPath.trim()).compile();
+    }
+
+    /**
+     * @param jsonPath the json path
+     * @return true if the path can be evaluated in one pass over the document
+     */
+    public static boolean isSupported(final String jsonPath) {
+        try {
+            compile(jsonPath);
+            return true;
+        } catch (IllegalArgumentException iae) {
+            return false;
+        }
+    }
+
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return true if the path matches at most one value, in which case the result is the value and not an array
+     */
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * Reads the document from the parser and hands every match to the handler as soon as it is found.
+     *
+     * @param parser  a parser with a codec, created by an ObjectMapper
+     * @param handler the handler of the matches
+     * @return the number of matches
+     * @throws IOException if the document is not a valid json or the handler fails
+     */
+    public int evaluate(@NotNull final JsonParser parser, @NotNull final MatchHandler handler) throws IOException {
+        return evaluate(parser, handler, IndexPastEnd.NO_MATCH);
+    }
+
+    /**
+     * Reads the document from the parser and hands every match to the handler as soon as it is found.
+     *
+     * @param parser       a parser with a codec, created by an ObjectMapper
+     * @param handler      the handler of the matches
+     * @param indexPastEnd what an index past the end of an array evaluates to
+     * @return the number of matches
+     * @throws IOException               if the document is not a valid json or the handler fails
+     * @throws IndexOutOfBoundsException if an index is past the end of its array and indexPastEnd is FAIL
+     */
+    public int evaluate(@NotNull final JsonParser parser, @NotNull final MatchHandler handler,
+                        @NotNull final IndexPastEnd indexPastEnd) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null) {
+            throw new IOException("No content to map due to end-of-input");
+        }
+        final Evaluation evaluation = new Evaluation(parser.getCodec(), handler, indexPastEnd);
+        evaluation.evaluate(parser, 0);
+        return evaluation.matches;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private final class Evaluation {
+        private final ObjectCodec codec;
+        private final MatchHandler handler;
+        private final IndexPastEnd indexPastEnd;
+        private int matches;
+
+        private Evaluation(final ObjectCodec codec, final MatchHandler handler, final IndexPastEnd indexPastEnd) {
+            this.codec = codec;
+            this.handler = handler;
+            this.indexPastEnd = indexPastEnd;
+        }
+
+        //returns false once the evaluation is over
+        private boolean evaluate(final JsonParser parser, final int index) throws IOException {
+            if (index == segments.size()) {
+                matches++;
+                handler.onMatch(parser);
+                return !definite;
+            }
+            final Segment segment = segments.get(index);
+            final JsonToken token = parser.currentToken();
+            if (segment instanceof FilterSegment) {
+                //the elements are tested on their tree
+                if (token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        final JsonNode element = parser.readValueAsTree();
+                        if (((FilterSegment) segment).test(element) && !evaluate(element, index + 1)) {
+                            return false;
+                        }
+                    }
+                } else if (token == JsonToken.START_OBJECT) {
+                    final JsonNode element = parser.readValueAsTree();
+                    if (((FilterSegment) segment).test(element)) {
+                        return evaluate(element, index + 1);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                return true;
+            }
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    if (segment.matchesField(fieldName)) {
+                        if (!evaluate(parser, index + 1)) {
+                            return false;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                int length = 0;
+                for (; parser.nextToken() != JsonToken.END_ARRAY; length++) {
+                    if (segment.matchesIndex(length)) {
+                        if (!evaluate(parser, index + 1)) {
+                            return false;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (isIndexPastEnd(index, length)) {
+                    return evaluate(NullNode.getInstance(), index + 1);
+                }
+            }
+            return true;
+        }
+
+        //the rest of the path after a filter, on the tree of the filtered element
+        private boolean evaluate(final JsonNode node, final int index) throws IOException {
+            if (index == segments.size()) {
+                matches++;
+                final JsonParser nodeParser = node.traverse(codec);
+                nodeParser.nextToken();
+                handler.onMatch(nodeParser);
+                return !definite;
+            }
+            final Segment segment = segments.get(index);
+            if (segment instanceof FilterSegment) {
+                if (node.isArray()) {
+                    for (JsonNode element : node) {
+                        if (((FilterSegment) segment).test(element) && !evaluate(element, index + 1)) {
+                            return false;
+                        }
+                    }
+                } else if (node.isObject() && ((FilterSegment) segment).test(node)) {
+                    return evaluate(node, index + 1);
+                }
+            } else if (node.isObject()) {
+                for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    if (segment.matchesField(field.getKey()) && !evaluate(field.getValue(), index + 1)) {
+                        return false;
+                    }
+                }
+            } else if (node.isArray()) {
+                for (int i = 0; i < node.size(); i++) {
+                    if (segment.matchesIndex(i) && !evaluate(node.get(i), index + 1)) {
+                        return false;
+                    }
+                }
+                if (isIndexPastEnd(index, node.size())) {
+                    return evaluate(NullNode.getInstance(), index + 1);
+                }
+            }
+            return true;
+        }
+
+        private boolean isIndexPastEnd(final int index, final int length) {
+            final Segment segment = segments.get(index);
+            if (!(segment instanceof IndexSegment) || ((IndexSegment) segment).index < length) {
+                return false;
+            }
+            if (indexPastEnd == IndexPastEnd.FAIL) {
+                throw new IndexOutOfBoundsException(String.format(JsonExceptionValues.INDEX_OUT_OF_RANGE, ((IndexSegment) segment).index));
+            }
+            return indexPastEnd == IndexPastEnd.NULL && index == segments.size() - 1;
+        }
+    }
+
+    private abstract static class Segment {
+        boolean matchesField(String fieldName) {
+            return false;
+        }
+
+        boolean matchesIndex(int index) {
+            return false;
+        }
+
+        abstract boolean isDefinite();
+    }
+
+    private static final class ChildSegment extends Segment {
+        private final String name;
+
+        private ChildSegment(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        boolean matchesField(final String fieldName) {
+            return name.equals(fieldName);
+        }
+
+        @Override
+        boolean isDefinite() {
+            return true;
+        }
+    }
+
+    private static final class WildcardSegment extends Segment {
+        @Override
+        boolean matchesField(final String fieldName) {
+            return true;
+        }
+
+        @Override
+        boolean matchesIndex(final int index) {
+            return true;
+        }
+
+        @Override
+        boolean isDefinite() {
+            return false;
+        }
+    }
+
+    private static final class IndexSegment extends Segment {
+        private final int index;
+
+        private IndexSegment(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        boolean matchesIndex(final int index) {
+            return this.index == index;
+        }
+
+        @Override
+        boolean isDefinite() {
+            return true;
+        }
+    }
+
+    private static final class SliceSegment extends Segment {
+        private final int from;
+        //-1 for the end of the array
+        private final int to;
+
+        private SliceSegment(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        boolean matchesIndex(final int index) {
+            return index >= from && (to < 0 || index < to);
+        }
+
+        @Override
+        boolean isDefinite() {
+            return false;
+        }
+    }
+
+    private static final class FilterSegment extends Segment {
+        private final List<String> fieldPath;
+        //null when the filter only checks that the field exists
+        private final String operator;
+        private final JsonNode literal;
+
+        private FilterSegment(final List<String> fieldPath, final String operator, final JsonNode literal) {
+            this.fieldPath = fieldPath;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        @Override
+        boolean isDefinite() {
+            return false;
+        }
+
+        boolean test(final JsonNode element) {
+            JsonNode value = element;
+            if (value == null) {
+                return false;
+            }
+            for (String fieldName : fieldPath) {
+                value = value.isObject() ? value.get(fieldName) : null;
+                if (value == null) {
+                    return false;
+                }
+            }
+            if (operator == null) {
+                return true;
+            }
+            switch (operator) {
+                case "==":
+                    return isEqual(value);
+                case "!=":
+                    return !isEqual(value);
+                default:
+                    return compare(value);
+            }
+        }
+
+        private boolean isEqual(final JsonNode value) {
+            if (value.isNumber() && literal.isNumber()) {
+                return value.decimalValue().compareTo(literal.decimalValue()) == 0;
+            }
+            return value.equals(literal);
+        }
+
+        private boolean compare(final JsonNode value) {
+            final int comparison;
+            if (value.isNumber() && literal.isNumber()) {
+                comparison = value.decimalValue().compareTo(literal.decimalValue());
+            } else if (value.isTextual() && literal.isTextual()) {
+                comparison = value.textValue().compareTo(literal.textValue());
+            } else {
+                return false;
+            }
+            switch (operator) {
+                case "<":
+                    return comparison < 0;
+                case "<=":
+                    return comparison <= 0;
+                case ">":
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+
+    private static final class PathCompiler {
+        private static final String[] OPERATORS = {"==", "!=", "<=", ">=", "<", ">"};
+
+        private final String path;
+        private int position;
+
+        private PathCompiler(final String path) {
+            this.path = path;
+        }
+
+        private StreamingJsonPath compile() {
+            if (!path.startsWith("$")) {
+                throw invalid("the path should start with $");
+            }
+            position = 1;
+            final List<Segment> segments = new ArrayList<>();
+            while (position < path.length()) {
+                final char c = path.charAt(position);
+                if (c == '.') {
+                    position++;
+                    segments.add(readDotSegment());
+                } else if (c == '[') {
+                    position++;
+                    segments.add(readBracketSegment());
+                } else {
+                    throw invalid("unexpected character '" + c + "'");
+                }
+            }
+            return new StreamingJsonPath(path, segments);
+        }
+
+        private Segment readDotSegment() {
+            if (position >= path.length()) {
+                throw invalid("the path should not end with a dot");
+            }
+            if (path.charAt(position) == '.') {
+                throw invalid("deep scans are not supported");
+            }
+            if (path.charAt(position) == '*') {
+                position++;
+                return new WildcardSegment();
+            }
+            final int start = position;
+            while (position < path.length() && path.charAt(position) != '.' && path.charAt(position) != '[') {
+                position++;
+            }
+            final String name = path.substring(start, position).trim();
+            if (name.isEmpty() || name.endsWith("()")) {
+                throw invalid("invalid property name '" + name + "'");
+            }
+            return new ChildSegment(name);
+        }
+
+        private Segment readBracketSegment() {
+            skipSpaces();
+            if (position >= path.length()) {
+                throw invalid("unclosed bracket");
+            }
+            final char c = path.charAt(position);
+            final Segment segment;
+            if (c == '*') {
+                position++;
+                segment = new WildcardSegment();
+            } else if (c == '\'' || c == '"') {
+                segment = new ChildSegment(readQuotedString());
+            } else if (c == '?') {
+                position++;
+                segment = readFilter();
+            } else {
+                segment = readIndexOrSlice();
+            }
+            skipSpaces();
+            expect(']');
+            return segment;
+        }
+
+        private Segment readIndexOrSlice() {
+            final int end = path.indexOf(']', position);
+            if (end < 0) {
+                throw invalid("unclosed bracket");
+            }
+            final String content = path.substring(position, end).trim();
+            position = end;
+            final int colon = content.indexOf(':');
+            if (colon < 0) {
+                return new IndexSegment(readIndex(content));
+            }
+            if (content.indexOf(':', colon + 1) >= 0) {
+                throw invalid("slices with a step are not supported");
+            }
+            final String from = content.substring(0, colon).trim();
+            final String to = content.substring(colon + 1).trim();
+            return new SliceSegment(from.isEmpty() ? 0 : readIndex(from), to.isEmpty() ? -1 : readIndex(to));
+        }
+
+        private int readIndex(final String index) {
+            try {
+                final int value = Integer.parseInt(index);
+                if (value < 0) {
+                    throw invalid("negative indexes are not supported");
+                }
+                return value;
+            } catch (NumberFormatException nfe) {
+                throw invalid("invalid index '" + index + "'");
+            }
+        }
+
+        private Segment readFilter() {
+            expect('(');
+            skipSpaces();
+            expect('@');
+            final List<String> fieldPath = new ArrayList<>();
+            while (position < path.length()) {
+                final char c = path.charAt(position);
+                if (c == '.') {
+                    position++;
+                    final int start = position;
+                    while (position < path.length() && isNameCharacter(path.charAt(position))) {
+                        position++;
+                    }
+                    if (start == position) {
+                        throw invalid("invalid filter field");
+                    }
+                    fieldPath.add(path.substring(start, position));
+                } else if (c == '[') {
+                    position++;
+                    skipSpaces();
+                    fieldPath.add(readQuotedString());
+                    skipSpaces();
+                    expect(']');
+                } else {
+                    break;
+                }
+            }
+            skipSpaces();
+            String operator = null;
+            JsonNode literal = null;
+            for (String candidate : OPERATORS) {
+                if (path.startsWith(candidate, position)) {
+                    operator = candidate;
+                    position += candidate.length();
+                    skipSpaces();
+                    literal = readLiteral();
+                    skipSpaces();
+                    break;
+                }
+            }
+            expect(')');
+            return new FilterSegment(fieldPath, operator, literal);
+        }
+
+        private JsonNode readLiteral() {
+            if (position >= path.length()) {
+                throw invalid("missing filter value");
+            }
+            final char c = path.charAt(position);
+            if (c == '\'' || c == '"') {
+                return JsonNodeFactory.instance.textNode(readQuotedString());
+            }
+            final int start = position;
+            while (position < path.length() && path.charAt(position) != ')' && path.charAt(position) != ' ') {
+                position++;
+            }
+            final String value = path.substring(start, position);
+            if ("true".equals(value) || "false".equals(value)) {
+                return JsonNodeFactory.instance.booleanNode(Boolean.parseBoolean(value));
+            }
+            if ("null".equals(value)) {
+                return JsonNodeFactory.instance.nullNode();
+            }
+            try {
+                return JsonNodeFactory.instance.numberNode(new BigDecimal(value));
+            } catch (NumberFormatException nfe) {
+                throw invalid("filters can only compare with a string, a number, a boolean or null, not '" + value + "'");
+            }
+        }
+
+        private String readQuotedString() {
+            final char quote = path.charAt(position++);
+            final StringBuilder value = new StringBuilder();
+            while (position < path.length()) {
+                final char c = path.charAt(position++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c == '\\' && position < path.length()) {
+                    value.append(path.charAt(position++));
+                } else {
+                    value.append(c);
+                }
+            }
+            throw invalid("unclosed quote");
+        }
+
+        private static boolean isNameCharacter(final char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '$';
+        }
+
+        private void skipSpaces() {
+            while (position < path.length() && path.charAt(position) == ' ') {
+                position++;
+            }
+        }
+
+        private void expect(final char c) {
+            if (position >= path.length() || path.charAt(position) != c) {
+                throw invalid("expected '" + c + "' at position " + position);
+            }
+            position++;
+        }
+
+        private IllegalArgumentException invalid(final String reason) {
+            return new IllegalArgumentException(String.format(JsonExceptionValues.UNSUPPORTED_STREAMING_JSONPATH, path, reason));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.utils.Constants;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_OPERATIONS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEditJsonTest {
+
+    private static final String JSON = "{'store':{'bicycle':{'color':'red','price':19.95},'book':[{'title':'Sword of Honour'}]}}";
+
+    private final BatchEditJson batchEditJson = new BatchEditJson();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void executeAppliesOperationsInOrder() {
+        final String operations = "[" +
+                "{'action':'get','jsonPath':'$.store.bicycle.color'}," +
+                "{'action':'update','jsonPath':'$.store.bicycle.color','value':'blue'}," +
+                "{'action':'insert','jsonPath':'$.store.bicycle','name':'gears','value':21}," +
+                "{'action':'add','jsonPath':'$.store.book','value':{'title':'Moby Dick'}}," +
+                "{'action':'delete','jsonPath':'$.store.bicycle.price'}," +
+                "{'action':'rename','jsonPath':'$.store','name':'bicycle','value':'bike'}," +
+                "{'action':'get','jsonPath':'$.store.bike'}," +
+                "{'action':'get','jsonPath':'$.store.book[*].title'}" +
+                "]";
+
+        final Map<String, String> result = batchEditJson.execute(JSON, operations, null, null);
+
+        assertEquals(ReturnCodes.SUCCESS, result.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"store\":{\"book\":[{\"title\":\"Sword of Honour\"},{\"title\":\"Moby Dick\"}]," +
+                "\"bike\":{\"color\":\"blue\",\"gears\":21}}}", result.get(OutputNames.RETURN_RESULT));
+        assertEquals("[\"red\",{\"color\":\"blue\",\"gears\":21},[\"Sword of Honour\",\"Moby Dick\"]]",
+                result.get(Constants.OutputNames.GET_RESULTS));
+    }
+
+    @Test
+    public void executeGetResultIsNotChangedByLaterOperations() {
+        final String operations = "[{'action':'get','jsonPath':'$.store.bicycle'}," +
+                "{'action':'update','jsonPath':'$.store.bicycle.color','value':'blue'}]";
+
+        final Map<String, String> result = batchEditJson.execute(JSON, operations, null, null);
+
+        assertEquals("[{\"color\":\"red\",\"price\":19.95}]", result.get(Constants.OutputNames.GET_RESULTS));
+    }
+
+    @Test
+    public void executeReportsFailedOperationIndex() {
+        final String operations = "[{'action':'get','jsonPath':'$.store.bicycle'}," +
+                "{'action':'update','jsonPath':'$.store.bicycle.color'}]";
+
+        final Map<String, String> result = batchEditJson.execute(JSON, operations, null, null);
+
+        assertEquals(ReturnCodes.FAILURE, result.get(OutputNames.RETURN_CODE));
+        assertEquals("Operation 1 failed: Null value provided for update action!", result.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeInvalidOperations() {
+        final Map<String, String> result = batchEditJson.execute(JSON, "{'action':'get','jsonPath':'$'}", null, null);
+
+        assertEquals(ReturnCodes.FAILURE, result.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_OPERATIONS, result.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeJsonFileAndOutputFile() throws Exception {
+        File inputFile = folder.newFile("store.json");
+        Files.write(inputFile.toPath(), JSON.getBytes(StandardCharsets.UTF_8));
+        File outputFile = new File(folder.getRoot(), "edited.json");
+
+        final Map<String, String> result = batchEditJson.execute(null,
+                "[{'action':'delete','jsonPath':'$.store.book'},{'action':'delete','jsonPath':'$.store.bicycle.price'}]",
+                inputFile.getAbsolutePath(), outputFile.getAbsolutePath());
+
+        assertEquals(outputFile.getAbsolutePath(), result.get(OutputNames.RETURN_RESULT));
+        assertEquals("[]", result.get(Constants.OutputNames.GET_RESULTS));
+        assertTrue(outputFile.isFile());
+        assertEquals("{\"store\":{\"bicycle\":{\"color\":\"red\"}}}",
+                new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
+}
@@ -31,8 +31,13 @@
 
 package io.cloudslang.content.json.actions;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
@@ -50,87 +55,90 @@ public class EditJsonTest {
     public static final String VALIDATE_VALUE_TRUE = "true";
     private EditJson editJson = new EditJson();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testInvalidAction() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get1", "", "", VALIDATE_VALUE_FALSE);
-        assertEquals("Invalid action provided! Action should be one of the values: get insert add update delete ", result.get(RETURN_RESULT));
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get1", "", "", VALIDATE_VALUE_FALSE, null, null);
+        assertEquals("Invalid action provided! Action should be one of the values: get insert add update delete rename ", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testNullAction() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, null, "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, null, "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Empty action provided!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testEmptyAction() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "  ", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "  ", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Empty action provided!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionJson() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"color\":\"red\",\"price\":19.95}", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionJsonValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("{\"color\":\"red\",\"price\":19.95}", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionArray() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("[1,2,3]", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionArrayValidateValue() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("[1,2,3]", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("\"reference\"", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionNullValues() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", null, null, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", null, null, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("\"reference\"", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testGetActionMultipleValues() throws Exception {
         final String jsonPathQuery = "$.store.book[*].author";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "get", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("[\"Nigel Rees\",\"Evelyn Waugh\"]", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testUpdateActionJsonWithNull() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", null, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", null, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Null value provided for update action!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testUpdateActionJsonWithEmptyValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":\"\"},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -139,14 +147,14 @@ public class EditJsonTest {
     @Test
     public void testUpdateActionJsonWithEmptyValueValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals(INVALID_JSONOBJECT, result.get(RETURN_RESULT));
     }
 
     @Test
     public void testUpdateActionValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newCategory", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newCategory", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"newCategory\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
@@ -156,7 +164,7 @@ public class EditJsonTest {
     @Test
     public void testUpdateActionValueValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newCategory", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newCategory", VALIDATE_VALUE_TRUE, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().startsWith("com.fasterxml.jackson.core.jsonparseexception: unrecognized token 'newcategory'"));
     }
 
@@ -164,7 +172,7 @@ public class EditJsonTest {
     @Test
     public void testUpdateActionSpacedValue() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "new Author value", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "new Author value", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":" +
                 "\"Evelyn Waugh\",\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":" +
@@ -174,7 +182,7 @@ public class EditJsonTest {
     @Test
     public void testUpdateActionSpacedValueValidateValue() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "new Author value", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "new Author value", VALIDATE_VALUE_TRUE, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().startsWith("com.fasterxml.jackson.core.jsonparseexception: unrecognized token 'new'"));
     }
 
@@ -182,7 +190,7 @@ public class EditJsonTest {
     public void testUpdateActionSpacedValueInQuotes() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
         final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "new Author",
-                "\"new Author value\"", VALIDATE_VALUE_FALSE);
+                "\"new Author value\"", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
@@ -192,7 +200,7 @@ public class EditJsonTest {
     @Test
     public void testUpdateActionMultipleValues() throws Exception {
         final String jsonPathQuery = "$.store.book[*].author";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newAuthor", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "update", "", "newAuthor", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"newAuthor\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"newAuthor\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
@@ -202,28 +210,28 @@ public class EditJsonTest {
     @Test
     public void testInsertActionJsonNullValueAndName() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, null, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, null, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Empty name provided for insert action!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionJsonNullName() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Empty name provided for insert action!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionJsonNullNameValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", null, "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("Empty name provided for insert action!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionJsonEmptyValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95," +
@@ -233,28 +241,28 @@ public class EditJsonTest {
     @Test
     public void testInsertActionJsonEmptyValueValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals(INVALID_JSONOBJECT, result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionArray() throws Exception {
         final String jsonPathQuery = "$.arrayTest[0]";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "1", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "1", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Can only add properties to a map", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionArrayValidateValue() throws Exception {
         final String jsonPathQuery = "$.arrayTest[0]";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "1", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newName", "1", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("Can only add properties to a map", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionArrayAsNewItem() throws Exception {
         final String jsonPathQuery = "$.store.book[0]";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newArray", "[1,2,3]", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newArray", "[1,2,3]", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95,\"newArray\":[1,2,3]},{\"category\":\"fiction\"," +
                 "\"author\":\"Evelyn Waugh\",\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\"," +
@@ -270,7 +278,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         }";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newCar", newBook, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newCar", newBook, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}," +
@@ -281,14 +289,14 @@ public class EditJsonTest {
     @Test
     public void testInsertActionMultipleValues() throws Exception {
         final String jsonPathQuery = "$.store.book[*].author";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newAuthor", "newAuthor_value", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "newAuthor", "newAuthor_value", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Can only add properties to a map", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testInsertActionSpacedValue() throws Exception {
         final String jsonPathQuery = "$.store";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "new A/uthor value", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "new A/uthor value", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":" +
                 "\"Evelyn Waugh\",\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":" +
@@ -298,14 +306,14 @@ public class EditJsonTest {
     @Test
     public void testInsertActionSpacedValueValidateValue() throws Exception {
         final String jsonPathQuery = "$.store";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "new A/uthor value", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "new A/uthor value", VALIDATE_VALUE_TRUE, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().startsWith("com.fasterxml.jackson.core.jsonparseexception: unrecognized token 'new'"));
     }
 
     @Test
     public void testInsertActionSpacedValueInQuotes() throws Exception {
         final String jsonPathQuery = "$.store";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "\"new Author value\"", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "\"new Author value\"", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}," +
@@ -315,7 +323,7 @@ public class EditJsonTest {
     @Test
     public void testInsertActionSpacedValueInQuotesValidateValue() throws Exception {
         final String jsonPathQuery = "$.store";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "\"new Author value\"", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "insert", "new Author", "\"new Author value\"", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}," +
@@ -325,7 +333,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionJson() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}]},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -334,7 +342,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionJsonValidateValue() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_TRUE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}]},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -343,7 +351,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionArray() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                         "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                         "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}}",
@@ -353,7 +361,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"author\":\"Nigel Rees\",\"title\":\"Sayings of the Century\"," +
                 "\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\",\"title\":\"Sword of Honour\"," +
                 "\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -362,7 +370,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionNullValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", null, null, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", null, null, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"author\":\"Nigel Rees\",\"title\":\"Sayings of the Century\"," +
                 "\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\",\"title\":\"Sword of Honour\"," +
                 "\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -371,7 +379,7 @@ public class EditJsonTest {
     @Test
     public void testDeleteActionMultipleValues() throws Exception {
         final String jsonPathQuery = "$.store.book[*].author";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "delete", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"title\":\"Sayings of the Century\"," +
                 "\"price\":8.95},{\"category\":\"fiction\",\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":" +
                 "{\"color\":\"red\",\"price\":19.95}},\"arrayTest\":[1,2,3]}", result.get(RETURN_RESULT));
@@ -380,7 +388,7 @@ public class EditJsonTest {
     @Test
     public void testAddActionEmpty() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
@@ -390,21 +398,21 @@ public class EditJsonTest {
     @Test
     public void testAddActionJsonNull() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", null, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", null, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Null value provided for add action!", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testAddActionJson() throws Exception {
         final String jsonPathQuery = "$.store.bicycle";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Can only add to an array", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testAddActionArray() throws Exception {
         final String jsonPathQuery = "$.arrayTest";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "value", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "value", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
@@ -414,14 +422,14 @@ public class EditJsonTest {
     @Test
     public void testAddActionValue() throws Exception {
         final String jsonPathQuery = "$.store.book[0].category";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "value", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "value", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Can only add to an array", result.get(RETURN_RESULT));
     }
 
     @Test
     public void testAddActionMultipleValues() throws Exception {
         final String jsonPathQuery = "$.store.book[*].author";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", "", VALIDATE_VALUE_FALSE, null, null);
         assertEquals("Can only add to an array", result.get(RETURN_RESULT));
     }
 
@@ -434,7 +442,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         }";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99},{\"category\":\"fiction\",\"author\":\"test1\"," +
@@ -451,7 +459,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         }";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_TRUE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99},{\"category\":\"fiction\",\"author\":\"test1\"," +
@@ -468,7 +476,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         ";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_TRUE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_TRUE, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().startsWith("com.fasterxml.jackson.core.jsonparseexception"));
     }
 
@@ -481,7 +489,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         ";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, "bad value");
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, "bad value", null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99},\"" +
@@ -503,7 +511,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         ";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, null);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, null, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().contains("unexpected character ('e'".toLowerCase()));
     }
 
@@ -516,7 +524,7 @@ public class EditJsonTest {
                 "            \"title\":\"title1\",\n" +
                 "            \"price\":13\n" +
                 "         ";
-        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_FALSE);
+        final Map<String, String> result = editJson.execute(jsonFile, jsonPathQuery, "add", "", newBook, VALIDATE_VALUE_FALSE, null, null);
         assertEquals("{\"store\":{\"book\":[{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":" +
                 "\"Sayings of the Century\",\"price\":8.95},{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\"," +
                 "\"title\":\"Sword of Honour\",\"price\":12.99},\"" +
@@ -552,4 +560,31 @@ public class EditJsonTest {
                     "    },\n" +
                     "    \"arrayTest\":[1,2,3] \n" +
                     "}";
+
+    @Test
+    public void testRenameAction() throws Exception {
+        final Map<String, String> result = editJson.execute("{\"a\":{\"b\":1,\"c\":2}}", "$.a", "rename", "b", "d",
+                VALIDATE_VALUE_TRUE, null, null);
+        assertEquals("{\"a\":{\"c\":2,\"d\":1}}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testRenameActionEmptyValue() throws Exception {
+        final Map<String, String> result = editJson.execute("{\"a\":{\"b\":1}}", "$.a", "rename", "b", "",
+                VALIDATE_VALUE_TRUE, null, null);
+        assertEquals("Empty value provided for rename action!", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testJsonFileAndOutputFile() throws Exception {
+        File inputFile = folder.newFile("store.json");
+        Files.write(inputFile.toPath(), "{'store':{'bicycle':{'color':'red'}}}".getBytes(StandardCharsets.UTF_8));
+        File outputFile = new File(folder.getRoot(), "edited.json");
+
+        final Map<String, String> result = editJson.execute(null, "$.store.bicycle.color", "update", "", "\"blue\"",
+                VALIDATE_VALUE_TRUE, inputFile.getAbsolutePath(), outputFile.getAbsolutePath());
+        assertEquals(outputFile.getAbsolutePath(), result.get(RETURN_RESULT));
+        assertEquals("{\"store\":{\"bicycle\":{\"color\":\"blue\"}}}",
+                new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
 }
@@ -31,8 +31,14 @@
 
 package io.cloudslang.content.json.actions;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
@@ -49,16 +55,19 @@ public class GetValueFromObjectTest {
 
     private static GetValueFromObject getValueFromObject = new GetValueFromObject();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testExecuteSimpleCase() {
         String jsonObject = " { \"city\" : \"Palo Alto\", \n" +
                 "     \"state\" : \"CA\" }";
         String key = "city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("Palo Alto", result.get(RETURN_RESULT));
 
         key = "state";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("CA", result.get(RETURN_RESULT));
     }
 
@@ -67,11 +76,11 @@ public class GetValueFromObjectTest {
         String jsonObject = " { \"city\" : \"\", \n" +
                 "     \"state\" : \"\" }";
         String key = "city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("", result.get(RETURN_RESULT));
 
         key = "state";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("", result.get(RETURN_RESULT));
     }
 
@@ -82,11 +91,11 @@ public class GetValueFromObjectTest {
                 "     \"value\" : \"test3\" " +
                 "}";
         String key = "";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("test2", result.get(RETURN_RESULT));
 
         key = "value";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("test3", result.get(RETURN_RESULT));
     }
 
@@ -98,7 +107,7 @@ public class GetValueFromObjectTest {
                 "      {\"city\": \"Yehud\", \"country\": \"Israel\"}]    \n" +
                 "}";
         String key = "location[0]";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("{\"city\":\"Roseville\",\"country\":\"United States\"}", result.get(RETURN_RESULT));
     }
 
@@ -110,11 +119,11 @@ public class GetValueFromObjectTest {
                 "      {\"city\": \"Yehud\", \"country\": \"Israel\"}]    \n" +
                 "}";
         String key = "location[0].city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("Roseville", result.get(RETURN_RESULT));
 
         key = "location[0].country";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("United States", result.get(RETURN_RESULT));
     }
 
@@ -130,19 +139,19 @@ public class GetValueFromObjectTest {
                 "      {\"city\": \"Yehud\", \"country\": \"Israel\"}]    \n" +
                 "}";
         String key = "location[0].city[0].city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("Roseville", result.get(RETURN_RESULT));
 
         key = "location[0].city[0].country";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("United States", result.get(RETURN_RESULT));
 
         key = "location[0].city[0]";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("{\"city\":\"Roseville\",\"country\":\"United States\"}", result.get(RETURN_RESULT));
 
         key = "location[0].city";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("[{\"city\":\"Roseville\",\"country\":\"United States\"}," +
                 "{\"city\":\"Cluj\",\"country\":\"Romania\"}," +
                 "{\"city\":\"Yehud\",\"country\":\"Israel\"}]", result.get(RETURN_RESULT));
@@ -156,12 +165,12 @@ public class GetValueFromObjectTest {
                 "      {\"city\": \"Yehud\", \"country\": \"Israel\"}]    \n" +
                 "}";
         String key = "location";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("[{\"city\":\"Roseville\",\"country\":\"United States\"},{\"city\":\"Cluj\",\"country\":\"Romania\"}," +
                 "{\"city\":\"Yehud\",\"country\":\"Israel\"}]", result.get(RETURN_RESULT));
 
         key = "location[]";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The location[] key does not exist in JavaScript object!", result.get(RETURN_RESULT));
     }
 
@@ -173,19 +182,19 @@ public class GetValueFromObjectTest {
                 "      {\"city\": \"Yehud\", \"country\": \"Israel\"}]    \n" +
                 "}";
         String key = "location[987].city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The provided 987 index is out of range! Provide a valid index value in the provided JSON!", result.get(RETURN_RESULT));
 
         key = "location[a]";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The location[a] key does not exist in JavaScript object!", result.get(RETURN_RESULT));
 
         key = "location[0].a";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The a key does not exist in JavaScript object!", result.get(RETURN_RESULT));
 
         key = "location[a].b";
-        result = getValueFromObject.execute(jsonObject, key);
+        result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The location[a] key does not exist in JavaScript object!", result.get(RETURN_RESULT));
     }
 
@@ -193,7 +202,7 @@ public class GetValueFromObjectTest {
     public void testExecuteSimpleNotExist() {
         String jsonObject = "{}";
         String key = "test";
-        final Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        final Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The test key does not exist in JavaScript object!", result.get(RETURN_RESULT));
         assertEquals("-1", result.get("returnCode"));
     }
@@ -202,7 +211,7 @@ public class GetValueFromObjectTest {
     public void testExecuteJsonObjectBad() {
         String jsonObject = "{";
         String key = "test";
-        final Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        final Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertTrue(result.get(RETURN_RESULT).toLowerCase().contains("invalid object provided"));
         assertTrue(result.get(EXCEPTION).toLowerCase().contains("unexpected end-of-input"));
         assertEquals("-1", result.get("returnCode"));
@@ -212,7 +221,7 @@ public class GetValueFromObjectTest {
     public void testExecuteNameBad() {
         String jsonObject = "{}";
         String key = "test{\"";
-        final Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        final Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The test{\" key does not exist in JavaScript object!", result.get(RETURN_RESULT));
     }
 
@@ -220,7 +229,7 @@ public class GetValueFromObjectTest {
     public void testExecuteJsonObjectSpecialCharsInKey() {
         String jsonObject = "{\"one\":{\"a\":\"a\",\"B\":\"B\"}, \"two\":\"two\", \"three;/?:@&=+,$\":[1,2,3.4]}";
         String key = "tes;/?:@&=+,$t";
-        final Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        final Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The tes;/?:@&=+,$t key does not exist in JavaScript object!", result.get(RETURN_RESULT));
     }
 
@@ -228,13 +237,13 @@ public class GetValueFromObjectTest {
     public void testExecuteEmptyJsonObject() {
         String jsonObject = "";
         String key = "city";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("Empty object provided!", result.get(RETURN_RESULT));
         assertEquals("Empty object provided!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
 
         key = "city";
-        result = getValueFromObject.execute(null, key);
+        result = getValueFromObject.execute(null, key, null, null);
         assertEquals("Empty object provided!", result.get(RETURN_RESULT));
         assertEquals("Empty object provided!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
@@ -244,15 +253,60 @@ public class GetValueFromObjectTest {
     public void testExecuteEmptyKey() {
         String jsonObject = "{}";
         String key = "";
-        Map<String, String> result = getValueFromObject.execute(jsonObject, key);
+        Map<String, String> result = getValueFromObject.execute(jsonObject, key, null, null);
         assertEquals("The  key does not exist in JavaScript object!", result.get(RETURN_RESULT));
         assertEquals("The  key does not exist in JavaScript object!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
 
         jsonObject = "{}";
-        result = getValueFromObject.execute(jsonObject, null);
+        result = getValueFromObject.execute(jsonObject, null, null, null);
         assertEquals("Null key provided!", result.get(RETURN_RESULT));
         assertEquals("Null key provided!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
     }
+
+    @Test
+    public void testExecuteStreaming() {
+        String jsonObject = "{\"location\" : [{\"city\" : \"Palo Alto\", \"state\" : \"CA\" }, " +
+                "{\"city\" : \"Seattle\", \"state\" : \"WA\", \"zip\" : [98101, 98102]}]}";
+        Map<String, String> result = getValueFromObject.execute(jsonObject, "location[1].city", null, "true");
+        assertEquals("Seattle", result.get(RETURN_RESULT));
+        assertEquals("0", result.get("returnCode"));
+
+        result = getValueFromObject.execute(jsonObject, "location[1].zip", null, "true");
+        assertEquals("[98101,98102]", result.get(RETURN_RESULT));
+
+        result = getValueFromObject.execute(jsonObject, "location[2].city", null, "true");
+        assertEquals("The provided 2 index is out of range! Provide a valid index value in the provided JSON!", result.get(RETURN_RESULT));
+        assertEquals("-1", result.get("returnCode"));
+    }
+
+    @Test
+    public void testExecuteStreamingIndexOutOfRange() {
+        String jsonObject = "{\"loc\" : [{\"city\" : \"Palo Alto\"}]}";
+        for (String key : new String[]{"loc[5]", "loc[5].city", "loc[1]"}) {
+            Map<String, String> tree = getValueFromObject.execute(jsonObject, key, null, "false");
+            Map<String, String> streaming = getValueFromObject.execute(jsonObject, key, null, "true");
+            assertEquals(key, "-1", streaming.get("returnCode"));
+            assertEquals(key, tree.get("returnCode"), streaming.get("returnCode"));
+            assertEquals(key, tree.get(RETURN_RESULT), streaming.get(RETURN_RESULT));
+        }
+        Map<String, String> result = getValueFromObject.execute(jsonObject, "loc[5].city", null, "true");
+        assertEquals("The provided 5 index is out of range! Provide a valid index value in the provided JSON!", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteJsonFile() throws IOException {
+        File jsonFile = folder.newFile("object.json");
+        Files.write(jsonFile.toPath(), "{\"one\":{\"a\":\"a\",\"B\":\"B\"}, \"two\":\"two\"}".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> result = getValueFromObject.execute(null, "one.B", jsonFile.getAbsolutePath(), null);
+        assertEquals("B", result.get(RETURN_RESULT));
+
+        result = getValueFromObject.execute(null, "one", jsonFile.getAbsolutePath(), "true");
+        assertEquals("{\"a\":\"a\",\"B\":\"B\"}", result.get(RETURN_RESULT));
+
+        result = getValueFromObject.execute(null, "one", jsonFile.getAbsolutePath() + ".missing", null);
+        assertEquals("-1", result.get("returnCode"));
+    }
 }
@@ -35,12 +35,19 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSON_SOURCE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -48,6 +55,9 @@ import static org.junit.Assert.assertNotNull;
  * Created by victor on 9/12/16.
  */
 public class JsonPathQueryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private JsonPathQuery jsonPathQuery;
     private static final String BOOKSTORE_JSON = "{\"store\":{\"book\":[{\"title\":\"Sayings of the Century\",\"price\":8.95}," +
             "{\"title\":\"Sword of Honour\",\"price\":12.99},{\"title\":\"Moby Dick\",\"price\":8.99}," +
@@ -66,14 +76,14 @@ public class JsonPathQueryTest {
 
     @Test
     public void executeValid() {
-        final Map<String, String> resultMap = jsonPathQuery.execute("{'a':'b', 'a1':'b1', 'a1':'b1'}", "$.a");
+        final Map<String, String> resultMap = jsonPathQuery.execute("{'a':'b', 'a1':'b1', 'a1':'b1'}", "$.a", null, null, null);
         assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
         assertEquals(resultMap.get(OutputNames.RETURN_RESULT), "\"b\"");
     }
 
     @Test
     public void executeInvalidJsonObject() {
-        final Map<String, String> resultMap = jsonPathQuery.execute(null, "$.a");
+        final Map<String, String> resultMap = jsonPathQuery.execute(null, "$.a", null, null, null);
         assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.FAILURE);
         assertEquals(resultMap.get(OutputNames.RETURN_RESULT), INVALID_JSONOBJECT);
         assertNotNull(resultMap.get(OutputNames.EXCEPTION));
@@ -81,7 +91,7 @@ public class JsonPathQueryTest {
 
     @Test
     public void executeInvalidJsonPath() {
-        final Map<String, String> resultMap = jsonPathQuery.execute("{'a':'b', 'a1':'b1', 'a1':'b1'}", null);
+        final Map<String, String> resultMap = jsonPathQuery.execute("{'a':'b', 'a1':'b1', 'a1':'b1'}", null, null, null, null);
         assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.FAILURE);
         assertEquals(resultMap.get(OutputNames.RETURN_RESULT), INVALID_JSONPATH);
         assertNotNull(resultMap.get(OutputNames.EXCEPTION));
@@ -89,8 +99,55 @@ public class JsonPathQueryTest {
 
     @Test
     public void executeComplexJsonPath() {
-        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$..book[?(@.price <= $['expensive'])]");
+        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$..book[?(@.price <= $['expensive'])]", null, null, null);
         assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
         assertEquals(resultMap.get(OutputNames.RETURN_RESULT), "[{\"title\":\"Sayings of the Century\",\"price\":8.95},{\"title\":\"Moby Dick\",\"price\":8.99}]");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void executeStreaming() {
+        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$.store.book[?(@.price < 10)].title", null, "true", null);
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
+        assertEquals(resultMap.get(OutputNames.RETURN_RESULT), "[\"Sayings of the Century\",\"Moby Dick\"]");
+    }
+
+    @Test
+    public void executeStreamingUnsupportedJsonPath() {
+        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$..book[?(@.price <= $['expensive'])]", null, "true", null);
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.FAILURE);
+        assertNotNull(resultMap.get(OutputNames.EXCEPTION));
+    }
+
+    @Test
+    public void executeJsonFile() throws IOException {
+        final File jsonFile = folder.newFile("bookstore.json");
+        Files.write(jsonFile.toPath(), BOOKSTORE_JSON.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> resultMap = jsonPathQuery.execute(null, "$.store.book[1:3].price", jsonFile.getAbsolutePath(), "true", null);
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
+        assertEquals(resultMap.get(OutputNames.RETURN_RESULT), "[12.99,8.99]");
+
+        resultMap = jsonPathQuery.execute(null, "$..book[?(@.price <= $['expensive'])].price", jsonFile.getAbsolutePath(), null, null);
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
+        assertEquals(resultMap.get(OutputNames.RETURN_RESULT), "[8.95,8.99]");
+    }
+
+    @Test
+    public void executeJsonObjectAndJsonFile() throws IOException {
+        final File jsonFile = folder.newFile("bookstore.json");
+        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$.expensive", jsonFile.getAbsolutePath(), null, null);
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.FAILURE);
+        assertEquals(resultMap.get(OutputNames.RETURN_RESULT), String.format(INVALID_JSON_SOURCE, "jsonObject", "jsonFile"));
+    }
+
+    @Test
+    public void executeStreamingOutputFile() throws IOException {
+        final File outputFile = new File(folder.getRoot(), "titles.json");
+        final Map<String, String> resultMap = jsonPathQuery.execute(BOOKSTORE_JSON, "$.store.book[*].title", null, "true",
+                outputFile.getAbsolutePath());
+        assertEquals(resultMap.get(OutputNames.RETURN_CODE), ReturnCodes.SUCCESS);
+        assertEquals(resultMap.get(OutputNames.RETURN_RESULT), outputFile.getAbsolutePath());
+        assertEquals("[\"Sayings of the Century\",\"Sword of Honour\",\"Moby Dick\",\"The Lord of the Rings\"]",
+                new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
+}
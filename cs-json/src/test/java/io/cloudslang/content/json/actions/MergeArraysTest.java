@@ -31,8 +31,13 @@
 
 package io.cloudslang.content.json.actions;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
@@ -49,11 +54,14 @@ public class MergeArraysTest {
 
     private final MergeArrays mergeArrays = new MergeArrays();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testArrayWithJsonInside() throws Exception {
         String array1 = " [{\"one\":1, \"two\":2}, 3, \"four\"]";
         String array2 = "[{\"one\":1, \"two\":2}, 3, \"four\"]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[{\"one\":1,\"two\":2},3,\"four\",{\"one\":1,\"two\":2},3,\"four\"]", returnResult.get(RETURN_RESULT));
     }
 
@@ -61,7 +69,7 @@ public class MergeArraysTest {
     public void testSimpleIntegerArray() throws Exception {
         String array1 = "[1,2,3]";
         String array2 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[1,2,3,1,2,3]", returnResult.get(RETURN_RESULT));
     }
 
@@ -69,7 +77,7 @@ public class MergeArraysTest {
     public void testSimpleStringArray() throws Exception {
         String array1 = "[\"one\",\"two\",\"three\"]";
         String array2 = "[\"one\",\"two\",\"three\"]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[\"one\",\"two\",\"three\",\"one\",\"two\",\"three\"]", returnResult.get(RETURN_RESULT));
     }
 
@@ -77,7 +85,7 @@ public class MergeArraysTest {
     public void testEmptyArray1() throws Exception {
         String array1 = "";
         String array2 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("The input value is not a valid JavaScript array array1", returnResult.get(RETURN_RESULT));
         assertEquals("The input value is not a valid JavaScript array array1", returnResult.get(EXCEPTION));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -86,7 +94,7 @@ public class MergeArraysTest {
     @Test
     public void testNullArray1() throws Exception {
         String array2 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(null, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(null, array2, null, null, null);
         assertEquals("The input value is not a valid JavaScript array array1", returnResult.get(RETURN_RESULT));
         assertEquals("The input value is not a valid JavaScript array array1", returnResult.get(EXCEPTION));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -96,7 +104,7 @@ public class MergeArraysTest {
     public void testEmptyArray2() throws Exception {
         String array1 = "[1,2,3]";
         String array2 = "";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("The input value is not a valid JavaScript array array2", returnResult.get(RETURN_RESULT));
         assertEquals("The input value is not a valid JavaScript array array2", returnResult.get(EXCEPTION));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -105,7 +113,7 @@ public class MergeArraysTest {
     @Test
     public void testNullArray2() throws Exception {
         String array1 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, null);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, null, null, null, null);
         assertEquals("The input value is not a valid JavaScript array array2", returnResult.get(RETURN_RESULT));
         assertEquals("The input value is not a valid JavaScript array array2", returnResult.get(EXCEPTION));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -115,7 +123,7 @@ public class MergeArraysTest {
     public void testInvalidArray1() throws Exception {
         String array1 = "[dfgs][!@##$%^&*";
         String array2 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("Invalid jsonObject provided!  array1=[dfgs][!@##$%^&*", returnResult.get(RETURN_RESULT));
         assertTrue(returnResult.get(EXCEPTION).toLowerCase().startsWith("unrecognized token 'dfgs'"));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -125,7 +133,7 @@ public class MergeArraysTest {
     public void testInvalidArray2() throws Exception {
         String array1 = "[1,2,3]";
         String array2 = "[dfgs][!@##$%^&*";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("Invalid jsonObject provided!  array2=[dfgs][!@##$%^&*", returnResult.get(RETURN_RESULT));
         assertTrue(returnResult.get(EXCEPTION).toLowerCase().startsWith("unrecognized token 'dfgs'"));
         assertEquals("-1", returnResult.get(RETURN_CODE));
@@ -135,7 +143,7 @@ public class MergeArraysTest {
     public void testMergeEmptyArray1() throws Exception {
         String array1 = "[]";
         String array2 = "[1,2,3]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[1,2,3]", returnResult.get(RETURN_RESULT));
         assertEquals("0", returnResult.get(RETURN_CODE));
     }
@@ -144,7 +152,7 @@ public class MergeArraysTest {
     public void testMergeEmptyArray2() throws Exception {
         String array1 = "[1,2,3]";
         String array2 = "[]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[1,2,3]", returnResult.get(RETURN_RESULT));
         assertEquals("0", returnResult.get(RETURN_CODE));
     }
@@ -153,7 +161,7 @@ public class MergeArraysTest {
     public void testMergeEmptyBothArrays() throws Exception {
         String array1 = "[]";
         String array2 = "[]";
-        final Map<String, String> returnResult = mergeArrays.execute(array1, array2);
+        final Map<String, String> returnResult = mergeArrays.execute(array1, array2, null, null, null);
         assertEquals("[]", returnResult.get(RETURN_RESULT));
         assertEquals("0", returnResult.get(RETURN_CODE));
     }
@@ -173,8 +181,39 @@ public class MergeArraysTest {
         final int start = result.indexOf(arraysSeparators);
         result.replace(start, start + arraysSeparators.length(), ",");
 
-        final Map<String, String> returnResult = mergeArrays.execute(array.toString(), array.toString());
+        final Map<String, String> returnResult = mergeArrays.execute(array.toString(), array.toString(), null, null, null);
         assertEquals(result.toString(), returnResult.get(RETURN_RESULT));
         assertEquals("0", returnResult.get(RETURN_CODE));
     }
+
+    @Test
+    public void testLenientArrays() throws Exception {
+        final Map<String, String> returnResult = mergeArrays.execute("[{name: 'x'}, /* comment */ NaN]", "[1,,2]", null, null, null);
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("[{\"name\":\"x\"},NaN,1,null,2]", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testTrailingContentRejected() throws Exception {
+        Map<String, String> returnResult = mergeArrays.execute("[1] junk", "[2]", null, null, null);
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertEquals(MergeArrays.INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + MergeArrays.ARRAY1_MESSAGE + "[1] junk",
+                returnResult.get(RETURN_RESULT));
+
+        returnResult = mergeArrays.execute("[1]", "[2] [3]", null, null, null);
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+    }
+
+    @Test
+    public void testArrayFilesAndOutputFile() throws Exception {
+        File array1File = folder.newFile("array1.json");
+        Files.write(array1File.toPath(), "[1,{\"two\":2}]".getBytes(StandardCharsets.UTF_8));
+        File outputFile = new File(folder.getRoot(), "merged.json");
+
+        final Map<String, String> returnResult = mergeArrays.execute(null, "[3]", array1File.getAbsolutePath(), null,
+                outputFile.getAbsolutePath());
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals(outputFile.getAbsolutePath(), returnResult.get(RETURN_RESULT));
+        assertEquals("[1,{\"two\":2},3]", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
 }
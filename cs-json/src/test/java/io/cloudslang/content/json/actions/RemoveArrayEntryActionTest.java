@@ -0,0 +1,51 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+
+package io.cloudslang.content.json.actions;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+
+public class RemoveArrayEntryActionTest {
+    private static final String RETURN_RESULT = "returnResult";
+    private static final String RETURN_CODE = "returnCode";
+
+    private final RemoveArrayEntryAction removeArrayEntryAction = new RemoveArrayEntryAction();
+
+    @Test
+    public void testEntryFromTheEnd() {
+        final Map<String, String> returnResult = removeArrayEntryAction.execute("[1,2,3]", "-1");
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("[1,2]", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testIndexOutOfRange() {
+        Map<String, String> returnResult = removeArrayEntryAction.execute("[1,2,3]", "5");
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertEquals("Index: 5, Size: 3", returnResult.get(RETURN_RESULT));
+
+        returnResult = removeArrayEntryAction.execute("[1,2,3]", "-4");
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertEquals("Index: -1, Size: 3", returnResult.get(RETURN_RESULT));
+    }
+}
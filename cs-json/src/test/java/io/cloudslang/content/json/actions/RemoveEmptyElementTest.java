@@ -33,8 +33,13 @@ package io.cloudslang.content.json.actions;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import static junit.framework.Assert.assertNotNull;
@@ -50,6 +55,9 @@ public class RemoveEmptyElementTest {
     private static final String RETURN_CODE = "returnCode";
 
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private RemoveEmptyElementAction actionUnderTest;
     private Map<String, String> returnResult;
 
@@ -68,7 +76,7 @@ public class RemoveEmptyElementTest {
     public void givenValidJsonInputThenReturnSuccess() {
         String expectedResultString = "{\"expected\":\"value\"}";
         String jsonInput = "{\"removed1\":\"\", \"removed2\":[], \"removed3\":null, \"expected\":\"value\"} ";
-        returnResult = actionUnderTest.removeEmptyElements(jsonInput);
+        returnResult = actionUnderTest.removeEmptyElements(jsonInput, null, null);
 
         assertEquals("0", returnResult.get(RETURN_CODE));
         assertEquals(expectedResultString, returnResult.get(RETURN_RESULT));
@@ -77,11 +85,40 @@ public class RemoveEmptyElementTest {
     @Test
     public void givenInvalidJsonThenReturnFailure() {
         String invalidJsonInput = "{\"removed1\":\"\", \"removed2\":[] \"removed3\":null \"expected\":\"value\"} ";
-        returnResult = actionUnderTest.removeEmptyElements(invalidJsonInput);
+        returnResult = actionUnderTest.removeEmptyElements(invalidJsonInput, null, null);
 
         assertEquals("-1", returnResult.get(RETURN_CODE));
         assertNotNull(returnResult.get(RETURN_RESULT));
         assertNotNull(returnResult.get(EXCEPTION));
     }
 
+    @Test
+    public void givenTrailingContentThenReturnFailure() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":\"x\",\"b\":\"\"} junk", null, null);
+
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertNotNull(returnResult.get(EXCEPTION));
+    }
+
+    @Test
+    public void givenUnquotedFieldNamesThenReturnSuccess() {
+        returnResult = actionUnderTest.removeEmptyElements("{a:'x', b:''}", null, null);
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("{'a':'x'}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenJsonFileThenWriteOutputFile() throws Exception {
+        File jsonFile = folder.newFile("input.json");
+        Files.write(jsonFile.toPath(), "{'removed1':'', 'kept':{'removed2':[]}, 'expected':'value'}".getBytes(StandardCharsets.UTF_8));
+        File outputFile = new File(folder.getRoot(), "output.json");
+
+        returnResult = actionUnderTest.removeEmptyElements(null, jsonFile.getAbsolutePath(), outputFile.getAbsolutePath());
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals(outputFile.getAbsolutePath(), returnResult.get(RETURN_RESULT));
+        assertEquals("{\"kept\":{},\"expected\":\"value\"}", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
+
 }
@@ -207,6 +207,14 @@ public class JsonServiceTest {
         actualJsonStringOutput = jsonServiceUnderTest.removeEmptyElementsJson(jsonStringInput);
     }
 
+    @Test
+    public void givenJsonArrayThenThrowException() throws RemoveEmptyElementException {
+        jsonStringInput = "[\"\", {\"expected\":\"value\"}]";
+
+        exception.expect(RemoveEmptyElementException.class);
+        actualJsonStringOutput = jsonServiceUnderTest.removeEmptyElementsJson(jsonStringInput);
+    }
+
     @Test
     public void givenJsonWithEmptyElementsThenReturnEmptyJsonString() throws RemoveEmptyElementException {
         jsonStringInput = "{'remove1': '','remove2': ''}";
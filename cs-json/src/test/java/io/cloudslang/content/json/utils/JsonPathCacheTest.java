@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JsonPathCacheTest {
+
+    @Test
+    public void compileReturnsCachedPath() {
+        final JsonPathCache cache = new JsonPathCache(2);
+        final JsonPath path = cache.compile("$.store.book[0]");
+
+        assertSame(path, cache.compile("$.store.book[0]"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void compileEvictsLeastRecentlyUsedPath() {
+        final JsonPathCache cache = new JsonPathCache(2);
+        final JsonPath first = cache.compile("$.a");
+        final JsonPath second = cache.compile("$.b");
+        cache.compile("$.a");
+        cache.compile("$.c");
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.compile("$.a"));
+        assertNotSame(second, cache.compile("$.b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileDoesNotCacheInvalidPath() {
+        final JsonPathCache cache = new JsonPathCache(2);
+        try {
+            cache.compile("");
+        } finally {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void getInstanceSharesEnginePerConfiguration() {
+        assertSame(JsonEngine.getInstance(true), JsonEngine.getInstance(true));
+        assertNotSame(JsonEngine.getInstance(true), JsonEngine.getInstance(false));
+        assertEquals("{\"a\":\"b\"}", JsonEngine.getInstance(true).newJsonContext().parse("{'a': 'b'}").jsonString());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2020 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.PathNotFoundException;
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.json.actions.JsonPathQuery;
+import io.cloudslang.content.json.services.JsonService;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingJsonPathTest {
+    private static final String STORE_JSON = "{'store':{'book':[" +
+            "{'category':'reference','title':'Sayings of the Century','price':8.95,'tags':['a','b']}," +
+            "{'category':'fiction','title':'Sword of Honour','price':12.99,'tags':[]}," +
+            "{'category':'fiction','title':'Moby Dick','isbn':'0-553-21311-3','price':8.99,'details':{'pages':635}}," +
+            "{'category':'fiction','title':'The Lord of the Rings','isbn':'0-395-19395-8','price':22.99,'available':true}]," +
+            "'bicycle':{'color':'red','price':19.95}},'name':null,'expensive':10}";
+
+    @Test
+    public void evaluateMatchesJsonPath() throws IOException {
+        final String[] jsonPaths = {
+                "$",
+                "$.expensive",
+                "$.name",
+                "$.store.bicycle",
+                "$['store']['bicycle']['color']",
+                "$.store.book[2].title",
+                "$.store.book[*].title",
+                "$.store.book.*.price",
+                "$.store.*",
+                "$.store.book[1:3].title",
+                "$.store.book[:2].title",
+                "$.store.book[2:].title",
+                "$.store.book[10:].title",
+                "$.store.book[*].tags[*]",
+                "$.store.book[?(@.price < 10)].title",
+                "$.store.book[?(@.price >= 12.99)].title",
+                "$.store.book[?(@.category == 'fiction')].title",
+                "$.store.book[?(@.category != 'fiction')].title",
+                "$.store.book[?(@.isbn)].title",
+                "$.store.book[?(@.available == true)].title",
+                "$.store.book[?(@.details.pages > 600)].title",
+                "$.store.book[?(@.price < 10)].tags[0]",
+                "$.store.book[*].missing",
+                "$.store.book[10]",
+                "$.store.book[*].tags[1]"
+        };
+        for (String jsonPath : jsonPaths) {
+            assertEquals(jsonPath, JsonService.evaluateJsonPathQuery(STORE_JSON, jsonPath).toString(), stream(STORE_JSON, jsonPath));
+        }
+    }
+
+    @Test
+    public void evaluateHandsMatchesInDocumentOrder() throws IOException {
+        final List<String> matches = new ArrayList<>();
+        final ObjectMapper objectMapper = JsonEngine.getInstance(true).getObjectMapper();
+        try (JsonParser parser = objectMapper.getFactory().createParser(STORE_JSON)) {
+            final int count = StreamingJsonPath.compile("$.store.book[*].price").evaluate(parser, new StreamingJsonPath.MatchHandler() {
+                @Override
+                public void onMatch(@NotNull JsonParser matchParser) throws IOException {
+                    matches.add(matchParser.getText());
+                }
+            });
+            assertEquals(4, count);
+        }
+        assertEquals("[8.95, 12.99, 8.99, 22.99]", matches.toString());
+    }
+
+    @Test
+    public void evaluateStopsAtTheMatchOfDefinitePath() throws IOException {
+        final String json = "{\"id\":1,\"items\":[1,2,";
+        assertEquals("1", stream(json, "$.id"));
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void evaluateFailsWhenDefinitePathHasNoMatch() throws IOException {
+        stream(STORE_JSON, "$.store.missing");
+    }
+
+    @Test
+    public void indexPastTheEndIsNullInBothModes() {
+        final String json = "{\"items\":[1,2]}";
+        final JsonPathQuery jsonPathQuery = new JsonPathQuery();
+        final Map<String, String> tree = jsonPathQuery.execute(json, "$.items[5]", null, "false", null);
+        final Map<String, String> streaming = jsonPathQuery.execute(json, "$.items[5]", null, "true", null);
+
+        assertEquals("0", streaming.get(OutputNames.RETURN_CODE));
+        assertEquals(tree.get(OutputNames.RETURN_RESULT), streaming.get(OutputNames.RETURN_RESULT));
+        assertEquals("null", streaming.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void isSupportedRejectsPathsThatNeedTheTree() {
+        assertTrue(StreamingJsonPath.isSupported("$.items[*].id"));
+        assertTrue(StreamingJsonPath.compile("$.items[0]['id']").isDefinite());
+        assertFalse(StreamingJsonPath.compile("$.items[0:2]").isDefinite());
+        assertFalse(StreamingJsonPath.isSupported("$..id"));
+        assertFalse(StreamingJsonPath.isSupported("$.items[-1]"));
+        assertFalse(StreamingJsonPath.isSupported("$.items[0:10:2]"));
+        assertFalse(StreamingJsonPath.isSupported("$.items.length()"));
+        assertFalse(StreamingJsonPath.isSupported("$.items[?(@.price < $.expensive)]"));
+        assertFalse(StreamingJsonPath.isSupported("items[0]"));
+        assertFalse(StreamingJsonPath.isSupported(null));
+    }
+
+    private static String stream(String json, String jsonPath) throws IOException {
+        final ObjectMapper objectMapper = JsonEngine.getInstance(true).getObjectMapper();
+        final StringWriter result = new StringWriter();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(result)) {
+            JsonService.evaluateJsonPathQuery(parser, StreamingJsonPath.compile(jsonPath), generator);
+        }
+        return result.toString();
+    }
+}